@@ -0,0 +1,48 @@
+#!/bin/bash
+# Inicializa los replica sets, registra los shards y particiona franchises por hash de _id.
+# franchise_names es pequeña y queda sin particionar en el shard primario de la base de datos.
+set -e
+
+wait_for() {
+  until mongosh --quiet --host "$1" --eval 'db.adminCommand({ ping: 1 }).ok' >/dev/null 2>&1; do
+    sleep 1
+  done
+}
+
+initiate() {
+  mongosh --quiet --host "$1" --eval "
+    try { rs.status() } catch (e) {
+      rs.initiate({ _id: '$2', $3 members: [{ _id: 0, host: '$1' }] })
+    }"
+}
+
+wait_for configsvr:27019
+wait_for shard1:27018
+wait_for shard2:27018
+initiate configsvr:27019 cfg 'configsvr: true,'
+initiate shard1:27018 shard1 ''
+initiate shard2:27018 shard2 ''
+wait_for mongos:27017
+
+for attempt in $(seq 1 30); do
+  mongosh --quiet --host mongos:27017 --eval "
+    sh.addShard('shard1/shard1:27018');
+    sh.addShard('shard2/shard2:27018');
+    for (const name of ['franchise_db', 'franchise_test_db']) {
+      sh.enableSharding(name);
+      const franchises = db.getSiblingDB(name).franchises;
+      // El índice único sobre name no es compatible con una shard key hash de _id
+      if (franchises.getIndexes().some(index => index.name === 'name' && index.unique)) {
+        franchises.dropIndex('name');
+      }
+      sh.shardCollection(name + '.franchises', { _id: 'hashed' });
+    }
+    // Zonas opcionales (p. ej. por región):
+    // sh.addShardToZone('shard1', 'zona-a'); sh.addShardToZone('shard2', 'zona-b');
+    // sh.updateZoneKeyRange('franchise_db.franchises', { _id: MinKey }, { _id: NumberLong(0) }, 'zona-a');
+    // sh.updateZoneKeyRange('franchise_db.franchises', { _id: NumberLong(0) }, { _id: MaxKey }, 'zona-b');
+    printjson(sh.status());
+  " && exit 0
+  sleep 2
+done
+exit 1
@@ -2,13 +2,19 @@ package com.franchise;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.mongo.MongoAutoConfiguration;
+import org.springframework.context.annotation.ImportRuntimeHints;
 import org.springframework.data.mongodb.repository.config.EnableReactiveMongoRepositories;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
 import reactor.core.publisher.Mono;
 
-@SpringBootApplication
+import com.franchise.config.NativeRuntimeHints;
+
+// El MongoClient síncrono solo se crea en el perfil "blocking" (BlockingMongoConfig)
+@SpringBootApplication(exclude = MongoAutoConfiguration.class)
 @EnableReactiveMongoRepositories
+@ImportRuntimeHints(NativeRuntimeHints.class)
 @RestController
 public class FranchiseApiApplication {
 
@@ -0,0 +1,45 @@
+package com.franchise.codec;
+
+import java.util.List;
+import java.util.Map;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.codec.json.Jackson2SmileEncoder;
+import org.springframework.lang.Nullable;
+import org.springframework.util.MimeType;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// Jackson2SmileEncoder separa los elementos de un Flux con los bytes JSON '[', ',' y ']', lo que no
+// es Smile válido: fuera de los tipos streaming se agrupan los elementos en un array Smile
+public class CollectingJackson2SmileEncoder extends Jackson2SmileEncoder {
+
+    public CollectingJackson2SmileEncoder(ObjectMapper mapper, MimeType... mimeTypes) {
+        super(mapper, mimeTypes);
+    }
+
+    @Override
+    public Flux<DataBuffer> encode(Publisher<?> inputStream, DataBufferFactory bufferFactory,
+            ResolvableType elementType, @Nullable MimeType mimeType, @Nullable Map<String, Object> hints) {
+
+        if (inputStream instanceof Mono) {
+            return Mono.from(inputStream)
+                    .map(value -> encodeValue(value, bufferFactory, elementType, mimeType, hints))
+                    .flux();
+        }
+        if (mimeType != null && getStreamingMediaTypes().stream().anyMatch(mimeType::isCompatibleWith)) {
+            return super.encode(inputStream, bufferFactory, elementType, mimeType, hints);
+        }
+        ResolvableType listType = ResolvableType.forClassWithGenerics(List.class, elementType);
+        return Flux.from(inputStream)
+                .collectList()
+                .map(values -> encodeValue(values, bufferFactory, listType, mimeType, hints))
+                .flux();
+    }
+}
@@ -0,0 +1,22 @@
+package com.franchise.codec;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.Encoder;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.EncoderHttpMessageWriter;
+import org.springframework.lang.Nullable;
+
+// Writer que solo participa cuando el endpoint declara el tipo en "produces" y el cliente
+// lo pide explícitamente. Evita que un formato binario sustituya al JSON con Accept: */*.
+public class ExplicitMediaTypeMessageWriter<T> extends EncoderHttpMessageWriter<T> {
+
+    public ExplicitMediaTypeMessageWriter(Encoder<T> encoder) {
+        super(encoder);
+    }
+
+    @Override
+    public boolean canWrite(ResolvableType elementType, @Nullable MediaType mediaType) {
+        return mediaType != null && !mediaType.isWildcardType() && !mediaType.isWildcardSubtype()
+                && super.canWrite(elementType, mediaType);
+    }
+}
@@ -0,0 +1,89 @@
+package com.franchise.codec;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.CodecException;
+import org.springframework.core.codec.EncodingException;
+import org.springframework.core.codec.Hints;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.lang.Nullable;
+import org.springframework.util.MimeType;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.exc.InvalidDefinitionException;
+
+// Escribe el JSON directamente sobre un DataBuffer del pool de Netty, evitando el
+// byte[] intermedio y la copia que hace Jackson2JsonEncoder para cada respuesta.
+public class PooledJackson2JsonEncoder extends Jackson2JsonEncoder {
+
+    private static final int MIN_CAPACITY = 256;
+    private static final int MAX_CAPACITY_HINT = 1024 * 1024;
+
+    // Tamaño estimado de la siguiente respuesta (media móvil de las anteriores)
+    private final AtomicInteger capacityHint = new AtomicInteger(1024);
+
+    public PooledJackson2JsonEncoder(ObjectMapper mapper) {
+        super(mapper);
+    }
+
+    @Override
+    public DataBuffer encodeValue(Object value, DataBufferFactory bufferFactory, ResolvableType valueType,
+            @Nullable MimeType mimeType, @Nullable Map<String, Object> hints) {
+
+        // Vistas JSON y filtros siguen por el camino estándar
+        if (value instanceof MappingJacksonValue || (hints != null && hints.containsKey(JSON_VIEW_HINT))) {
+            return super.encodeValue(value, bufferFactory, valueType, mimeType, hints);
+        }
+        ObjectMapper mapper = selectObjectMapper(valueType, mimeType);
+        if (mapper == null) {
+            return super.encodeValue(value, bufferFactory, valueType, mimeType, hints);
+        }
+
+        JavaType javaType = getJavaType(valueType.getType(), null);
+        ObjectWriter writer = mapper.writer();
+        if (javaType.isContainerType()) {
+            writer = writer.forType(javaType);
+        }
+        writer = customizeWriter(writer, mimeType, valueType, hints);
+
+        DataBuffer buffer = bufferFactory.allocateBuffer(capacityHint.get());
+        try (JsonGenerator generator = mapper.getFactory()
+                .createGenerator(buffer.asOutputStream(), getJsonEncoding(mimeType))) {
+            writer.writeValue(generator, value);
+        }
+        catch (InvalidDefinitionException ex) {
+            DataBufferUtils.release(buffer);
+            throw new CodecException("Type definition error: " + ex.getType(), ex);
+        }
+        catch (JsonProcessingException ex) {
+            DataBufferUtils.release(buffer);
+            throw new EncodingException("JSON encoding error: " + ex.getOriginalMessage(), ex);
+        }
+        catch (IOException ex) {
+            DataBufferUtils.release(buffer);
+            throw new IllegalStateException("Unexpected I/O error while writing to data buffer", ex);
+        }
+
+        updateCapacityHint(buffer.readableByteCount());
+        Hints.touchDataBuffer(buffer, hints, logger);
+        return buffer;
+    }
+
+    private void updateCapacityHint(int size) {
+        capacityHint.updateAndGet(previous -> {
+            int next = (previous * 7 + size) / 8;
+            return Math.max(MIN_CAPACITY, Math.min(MAX_CAPACITY_HINT, next));
+        });
+    }
+}
@@ -0,0 +1,24 @@
+package com.franchise.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.franchise.filter.AdmissionControlFilter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+@EnableConfigurationProperties(AdmissionControlProperties.class)
+public class AdmissionControlConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "franchise.admission", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public AdmissionControlFilter admissionControlFilter(AdmissionControlProperties properties,
+            MongoLatencyTracker mongoLatencyTracker, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        return new AdmissionControlFilter(properties, mongoLatencyTracker::getLatencyMillis, objectMapper,
+                meterRegistry);
+    }
+}
@@ -0,0 +1,82 @@
+package com.franchise.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "franchise.admission")
+public class AdmissionControlProperties {
+
+    private boolean enabled = true;
+
+    // Latencia objetivo de MongoDB: por encima de ella los límites se reducen
+    private Duration targetMongoLatency = Duration.ofMillis(50);
+
+    private Duration retryAfter = Duration.ofSeconds(1);
+
+    // Rutas tratadas como operaciones masivas (menor prioridad)
+    private List<String> bulkPaths = new ArrayList<>(List.of("/api/batch/**"));
+
+    // Suscripciones de larga duración (SSE) que no ocupan permisos de concurrencia
+    private List<String> streamPaths = new ArrayList<>(List.of("/api/franchises/alerts/**/stream"));
+
+    private final Limit read = new Limit(64, 16, 512, 256);
+    private final Limit write = new Limit(32, 4, 256, 128);
+    private final Limit bulk = new Limit(4, 1, 16, 8);
+
+    // Getters y Setters
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public Duration getTargetMongoLatency() { return targetMongoLatency; }
+    public void setTargetMongoLatency(Duration targetMongoLatency) { this.targetMongoLatency = targetMongoLatency; }
+
+    public Duration getRetryAfter() { return retryAfter; }
+    public void setRetryAfter(Duration retryAfter) { this.retryAfter = retryAfter; }
+
+    public List<String> getBulkPaths() { return bulkPaths; }
+    public void setBulkPaths(List<String> bulkPaths) { this.bulkPaths = bulkPaths; }
+
+    public List<String> getStreamPaths() { return streamPaths; }
+    public void setStreamPaths(List<String> streamPaths) { this.streamPaths = streamPaths; }
+
+    public Limit getRead() { return read; }
+
+    public Limit getWrite() { return write; }
+
+    public Limit getBulk() { return bulk; }
+
+    public static class Limit {
+        private int initialLimit;
+        private int minLimit;
+        private int maxLimit;
+        private int maxQueueSize;
+        private Duration queueTimeout = Duration.ofMillis(500);
+
+        public Limit() {}
+
+        public Limit(int initialLimit, int minLimit, int maxLimit, int maxQueueSize) {
+            this.initialLimit = initialLimit;
+            this.minLimit = minLimit;
+            this.maxLimit = maxLimit;
+            this.maxQueueSize = maxQueueSize;
+        }
+
+        public int getInitialLimit() { return initialLimit; }
+        public void setInitialLimit(int initialLimit) { this.initialLimit = initialLimit; }
+
+        public int getMinLimit() { return minLimit; }
+        public void setMinLimit(int minLimit) { this.minLimit = minLimit; }
+
+        public int getMaxLimit() { return maxLimit; }
+        public void setMaxLimit(int maxLimit) { this.maxLimit = maxLimit; }
+
+        public int getMaxQueueSize() { return maxQueueSize; }
+        public void setMaxQueueSize(int maxQueueSize) { this.maxQueueSize = maxQueueSize; }
+
+        public Duration getQueueTimeout() { return queueTimeout; }
+        public void setQueueTimeout(Duration queueTimeout) { this.queueTimeout = queueTimeout; }
+    }
+}
@@ -0,0 +1,20 @@
+package com.franchise.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "franchise.batch")
+public class BatchProperties {
+
+    // Operaciones máximas por petición a /api/batch
+    private int maxOperations = 500;
+
+    // Franquicias del lote que se cargan y guardan en paralelo
+    private int concurrency = 8;
+
+    // Getters y Setters
+    public int getMaxOperations() { return maxOperations; }
+    public void setMaxOperations(int maxOperations) { this.maxOperations = maxOperations; }
+
+    public int getConcurrency() { return concurrency; }
+    public void setConcurrency(int concurrency) { this.concurrency = concurrency; }
+}
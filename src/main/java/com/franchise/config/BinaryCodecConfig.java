@@ -0,0 +1,47 @@
+package com.franchise.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.web.codec.CodecCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.codec.json.Jackson2SmileDecoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.franchise.codec.CollectingJackson2CborEncoder;
+import com.franchise.codec.CollectingJackson2SmileEncoder;
+import com.franchise.codec.ExplicitMediaTypeMessageWriter;
+
+// Formatos binarios (CBOR y Smile) para llamadas entre servicios internos.
+// Usan la misma configuración de Jackson que el JSON (módulos, formato de fechas).
+@Configuration
+public class BinaryCodecConfig {
+
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+    public static final MediaType APPLICATION_SMILE = MediaType.parseMediaType(APPLICATION_SMILE_VALUE);
+    private static final MediaType APPLICATION_STREAM_SMILE = MediaType.parseMediaType("application/stream+x-jackson-smile");
+
+    @Bean
+    @Order(2)
+    public CodecCustomizer binaryCodecCustomizer(ObjectProvider<Jackson2ObjectMapperBuilder> builders) {
+        ObjectMapper cborMapper = builders.getObject().factory(new CBORFactory()).build();
+        ObjectMapper smileMapper = builders.getObject().factory(new SmileFactory()).build();
+
+        return configurer -> {
+            // Los Flux (p. ej. GET /api/franchises) se escriben como un único array Smile
+            configurer.defaultCodecs().jackson2SmileEncoder(
+                    new CollectingJackson2SmileEncoder(smileMapper, APPLICATION_SMILE, APPLICATION_STREAM_SMILE));
+            configurer.defaultCodecs().jackson2SmileDecoder(
+                    new Jackson2SmileDecoder(smileMapper, APPLICATION_SMILE, APPLICATION_STREAM_SMILE));
+            // CBOR solo en endpoints que lo declaran en "produces" (p. ej. GET /api/franchises/{id})
+            configurer.customCodecs().register(
+                    new ExplicitMediaTypeMessageWriter<>(new CollectingJackson2CborEncoder(cborMapper)));
+            configurer.customCodecs().register(new Jackson2CborDecoder(cborMapper, MediaType.APPLICATION_CBOR));
+        };
+    }
+}
@@ -0,0 +1,46 @@
+package com.franchise.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.mongo.MongoClientFactory;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+import com.mongodb.MongoClientSettings;
+import com.mongodb.client.MongoClient;
+
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+// Modo bloqueante (perfil "blocking"): driver síncrono de MongoDB y ejecución sobre hilos virtuales.
+// El MongoClient síncrono reutiliza los mismos customizers (pool, timeouts, métricas) que el reactivo;
+// MongoDataAutoConfiguration crea a partir de él el MongoTemplate.
+@Configuration
+@Profile("blocking")
+public class BlockingMongoConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(BlockingMongoConfig.class);
+
+    @Bean(destroyMethod = "close")
+    public MongoClient blockingMongoClient(MongoClientSettings settings,
+            ObjectProvider<MongoClientSettingsBuilderCustomizer> customizers) {
+        return new MongoClientFactory(customizers.orderedStream().toList()).createMongoClient(settings);
+    }
+
+    // Un hilo virtual por operación en Java 21+. En JVMs anteriores se usa un pool acotado de
+    // hilos de plataforma dimensionado al pool de conexiones, que es el límite real de concurrencia.
+    @Bean(destroyMethod = "dispose")
+    public Scheduler blockingServiceScheduler(MongoClientProperties properties) {
+        try {
+            return Schedulers.fromExecutor(new VirtualThreadTaskExecutor("franchise-vt-"));
+        } catch (UnsupportedOperationException e) {
+            int threads = properties.getPool().getMaxSize();
+            log.warn("Virtual threads require Java 21; blocking service runs on {} platform threads", threads);
+            return Schedulers.newBoundedElastic(threads, Integer.MAX_VALUE, "franchise-blocking");
+        }
+    }
+}
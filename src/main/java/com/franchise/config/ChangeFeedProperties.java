@@ -0,0 +1,35 @@
+package com.franchise.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "franchise.change-feed")
+public class ChangeFeedProperties {
+
+    // Activa pre- y post-imágenes en franchises (collMod, MongoDB 6.0+) para emitir eventos detallados en
+    // las actualizaciones. Sin ellas cada actualización se emite como FRANCHISE_UPDATED con el documento actual
+    private boolean preAndPostImages = true;
+
+    // Eventos máximos por respuesta de long-poll; una escritura con más eventos se reparte en varias
+    private int maxBatchSize = 1000;
+
+    // Espera máxima de un long-poll sin cambios
+    private Duration maxWait = Duration.ofSeconds(30);
+
+    // Tras el primer cambio, el long-poll espera esta ventana para agrupar los siguientes
+    private Duration batchWindow = Duration.ofMillis(200);
+
+    // Getters y Setters
+    public boolean isPreAndPostImages() { return preAndPostImages; }
+    public void setPreAndPostImages(boolean preAndPostImages) { this.preAndPostImages = preAndPostImages; }
+
+    public int getMaxBatchSize() { return maxBatchSize; }
+    public void setMaxBatchSize(int maxBatchSize) { this.maxBatchSize = maxBatchSize; }
+
+    public Duration getMaxWait() { return maxWait; }
+    public void setMaxWait(Duration maxWait) { this.maxWait = maxWait; }
+
+    public Duration getBatchWindow() { return batchWindow; }
+    public void setBatchWindow(Duration batchWindow) { this.batchWindow = batchWindow; }
+}
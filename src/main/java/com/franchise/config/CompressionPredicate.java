@@ -0,0 +1,58 @@
+package com.franchise.config;
+
+import java.util.List;
+import java.util.function.BiPredicate;
+
+import org.springframework.util.InvalidMimeTypeException;
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+
+import io.netty.handler.codec.http.HttpHeaderNames;
+import reactor.netty.http.server.HttpServerRequest;
+import reactor.netty.http.server.HttpServerResponse;
+
+// Decide si una respuesta se comprime según su Content-Type y tamaño.
+// Respuestas sin Content-Length (streaming) se comprimen si el tipo tiene regla.
+class CompressionPredicate implements BiPredicate<HttpServerRequest, HttpServerResponse> {
+
+    private final List<CompiledRule> rules;
+    private final List<String> excludedUserAgents;
+
+    CompressionPredicate(NettyServerProperties.Compression compression) {
+        this.rules = compression.getRules().stream()
+                .map(rule -> new CompiledRule(MimeTypeUtils.parseMimeType(rule.getMimeType()),
+                        rule.getMinResponseSize() >= 0 ? rule.getMinResponseSize() : compression.getMinResponseSize()))
+                .toList();
+        this.excludedUserAgents = compression.getExcludedUserAgents();
+    }
+
+    @Override
+    public boolean test(HttpServerRequest request, HttpServerResponse response) {
+        String userAgent = request.requestHeaders().get(HttpHeaderNames.USER_AGENT);
+        if (userAgent != null && excludedUserAgents.stream().anyMatch(userAgent::contains)) {
+            return false;
+        }
+
+        String contentType = response.responseHeaders().get(HttpHeaderNames.CONTENT_TYPE);
+        if (contentType == null) {
+            return false;
+        }
+        MimeType mimeType;
+        try {
+            mimeType = MimeTypeUtils.parseMimeType(contentType);
+        } catch (InvalidMimeTypeException e) {
+            return false;
+        }
+
+        String contentLength = response.responseHeaders().get(HttpHeaderNames.CONTENT_LENGTH);
+        for (CompiledRule rule : rules) {
+            if (rule.mimeType.isCompatibleWith(mimeType)) {
+                return contentLength == null || Long.parseLong(contentLength) >= rule.minResponseSize;
+            }
+        }
+        return false;
+    }
+
+    private record CompiledRule(MimeType mimeType, int minResponseSize) {
+    }
+}
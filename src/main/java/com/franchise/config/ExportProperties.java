@@ -0,0 +1,26 @@
+package com.franchise.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "franchise.export")
+public class ExportProperties {
+
+    // Directorio de los ficheros de las exportaciones programadas y de sus checkpoints
+    private String directory = "exports";
+
+    // Documentos por lote del cursor de MongoDB (y franquicias en vuelo entre el cursor y el fichero)
+    private int cursorBatchSize = 500;
+
+    // Cada cuántas franquicias se cierra el bloque comprimido y se guarda el checkpoint
+    private int checkpointEvery = 1000;
+
+    // Getters y Setters
+    public String getDirectory() { return directory; }
+    public void setDirectory(String directory) { this.directory = directory; }
+
+    public int getCursorBatchSize() { return cursorBatchSize; }
+    public void setCursorBatchSize(int cursorBatchSize) { this.cursorBatchSize = cursorBatchSize; }
+
+    public int getCheckpointEvery() { return checkpointEvery; }
+    public void setCheckpointEvery(int checkpointEvery) { this.checkpointEvery = checkpointEvery; }
+}
@@ -0,0 +1,56 @@
+package com.franchise.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import com.franchise.model.Franchise;
+import com.franchise.model.FranchiseName;
+
+import reactor.core.publisher.Mono;
+
+// Completa franchise_names con las franquicias creadas antes de existir la colección de nombres.
+// Solo recorre franchises si la colección de nombres tiene menos documentos; no pisa entradas existentes.
+@Component
+@ConditionalOnProperty(prefix = "franchise.name-lookup", name = "backfill", havingValue = "true", matchIfMissing = true)
+public class FranchiseNameBackfill {
+
+    private static final Logger log = LoggerFactory.getLogger(FranchiseNameBackfill.class);
+
+    private static final int CONCURRENCY = 16;
+
+    @Autowired
+    private ReactiveMongoTemplate mongoTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        Mono.zip(mongoTemplate.estimatedCount(Franchise.class), mongoTemplate.estimatedCount(FranchiseName.class))
+                .filter(counts -> counts.getT2() < counts.getT1())
+                .flatMapMany(counts -> {
+                    Query query = new Query();
+                    query.fields().include("name");
+                    return mongoTemplate.find(query, Franchise.class);
+                })
+                .flatMap(franchise -> mongoTemplate.upsert(
+                        Query.query(Criteria.where("_id").is(franchise.getName())),
+                        new Update().setOnInsert("franchiseId", franchise.getId()),
+                        FranchiseName.class), CONCURRENCY)
+                .filter(result -> result.getUpsertedId() != null)
+                .count()
+                .subscribe(
+                        added -> {
+                            if (added > 0) {
+                                log.info("franchise_names: {} nombres registrados", added);
+                            }
+                        },
+                        error -> log.warn("No se pudo completar franchise_names: {}", error.getMessage()));
+    }
+}
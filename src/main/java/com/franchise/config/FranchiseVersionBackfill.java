@@ -0,0 +1,48 @@
+package com.franchise.config;
+
+import java.time.Duration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import com.franchise.model.Franchise;
+
+// Asigna version 0 a las franquicias guardadas antes del bloqueo optimista. Sin versión, Spring Data
+// las trataría como nuevas y el save intentaría insertarlas. Se ejecuta antes de aceptar tráfico:
+// la readiness pasa a ACCEPTING_TRAFFIC cuando terminan los listeners de ApplicationReadyEvent.
+@Component
+public class FranchiseVersionBackfill {
+
+    private static final Logger log = LoggerFactory.getLogger(FranchiseVersionBackfill.class);
+
+    private static final Duration TIMEOUT = Duration.ofMinutes(2);
+
+    @Autowired
+    private ReactiveMongoTemplate mongoTemplate;
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        try {
+            long updated = mongoTemplate.updateMulti(Query.query(Criteria.where("version").exists(false)),
+                            new Update().set("version", 0L), Franchise.class)
+                    .map(result -> result.getModifiedCount())
+                    .block(TIMEOUT);
+            if (updated > 0) {
+                log.info("franchises: versión asignada a {} documentos", updated);
+            }
+        } catch (RuntimeException e) {
+            log.warn("No se pudo asignar la versión a las franquicias existentes: {}", e.getMessage());
+        }
+    }
+}
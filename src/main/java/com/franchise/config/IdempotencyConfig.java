@@ -0,0 +1,26 @@
+package com.franchise.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.franchise.filter.IdempotencyFilter;
+import com.franchise.filter.IdempotencyStore;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+@EnableConfigurationProperties(IdempotencyProperties.class)
+public class IdempotencyConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "franchise.idempotency", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public IdempotencyFilter idempotencyFilter(IdempotencyProperties properties, ReactiveMongoTemplate mongoTemplate,
+            ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        return new IdempotencyFilter(properties, new IdempotencyStore(mongoTemplate, properties), objectMapper,
+                meterRegistry);
+    }
+}
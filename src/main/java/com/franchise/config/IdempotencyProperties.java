@@ -0,0 +1,47 @@
+package com.franchise.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "franchise.idempotency")
+public class IdempotencyProperties {
+
+    private boolean enabled = true;
+
+    // Rutas cuyas peticiones POST y PUT aceptan la cabecera Idempotency-Key
+    private List<String> paths = new ArrayList<>(List.of("/api/franchises/**", "/api/batch/**"));
+
+    // Tiempo durante el que se reproduce la respuesta guardada
+    private Duration retention = Duration.ofHours(24);
+
+    // Si la petición original no termina en este tiempo (p. ej. la instancia cayó), otra puede reintentarla
+    private Duration lockTimeout = Duration.ofSeconds(30);
+
+    // Respuestas completadas en memoria (LRU) por delante de la colección idempotency_keys
+    private int cacheSize = 10_000;
+
+    // Tamaño máximo del cuerpo de la petición y de la respuesta guardada
+    private int maxBodySize = 256 * 1024;
+
+    // Getters y Setters
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public List<String> getPaths() { return paths; }
+    public void setPaths(List<String> paths) { this.paths = paths; }
+
+    public Duration getRetention() { return retention; }
+    public void setRetention(Duration retention) { this.retention = retention; }
+
+    public Duration getLockTimeout() { return lockTimeout; }
+    public void setLockTimeout(Duration lockTimeout) { this.lockTimeout = lockTimeout; }
+
+    public int getCacheSize() { return cacheSize; }
+    public void setCacheSize(int cacheSize) { this.cacheSize = cacheSize; }
+
+    public int getMaxBodySize() { return maxBodySize; }
+    public void setMaxBodySize(int maxBodySize) { this.maxBodySize = maxBodySize; }
+}
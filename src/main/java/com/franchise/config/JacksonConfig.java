@@ -0,0 +1,52 @@
+package com.franchise.config;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.boot.web.codec.CodecCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.NativeDetector;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateTimeSerializer;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.franchise.codec.PooledJackson2JsonEncoder;
+
+@Configuration
+public class JacksonConfig {
+
+    // Formatter único y reutilizado para ApiResponseDTO.timestamp (precisión de milisegundos)
+    public static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS");
+
+    // Accesores generados con LambdaMetafactory en lugar de reflexión. En la imagen nativa no se
+    // pueden definir clases en tiempo de ejecución, así que allí se usa la reflexión estándar
+    @Bean
+    public Module blackbirdModule() {
+        if (NativeDetector.inNativeImage()) {
+            return new SimpleModule("blackbird-disabled");
+        }
+        return new BlackbirdModule();
+    }
+
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer timestampFormatCustomizer() {
+        return JacksonConfig::customize;
+    }
+
+    @Bean
+    @Order(1)
+    public CodecCustomizer pooledJsonEncoderCustomizer(ObjectMapper objectMapper) {
+        return configurer -> configurer.defaultCodecs()
+                .jackson2JsonEncoder(new PooledJackson2JsonEncoder(objectMapper));
+    }
+
+    public static void customize(Jackson2ObjectMapperBuilder builder) {
+        builder.serializerByType(LocalDateTime.class, new LocalDateTimeSerializer(TIMESTAMP_FORMAT));
+    }
+}
@@ -0,0 +1,22 @@
+package com.franchise.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "franchise.leaderboard")
+public class LeaderboardProperties {
+
+    // Máximo de productos por ranking que se pueden pedir (top-N / bottom-N)
+    private int maxSize = 100;
+
+    // Recarga periódica desde MongoDB para incorporar escrituras de otras instancias (0 la desactiva)
+    private Duration rebuildInterval = Duration.ofMinutes(10);
+
+    // Getters y Setters
+    public int getMaxSize() { return maxSize; }
+    public void setMaxSize(int maxSize) { this.maxSize = maxSize; }
+
+    public Duration getRebuildInterval() { return rebuildInterval; }
+    public void setRebuildInterval(Duration rebuildInterval) { this.rebuildInterval = rebuildInterval; }
+}
@@ -0,0 +1,39 @@
+package com.franchise.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "franchise.ledger")
+public class LedgerProperties {
+
+    // Los movimientos de stock se insertan en lotes de hasta este tamaño o cada esta ventana
+    private int batchSize = 500;
+
+    private Duration batchWindow = Duration.ofMillis(100);
+
+    // Frecuencia de las instantáneas de las franquicias con movimientos; acota la cola de movimientos
+    // que lee una consulta "stock a fecha"
+    private Duration snapshotInterval = Duration.ofMinutes(15);
+
+    // Historial consultable: lo anterior se compacta en la última instantánea previa a este plazo
+    private Duration retention = Duration.ofDays(30);
+
+    private int maxHistory = 500;
+
+    // Getters y Setters
+    public int getBatchSize() { return batchSize; }
+    public void setBatchSize(int batchSize) { this.batchSize = batchSize; }
+
+    public Duration getBatchWindow() { return batchWindow; }
+    public void setBatchWindow(Duration batchWindow) { this.batchWindow = batchWindow; }
+
+    public Duration getSnapshotInterval() { return snapshotInterval; }
+    public void setSnapshotInterval(Duration snapshotInterval) { this.snapshotInterval = snapshotInterval; }
+
+    public Duration getRetention() { return retention; }
+    public void setRetention(Duration retention) { this.retention = retention; }
+
+    public int getMaxHistory() { return maxHistory; }
+    public void setMaxHistory(int maxHistory) { this.maxHistory = maxHistory; }
+}
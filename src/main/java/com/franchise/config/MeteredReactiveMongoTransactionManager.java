@@ -0,0 +1,68 @@
+package com.franchise.config;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.data.mongodb.ReactiveMongoDatabaseFactory;
+import org.springframework.data.mongodb.ReactiveMongoTransactionManager;
+import org.springframework.transaction.reactive.GenericReactiveTransaction;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+
+import com.mongodb.MongoException;
+import com.mongodb.TransactionOptions;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+// ReactiveMongoTransactionManager con métricas de commit y abort. Un commit cuyo resultado es
+// desconocido (p. ej. cambio de primario durante el commit) se reintenta: commitTransaction es
+// idempotente dentro de la misma sesión.
+public class MeteredReactiveMongoTransactionManager extends ReactiveMongoTransactionManager {
+
+    private final int commitRetries;
+    private final Timer committed;
+    private final Timer commitFailed;
+    private final Counter aborted;
+
+    public MeteredReactiveMongoTransactionManager(ReactiveMongoDatabaseFactory databaseFactory,
+            TransactionOptions options, int commitRetries, MeterRegistry meterRegistry) {
+        super(databaseFactory, options);
+        this.commitRetries = commitRetries;
+        this.committed = timer(meterRegistry, "committed");
+        this.commitFailed = timer(meterRegistry, "failed");
+        this.aborted = Counter.builder("franchise.transactions.aborted")
+                .description("Transacciones revertidas (errores de negocio, conflictos y reintentos)")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected Mono<Void> doCommit(TransactionSynchronizationManager synchronizationManager,
+            ReactiveMongoTransactionObject transactionObject) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return super.doCommit(synchronizationManager, transactionObject)
+                    .retryWhen(Retry.max(commitRetries).filter(e -> e instanceof MongoException mongoException
+                            && mongoException.hasErrorLabel(MongoException.UNKNOWN_TRANSACTION_COMMIT_RESULT_LABEL)))
+                    .doOnSuccess(ignored -> committed.record(System.nanoTime() - start,
+                            TimeUnit.NANOSECONDS))
+                    .doOnError(e -> commitFailed.record(System.nanoTime() - start,
+                            TimeUnit.NANOSECONDS));
+        });
+    }
+
+    @Override
+    protected Mono<Void> doRollback(TransactionSynchronizationManager synchronizationManager,
+            GenericReactiveTransaction status) {
+        return super.doRollback(synchronizationManager, status).doFinally(signal -> aborted.increment());
+    }
+
+    private static Timer timer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("franchise.transactions.commit")
+                .description("Latencia del commit de las transacciones de MongoDB")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,54 @@
+package com.franchise.config;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+@EnableConfigurationProperties(MongoClientProperties.class)
+public class MongoClientConfig {
+
+    @Bean
+    public MongoPoolMetricsListener mongoPoolMetricsListener(MeterRegistry meterRegistry) {
+        return new MongoPoolMetricsListener(meterRegistry);
+    }
+
+    @Bean
+    public MongoLatencyTracker mongoLatencyTracker() {
+        return new MongoLatencyTracker();
+    }
+
+    @Bean
+    public MongoReadMetricsListener mongoReadMetricsListener(MeterRegistry meterRegistry) {
+        return new MongoReadMetricsListener(meterRegistry);
+    }
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoPoolCustomizer(MongoClientProperties properties,
+            MongoPoolMetricsListener mongoPoolMetricsListener, MongoLatencyTracker mongoLatencyTracker,
+            MongoReadMetricsListener mongoReadMetricsListener) {
+        MongoClientProperties.Pool pool = properties.getPool();
+        MongoClientProperties.Socket socket = properties.getSocket();
+
+        return builder -> builder
+                .addCommandListener(mongoLatencyTracker)
+                .addCommandListener(mongoReadMetricsListener)
+                .applyToConnectionPoolSettings(settings -> settings
+                        .maxSize(pool.getMaxSize())
+                        .minSize(pool.getMinSize())
+                        .maxConnecting(pool.getMaxConnecting())
+                        .maxWaitTime(pool.getMaxWaitTime().toMillis(), TimeUnit.MILLISECONDS)
+                        .maxConnectionIdleTime(pool.getMaxConnectionIdleTime().toMillis(), TimeUnit.MILLISECONDS)
+                        .maxConnectionLifeTime(pool.getMaxConnectionLifeTime().toMillis(), TimeUnit.MILLISECONDS)
+                        .maintenanceFrequency(pool.getMaintenanceFrequency().toMillis(), TimeUnit.MILLISECONDS)
+                        .addConnectionPoolListener(mongoPoolMetricsListener))
+                .applyToSocketSettings(settings -> settings
+                        .connectTimeout((int) socket.getConnectTimeout().toMillis(), TimeUnit.MILLISECONDS)
+                        .readTimeout((int) socket.getReadTimeout().toMillis(), TimeUnit.MILLISECONDS));
+    }
+}
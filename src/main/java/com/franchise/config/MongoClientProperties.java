@@ -0,0 +1,66 @@
+package com.franchise.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "franchise.mongodb")
+public class MongoClientProperties {
+
+    private final Pool pool = new Pool();
+    private final Socket socket = new Socket();
+
+    public Pool getPool() { return pool; }
+
+    public Socket getSocket() { return socket; }
+
+    public static class Pool {
+        private int maxSize = 100;
+        private int minSize = 0;
+        private int maxConnecting = 2;
+        // Tiempo máximo que una operación espera por una conexión libre
+        private Duration maxWaitTime = Duration.ofSeconds(2);
+        private Duration maxConnectionIdleTime = Duration.ofMinutes(5);
+        private Duration maxConnectionLifeTime = Duration.ZERO;
+        private Duration maintenanceFrequency = Duration.ofMinutes(1);
+
+        public int getMaxSize() { return maxSize; }
+        public void setMaxSize(int maxSize) { this.maxSize = maxSize; }
+
+        public int getMinSize() { return minSize; }
+        public void setMinSize(int minSize) { this.minSize = minSize; }
+
+        public int getMaxConnecting() { return maxConnecting; }
+        public void setMaxConnecting(int maxConnecting) { this.maxConnecting = maxConnecting; }
+
+        public Duration getMaxWaitTime() { return maxWaitTime; }
+        public void setMaxWaitTime(Duration maxWaitTime) { this.maxWaitTime = maxWaitTime; }
+
+        public Duration getMaxConnectionIdleTime() { return maxConnectionIdleTime; }
+        public void setMaxConnectionIdleTime(Duration maxConnectionIdleTime) {
+            this.maxConnectionIdleTime = maxConnectionIdleTime;
+        }
+
+        public Duration getMaxConnectionLifeTime() { return maxConnectionLifeTime; }
+        public void setMaxConnectionLifeTime(Duration maxConnectionLifeTime) {
+            this.maxConnectionLifeTime = maxConnectionLifeTime;
+        }
+
+        public Duration getMaintenanceFrequency() { return maintenanceFrequency; }
+        public void setMaintenanceFrequency(Duration maintenanceFrequency) {
+            this.maintenanceFrequency = maintenanceFrequency;
+        }
+    }
+
+    public static class Socket {
+        private Duration connectTimeout = Duration.ofSeconds(10);
+        // 0 = sin límite (valor por defecto del driver)
+        private Duration readTimeout = Duration.ZERO;
+
+        public Duration getConnectTimeout() { return connectTimeout; }
+        public void setConnectTimeout(Duration connectTimeout) { this.connectTimeout = connectTimeout; }
+
+        public Duration getReadTimeout() { return readTimeout; }
+        public void setReadTimeout(Duration readTimeout) { this.readTimeout = readTimeout; }
+    }
+}
@@ -0,0 +1,82 @@
+package com.franchise.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.stereotype.Component;
+
+import com.franchise.model.Franchise;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// Crea los índices declarados en las entidades cuando la aplicación ya está lista,
+// en lugar de hacerlo durante el arranque (spring.data.mongodb.auto-index-creation=false).
+// Cada índice se crea por separado: uno que falla (p. ej. conflicto de opciones con uno existente)
+// se registra y no impide crear los demás.
+@Component
+public class MongoIndexInitializer {
+
+    private static final Logger log = LoggerFactory.getLogger(MongoIndexInitializer.class);
+
+    @Autowired
+    private ReactiveMongoTemplate mongoTemplate;
+
+    @Autowired
+    private MongoMappingContext mappingContext;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void createIndexes() {
+        IndexResolver resolver = IndexResolver.create(mappingContext);
+
+        dropUniqueNameIndex()
+                .thenMany(Flux.fromIterable(mappingContext.getPersistentEntities()))
+                .filter(entity -> entity.isAnnotationPresent(Document.class))
+                .flatMap(entity -> ensureIndexes(resolver, entity))
+                .count()
+                .subscribe(
+                        failed -> {
+                            if (failed > 0) {
+                                log.warn("Índices de MongoDB verificados; {} no se pudieron crear", failed);
+                            } else {
+                                log.info("Índices de MongoDB verificados");
+                            }
+                        },
+                        error -> log.warn("No se pudieron crear los índices de MongoDB: {}", error.getMessage()));
+    }
+
+    // Emite un elemento por cada índice que no se pudo crear
+    private Flux<String> ensureIndexes(IndexResolver resolver, MongoPersistentEntity<?> entity) {
+        return Flux.fromIterable(resolver.resolveIndexFor(entity.getTypeInformation()))
+                .concatMap(index -> mongoTemplate.indexOps(entity.getCollection()).ensureIndex(index)
+                        .doOnNext(name -> log.debug("Índice {}.{} verificado", entity.getCollection(), name))
+                        .then(Mono.<String>empty())
+                        .onErrorResume(error -> {
+                            log.warn("No se pudo crear el índice {} en {}: {}", index.getIndexKeys(),
+                                    entity.getCollection(), error.getMessage());
+                            return Mono.just(entity.getCollection());
+                        }));
+    }
+
+    // Migración: las bases de datos anteriores a franchise_names tienen un índice único "name" en
+    // franchises, que choca con el índice no único del mismo nombre y con la shard key hash de _id.
+    // La unicidad la garantiza ahora franchise_names.
+    private Mono<Void> dropUniqueNameIndex() {
+        return mongoTemplate.indexOps(Franchise.class).getIndexInfo()
+                .filter(index -> "name".equals(index.getName()) && index.isUnique())
+                .next()
+                .flatMap(index -> mongoTemplate.indexOps(Franchise.class).dropIndex(index.getName())
+                        .doOnSuccess(dropped -> log.info("Índice único 'name' de franchises eliminado")))
+                .onErrorResume(error -> {
+                    log.warn("No se pudo eliminar el índice único 'name' de franchises: {}", error.getMessage());
+                    return Mono.empty();
+                });
+    }
+}
@@ -0,0 +1,45 @@
+package com.franchise.config;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandSucceededEvent;
+
+// Media móvil exponencial (EWMA) de la latencia de los comandos enviados a MongoDB
+public class MongoLatencyTracker implements CommandListener {
+
+    // Comandos de cursores largos (change streams, exportaciones) distorsionarían la media
+    private static final Set<String> IGNORED_COMMANDS = Set.of("getMore", "killCursors");
+
+    private static final double ALPHA = 0.1;
+
+    private final AtomicLong ewmaNanosBits = new AtomicLong(Double.doubleToLongBits(0.0));
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        record(event.getCommandName(), event.getElapsedTime(TimeUnit.NANOSECONDS));
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        record(event.getCommandName(), event.getElapsedTime(TimeUnit.NANOSECONDS));
+    }
+
+    public double getLatencyMillis() {
+        return Double.longBitsToDouble(ewmaNanosBits.get()) / 1_000_000.0;
+    }
+
+    void record(String commandName, long elapsedNanos) {
+        if (IGNORED_COMMANDS.contains(commandName)) {
+            return;
+        }
+        ewmaNanosBits.updateAndGet(bits -> {
+            double current = Double.longBitsToDouble(bits);
+            double next = current == 0.0 ? elapsedNanos : current + ALPHA * (elapsedNanos - current);
+            return Double.doubleToLongBits(next);
+        });
+    }
+}
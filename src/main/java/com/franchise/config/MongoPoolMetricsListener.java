@@ -0,0 +1,45 @@
+package com.franchise.config;
+
+import java.util.concurrent.TimeUnit;
+
+import com.mongodb.event.ConnectionCheckOutFailedEvent;
+import com.mongodb.event.ConnectionCheckedOutEvent;
+import com.mongodb.event.ConnectionPoolListener;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+// Tiempo de espera por una conexión del pool (checkout), complementa las métricas
+// de tamaño del pool que ya publica Spring Boot (mongodb.driver.pool.*)
+public class MongoPoolMetricsListener implements ConnectionPoolListener {
+
+    private static final String CHECKOUT_METRIC = "mongodb.driver.pool.checkout";
+
+    private final MeterRegistry meterRegistry;
+
+    public MongoPoolMetricsListener(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void connectionCheckedOut(ConnectionCheckedOutEvent event) {
+        record(event.getConnectionId().getServerId().getAddress().toString(), "success",
+                event.getElapsedTime(TimeUnit.NANOSECONDS));
+    }
+
+    @Override
+    public void connectionCheckOutFailed(ConnectionCheckOutFailedEvent event) {
+        record(event.getServerId().getAddress().toString(), event.getReason().name().toLowerCase(),
+                event.getElapsedTime(TimeUnit.NANOSECONDS));
+    }
+
+    private void record(String serverAddress, String outcome, long elapsedNanos) {
+        Timer.builder(CHECKOUT_METRIC)
+                .description("Time spent waiting for a pooled MongoDB connection")
+                .tag("server.address", serverAddress)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,35 @@
+package com.franchise.config;
+
+import java.util.Set;
+
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandSucceededEvent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Cuenta las lecturas por nodo que las atendió (dirección y tipo: primario / secundario)
+public class MongoReadMetricsListener implements CommandListener {
+
+    private static final Set<String> READ_COMMANDS = Set.of("find", "aggregate", "count", "distinct", "getMore");
+
+    private final MeterRegistry meterRegistry;
+
+    public MongoReadMetricsListener(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        if (!READ_COMMANDS.contains(event.getCommandName())) {
+            return;
+        }
+        Counter.builder("mongodb.driver.reads")
+                .description("Lecturas atendidas por cada nodo de MongoDB")
+                .tag("server.address", event.getConnectionDescription().getServerAddress().toString())
+                .tag("server.type", event.getConnectionDescription().getServerType().name().toLowerCase())
+                .tag("command", event.getCommandName())
+                .register(meterRegistry)
+                .increment();
+    }
+}
@@ -0,0 +1,38 @@
+package com.franchise.config;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.ReactiveMongoDatabaseFactory;
+import org.springframework.data.mongodb.ReactiveMongoTransactionManager;
+
+import com.mongodb.ReadConcern;
+import com.mongodb.ReadPreference;
+import com.mongodb.TransactionOptions;
+import com.mongodb.WriteConcern;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Transacciones multi-documento para los traspasos entre franquicias. Solo las usa
+// FranchiseTransfers: el resto de escrituras son de un único documento y no abren transacción.
+// Lectura snapshot y escritura majority: el traspaso es visible completo o no lo es.
+@Configuration
+@EnableConfigurationProperties(TransferProperties.class)
+public class MongoTransactionConfig {
+
+    @Bean
+    public ReactiveMongoTransactionManager reactiveMongoTransactionManager(
+            ReactiveMongoDatabaseFactory databaseFactory, TransferProperties properties,
+            MeterRegistry meterRegistry) {
+        TransactionOptions options = TransactionOptions.builder()
+                .readConcern(ReadConcern.SNAPSHOT)
+                .writeConcern(WriteConcern.MAJORITY)
+                .readPreference(ReadPreference.primary())
+                .maxCommitTime(properties.getMaxCommitTime().toMillis(), TimeUnit.MILLISECONDS)
+                .build();
+        return new MeteredReactiveMongoTransactionManager(databaseFactory, options, properties.getCommitRetries(),
+                meterRegistry);
+    }
+}
@@ -0,0 +1,95 @@
+package com.franchise.config;
+
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+
+import com.franchise.dto.ApiResponseDTO;
+import com.franchise.dto.BatchOperationDTO;
+import com.franchise.dto.BatchRequestDTO;
+import com.franchise.dto.BatchResultDTO;
+import com.franchise.dto.CatalogChangeBatchDTO;
+import com.franchise.dto.CatalogChangeDTO;
+import com.franchise.dto.ExportJobDTO;
+import com.franchise.dto.MoveBranchDTO;
+import com.franchise.dto.ProductLocationDTO;
+import com.franchise.dto.ProductTopStockDTO;
+import com.franchise.dto.ReserveStockDTO;
+import com.franchise.dto.SearchHitDTO;
+import com.franchise.dto.StockAlertDTO;
+import com.franchise.dto.StockAvailabilityDTO;
+import com.franchise.dto.StockSeriesDTO;
+import com.franchise.dto.TransferResultDTO;
+import com.franchise.dto.TransferStockDTO;
+import com.franchise.dto.UpdateNameDTO;
+import com.franchise.dto.UpdateStockDTO;
+import com.franchise.dto.UpdateThresholdDTO;
+import com.franchise.model.Branch;
+import com.franchise.model.Franchise;
+import com.franchise.model.FranchiseName;
+import com.franchise.model.IdempotencyRecord;
+import com.franchise.model.LowStockAlert;
+import com.franchise.model.Product;
+import com.franchise.model.SearchEntry;
+import com.franchise.model.StockMovement;
+import com.franchise.model.StockRollup;
+import com.franchise.model.StockSample;
+import com.franchise.model.StockReservation;
+import com.franchise.model.StockSnapshot;
+import com.franchise.service.FranchiseService;
+
+// Metadatos para la imagen nativa de GraalVM (perfil Maven "native")
+public class NativeRuntimeHints implements RuntimeHintsRegistrar {
+
+    private static final Class<?>[] MODEL_TYPES = {
+            Franchise.class, Branch.class, Product.class, FranchiseName.class, SearchEntry.class,
+            LowStockAlert.class, StockReservation.class, StockMovement.class,
+            StockSnapshot.class, StockSnapshot.Entry.class, StockSample.class, StockSample.Series.class,
+            StockRollup.class, IdempotencyRecord.class
+    };
+
+    private static final Class<?>[] DTO_TYPES = {
+            ApiResponseDTO.class, UpdateNameDTO.class, UpdateStockDTO.class, ProductTopStockDTO.class,
+            SearchHitDTO.class, ProductLocationDTO.class, UpdateThresholdDTO.class, StockAlertDTO.class,
+            ReserveStockDTO.class, StockAvailabilityDTO.class, StockSeriesDTO.class, StockSeriesDTO.Point.class,
+            FranchiseService.FranchiseStatsDTO.class, ExportJobDTO.class, CatalogChangeDTO.class,
+            CatalogChangeBatchDTO.class, BatchRequestDTO.class, BatchOperationDTO.class, BatchResultDTO.class,
+            TransferStockDTO.class, MoveBranchDTO.class, TransferResultDTO.class
+    };
+
+    // Clases que el driver de MongoDB carga por nombre
+    private static final String[] MONGO_DRIVER_TYPES = {
+            "org.bson.codecs.record.RecordCodecProvider",
+            "com.sun.jndi.dns.DnsContextFactory"
+    };
+
+    // Compresor zstd de la exportación del catálogo (perfil Maven "zstd"), creado por reflexión
+    private static final String ZSTD_OUTPUT_STREAM = "com.github.luben.zstd.ZstdOutputStream";
+
+    private final BindingReflectionHintsRegistrar bindingRegistrar = new BindingReflectionHintsRegistrar();
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        // Jackson (JSON, CBOR, Smile) y el mapeo de Spring Data acceden por reflexión a getters/setters;
+        // Bean Validation lee las anotaciones de los campos
+        bindingRegistrar.registerReflectionHints(hints.reflection(), MODEL_TYPES);
+        bindingRegistrar.registerReflectionHints(hints.reflection(), DTO_TYPES);
+        for (Class<?> type : MODEL_TYPES) {
+            hints.reflection().registerType(type, MemberCategory.DECLARED_FIELDS,
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+
+        for (String typeName : MONGO_DRIVER_TYPES) {
+            hints.reflection().registerType(TypeReference.of(typeName),
+                    MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        }
+
+        hints.reflection().registerType(TypeReference.of(ZSTD_OUTPUT_STREAM),
+                MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+
+        // Swagger UI se sirve desde el webjar
+        hints.resources().registerPattern("META-INF/resources/webjars/swagger-ui/*/*");
+    }
+}
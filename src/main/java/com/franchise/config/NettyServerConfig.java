@@ -0,0 +1,39 @@
+package com.franchise.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import reactor.netty.resources.LoopResources;
+
+@Configuration
+@EnableConfigurationProperties(NettyServerProperties.class)
+public class NettyServerConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public LoopResources serverLoopResources(NettyServerProperties properties) {
+        int workers = properties.getWorkerThreads() > 0
+                ? properties.getWorkerThreads()
+                : LoopResources.DEFAULT_IO_WORKER_COUNT;
+        return LoopResources.create("franchise-http", properties.getSelectThreads(), workers, true);
+    }
+
+    @Bean
+    public WebServerFactoryCustomizer<NettyReactiveWebServerFactory> nettyServerCustomizer(
+            NettyServerProperties properties, LoopResources serverLoopResources) {
+        return factory -> factory.addServerCustomizers(httpServer -> {
+            var server = httpServer
+                    .runOn(serverLoopResources, properties.isPreferNative())
+                    .idleTimeout(properties.getIdleTimeout());
+            if (properties.getMaxKeepAliveRequests() > 0) {
+                server = server.maxKeepAliveRequests(properties.getMaxKeepAliveRequests());
+            }
+            if (properties.getCompression().isEnabled()) {
+                server = server.compress(new CompressionPredicate(properties.getCompression()));
+            }
+            return server;
+        });
+    }
+}
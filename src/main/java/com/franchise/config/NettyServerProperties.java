@@ -0,0 +1,86 @@
+package com.franchise.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "franchise.netty")
+public class NettyServerProperties {
+
+    // Event loop (0 = Reactor Netty default, one worker per core)
+    private int selectThreads = 1;
+    private int workerThreads = 0;
+    private boolean preferNative = true;
+
+    // Connection handling
+    private Duration idleTimeout = Duration.ofSeconds(60);
+    private int maxKeepAliveRequests = -1;
+
+    // Response compression (gzip/deflate; br si brotli4j está en el classpath)
+    private final Compression compression = new Compression();
+
+    // Getters y Setters
+    public int getSelectThreads() { return selectThreads; }
+    public void setSelectThreads(int selectThreads) { this.selectThreads = selectThreads; }
+
+    public int getWorkerThreads() { return workerThreads; }
+    public void setWorkerThreads(int workerThreads) { this.workerThreads = workerThreads; }
+
+    public boolean isPreferNative() { return preferNative; }
+    public void setPreferNative(boolean preferNative) { this.preferNative = preferNative; }
+
+    public Duration getIdleTimeout() { return idleTimeout; }
+    public void setIdleTimeout(Duration idleTimeout) { this.idleTimeout = idleTimeout; }
+
+    public int getMaxKeepAliveRequests() { return maxKeepAliveRequests; }
+    public void setMaxKeepAliveRequests(int maxKeepAliveRequests) { this.maxKeepAliveRequests = maxKeepAliveRequests; }
+
+    public Compression getCompression() { return compression; }
+
+    public static class Compression {
+        private boolean enabled = true;
+        // Umbral por defecto para los tipos sin regla propia
+        private int minResponseSize = 2048;
+        private List<Rule> rules = new ArrayList<>(List.of(
+                new Rule("application/json", 1024),
+                new Rule("application/*+json", 1024),
+                new Rule("text/*", 2048),
+                new Rule("application/javascript", 2048)));
+        private List<String> excludedUserAgents = new ArrayList<>();
+
+        public boolean isEnabled() { return enabled; }
+        public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+        public int getMinResponseSize() { return minResponseSize; }
+        public void setMinResponseSize(int minResponseSize) { this.minResponseSize = minResponseSize; }
+
+        public List<Rule> getRules() { return rules; }
+        public void setRules(List<Rule> rules) { this.rules = rules; }
+
+        public List<String> getExcludedUserAgents() { return excludedUserAgents; }
+        public void setExcludedUserAgents(List<String> excludedUserAgents) {
+            this.excludedUserAgents = excludedUserAgents;
+        }
+    }
+
+    // Regla de compresión por tipo de contenido. minResponseSize < 0 usa el umbral por defecto.
+    public static class Rule {
+        private String mimeType;
+        private int minResponseSize = -1;
+
+        public Rule() {}
+
+        public Rule(String mimeType, int minResponseSize) {
+            this.mimeType = mimeType;
+            this.minResponseSize = minResponseSize;
+        }
+
+        public String getMimeType() { return mimeType; }
+        public void setMimeType(String mimeType) { this.mimeType = mimeType; }
+
+        public int getMinResponseSize() { return minResponseSize; }
+        public void setMinResponseSize(int minResponseSize) { this.minResponseSize = minResponseSize; }
+    }
+}
@@ -4,14 +4,33 @@ import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.info.Info;
 import io.swagger.v3.oas.models.info.Contact;
 import io.swagger.v3.oas.models.servers.Server;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
 
 import java.util.List;
 
+// Solo se necesita al servir /v3/api-docs; no se crea durante el arranque
+@Lazy
 @Configuration
 public class OpenAPIConfig {
 
+    // springdoc crea el endpoint /v3/api-docs y su OpenAPIService de forma temprana;
+    // los diferimos hasta la primera petición a la documentación
+    private static final String[] LAZY_SPRINGDOC_BEANS = {"openApiResource", "openAPIBuilder"};
+
+    @Bean
+    public static BeanFactoryPostProcessor lazySpringdocPostProcessor() {
+        return beanFactory -> {
+            for (String beanName : LAZY_SPRINGDOC_BEANS) {
+                if (beanFactory.containsBeanDefinition(beanName)) {
+                    beanFactory.getBeanDefinition(beanName).setLazyInit(true);
+                }
+            }
+        };
+    }
+
     @Bean
     public OpenAPI franchiseOpenAPI() {
         return new OpenAPI()
@@ -0,0 +1,52 @@
+package com.franchise.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import com.mongodb.ReadConcernLevel;
+
+@ConfigurationProperties(prefix = "franchise.read-routing")
+public class ReadRoutingProperties {
+
+    // Lecturas que deben ver las escrituras propias (detalle, lectura-modificación-guardado)
+    private final Route readYourWrites = new Route("primary", null, null);
+
+    // Reportes (top stock, estadísticas)
+    private final Route reports = new Route("secondaryPreferred", Duration.ofSeconds(90), ReadConcernLevel.LOCAL);
+
+    // Listados y búsqueda
+    private final Route search = new Route("secondaryPreferred", Duration.ofSeconds(90), ReadConcernLevel.LOCAL);
+
+    public Route getReadYourWrites() { return readYourWrites; }
+
+    public Route getReports() { return reports; }
+
+    public Route getSearch() { return search; }
+
+    public static class Route {
+        // primary, primaryPreferred, secondary, secondaryPreferred, nearest
+        private String readPreference;
+        // Retraso máximo admitido de un secundario (mínimo 90s); vacío = sin límite
+        private Duration maxStaleness;
+        // Nivel de read concern; vacío = el del servidor
+        private ReadConcernLevel readConcern;
+
+        public Route() {}
+
+        Route(String readPreference, Duration maxStaleness, ReadConcernLevel readConcern) {
+            this.readPreference = readPreference;
+            this.maxStaleness = maxStaleness;
+            this.readConcern = readConcern;
+        }
+
+        public String getReadPreference() { return readPreference; }
+        public void setReadPreference(String readPreference) { this.readPreference = readPreference; }
+
+        public Duration getMaxStaleness() { return maxStaleness; }
+        public void setMaxStaleness(Duration maxStaleness) { this.maxStaleness = maxStaleness; }
+
+        public ReadConcernLevel getReadConcern() { return readConcern; }
+        public void setReadConcern(ReadConcernLevel readConcern) { this.readConcern = readConcern; }
+    }
+}
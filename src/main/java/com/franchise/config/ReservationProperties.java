@@ -0,0 +1,39 @@
+package com.franchise.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "franchise.reservations")
+public class ReservationProperties {
+
+    // Duración de una reserva si la petición no la indica, y máximo admitido
+    private Duration defaultTtl = Duration.ofMinutes(5);
+
+    private Duration maxTtl = Duration.ofMinutes(30);
+
+    // Frecuencia y tamaño de lote del barrido de reservas vencidas
+    private Duration sweepInterval = Duration.ofSeconds(1);
+
+    private int sweepBatchSize = 500;
+
+    // Tiempo que se conservan las reservas ya confirmadas, liberadas o vencidas antes de que el índice
+    // TTL las elimine
+    private Duration retention = Duration.ofHours(1);
+
+    // Getters y Setters
+    public Duration getDefaultTtl() { return defaultTtl; }
+    public void setDefaultTtl(Duration defaultTtl) { this.defaultTtl = defaultTtl; }
+
+    public Duration getMaxTtl() { return maxTtl; }
+    public void setMaxTtl(Duration maxTtl) { this.maxTtl = maxTtl; }
+
+    public Duration getSweepInterval() { return sweepInterval; }
+    public void setSweepInterval(Duration sweepInterval) { this.sweepInterval = sweepInterval; }
+
+    public int getSweepBatchSize() { return sweepBatchSize; }
+    public void setSweepBatchSize(int sweepBatchSize) { this.sweepBatchSize = sweepBatchSize; }
+
+    public Duration getRetention() { return retention; }
+    public void setRetention(Duration retention) { this.retention = retention; }
+}
@@ -0,0 +1,32 @@
+package com.franchise.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "franchise.search")
+public class SearchProperties {
+
+    // Reconstruye el índice al arrancar si está vacío y hay franquicias
+    private boolean rebuildOnStartup = true;
+
+    // Las actualizaciones del índice se agrupan hasta este tamaño o esta ventana
+    private int batchSize = 256;
+
+    private Duration batchWindow = Duration.ofMillis(10);
+
+    private int maxResults = 50;
+
+    // Getters y Setters
+    public boolean isRebuildOnStartup() { return rebuildOnStartup; }
+    public void setRebuildOnStartup(boolean rebuildOnStartup) { this.rebuildOnStartup = rebuildOnStartup; }
+
+    public int getBatchSize() { return batchSize; }
+    public void setBatchSize(int batchSize) { this.batchSize = batchSize; }
+
+    public Duration getBatchWindow() { return batchWindow; }
+    public void setBatchWindow(Duration batchWindow) { this.batchWindow = batchWindow; }
+
+    public int getMaxResults() { return maxResults; }
+    public void setMaxResults(int maxResults) { this.maxResults = maxResults; }
+}
@@ -0,0 +1,38 @@
+package com.franchise.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "franchise.static-resources")
+public class StaticResourceProperties {
+
+    private boolean enabled = true;
+
+    // Swagger UI y especificación OpenAPI generada por springdoc
+    private List<String> paths = new ArrayList<>(List.of("/webjars/swagger-ui/**", "/v3/api-docs", "/v3/api-docs/**"));
+
+    private Duration maxAge = Duration.ofHours(1);
+
+    private int maxEntries = 64;
+
+    private int maxEntrySize = 4 * 1024 * 1024;
+
+    // Getters y Setters
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public List<String> getPaths() { return paths; }
+    public void setPaths(List<String> paths) { this.paths = paths; }
+
+    public Duration getMaxAge() { return maxAge; }
+    public void setMaxAge(Duration maxAge) { this.maxAge = maxAge; }
+
+    public int getMaxEntries() { return maxEntries; }
+    public void setMaxEntries(int maxEntries) { this.maxEntries = maxEntries; }
+
+    public int getMaxEntrySize() { return maxEntrySize; }
+    public void setMaxEntrySize(int maxEntrySize) { this.maxEntrySize = maxEntrySize; }
+}
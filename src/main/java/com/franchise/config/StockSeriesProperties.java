@@ -0,0 +1,49 @@
+package com.franchise.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "franchise.stock-series")
+public class StockSeriesProperties {
+
+    // Las muestras y sus agregados se escriben en lotes de hasta este tamaño o cada esta ventana
+    private int batchSize = 1000;
+
+    private Duration batchWindow = Duration.ofMillis(500);
+
+    // Puntos máximos por serie en una respuesta: se elige la resolución más fina que no los supera
+    private int maxPoints = 500;
+
+    // Retención de las muestras (expireAfter de la colección de series temporales, se fija al crearla)
+    private Duration rawRetention = Duration.ofDays(30);
+
+    // Retención de los agregados por resolución
+    private Duration minuteRetention = Duration.ofDays(7);
+
+    private Duration hourRetention = Duration.ofDays(90);
+
+    private Duration dayRetention = Duration.ofDays(730);
+
+    // Getters y Setters
+    public int getBatchSize() { return batchSize; }
+    public void setBatchSize(int batchSize) { this.batchSize = batchSize; }
+
+    public Duration getBatchWindow() { return batchWindow; }
+    public void setBatchWindow(Duration batchWindow) { this.batchWindow = batchWindow; }
+
+    public int getMaxPoints() { return maxPoints; }
+    public void setMaxPoints(int maxPoints) { this.maxPoints = maxPoints; }
+
+    public Duration getRawRetention() { return rawRetention; }
+    public void setRawRetention(Duration rawRetention) { this.rawRetention = rawRetention; }
+
+    public Duration getMinuteRetention() { return minuteRetention; }
+    public void setMinuteRetention(Duration minuteRetention) { this.minuteRetention = minuteRetention; }
+
+    public Duration getHourRetention() { return hourRetention; }
+    public void setHourRetention(Duration hourRetention) { this.hourRetention = hourRetention; }
+
+    public Duration getDayRetention() { return dayRetention; }
+    public void setDayRetention(Duration dayRetention) { this.dayRetention = dayRetention; }
+}
@@ -0,0 +1,39 @@
+package com.franchise.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "franchise.transfers")
+public class TransferProperties {
+
+    // Intentos de la transacción completa ante errores transitorios (TransientTransactionError)
+    private int maxAttempts = 5;
+
+    // Espera entre intentos: exponencial con jitter entre backoff y max-backoff
+    private Duration backoff = Duration.ofMillis(20);
+
+    private Duration maxBackoff = Duration.ofMillis(500);
+
+    // Reintentos del commit cuando su resultado es desconocido (UnknownTransactionCommitResult)
+    private int commitRetries = 3;
+
+    // maxCommitTimeMS de cada transacción
+    private Duration maxCommitTime = Duration.ofSeconds(5);
+
+    // Getters y Setters
+    public int getMaxAttempts() { return maxAttempts; }
+    public void setMaxAttempts(int maxAttempts) { this.maxAttempts = maxAttempts; }
+
+    public Duration getBackoff() { return backoff; }
+    public void setBackoff(Duration backoff) { this.backoff = backoff; }
+
+    public Duration getMaxBackoff() { return maxBackoff; }
+    public void setMaxBackoff(Duration maxBackoff) { this.maxBackoff = maxBackoff; }
+
+    public int getCommitRetries() { return commitRetries; }
+    public void setCommitRetries(int commitRetries) { this.commitRetries = commitRetries; }
+
+    public Duration getMaxCommitTime() { return maxCommitTime; }
+    public void setMaxCommitTime(Duration maxCommitTime) { this.maxCommitTime = maxCommitTime; }
+}
@@ -0,0 +1,36 @@
+package com.franchise.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "franchise.warmup")
+public class WarmupProperties {
+
+    private boolean enabled = false;
+
+    // Tiempo máximo antes de declarar el pod listo aunque el calentamiento no haya terminado
+    private Duration timeout = Duration.ofSeconds(30);
+
+    private int iterations = 5000;
+
+    // Tamaño de las franquicias sintéticas
+    private int branches = 10;
+    private int productsPerBranch = 20;
+
+    // Getters y Setters
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public Duration getTimeout() { return timeout; }
+    public void setTimeout(Duration timeout) { this.timeout = timeout; }
+
+    public int getIterations() { return iterations; }
+    public void setIterations(int iterations) { this.iterations = iterations; }
+
+    public int getBranches() { return branches; }
+    public void setBranches(int branches) { this.branches = branches; }
+
+    public int getProductsPerBranch() { return productsPerBranch; }
+    public void setProductsPerBranch(int productsPerBranch) { this.productsPerBranch = productsPerBranch; }
+}
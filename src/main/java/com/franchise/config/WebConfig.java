@@ -1,12 +1,17 @@
 package com.franchise.config;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.reactive.CorsWebFilter;
 import org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource;
 
+import com.franchise.filter.PrecompressedResourceFilter;
+
 @Configuration
+@EnableConfigurationProperties(StaticResourceProperties.class)
 public class WebConfig {
 
     @Bean
@@ -21,5 +26,11 @@ public class WebConfig {
 
         return new CorsWebFilter(source);
     }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "franchise.static-resources", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public PrecompressedResourceFilter precompressedResourceFilter(StaticResourceProperties properties) {
+        return new PrecompressedResourceFilter(properties);
+    }
 }
 
@@ -0,0 +1,55 @@
+package com.franchise.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "franchise.write-concern")
+public class WriteConcernProperties {
+
+    // Cambios de stock
+    private final Level stock = new Level("majority", true, Duration.ofSeconds(5));
+
+    // Alta/baja de franquicias, sucursales y productos
+    private final Level structure = new Level("majority", true, Duration.ofSeconds(5));
+
+    // Renombrados
+    private final Level rename = new Level("1", false, null);
+
+    // Importaciones masivas
+    private final Level bulk = new Level("1", false, null);
+
+    public Level getStock() { return stock; }
+
+    public Level getStructure() { return structure; }
+
+    public Level getRename() { return rename; }
+
+    public Level getBulk() { return bulk; }
+
+    public static class Level {
+        // Número de nodos que confirman la escritura o "majority"
+        private String w;
+        // Confirmar tras escribir en el journal; vacío = el del servidor
+        private Boolean journal;
+        // Tiempo máximo esperando la confirmación de w nodos; vacío = sin límite
+        private Duration wtimeout;
+
+        public Level() {}
+
+        Level(String w, Boolean journal, Duration wtimeout) {
+            this.w = w;
+            this.journal = journal;
+            this.wtimeout = wtimeout;
+        }
+
+        public String getW() { return w; }
+        public void setW(String w) { this.w = w; }
+
+        public Boolean getJournal() { return journal; }
+        public void setJournal(Boolean journal) { this.journal = journal; }
+
+        public Duration getWtimeout() { return wtimeout; }
+        public void setWtimeout(Duration wtimeout) { this.wtimeout = wtimeout; }
+    }
+}
@@ -0,0 +1,26 @@
+package com.franchise.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "franchise.write-serialization")
+public class WriteSerializationProperties {
+
+    private boolean enabled = false;
+
+    // Ventana durante la cual se agrupan las mutaciones de una misma franquicia
+    private Duration coalesceWindow = Duration.ofMillis(2);
+
+    private int maxBatchSize = 64;
+
+    // Getters y Setters
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public Duration getCoalesceWindow() { return coalesceWindow; }
+    public void setCoalesceWindow(Duration coalesceWindow) { this.coalesceWindow = coalesceWindow; }
+
+    public int getMaxBatchSize() { return maxBatchSize; }
+    public void setMaxBatchSize(int maxBatchSize) { this.maxBatchSize = maxBatchSize; }
+}
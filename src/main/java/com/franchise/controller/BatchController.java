@@ -0,0 +1,50 @@
+package com.franchise.controller;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.franchise.dto.ApiResponseDTO;
+import com.franchise.dto.BatchRequestDTO;
+import com.franchise.dto.BatchResultDTO;
+import com.franchise.service.FranchiseService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/api/batch")
+@CrossOrigin(origins = "*")
+@Tag(name = "Batch", description = "📦 Varias operaciones en una sola petición")
+public class BatchController {
+
+        @Autowired
+        private FranchiseService franchiseService;
+
+        @PostMapping
+        @Operation(summary = "📦 Ejecutar lote de operaciones", description = "Ejecuta una lista ordenada de operaciones sobre sucursales y productos. Las operaciones de una misma franquicia se aplican con una sola lectura y una sola escritura atómica; franquicias distintas se procesan en paralelo. Devuelve un resultado por operación con el código HTTP del endpoint equivalente. branchId y productId aceptan \"$<id>\" para referirse a lo creado por una operación anterior de la misma franquicia.")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Lote ejecutado; cada operación indica su resultado"),
+                        @ApiResponse(responseCode = "400", description = "Lote vacío, inválido o con demasiadas operaciones")
+        })
+        public Mono<ResponseEntity<ApiResponseDTO<List<BatchResultDTO>>>> executeBatch(
+                        @io.swagger.v3.oas.annotations.parameters.RequestBody(description = "Operaciones a ejecutar") @Valid @RequestBody BatchRequestDTO request) {
+                return franchiseService.executeBatch(request.getOperations())
+                                .map(results -> {
+                                        long succeeded = results.stream().filter(BatchResultDTO::isSuccess).count();
+                                        return ResponseEntity.ok(ApiResponseDTO.success("Batch executed: " + succeeded
+                                                        + " succeeded, " + (results.size() - succeeded) + " failed",
+                                                        results));
+                                });
+        }
+}
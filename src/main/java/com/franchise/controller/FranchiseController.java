@@ -1,10 +1,18 @@
 package com.franchise.controller;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -12,18 +20,39 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.franchise.config.BinaryCodecConfig;
 import com.franchise.dto.ApiResponseDTO;
+import com.franchise.dto.CatalogChangeBatchDTO;
+import com.franchise.dto.CatalogChangeDTO;
+import com.franchise.dto.ExportJobDTO;
+import com.franchise.dto.MoveBranchDTO;
+import com.franchise.dto.ProductLocationDTO;
 import com.franchise.dto.ProductTopStockDTO;
+import com.franchise.dto.ReserveStockDTO;
+import com.franchise.dto.SearchHitDTO;
+import com.franchise.dto.StockAlertDTO;
+import com.franchise.dto.StockAvailabilityDTO;
+import com.franchise.dto.StockSeriesDTO;
+import com.franchise.dto.TransferResultDTO;
+import com.franchise.dto.TransferStockDTO;
 import com.franchise.dto.UpdateNameDTO;
 import com.franchise.dto.UpdateStockDTO;
+import com.franchise.dto.UpdateThresholdDTO;
 import com.franchise.model.Branch;
 import com.franchise.model.Franchise;
+import com.franchise.model.LowStockAlert;
 import com.franchise.model.Product;
+import com.franchise.model.SearchEntry;
+import com.franchise.model.StockMovement;
+import com.franchise.model.StockReservation;
+import com.franchise.service.CatalogExporter;
 import com.franchise.service.FranchiseService;
+import com.franchise.service.StockLeaderboards;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -44,6 +73,9 @@ public class FranchiseController {
 
         // ==================== ENDPOINTS DE FRANQUICIA ====================
 
+        // En las escrituras solo los errores de datos (IllegalArgumentException) se responden con 400. Los
+        // conflictos (409) y los fallos de MongoDB (500) llegan a GlobalExceptionHandler: son reintentables
+        // y el filtro de Idempotency-Key no guarda su respuesta
         @PostMapping
         @Operation(summary = "✨ Crear nueva franquicia", description = "Crea una nueva franquicia en el sistema. El nombre debe ser único.")
         @ApiResponses(value = {
@@ -55,18 +87,20 @@ public class FranchiseController {
                 return franchiseService.createFranchise(franchise)
                                 .map(saved -> ResponseEntity.status(HttpStatus.CREATED)
                                                 .body(ApiResponseDTO.success("Franchise created successfully", saved)))
-                                .onErrorReturn(ResponseEntity.badRequest()
+                                .onErrorReturn(IllegalArgumentException.class, ResponseEntity.badRequest()
                                                 .body(ApiResponseDTO.error("Failed to create franchise")));
         }
 
-        @GetMapping
+        @GetMapping(produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE,
+                        BinaryCodecConfig.APPLICATION_SMILE_VALUE })
         @Operation(summary = "📋 Listar todas las franquicias", description = "Obtiene una lista de todas las franquicias registradas en el sistema")
         public Flux<Franchise> getAllFranchises() {
                 return franchiseService.getAllFranchises();
         }
 
-        @GetMapping("/{id}")
-        @Operation(summary = "🔍 Buscar franquicia por ID", description = "Obtiene los detalles de una franquicia específica usando su ID único")
+        @GetMapping(value = "/{id}", produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE,
+                        BinaryCodecConfig.APPLICATION_SMILE_VALUE })
+        @Operation(summary = "🔍 Buscar franquicia por ID", description = "Obtiene los detalles de una franquicia específica usando su ID único. Soporta JSON, CBOR y Smile según la cabecera Accept")
         public Mono<ResponseEntity<ApiResponseDTO<Franchise>>> getFranchiseById(@PathVariable String id) {
                 return franchiseService.getFranchiseById(id)
                                 .map(franchise -> ResponseEntity.ok(
@@ -91,7 +125,7 @@ public class FranchiseController {
                 return franchiseService.updateFranchiseName(id, updateNameDTO)
                                 .map(updated -> ResponseEntity.ok(
                                                 ApiResponseDTO.success("Franchise name updated successfully", updated)))
-                                .onErrorReturn(ResponseEntity.badRequest()
+                                .onErrorReturn(IllegalArgumentException.class, ResponseEntity.badRequest()
                                                 .body(ApiResponseDTO.error("Failed to update franchise name")));
         }
 
@@ -102,7 +136,7 @@ public class FranchiseController {
                                 .then(Mono.just(ResponseEntity.ok(
                                                 ApiResponseDTO.success("Franchise deleted successfully",
                                                                 "Franchise with id " + id + " deleted"))))
-                                .onErrorReturn(ResponseEntity.badRequest()
+                                .onErrorReturn(IllegalArgumentException.class, ResponseEntity.badRequest()
                                                 .body(ApiResponseDTO.error("Failed to delete franchise")));
         }
 
@@ -127,7 +161,7 @@ public class FranchiseController {
                 return franchiseService.addBranch(franchiseId, branch)
                                 .map(updated -> ResponseEntity.ok(
                                                 ApiResponseDTO.success("Branch added successfully", updated)))
-                                .onErrorReturn(ResponseEntity.badRequest()
+                                .onErrorReturn(IllegalArgumentException.class, ResponseEntity.badRequest()
                                                 .body(ApiResponseDTO.error("Failed to add branch")));
         }
 
@@ -140,7 +174,7 @@ public class FranchiseController {
                 return franchiseService.updateBranchName(franchiseId, branchId, updateNameDTO)
                                 .map(updated -> ResponseEntity.ok(
                                                 ApiResponseDTO.success("Branch name updated successfully", updated)))
-                                .onErrorReturn(ResponseEntity.badRequest()
+                                .onErrorReturn(IllegalArgumentException.class, ResponseEntity.badRequest()
                                                 .body(ApiResponseDTO.error("Failed to update branch name")));
         }
 
@@ -152,7 +186,7 @@ public class FranchiseController {
                 return franchiseService.deleteBranch(franchiseId, branchId)
                                 .map(updated -> ResponseEntity.ok(
                                                 ApiResponseDTO.success("Branch deleted successfully", updated)))
-                                .onErrorReturn(ResponseEntity.badRequest()
+                                .onErrorReturn(IllegalArgumentException.class, ResponseEntity.badRequest()
                                                 .body(ApiResponseDTO.error("Failed to delete branch")));
         }
 
@@ -168,7 +202,7 @@ public class FranchiseController {
                 return franchiseService.addProduct(franchiseId, branchId, product)
                                 .map(updated -> ResponseEntity.ok(
                                                 ApiResponseDTO.success("Product added successfully", updated)))
-                                .onErrorReturn(ResponseEntity.badRequest()
+                                .onErrorReturn(IllegalArgumentException.class, ResponseEntity.badRequest()
                                                 .body(ApiResponseDTO.error("Failed to add product")));
         }
 
@@ -182,7 +216,7 @@ public class FranchiseController {
                 return franchiseService.removeProduct(franchiseId, branchId, productId)
                                 .map(updated -> ResponseEntity.ok(
                                                 ApiResponseDTO.success("Product removed successfully", updated)))
-                                .onErrorReturn(ResponseEntity.badRequest()
+                                .onErrorReturn(IllegalArgumentException.class, ResponseEntity.badRequest()
                                                 .body(ApiResponseDTO.error("Failed to remove product")));
         }
 
@@ -196,7 +230,7 @@ public class FranchiseController {
                 return franchiseService.updateProductStock(franchiseId, branchId, productId, updateStockDTO)
                                 .map(updated -> ResponseEntity.ok(
                                                 ApiResponseDTO.success("Product stock updated successfully", updated)))
-                                .onErrorReturn(ResponseEntity.badRequest()
+                                .onErrorReturn(IllegalArgumentException.class, ResponseEntity.badRequest()
                                                 .body(ApiResponseDTO.error("Failed to update product stock")));
         }
 
@@ -210,10 +244,59 @@ public class FranchiseController {
                 return franchiseService.updateProductName(franchiseId, branchId, productId, updateNameDTO)
                                 .map(updated -> ResponseEntity.ok(
                                                 ApiResponseDTO.success("Product name updated successfully", updated)))
-                                .onErrorReturn(ResponseEntity.badRequest()
+                                .onErrorReturn(IllegalArgumentException.class, ResponseEntity.badRequest()
                                                 .body(ApiResponseDTO.error("Failed to update product name")));
         }
 
+        @PutMapping("/{franchiseId}/branches/{branchId}/products/{productId}/threshold")
+        @Operation(summary = "📦 Actualizar umbral de reposición de un producto", description = "Con stock en o por debajo del umbral se genera una alerta de stock bajo. Sin umbral (null) no hay alertas.")
+        public Mono<ResponseEntity<ApiResponseDTO<Franchise>>> updateProductThreshold(
+                        @PathVariable String franchiseId,
+                        @PathVariable String branchId,
+                        @PathVariable String productId,
+                        @Valid @RequestBody UpdateThresholdDTO updateThresholdDTO) {
+                return franchiseService.updateProductThreshold(franchiseId, branchId, productId, updateThresholdDTO)
+                                .map(updated -> ResponseEntity.ok(
+                                                ApiResponseDTO.success("Product threshold updated successfully", updated)))
+                                .onErrorReturn(IllegalArgumentException.class, ResponseEntity.badRequest()
+                                                .body(ApiResponseDTO.error("Failed to update product threshold")));
+        }
+
+        // ==================== TRASPASOS ====================
+
+        // Entre franquicias distintas se ejecutan en una transacción; sin replica set devuelven 409
+        @PostMapping("/transfers/stock")
+        @Operation(summary = "🔀 Traspasar stock", description = "Mueve la cantidad indicada de un producto a otra sucursal, de la misma u otra franquicia. Sin targetProductId el stock entra en el producto con el mismo nombre de la sucursal destino (se crea si no existe). Stock insuficiente devuelve 409.")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Traspaso confirmado"),
+                        @ApiResponse(responseCode = "400", description = "Franquicia, sucursal o producto no encontrado"),
+                        @ApiResponse(responseCode = "409", description = "Stock insuficiente o transacciones no disponibles")
+        })
+        @Tag(name = "Transfers")
+        public Mono<ResponseEntity<ApiResponseDTO<TransferResultDTO>>> transferStock(
+                        @Valid @RequestBody TransferStockDTO transferStockDTO) {
+                return franchiseService.transferStock(transferStockDTO)
+                                .map(result -> ResponseEntity.ok(
+                                                ApiResponseDTO.success("Stock transferred successfully", result)));
+        }
+
+        @PostMapping("/{franchiseId}/branches/{branchId}/move")
+        @Operation(summary = "🔀 Mover sucursal a otra franquicia", description = "Quita la sucursal de su franquicia y la añade a la franquicia destino, con sus productos e ids, en una sola transacción.")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Sucursal movida"),
+                        @ApiResponse(responseCode = "400", description = "Franquicia o sucursal no encontrada"),
+                        @ApiResponse(responseCode = "409", description = "Transacciones no disponibles")
+        })
+        @Tag(name = "Transfers")
+        public Mono<ResponseEntity<ApiResponseDTO<TransferResultDTO>>> moveBranch(
+                        @PathVariable String franchiseId,
+                        @PathVariable String branchId,
+                        @Valid @RequestBody MoveBranchDTO moveBranchDTO) {
+                return franchiseService.moveBranch(franchiseId, branchId, moveBranchDTO)
+                                .map(result -> ResponseEntity.ok(
+                                                ApiResponseDTO.success("Branch moved successfully", result)));
+        }
+
         // ==================== ENDPOINTS DE REPORTES ====================
 
         @GetMapping("/{franchiseId}/top-stock-products")
@@ -227,6 +310,37 @@ public class FranchiseController {
                                 .onErrorReturn(ResponseEntity.notFound().build());
         }
 
+        // Rankings de stock en memoria: global, por franquicia y por sucursal
+        @GetMapping("/leaderboard")
+        @Operation(summary = "🏆 Ranking global de stock", description = "Productos con más (TOP) o menos (BOTTOM) stock entre todas las franquicias.")
+        @Tag(name = "Top Stock Product")
+        public Flux<ProductLocationDTO> getGlobalLeaderboard(
+                        @RequestParam(required = false, defaultValue = "TOP") StockLeaderboards.Order order,
+                        @RequestParam(required = false, defaultValue = "10") int limit) {
+                return franchiseService.getStockLeaderboard(null, null, order, limit);
+        }
+
+        @GetMapping("/{franchiseId}/leaderboard")
+        @Operation(summary = "🏆 Ranking de stock de una franquicia")
+        @Tag(name = "Top Stock Product")
+        public Flux<ProductLocationDTO> getFranchiseLeaderboard(
+                        @PathVariable String franchiseId,
+                        @RequestParam(required = false, defaultValue = "TOP") StockLeaderboards.Order order,
+                        @RequestParam(required = false, defaultValue = "10") int limit) {
+                return franchiseService.getStockLeaderboard(franchiseId, null, order, limit);
+        }
+
+        @GetMapping("/{franchiseId}/branches/{branchId}/leaderboard")
+        @Operation(summary = "🏆 Ranking de stock de una sucursal")
+        @Tag(name = "Top Stock Product")
+        public Flux<ProductLocationDTO> getBranchLeaderboard(
+                        @PathVariable String franchiseId,
+                        @PathVariable String branchId,
+                        @RequestParam(required = false, defaultValue = "TOP") StockLeaderboards.Order order,
+                        @RequestParam(required = false, defaultValue = "10") int limit) {
+                return franchiseService.getStockLeaderboard(franchiseId, branchId, order, limit);
+        }
+
         // Endpoint para búsqueda con filtros
         @GetMapping("/search")
         @Operation(summary = "📦 Busquedas con filtros")
@@ -236,13 +350,197 @@ public class FranchiseController {
                         @RequestParam(required = false, defaultValue = "0") int minBranches,
                         @RequestParam(required = false, defaultValue = "0") int minProducts) {
 
-                return franchiseService.getAllFranchises()
-                                .filter(franchise -> {
-                                        boolean nameMatch = name == null || franchise.getName().toLowerCase()
-                                                        .contains(name.toLowerCase());
-                                        boolean branchMatch = franchise.getBranches().size() >= minBranches;
-                                        boolean productMatch = franchise.getTotalProducts() >= minProducts;
-                                        return nameMatch && branchMatch && productMatch;
-                                });
+                return franchiseService.searchFranchises(name, minBranches, minProducts);
+        }
+
+        // Búsqueda por prefijo (typeahead) en nombres de franquicias, sucursales y productos
+        @GetMapping("/search/names")
+        @Operation(summary = "🔎 Buscar por nombre", description = "Franquicias, sucursales y productos cuyo nombre coincide o empieza por el texto (sin distinguir mayúsculas ni acentos), ordenados por relevancia.")
+        @Tag(name = "Search")
+        public Flux<SearchHitDTO> searchNames(
+                        @RequestParam String q,
+                        @RequestParam(required = false) List<SearchEntry.Kind> kind,
+                        @RequestParam(required = false, defaultValue = "10") int limit) {
+
+                return franchiseService.searchNames(q, kind, limit);
+        }
+
+        // Ubicaciones de un producto en todas las franquicias (una sola consulta indexada)
+        @GetMapping("/products/locations")
+        @Operation(summary = "📍 Ubicar producto", description = "Franquicia, sucursal y stock de cada sucursal que tiene el producto, por id o por nombre exacto.")
+        @Tag(name = "Search")
+        public Flux<ProductLocationDTO> findProductLocations(
+                        @RequestParam(required = false) String productId,
+                        @RequestParam(required = false) String name) {
+
+                return franchiseService.findProductLocations(productId, name);
+        }
+
+        // ==================== ALERTAS DE STOCK ====================
+
+        @GetMapping("/alerts/low-stock")
+        @Operation(summary = "⚠️ Productos con stock bajo", description = "Productos con stock en o por debajo de su umbral de reposición, de una franquicia o de todas.")
+        @Tag(name = "Stock Alerts")
+        public Flux<LowStockAlert> getLowStockAlerts(@RequestParam(required = false) String franchiseId) {
+                return franchiseService.getLowStockAlerts(franchiseId);
+        }
+
+        @GetMapping(value = "/alerts/low-stock/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+        @Operation(summary = "⚠️ Suscribirse a alertas de stock", description = "Server-Sent Events con cada cruce del umbral: LOW al bajar, RESTORED al reponerse.")
+        @Tag(name = "Stock Alerts")
+        public Flux<StockAlertDTO> streamStockAlerts() {
+                return franchiseService.streamStockAlerts();
+        }
+
+        // ==================== HISTORIAL DE STOCK ====================
+
+        @GetMapping("/{franchiseId}/stock/history")
+        @Operation(summary = "📜 Movimientos de stock", description = "Registro de cambios de stock de la franquicia, los más recientes primero. Filtrable por sucursal y producto.")
+        @Tag(name = "Stock History")
+        public Flux<StockMovement> getStockHistory(
+                        @PathVariable String franchiseId,
+                        @RequestParam(required = false) String branchId,
+                        @RequestParam(required = false) String productId,
+                        @RequestParam(required = false, defaultValue = "50") int limit) {
+                return franchiseService.getStockHistory(franchiseId, branchId, productId, limit);
+        }
+
+        @GetMapping("/{franchiseId}/stock/as-of")
+        @Operation(summary = "📜 Stock a una fecha", description = "Stock de cada producto de la franquicia en el instante indicado (ISO-8601), dentro del historial conservado.")
+        @Tag(name = "Stock History")
+        public Flux<ProductLocationDTO> getStockAsOf(
+                        @PathVariable String franchiseId,
+                        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant at) {
+                return franchiseService.getStockAsOf(franchiseId, at);
+        }
+
+        @GetMapping("/{franchiseId}/stock/series")
+        @Operation(summary = "📈 Serie temporal de stock", description = "Evolución del stock de un producto (branchId y productId), del total de una sucursal (branchId) o de la franquicia, agregada por minuto, hora o día para no superar 'points' puntos. Sin from/to, el último día.")
+        @Tag(name = "Stock History")
+        public Mono<StockSeriesDTO> getStockSeries(
+                        @PathVariable String franchiseId,
+                        @RequestParam(required = false) String branchId,
+                        @RequestParam(required = false) String productId,
+                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+                        @RequestParam(required = false, defaultValue = "200") int points) {
+                return franchiseService.getStockSeries(franchiseId, branchId, productId, from, to, points);
+        }
+
+        // ==================== RESERVAS DE STOCK ====================
+
+        // Los errores se propagan al GlobalExceptionHandler: 400 si no existe, 409 sin stock disponible
+        @PostMapping("/{franchiseId}/branches/{branchId}/products/{productId}/reservations")
+        @Operation(summary = "🛒 Reservar stock", description = "Retiene la cantidad indicada hasta que se confirma, se libera o vence (ttlSeconds, por defecto franchise.reservations.default-ttl).")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "201", description = "Reserva creada"),
+                        @ApiResponse(responseCode = "409", description = "Stock disponible insuficiente")
+        })
+        @Tag(name = "Reservations")
+        public Mono<ResponseEntity<ApiResponseDTO<StockReservation>>> reserveStock(
+                        @PathVariable String franchiseId,
+                        @PathVariable String branchId,
+                        @PathVariable String productId,
+                        @Valid @RequestBody ReserveStockDTO reserveStockDTO) {
+                return franchiseService.reserveStock(franchiseId, branchId, productId, reserveStockDTO)
+                                .map(reservation -> ResponseEntity.status(HttpStatus.CREATED)
+                                                .body(ApiResponseDTO.success("Stock reserved successfully", reservation)));
+        }
+
+        @PostMapping("/reservations/{reservationId}/confirm")
+        @Operation(summary = "🛒 Confirmar reserva", description = "Descuenta del stock la cantidad reservada. Una reserva vencida, liberada o ya confirmada devuelve 409.")
+        @Tag(name = "Reservations")
+        public Mono<ResponseEntity<ApiResponseDTO<StockReservation>>> confirmReservation(
+                        @PathVariable String reservationId) {
+                return franchiseService.confirmReservation(reservationId)
+                                .map(reservation -> ResponseEntity.ok(
+                                                ApiResponseDTO.success("Reservation confirmed successfully", reservation)));
+        }
+
+        @PostMapping("/reservations/{reservationId}/release")
+        @Operation(summary = "🛒 Liberar reserva", description = "Devuelve la cantidad reservada al stock disponible.")
+        @Tag(name = "Reservations")
+        public Mono<ResponseEntity<ApiResponseDTO<StockReservation>>> releaseReservation(
+                        @PathVariable String reservationId) {
+                return franchiseService.releaseReservation(reservationId)
+                                .map(reservation -> ResponseEntity.ok(
+                                                ApiResponseDTO.success("Reservation released successfully", reservation)));
+        }
+
+        @GetMapping("/{franchiseId}/branches/{branchId}/products/{productId}/availability")
+        @Operation(summary = "🛒 Stock disponible", description = "Stock del producto, cantidad retenida por reservas activas y stock disponible.")
+        @Tag(name = "Reservations")
+        public Mono<StockAvailabilityDTO> getStockAvailability(
+                        @PathVariable String franchiseId,
+                        @PathVariable String branchId,
+                        @PathVariable String productId) {
+                return franchiseService.getStockAvailability(franchiseId, branchId, productId);
+        }
+
+        // ==================== EXPORTACIÓN DEL CATÁLOGO ====================
+
+        // Descarga en streaming: la respuesta se escribe a medida que avanza el cursor
+        @GetMapping("/export")
+        @Operation(summary = "📦 Exportar catálogo", description = "Descarga el catálogo completo, una fila por franquicia, sucursal y producto, en CSV o NDJSON comprimido (GZIP, ZSTD con el perfil zstd, o NONE). Para reanudar una descarga cortada, 'after' es el último franchiseId recibido.")
+        @Tag(name = "Export")
+        public ResponseEntity<Flux<DataBuffer>> exportCatalog(
+                        @RequestParam(required = false, defaultValue = "CSV") CatalogExporter.Format format,
+                        @RequestParam(required = false, defaultValue = "GZIP") CatalogExporter.Compression compression,
+                        @RequestParam(required = false) String after) {
+                String filename = "catalog" + format.getExtension() + compression.getExtension();
+                return ResponseEntity.ok()
+                                .contentType(MediaType.parseMediaType(compression.getMediaType() != null
+                                                ? compression.getMediaType() : format.getMediaType()))
+                                .header(HttpHeaders.CONTENT_DISPOSITION,
+                                                ContentDisposition.attachment().filename(filename).build().toString())
+                                .body(franchiseService.exportCatalog(format, compression, after));
+        }
+
+        @PostMapping("/export/jobs/{name}")
+        @Operation(summary = "📦 Iniciar exportación a fichero", description = "Exporta el catálogo a franchise.export.directory en segundo plano con checkpoints. Si existe una exportación interrumpida con el mismo nombre, formato y compresión, continúa desde su último checkpoint.")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "202", description = "Exportación iniciada o reanudada"),
+                        @ApiResponse(responseCode = "409", description = "La exportación ya está en curso")
+        })
+        @Tag(name = "Export")
+        public Mono<ResponseEntity<ExportJobDTO>> startCatalogExport(
+                        @PathVariable String name,
+                        @RequestParam(required = false, defaultValue = "CSV") CatalogExporter.Format format,
+                        @RequestParam(required = false, defaultValue = "GZIP") CatalogExporter.Compression compression) {
+                return franchiseService.startCatalogExport(name, format, compression)
+                                .map(job -> ResponseEntity.status(HttpStatus.ACCEPTED).body(job));
+        }
+
+        @GetMapping("/export/jobs/{name}")
+        @Operation(summary = "📦 Estado de una exportación", description = "Progreso del último checkpoint: franquicias, filas, bytes y filas por segundo.")
+        @Tag(name = "Export")
+        public Mono<ExportJobDTO> getCatalogExport(@PathVariable String name) {
+                return franchiseService.getCatalogExport(name);
+        }
+
+        // ==================== FEED DE CAMBIOS ====================
+
+        @GetMapping("/changes")
+        @Operation(summary = "🔄 Cambios del catálogo (long-poll)", description = "Eventos de las escrituras posteriores a 'after' (altas, bajas y renombrados de franquicias, sucursales y productos; cambios de stock y umbral). Espera hasta 'wait' segundos al primer cambio. La respuesta incluye, también sin cambios, el offset para la siguiente petición; sin 'after' empieza en el momento de la petición.")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Cambios, posiblemente ninguno, y offset"),
+                        @ApiResponse(responseCode = "400", description = "Offset inválido"),
+                        @ApiResponse(responseCode = "409", description = "El offset ya no está disponible")
+        })
+        @Tag(name = "Change Feed")
+        public Mono<CatalogChangeBatchDTO> getCatalogChanges(
+                        @RequestParam(required = false) String after,
+                        @RequestParam(required = false, defaultValue = "100") int limit,
+                        @RequestParam(required = false, defaultValue = "20") long wait) {
+                return franchiseService.pollCatalogChanges(after, limit, Duration.ofSeconds(wait));
+        }
+
+        @GetMapping(value = "/changes/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+        @Operation(summary = "🔄 Suscribirse a cambios del catálogo", description = "Server-Sent Events con los mismos eventos que /changes. Al reconectar, Last-Event-ID (o 'after') retoma el feed tras el último evento recibido.")
+        @Tag(name = "Change Feed")
+        public Flux<ServerSentEvent<CatalogChangeDTO>> streamCatalogChanges(
+                        @RequestParam(required = false) String after,
+                        @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+                return franchiseService.streamCatalogChanges(after != null ? after : lastEventId);
         }
 }
@@ -21,6 +21,13 @@ public class GlobalExceptionHandler {
                 .body(ApiResponseDTO.error(ex.getMessage())));
     }
 
+    // Operación incompatible con el estado actual (p. ej. reserva sin stock disponible o ya vencida)
+    @ExceptionHandler(IllegalStateException.class)
+    public Mono<ResponseEntity<ApiResponseDTO<String>>> handleIllegalStateException(IllegalStateException ex) {
+        return Mono.just(ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(ApiResponseDTO.error(ex.getMessage())));
+    }
+
     @ExceptionHandler(WebExchangeBindException.class)
     public Mono<ResponseEntity<ApiResponseDTO<Map<String, String>>>> handleValidationException(WebExchangeBindException ex) {
         Map<String, String> errors = new HashMap<>();
@@ -0,0 +1,150 @@
+package com.franchise.dto;
+
+import com.franchise.model.Branch;
+import com.franchise.model.Product;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+// Operación de POST /api/batch; cada tipo equivale a un endpoint de FranchiseController y usa sus campos:
+// ADD_BRANCH (branch), RENAME_BRANCH (branchId, name), DELETE_BRANCH (branchId),
+// ADD_PRODUCT (branchId, product), REMOVE_PRODUCT, RENAME_PRODUCT (name), UPDATE_STOCK (stock) y
+// UPDATE_THRESHOLD (reorderThreshold) con branchId y productId.
+// branchId y productId aceptan "$<id>" para referirse a la sucursal o el producto creado por una operación
+// anterior de la misma franquicia con ese id.
+public class BatchOperationDTO {
+
+    public enum Type {
+        ADD_BRANCH, RENAME_BRANCH, DELETE_BRANCH,
+        ADD_PRODUCT, REMOVE_PRODUCT, RENAME_PRODUCT, UPDATE_STOCK, UPDATE_THRESHOLD
+    }
+
+    // Identificador opcional elegido por el cliente; se devuelve en el resultado
+    @Size(max = 64, message = "Operation id cannot exceed 64 characters")
+    private String id;
+
+    @NotNull(message = "Operation type is required")
+    private Type type;
+
+    @NotBlank(message = "Franchise id is required")
+    private String franchiseId;
+
+    private String branchId;
+
+    private String productId;
+
+    private String name;
+
+    @Min(value = 0, message = "Stock cannot be negative")
+    private Integer stock;
+
+    @Min(value = 0, message = "Reorder threshold cannot be negative")
+    private Integer reorderThreshold;
+
+    @Valid
+    private Branch branch;
+
+    @Valid
+    private Product product;
+
+    // Constructors
+    public BatchOperationDTO() {}
+
+    public BatchOperationDTO(Type type, String franchiseId) {
+        this.type = type;
+        this.franchiseId = franchiseId;
+    }
+
+    // Getters y Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public void setType(Type type) {
+        this.type = type;
+    }
+
+    public String getFranchiseId() {
+        return franchiseId;
+    }
+
+    public void setFranchiseId(String franchiseId) {
+        this.franchiseId = franchiseId;
+    }
+
+    public String getBranchId() {
+        return branchId;
+    }
+
+    public void setBranchId(String branchId) {
+        this.branchId = branchId;
+    }
+
+    public String getProductId() {
+        return productId;
+    }
+
+    public void setProductId(String productId) {
+        this.productId = productId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Integer getStock() {
+        return stock;
+    }
+
+    public void setStock(Integer stock) {
+        this.stock = stock;
+    }
+
+    public Integer getReorderThreshold() {
+        return reorderThreshold;
+    }
+
+    public void setReorderThreshold(Integer reorderThreshold) {
+        this.reorderThreshold = reorderThreshold;
+    }
+
+    public Branch getBranch() {
+        return branch;
+    }
+
+    public void setBranch(Branch branch) {
+        this.branch = branch;
+    }
+
+    public Product getProduct() {
+        return product;
+    }
+
+    public void setProduct(Product product) {
+        this.product = product;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchOperationDTO{" +
+                "id='" + id + '\'' +
+                ", type=" + type +
+                ", franchiseId='" + franchiseId + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,35 @@
+package com.franchise.dto;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+
+public class BatchRequestDTO {
+
+    @NotEmpty(message = "At least one operation is required")
+    private List<@Valid BatchOperationDTO> operations;
+
+    // Constructors
+    public BatchRequestDTO() {}
+
+    public BatchRequestDTO(List<BatchOperationDTO> operations) {
+        this.operations = operations;
+    }
+
+    // Getters y Setters
+    public List<BatchOperationDTO> getOperations() {
+        return operations;
+    }
+
+    public void setOperations(List<BatchOperationDTO> operations) {
+        this.operations = operations;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchRequestDTO{" +
+                "operations=" + (operations != null ? operations.size() : 0) +
+                '}';
+    }
+}
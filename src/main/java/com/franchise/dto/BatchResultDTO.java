@@ -0,0 +1,104 @@
+package com.franchise.dto;
+
+// Resultado de una operación del lote, en el mismo orden que la petición. status sigue los códigos
+// HTTP del endpoint equivalente (200, 201 al crear, 400, 409, 500); branchId y productId son los ids
+// afectados o creados.
+public class BatchResultDTO {
+
+    private int index;
+    private String id;
+    private BatchOperationDTO.Type type;
+    private int status;
+    private String error;
+    private String franchiseId;
+    private String branchId;
+    private String productId;
+
+    // Constructors
+    public BatchResultDTO() {}
+
+    public BatchResultDTO(int index, BatchOperationDTO operation) {
+        this.index = index;
+        this.id = operation.getId();
+        this.type = operation.getType();
+        this.franchiseId = operation.getFranchiseId();
+    }
+
+    public boolean isSuccess() {
+        return status < 400;
+    }
+
+    // Getters y Setters
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public BatchOperationDTO.Type getType() {
+        return type;
+    }
+
+    public void setType(BatchOperationDTO.Type type) {
+        this.type = type;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public void setStatus(int status) {
+        this.status = status;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public String getFranchiseId() {
+        return franchiseId;
+    }
+
+    public void setFranchiseId(String franchiseId) {
+        this.franchiseId = franchiseId;
+    }
+
+    public String getBranchId() {
+        return branchId;
+    }
+
+    public void setBranchId(String branchId) {
+        this.branchId = branchId;
+    }
+
+    public String getProductId() {
+        return productId;
+    }
+
+    public void setProductId(String productId) {
+        this.productId = productId;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchResultDTO{" +
+                "index=" + index +
+                ", type=" + type +
+                ", status=" + status +
+                '}';
+    }
+}
@@ -0,0 +1,43 @@
+package com.franchise.dto;
+
+import java.util.List;
+
+// Respuesta del long-poll: offset es el que hay que enviar como 'after' en la siguiente petición
+public class CatalogChangeBatchDTO {
+
+    private List<CatalogChangeDTO> changes;
+    private String offset;
+
+    // Constructors
+    public CatalogChangeBatchDTO() {}
+
+    public CatalogChangeBatchDTO(List<CatalogChangeDTO> changes, String offset) {
+        this.changes = changes;
+        this.offset = offset;
+    }
+
+    // Getters y Setters
+    public List<CatalogChangeDTO> getChanges() {
+        return changes;
+    }
+
+    public void setChanges(List<CatalogChangeDTO> changes) {
+        this.changes = changes;
+    }
+
+    public String getOffset() {
+        return offset;
+    }
+
+    public void setOffset(String offset) {
+        this.offset = offset;
+    }
+
+    @Override
+    public String toString() {
+        return "CatalogChangeBatchDTO{" +
+                "changes=" + (changes != null ? changes.size() : 0) +
+                ", offset='" + offset + '\'' +
+                '}';
+    }
+}
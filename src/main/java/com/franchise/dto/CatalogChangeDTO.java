@@ -0,0 +1,173 @@
+package com.franchise.dto;
+
+import java.time.Instant;
+
+import com.franchise.model.Franchise;
+
+// Evento del feed de cambios del catálogo. Todos los eventos de una misma escritura comparten offset;
+// previous* solo se informa en renombrados y cambios de stock o umbral. franchise solo va en
+// FRANCHISE_UPDATED, cuando no hay pre-imagen para calcular el detalle.
+public class CatalogChangeDTO {
+
+    public enum Type {
+        FRANCHISE_CREATED, FRANCHISE_RENAMED, FRANCHISE_DELETED, FRANCHISE_UPDATED,
+        BRANCH_ADDED, BRANCH_RENAMED, BRANCH_REMOVED,
+        PRODUCT_ADDED, PRODUCT_RENAMED, PRODUCT_REMOVED,
+        STOCK_CHANGED, THRESHOLD_CHANGED
+    }
+
+    private Type type;
+    private String offset;
+    private Instant timestamp;
+    private String franchiseId;
+    private String franchiseName;
+    private String branchId;
+    private String branchName;
+    private String productId;
+    private String productName;
+    private String previousName;
+    private Integer previousStock;
+    private Integer stock;
+    private Integer previousThreshold;
+    private Integer threshold;
+    private Franchise franchise;
+
+    // Constructors
+    public CatalogChangeDTO() {}
+
+    public CatalogChangeDTO(Type type, String franchiseId) {
+        this.type = type;
+        this.franchiseId = franchiseId;
+    }
+
+    // Getters y Setters
+    public Type getType() {
+        return type;
+    }
+
+    public void setType(Type type) {
+        this.type = type;
+    }
+
+    public String getOffset() {
+        return offset;
+    }
+
+    public void setOffset(String offset) {
+        this.offset = offset;
+    }
+
+    public Instant getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(Instant timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    public String getFranchiseId() {
+        return franchiseId;
+    }
+
+    public void setFranchiseId(String franchiseId) {
+        this.franchiseId = franchiseId;
+    }
+
+    public String getFranchiseName() {
+        return franchiseName;
+    }
+
+    public void setFranchiseName(String franchiseName) {
+        this.franchiseName = franchiseName;
+    }
+
+    public String getBranchId() {
+        return branchId;
+    }
+
+    public void setBranchId(String branchId) {
+        this.branchId = branchId;
+    }
+
+    public String getBranchName() {
+        return branchName;
+    }
+
+    public void setBranchName(String branchName) {
+        this.branchName = branchName;
+    }
+
+    public String getProductId() {
+        return productId;
+    }
+
+    public void setProductId(String productId) {
+        this.productId = productId;
+    }
+
+    public String getProductName() {
+        return productName;
+    }
+
+    public void setProductName(String productName) {
+        this.productName = productName;
+    }
+
+    public String getPreviousName() {
+        return previousName;
+    }
+
+    public void setPreviousName(String previousName) {
+        this.previousName = previousName;
+    }
+
+    public Integer getPreviousStock() {
+        return previousStock;
+    }
+
+    public void setPreviousStock(Integer previousStock) {
+        this.previousStock = previousStock;
+    }
+
+    public Integer getStock() {
+        return stock;
+    }
+
+    public void setStock(Integer stock) {
+        this.stock = stock;
+    }
+
+    public Integer getPreviousThreshold() {
+        return previousThreshold;
+    }
+
+    public void setPreviousThreshold(Integer previousThreshold) {
+        this.previousThreshold = previousThreshold;
+    }
+
+    public Integer getThreshold() {
+        return threshold;
+    }
+
+    public void setThreshold(Integer threshold) {
+        this.threshold = threshold;
+    }
+
+    public Franchise getFranchise() {
+        return franchise;
+    }
+
+    public void setFranchise(Franchise franchise) {
+        this.franchise = franchise;
+    }
+
+    @Override
+    public String toString() {
+        return "CatalogChangeDTO{" +
+                "type=" + type +
+                ", franchiseId='" + franchiseId + '\'' +
+                ", branchId='" + branchId + '\'' +
+                ", productId='" + productId + '\'' +
+                '}';
+    }
+}
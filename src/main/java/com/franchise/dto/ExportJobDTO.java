@@ -0,0 +1,152 @@
+package com.franchise.dto;
+
+import java.time.Instant;
+
+// Estado de una exportación programada; también es el checkpoint que se guarda junto al fichero.
+// franchises, rows, bytes y lastFranchiseId corresponden al último checkpoint.
+public class ExportJobDTO {
+
+    public enum State { RUNNING, COMPLETED, FAILED }
+
+    private String name;
+    private String format;
+    private String compression;
+    private String file;
+    private State state;
+    private String lastFranchiseId;
+    private long franchises;
+    private long rows;
+    private long bytes;
+    private double rowsPerSecond;
+    private Instant startedAt;
+    private Instant updatedAt;
+    private Instant finishedAt;
+    private String error;
+
+    // Constructors
+    public ExportJobDTO() {}
+
+    // Getters y Setters
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    public void setFormat(String format) {
+        this.format = format;
+    }
+
+    public String getCompression() {
+        return compression;
+    }
+
+    public void setCompression(String compression) {
+        this.compression = compression;
+    }
+
+    public String getFile() {
+        return file;
+    }
+
+    public void setFile(String file) {
+        this.file = file;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public void setState(State state) {
+        this.state = state;
+    }
+
+    public String getLastFranchiseId() {
+        return lastFranchiseId;
+    }
+
+    public void setLastFranchiseId(String lastFranchiseId) {
+        this.lastFranchiseId = lastFranchiseId;
+    }
+
+    public long getFranchises() {
+        return franchises;
+    }
+
+    public void setFranchises(long franchises) {
+        this.franchises = franchises;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public void setRows(long rows) {
+        this.rows = rows;
+    }
+
+    public long getBytes() {
+        return bytes;
+    }
+
+    public void setBytes(long bytes) {
+        this.bytes = bytes;
+    }
+
+    public double getRowsPerSecond() {
+        return rowsPerSecond;
+    }
+
+    public void setRowsPerSecond(double rowsPerSecond) {
+        this.rowsPerSecond = rowsPerSecond;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(Instant startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(Instant finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    @Override
+    public String toString() {
+        return "ExportJobDTO{" +
+                "name='" + name + '\'' +
+                ", state=" + state +
+                ", franchises=" + franchises +
+                ", rows=" + rows +
+                ", bytes=" + bytes +
+                '}';
+    }
+}
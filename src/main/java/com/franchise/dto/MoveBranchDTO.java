@@ -0,0 +1,32 @@
+package com.franchise.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+public class MoveBranchDTO {
+
+    @NotBlank(message = "Target franchise id is required")
+    private String targetFranchiseId;
+
+    // Constructors
+    public MoveBranchDTO() {}
+
+    public MoveBranchDTO(String targetFranchiseId) {
+        this.targetFranchiseId = targetFranchiseId;
+    }
+
+    // Getters y Setters
+    public String getTargetFranchiseId() {
+        return targetFranchiseId;
+    }
+
+    public void setTargetFranchiseId(String targetFranchiseId) {
+        this.targetFranchiseId = targetFranchiseId;
+    }
+
+    @Override
+    public String toString() {
+        return "MoveBranchDTO{" +
+                "targetFranchiseId='" + targetFranchiseId + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,81 @@
+package com.franchise.dto;
+
+public class ProductLocationDTO {
+    private String franchiseId;
+    private String franchiseName;
+    private String branchId;
+    private String branchName;
+    private String productId;
+    private String productName;
+    private Integer stock;
+
+    // Constructors
+    public ProductLocationDTO() {}
+
+    // Getters y Setters
+    public String getFranchiseId() {
+        return franchiseId;
+    }
+
+    public void setFranchiseId(String franchiseId) {
+        this.franchiseId = franchiseId;
+    }
+
+    public String getFranchiseName() {
+        return franchiseName;
+    }
+
+    public void setFranchiseName(String franchiseName) {
+        this.franchiseName = franchiseName;
+    }
+
+    public String getBranchId() {
+        return branchId;
+    }
+
+    public void setBranchId(String branchId) {
+        this.branchId = branchId;
+    }
+
+    public String getBranchName() {
+        return branchName;
+    }
+
+    public void setBranchName(String branchName) {
+        this.branchName = branchName;
+    }
+
+    public String getProductId() {
+        return productId;
+    }
+
+    public void setProductId(String productId) {
+        this.productId = productId;
+    }
+
+    public String getProductName() {
+        return productName;
+    }
+
+    public void setProductName(String productName) {
+        this.productName = productName;
+    }
+
+    public Integer getStock() {
+        return stock;
+    }
+
+    public void setStock(Integer stock) {
+        this.stock = stock;
+    }
+
+    @Override
+    public String toString() {
+        return "ProductLocationDTO{" +
+                "franchiseId='" + franchiseId + '\'' +
+                ", branchId='" + branchId + '\'' +
+                ", productId='" + productId + '\'' +
+                ", stock=" + stock +
+                '}';
+    }
+}
@@ -0,0 +1,44 @@
+package com.franchise.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+public class ReserveStockDTO {
+    @NotNull(message = "Quantity is required")
+    @Min(value = 1, message = "Quantity must be at least 1")
+    private Integer quantity;
+
+    // Duración de la reserva en segundos (opcional)
+    @Min(value = 1, message = "TTL must be at least 1 second")
+    private Long ttlSeconds;
+
+    // Constructors
+    public ReserveStockDTO() {}
+
+    public ReserveStockDTO(Integer quantity, Long ttlSeconds) {
+        this.quantity = quantity;
+        this.ttlSeconds = ttlSeconds;
+    }
+
+    // Getters y Setters
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(Integer quantity) {
+        this.quantity = quantity;
+    }
+
+    public Long getTtlSeconds() {
+        return ttlSeconds;
+    }
+
+    public void setTtlSeconds(Long ttlSeconds) {
+        this.ttlSeconds = ttlSeconds;
+    }
+
+    @Override
+    public String toString() {
+        return "ReserveStockDTO{quantity=" + quantity + ", ttlSeconds=" + ttlSeconds + "}";
+    }
+}
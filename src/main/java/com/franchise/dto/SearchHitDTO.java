@@ -0,0 +1,103 @@
+package com.franchise.dto;
+
+import com.franchise.model.SearchEntry;
+
+public class SearchHitDTO {
+    private SearchEntry.Kind kind;
+    private String name;
+    private String franchiseId;
+    private String franchiseName;
+    private String branchId;
+    private String branchName;
+    private String productId;
+    private double score;
+
+    // Constructors
+    public SearchHitDTO() {}
+
+    public SearchHitDTO(SearchEntry entry, double score) {
+        this.kind = entry.getKind();
+        this.name = entry.getName();
+        this.franchiseId = entry.getFranchiseId();
+        this.franchiseName = entry.getFranchiseName();
+        this.branchId = entry.getBranchId();
+        this.branchName = entry.getBranchName();
+        this.productId = entry.getProductId();
+        this.score = score;
+    }
+
+    // Getters y Setters
+    public SearchEntry.Kind getKind() {
+        return kind;
+    }
+
+    public void setKind(SearchEntry.Kind kind) {
+        this.kind = kind;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getFranchiseId() {
+        return franchiseId;
+    }
+
+    public void setFranchiseId(String franchiseId) {
+        this.franchiseId = franchiseId;
+    }
+
+    public String getFranchiseName() {
+        return franchiseName;
+    }
+
+    public void setFranchiseName(String franchiseName) {
+        this.franchiseName = franchiseName;
+    }
+
+    public String getBranchId() {
+        return branchId;
+    }
+
+    public void setBranchId(String branchId) {
+        this.branchId = branchId;
+    }
+
+    public String getBranchName() {
+        return branchName;
+    }
+
+    public void setBranchName(String branchName) {
+        this.branchName = branchName;
+    }
+
+    public String getProductId() {
+        return productId;
+    }
+
+    public void setProductId(String productId) {
+        this.productId = productId;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    public void setScore(double score) {
+        this.score = score;
+    }
+
+    @Override
+    public String toString() {
+        return "SearchHitDTO{" +
+                "kind=" + kind +
+                ", name='" + name + '\'' +
+                ", franchiseId='" + franchiseId + '\'' +
+                ", score=" + score +
+                '}';
+    }
+}
@@ -0,0 +1,113 @@
+package com.franchise.dto;
+
+import java.time.Instant;
+
+public class StockAlertDTO {
+
+    public enum State { LOW, RESTORED }
+
+    private State state;
+    private String franchiseId;
+    private String franchiseName;
+    private String branchId;
+    private String branchName;
+    private String productId;
+    private String productName;
+    private Integer stock;
+    private Integer threshold;
+    private Instant timestamp;
+
+    // Constructors
+    public StockAlertDTO() {}
+
+    // Getters y Setters
+    public State getState() {
+        return state;
+    }
+
+    public void setState(State state) {
+        this.state = state;
+    }
+
+    public String getFranchiseId() {
+        return franchiseId;
+    }
+
+    public void setFranchiseId(String franchiseId) {
+        this.franchiseId = franchiseId;
+    }
+
+    public String getFranchiseName() {
+        return franchiseName;
+    }
+
+    public void setFranchiseName(String franchiseName) {
+        this.franchiseName = franchiseName;
+    }
+
+    public String getBranchId() {
+        return branchId;
+    }
+
+    public void setBranchId(String branchId) {
+        this.branchId = branchId;
+    }
+
+    public String getBranchName() {
+        return branchName;
+    }
+
+    public void setBranchName(String branchName) {
+        this.branchName = branchName;
+    }
+
+    public String getProductId() {
+        return productId;
+    }
+
+    public void setProductId(String productId) {
+        this.productId = productId;
+    }
+
+    public String getProductName() {
+        return productName;
+    }
+
+    public void setProductName(String productName) {
+        this.productName = productName;
+    }
+
+    public Integer getStock() {
+        return stock;
+    }
+
+    public void setStock(Integer stock) {
+        this.stock = stock;
+    }
+
+    public Integer getThreshold() {
+        return threshold;
+    }
+
+    public void setThreshold(Integer threshold) {
+        this.threshold = threshold;
+    }
+
+    public Instant getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(Instant timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    @Override
+    public String toString() {
+        return "StockAlertDTO{" +
+                "state=" + state +
+                ", productId='" + productId + '\'' +
+                ", stock=" + stock +
+                ", threshold=" + threshold +
+                '}';
+    }
+}
@@ -0,0 +1,61 @@
+package com.franchise.dto;
+
+public class StockAvailabilityDTO {
+    private String productId;
+    private Integer stock;
+    private Integer reserved;
+    private Integer available;
+
+    // Constructors
+    public StockAvailabilityDTO() {}
+
+    public StockAvailabilityDTO(String productId, Integer stock, Integer reserved) {
+        this.productId = productId;
+        this.stock = stock;
+        this.reserved = reserved;
+        this.available = Math.max(0, stock - reserved);
+    }
+
+    // Getters y Setters
+    public String getProductId() {
+        return productId;
+    }
+
+    public void setProductId(String productId) {
+        this.productId = productId;
+    }
+
+    public Integer getStock() {
+        return stock;
+    }
+
+    public void setStock(Integer stock) {
+        this.stock = stock;
+    }
+
+    public Integer getReserved() {
+        return reserved;
+    }
+
+    public void setReserved(Integer reserved) {
+        this.reserved = reserved;
+    }
+
+    public Integer getAvailable() {
+        return available;
+    }
+
+    public void setAvailable(Integer available) {
+        this.available = available;
+    }
+
+    @Override
+    public String toString() {
+        return "StockAvailabilityDTO{" +
+                "productId='" + productId + '\'' +
+                ", stock=" + stock +
+                ", reserved=" + reserved +
+                ", available=" + available +
+                '}';
+    }
+}
@@ -0,0 +1,157 @@
+package com.franchise.dto;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.franchise.model.StockRollup;
+
+public class StockSeriesDTO {
+    private String franchiseId;
+    private String branchId;
+    private String productId;
+    private StockRollup.Resolution resolution;
+    private Instant from;
+    private Instant to;
+    private List<Point> points = new ArrayList<>();
+
+    // Constructors
+    public StockSeriesDTO() {}
+
+    // Getters y Setters
+    public String getFranchiseId() {
+        return franchiseId;
+    }
+
+    public void setFranchiseId(String franchiseId) {
+        this.franchiseId = franchiseId;
+    }
+
+    public String getBranchId() {
+        return branchId;
+    }
+
+    public void setBranchId(String branchId) {
+        this.branchId = branchId;
+    }
+
+    public String getProductId() {
+        return productId;
+    }
+
+    public void setProductId(String productId) {
+        this.productId = productId;
+    }
+
+    public StockRollup.Resolution getResolution() {
+        return resolution;
+    }
+
+    public void setResolution(StockRollup.Resolution resolution) {
+        this.resolution = resolution;
+    }
+
+    public Instant getFrom() {
+        return from;
+    }
+
+    public void setFrom(Instant from) {
+        this.from = from;
+    }
+
+    public Instant getTo() {
+        return to;
+    }
+
+    public void setTo(Instant to) {
+        this.to = to;
+    }
+
+    public List<Point> getPoints() {
+        return points;
+    }
+
+    public void setPoints(List<Point> points) {
+        this.points = points;
+    }
+
+    @Override
+    public String toString() {
+        return "StockSeriesDTO{" +
+                "franchiseId='" + franchiseId + '\'' +
+                ", branchId='" + branchId + '\'' +
+                ", productId='" + productId + '\'' +
+                ", resolution=" + resolution +
+                ", points=" + points.size() +
+                '}';
+    }
+
+    // Un intervalo de la serie: inicio, mínimo, máximo, media y último valor de sus muestras
+    public static class Point {
+        private Instant at;
+        private int min;
+        private int max;
+        private double avg;
+        private int last;
+        private long samples;
+
+        public Point() {}
+
+        public Point(StockRollup rollup) {
+            this.at = rollup.getAt();
+            this.min = rollup.getMin();
+            this.max = rollup.getMax();
+            this.avg = rollup.getCount() == 0 ? 0 : (double) rollup.getSum() / rollup.getCount();
+            this.last = rollup.getLast();
+            this.samples = rollup.getCount();
+        }
+
+        public Instant getAt() {
+            return at;
+        }
+
+        public void setAt(Instant at) {
+            this.at = at;
+        }
+
+        public int getMin() {
+            return min;
+        }
+
+        public void setMin(int min) {
+            this.min = min;
+        }
+
+        public int getMax() {
+            return max;
+        }
+
+        public void setMax(int max) {
+            this.max = max;
+        }
+
+        public double getAvg() {
+            return avg;
+        }
+
+        public void setAvg(double avg) {
+            this.avg = avg;
+        }
+
+        public int getLast() {
+            return last;
+        }
+
+        public void setLast(int last) {
+            this.last = last;
+        }
+
+        public long getSamples() {
+            return samples;
+        }
+
+        public void setSamples(long samples) {
+            this.samples = samples;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.franchise.dto;
+
+import com.franchise.model.Franchise;
+
+// Franquicias de origen y destino tras el traspaso (la misma si es interno). attempts cuenta las
+// transacciones ejecutadas, incluidas las reintentadas por errores transitorios.
+public class TransferResultDTO {
+
+    private Franchise source;
+    private Franchise target;
+    private int attempts;
+
+    // Constructors
+    public TransferResultDTO() {}
+
+    public TransferResultDTO(Franchise source, Franchise target, int attempts) {
+        this.source = source;
+        this.target = target;
+        this.attempts = attempts;
+    }
+
+    // Getters y Setters
+    public Franchise getSource() {
+        return source;
+    }
+
+    public void setSource(Franchise source) {
+        this.source = source;
+    }
+
+    public Franchise getTarget() {
+        return target;
+    }
+
+    public void setTarget(Franchise target) {
+        this.target = target;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    @Override
+    public String toString() {
+        return "TransferResultDTO{" +
+                "source=" + (source != null ? source.getId() : null) +
+                ", target=" + (target != null ? target.getId() : null) +
+                ", attempts=" + attempts +
+                '}';
+    }
+}
@@ -0,0 +1,111 @@
+package com.franchise.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+// Traspaso de stock de un producto a otra sucursal, de la misma u otra franquicia. Sin targetProductId
+// el stock entra en el producto con el mismo nombre de la sucursal destino, que se crea si no existe.
+public class TransferStockDTO {
+
+    @NotBlank(message = "Source franchise id is required")
+    private String sourceFranchiseId;
+
+    @NotBlank(message = "Source branch id is required")
+    private String sourceBranchId;
+
+    @NotBlank(message = "Product id is required")
+    private String productId;
+
+    @NotBlank(message = "Target franchise id is required")
+    private String targetFranchiseId;
+
+    @NotBlank(message = "Target branch id is required")
+    private String targetBranchId;
+
+    private String targetProductId;
+
+    @NotNull(message = "Quantity is required")
+    @Min(value = 1, message = "Quantity must be at least 1")
+    private Integer quantity;
+
+    // Constructors
+    public TransferStockDTO() {}
+
+    public TransferStockDTO(String sourceFranchiseId, String sourceBranchId, String productId,
+            String targetFranchiseId, String targetBranchId, Integer quantity) {
+        this.sourceFranchiseId = sourceFranchiseId;
+        this.sourceBranchId = sourceBranchId;
+        this.productId = productId;
+        this.targetFranchiseId = targetFranchiseId;
+        this.targetBranchId = targetBranchId;
+        this.quantity = quantity;
+    }
+
+    // Getters y Setters
+    public String getSourceFranchiseId() {
+        return sourceFranchiseId;
+    }
+
+    public void setSourceFranchiseId(String sourceFranchiseId) {
+        this.sourceFranchiseId = sourceFranchiseId;
+    }
+
+    public String getSourceBranchId() {
+        return sourceBranchId;
+    }
+
+    public void setSourceBranchId(String sourceBranchId) {
+        this.sourceBranchId = sourceBranchId;
+    }
+
+    public String getProductId() {
+        return productId;
+    }
+
+    public void setProductId(String productId) {
+        this.productId = productId;
+    }
+
+    public String getTargetFranchiseId() {
+        return targetFranchiseId;
+    }
+
+    public void setTargetFranchiseId(String targetFranchiseId) {
+        this.targetFranchiseId = targetFranchiseId;
+    }
+
+    public String getTargetBranchId() {
+        return targetBranchId;
+    }
+
+    public void setTargetBranchId(String targetBranchId) {
+        this.targetBranchId = targetBranchId;
+    }
+
+    public String getTargetProductId() {
+        return targetProductId;
+    }
+
+    public void setTargetProductId(String targetProductId) {
+        this.targetProductId = targetProductId;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(Integer quantity) {
+        this.quantity = quantity;
+    }
+
+    @Override
+    public String toString() {
+        return "TransferStockDTO{" +
+                "sourceFranchiseId='" + sourceFranchiseId + '\'' +
+                ", productId='" + productId + '\'' +
+                ", targetFranchiseId='" + targetFranchiseId + '\'' +
+                ", quantity=" + quantity +
+                '}';
+    }
+}
@@ -0,0 +1,30 @@
+package com.franchise.dto;
+
+import jakarta.validation.constraints.Min;
+
+public class UpdateThresholdDTO {
+    // null elimina el umbral
+    @Min(value = 0, message = "Reorder threshold cannot be negative")
+    private Integer reorderThreshold;
+
+    // Constructors
+    public UpdateThresholdDTO() {}
+
+    public UpdateThresholdDTO(Integer reorderThreshold) {
+        this.reorderThreshold = reorderThreshold;
+    }
+
+    // Getters y Setters
+    public Integer getReorderThreshold() {
+        return reorderThreshold;
+    }
+
+    public void setReorderThreshold(Integer reorderThreshold) {
+        this.reorderThreshold = reorderThreshold;
+    }
+
+    @Override
+    public String toString() {
+        return "UpdateThresholdDTO{reorderThreshold=" + reorderThreshold + "}";
+    }
+}
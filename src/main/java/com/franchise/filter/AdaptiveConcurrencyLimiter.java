@@ -0,0 +1,145 @@
+package com.franchise.filter;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.DoubleSupplier;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+// Límite de concurrencia adaptativo con cola acotada.
+// El límite se ajusta con un gradiente: latencia objetivo / latencia observada de MongoDB.
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double SMOOTHING = 0.2;
+    private static final double MIN_GRADIENT = 0.5;
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final int maxQueueSize;
+    private final Duration queueTimeout;
+    private final double targetLatencyMillis;
+    private final DoubleSupplier observedLatencyMillis;
+
+    private final ArrayDeque<Waiter> queue = new ArrayDeque<>();
+    private double limit;
+    private int inFlight;
+
+    public AdaptiveConcurrencyLimiter(String name, int initialLimit, int minLimit, int maxLimit, int maxQueueSize,
+            Duration queueTimeout, double targetLatencyMillis, DoubleSupplier observedLatencyMillis) {
+        this.name = name;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.maxQueueSize = maxQueueSize;
+        this.queueTimeout = queueTimeout;
+        this.targetLatencyMillis = targetLatencyMillis;
+        this.observedLatencyMillis = observedLatencyMillis;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    public Mono<Permit> acquire() {
+        return Mono.<Permit>create(sink -> {
+                    Waiter waiter;
+                    synchronized (this) {
+                        if (inFlight < (int) limit) {
+                            inFlight++;
+                            sink.success(new Permit());
+                            return;
+                        }
+                        if (queue.size() >= maxQueueSize) {
+                            sink.error(new AdmissionRejectedException(name, "queue full"));
+                            return;
+                        }
+                        waiter = new Waiter(sink);
+                        queue.add(waiter);
+                    }
+                    sink.onDispose(() -> {
+                        if (waiter.claimed.compareAndSet(false, true)) {
+                            synchronized (this) {
+                                queue.remove(waiter);
+                            }
+                        }
+                    });
+                })
+                .timeout(queueTimeout)
+                .onErrorMap(TimeoutException.class, e -> new AdmissionRejectedException(name, "queue timeout"))
+                // Un permiso concedido justo cuando la espera expira se devuelve
+                .doOnDiscard(Permit.class, Permit::release);
+    }
+
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    public synchronized int getQueued() {
+        return queue.size();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    private void onRelease() {
+        List<Waiter> granted = new ArrayList<>();
+        synchronized (this) {
+            // Saturado si la petición que termina ocupaba al menos la mitad del límite o había cola
+            boolean saturated = inFlight >= limit / 2 || !queue.isEmpty();
+            inFlight--;
+            adjustLimit(saturated);
+            while (inFlight < (int) limit && !queue.isEmpty()) {
+                Waiter waiter = queue.poll();
+                if (waiter.claimed.compareAndSet(false, true)) {
+                    inFlight++;
+                    granted.add(waiter);
+                }
+            }
+        }
+        granted.forEach(waiter -> waiter.sink.success(new Permit()));
+    }
+
+    private void adjustLimit(boolean saturated) {
+        double observed = observedLatencyMillis.getAsDouble();
+        double gradient = observed <= 0 ? 1.0
+                : Math.max(MIN_GRADIENT, Math.min(1.0, targetLatencyMillis / observed));
+        // Con latencia sana el límite solo crece (sqrt del límite actual) si se está usando: sin carga
+        // no hay evidencia de que admita más concurrencia y crecería hasta maxLimit sin medirla
+        double headroom = gradient >= 1.0 && saturated ? Math.sqrt(limit) : 0.0;
+        double candidate = limit * gradient + headroom;
+        limit = limit * (1 - SMOOTHING) + candidate * SMOOTHING;
+        limit = Math.max(minLimit, Math.min(maxLimit, limit));
+    }
+
+    public final class Permit {
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        public void release() {
+            if (released.compareAndSet(false, true)) {
+                onRelease();
+            }
+        }
+    }
+
+    private static final class Waiter {
+        private final MonoSink<Permit> sink;
+        private final AtomicBoolean claimed = new AtomicBoolean();
+
+        private Waiter(MonoSink<Permit> sink) {
+            this.sink = sink;
+        }
+    }
+
+    public static class AdmissionRejectedException extends RuntimeException {
+        public AdmissionRejectedException(String limiter, String reason) {
+            super("Request rejected by " + limiter + " limiter: " + reason, null, false, false);
+        }
+    }
+}
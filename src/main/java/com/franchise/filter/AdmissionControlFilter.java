@@ -0,0 +1,142 @@
+package com.franchise.filter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.DoubleSupplier;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.franchise.config.AdmissionControlProperties;
+import com.franchise.dto.ApiResponseDTO;
+import com.franchise.filter.AdaptiveConcurrencyLimiter.AdmissionRejectedException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Mono;
+
+// Control de admisión para /api/**: limita la concurrencia por clase de operación
+// y responde 503 con Retry-After cuando no hay capacidad.
+public class AdmissionControlFilter implements WebFilter, Ordered {
+
+    public static final int ORDER = Ordered.HIGHEST_PRECEDENCE + 100;
+
+    public enum OperationClass { READ, WRITE, BULK }
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final List<String> bulkPaths;
+    private final List<String> streamPaths;
+    private final long retryAfterSeconds;
+    private final ObjectMapper objectMapper;
+    private final Map<OperationClass, AdaptiveConcurrencyLimiter> limiters = new EnumMap<>(OperationClass.class);
+    private final Map<OperationClass, Counter> rejections = new EnumMap<>(OperationClass.class);
+
+    public AdmissionControlFilter(AdmissionControlProperties properties, DoubleSupplier mongoLatencyMillis,
+            ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.bulkPaths = properties.getBulkPaths();
+        this.streamPaths = properties.getStreamPaths();
+        this.retryAfterSeconds = Math.max(1, properties.getRetryAfter().toSeconds());
+        this.objectMapper = objectMapper;
+
+        double target = properties.getTargetMongoLatency().toNanos() / 1_000_000.0;
+        register(OperationClass.READ, properties.getRead(), target, mongoLatencyMillis, meterRegistry);
+        register(OperationClass.WRITE, properties.getWrite(), target, mongoLatencyMillis, meterRegistry);
+        register(OperationClass.BULK, properties.getBulk(), target, mongoLatencyMillis, meterRegistry);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String path = exchange.getRequest().getPath().pathWithinApplication().value();
+        if (!path.startsWith("/api/") || isStream(path)) {
+            return chain.filter(exchange);
+        }
+
+        OperationClass operationClass = classify(exchange.getRequest().getMethod(), path);
+
+        // Las lecturas tienen prioridad: si hay lecturas esperando no se admiten operaciones masivas
+        if (operationClass == OperationClass.BULK && limiters.get(OperationClass.READ).getQueued() > 0) {
+            return reject(exchange, operationClass);
+        }
+
+        return limiters.get(operationClass).acquire()
+                .onErrorResume(AdmissionRejectedException.class, e -> reject(exchange, operationClass).then(Mono.<AdaptiveConcurrencyLimiter.Permit>empty()))
+                .flatMap(permit -> chain.filter(exchange).doFinally(signal -> permit.release()));
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    OperationClass classify(HttpMethod method, String path) {
+        for (String pattern : bulkPaths) {
+            if (pathMatcher.match(pattern, path)) {
+                return OperationClass.BULK;
+            }
+        }
+        if (HttpMethod.GET.equals(method) || HttpMethod.HEAD.equals(method) || HttpMethod.OPTIONS.equals(method)) {
+            return OperationClass.READ;
+        }
+        return OperationClass.WRITE;
+    }
+
+    // Un permiso retenido durante toda la suscripción reduciría la capacidad de forma permanente
+    private boolean isStream(String path) {
+        for (String pattern : streamPaths) {
+            if (pathMatcher.match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Mono<Void> reject(ServerWebExchange exchange, OperationClass operationClass) {
+        rejections.get(operationClass).increment();
+
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(ApiResponseDTO.error("Server is busy, please retry later"));
+        } catch (JsonProcessingException e) {
+            body = "{\"success\":false}".getBytes(StandardCharsets.UTF_8);
+        }
+        DataBuffer buffer = response.bufferFactory().wrap(body);
+        return response.writeWith(Mono.just(buffer));
+    }
+
+    private void register(OperationClass operationClass, AdmissionControlProperties.Limit limit, double target,
+            DoubleSupplier mongoLatencyMillis, MeterRegistry meterRegistry) {
+        String name = operationClass.name().toLowerCase();
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(name, limit.getInitialLimit(),
+                limit.getMinLimit(), limit.getMaxLimit(), limit.getMaxQueueSize(), limit.getQueueTimeout(),
+                target, mongoLatencyMillis);
+        limiters.put(operationClass, limiter);
+
+        Gauge.builder("franchise.admission.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .tag("class", name).register(meterRegistry);
+        Gauge.builder("franchise.admission.inflight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .tag("class", name).register(meterRegistry);
+        Gauge.builder("franchise.admission.queued", limiter, AdaptiveConcurrencyLimiter::getQueued)
+                .tag("class", name).register(meterRegistry);
+        rejections.put(operationClass, Counter.builder("franchise.admission.rejected")
+                .tag("class", name).register(meterRegistry));
+    }
+}
@@ -0,0 +1,253 @@
+package com.franchise.filter;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+
+import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.franchise.config.IdempotencyProperties;
+import com.franchise.dto.ApiResponseDTO;
+import com.franchise.model.IdempotencyRecord;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// Idempotency-Key en POST y PUT: la primera petición con una clave se ejecuta y su respuesta se guarda;
+// las repeticiones con la misma clave reciben esa respuesta sin volver a escribir. Va antes del control
+// de admisión para que una repetición no ocupe un permiso de escritura.
+// - Misma clave con otra petición (método, ruta o cuerpo): 422.
+// - Misma clave mientras la original sigue en curso: 409 con Retry-After.
+// - Solo se guardan las respuestas 2xx y los errores deterministas del cliente (400, 404, 422). Con
+//   cualquier otra (409 por conflicto o concurrencia, 429, 5xx) o con un error la clave se libera y el
+//   reintento se ejecuta de nuevo.
+public class IdempotencyFilter implements WebFilter, Ordered {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyFilter.class);
+
+    public static final int ORDER = AdmissionControlFilter.ORDER - 10;
+
+    public static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    public static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final byte[] EMPTY = new byte[0];
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final List<String> paths;
+    private final int maxBodySize;
+    private final IdempotencyStore store;
+    private final ObjectMapper objectMapper;
+    private final Counter executed;
+    private final Counter replayed;
+    private final Counter conflicts;
+    private final Counter mismatches;
+
+    public IdempotencyFilter(IdempotencyProperties properties, IdempotencyStore store, ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) {
+        this.paths = properties.getPaths();
+        this.maxBodySize = properties.getMaxBodySize();
+        this.store = store;
+        this.objectMapper = objectMapper;
+        this.executed = counter(meterRegistry, "executed");
+        this.replayed = counter(meterRegistry, "replayed");
+        this.conflicts = counter(meterRegistry, "in_progress");
+        this.mismatches = counter(meterRegistry, "mismatch");
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        String key = request.getHeaders().getFirst(IDEMPOTENCY_KEY);
+        if (key == null || !(HttpMethod.POST.equals(request.getMethod()) || HttpMethod.PUT.equals(request.getMethod()))) {
+            return chain.filter(exchange);
+        }
+        String path = request.getPath().pathWithinApplication().value();
+        if (paths.stream().noneMatch(pattern -> pathMatcher.match(pattern, path))) {
+            return chain.filter(exchange);
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            return error(exchange.getResponse(), HttpStatus.BAD_REQUEST,
+                    IDEMPOTENCY_KEY + " must have between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+
+        return DataBufferUtils.join(request.getBody(), maxBodySize)
+                .map(buffer -> {
+                    byte[] bytes = new byte[buffer.readableByteCount()];
+                    buffer.read(bytes);
+                    DataBufferUtils.release(buffer);
+                    return bytes;
+                })
+                .defaultIfEmpty(EMPTY)
+                .flatMap(body -> {
+                    String fingerprint = fingerprint(request, body);
+                    return store.acquire(key, fingerprint)
+                            .map(Optional::of)
+                            .defaultIfEmpty(Optional.empty())
+                            .flatMap(existing -> existing.isPresent()
+                                    ? respond(exchange.getResponse(), existing.get(), fingerprint)
+                                    : execute(exchange, chain, key, body));
+                })
+                .onErrorResume(DataBufferLimitException.class, e -> error(exchange.getResponse(),
+                        HttpStatus.PAYLOAD_TOO_LARGE, "Request body is too large for an idempotent request"));
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    private Mono<Void> execute(ServerWebExchange exchange, WebFilterChain chain, String key, byte[] body) {
+        executed.increment();
+        ServerHttpRequest request = new ServerHttpRequestDecorator(exchange.getRequest()) {
+            @Override
+            public Flux<DataBuffer> getBody() {
+                return Flux.defer(() -> Flux.just(exchange.getResponse().bufferFactory().wrap(body)));
+            }
+        };
+        ServerHttpResponse response = new RecordingResponse(exchange.getResponse(), key);
+        return chain.filter(exchange.mutate().request(request).response(response).build())
+                .onErrorResume(e -> store.release(key).onErrorResume(ignored -> Mono.empty()).then(Mono.error(e)));
+    }
+
+    private Mono<Void> respond(ServerHttpResponse response, IdempotencyRecord record, String fingerprint) {
+        if (!fingerprint.equals(record.getFingerprint())) {
+            mismatches.increment();
+            return error(response, HttpStatus.UNPROCESSABLE_ENTITY,
+                    IDEMPOTENCY_KEY + " was already used for a different request");
+        }
+        if (record.getState() != IdempotencyRecord.State.COMPLETED) {
+            conflicts.increment();
+            response.getHeaders().set(HttpHeaders.RETRY_AFTER, "1");
+            return error(response, HttpStatus.CONFLICT, "A request with this " + IDEMPOTENCY_KEY + " is in progress");
+        }
+
+        replayed.increment();
+        response.setStatusCode(HttpStatusCode.valueOf(record.getStatus()));
+        response.getHeaders().set(IDEMPOTENT_REPLAYED, "true");
+        if (record.getContentType() != null) {
+            response.getHeaders().setContentType(MediaType.parseMediaType(record.getContentType()));
+        }
+        byte[] body = record.getBody() != null ? record.getBody() : EMPTY;
+        if (body.length == 0) {
+            return response.setComplete();
+        }
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+    }
+
+    private Mono<Void> error(ServerHttpResponse response, HttpStatus status, String message) {
+        response.setStatusCode(status);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(ApiResponseDTO.error(message));
+        } catch (JsonProcessingException e) {
+            body = "{\"success\":false}".getBytes(StandardCharsets.UTF_8);
+        }
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+    }
+
+    private static String fingerprint(ServerHttpRequest request, byte[] body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(body);
+            String query = request.getURI().getRawQuery();
+            return request.getMethod().name() + " " + request.getPath().pathWithinApplication().value()
+                    + (query != null ? "?" + query : "") + " " + HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Respuestas que una repetición de la misma petición volvería a obtener
+    static boolean storable(int status) {
+        return (status >= 200 && status < 300) || status == HttpStatus.BAD_REQUEST.value()
+                || status == HttpStatus.NOT_FOUND.value() || status == HttpStatus.UNPROCESSABLE_ENTITY.value();
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("franchise.idempotency.requests")
+                .description("Peticiones con Idempotency-Key por resultado")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    // Guarda la respuesta de la petición original antes de enviarla: cuando el cliente la recibe, una
+    // repetición ya encuentra el registro completado
+    private final class RecordingResponse extends ServerHttpResponseDecorator {
+
+        private final String key;
+
+        private RecordingResponse(ServerHttpResponse delegate, String key) {
+            super(delegate);
+            this.key = key;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            return DataBufferUtils.join(body, maxBodySize)
+                    .map(joined -> {
+                        byte[] bytes = new byte[joined.readableByteCount()];
+                        joined.read(bytes);
+                        DataBufferUtils.release(joined);
+                        return bytes;
+                    })
+                    .defaultIfEmpty(EMPTY)
+                    .flatMap(bytes -> record(bytes)
+                            .then(Mono.defer(() -> super.writeWith(Mono.just(bufferFactory().wrap(bytes))))))
+                    .onErrorResume(DataBufferLimitException.class, e -> store.release(key)
+                            .then(Mono.error(new IllegalStateException("Response is too large to be stored for "
+                                    + IDEMPOTENCY_KEY, e))));
+        }
+
+        @Override
+        public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+            // Respuestas en streaming: no se guardan
+            return store.release(key).then(super.writeAndFlushWith(body));
+        }
+
+        @Override
+        public Mono<Void> setComplete() {
+            return record(EMPTY).then(super.setComplete());
+        }
+
+        private Mono<Void> record(byte[] bytes) {
+            int status = getStatusCode() != null ? getStatusCode().value() : HttpStatus.OK.value();
+            Mono<Void> write = !storable(status)
+                    ? store.release(key)
+                    : store.complete(key, status,
+                            getHeaders().getContentType() != null ? getHeaders().getContentType().toString() : null,
+                            bytes);
+            return write.onErrorResume(e -> {
+                log.warn("Could not store response for idempotency key {}: {}", key, e.getMessage());
+                return Mono.empty();
+            });
+        }
+    }
+}
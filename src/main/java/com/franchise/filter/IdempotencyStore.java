@@ -0,0 +1,102 @@
+package com.franchise.filter;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.franchise.config.IdempotencyProperties;
+import com.franchise.model.IdempotencyRecord;
+import com.franchise.model.IdempotencyRecord.State;
+
+import reactor.core.publisher.Mono;
+
+// Registros de Idempotency-Key en idempotency_keys con una caché LRU en memoria de las respuestas ya
+// completadas (no cambian hasta que vencen). La reserva de una clave es un insert sobre _id: entre
+// varias instancias solo una ejecuta la petición original.
+public class IdempotencyStore {
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final IdempotencyProperties properties;
+    private final Map<String, IdempotencyRecord> completed;
+
+    public IdempotencyStore(ReactiveMongoTemplate mongoTemplate, IdempotencyProperties properties) {
+        this.mongoTemplate = mongoTemplate;
+        this.properties = properties;
+        int cacheSize = properties.getCacheSize();
+        this.completed = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, IdempotencyRecord> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+
+    // Vacío si la clave queda reservada para esta petición; si no, el registro existente
+    public Mono<IdempotencyRecord> acquire(String key, String fingerprint) {
+        IdempotencyRecord cached = completed.get(key);
+        if (cached != null) {
+            if (cached.getExpireAt().isAfter(Instant.now())) {
+                return Mono.just(cached);
+            }
+            completed.remove(key);
+        }
+
+        Instant now = Instant.now();
+        IdempotencyRecord record = new IdempotencyRecord(key, fingerprint, now, now.plus(properties.getLockTimeout()));
+        return mongoTemplate.insert(record)
+                .then(Mono.<IdempotencyRecord>empty())
+                .onErrorResume(DuplicateKeyException.class, e -> existing(key, fingerprint, now));
+    }
+
+    public Mono<Void> complete(String key, int status, String contentType, byte[] body) {
+        Instant expireAt = Instant.now().plus(properties.getRetention());
+        Update update = new Update()
+                .set("state", State.COMPLETED)
+                .set("status", status)
+                .set("contentType", contentType)
+                .set("body", body)
+                .set("expireAt", expireAt);
+        return mongoTemplate.findAndModify(Query.query(Criteria.where("_id").is(key)), update,
+                        FindAndModifyOptions.options().returnNew(true),
+                        IdempotencyRecord.class)
+                .doOnNext(record -> completed.put(key, record))
+                .then();
+    }
+
+    // La petición original falló: un reintento debe volver a ejecutarse
+    public Mono<Void> release(String key) {
+        return mongoTemplate.remove(Query.query(Criteria.where("_id").is(key).and("state").is(State.IN_PROGRESS)),
+                        IdempotencyRecord.class)
+                .then();
+    }
+
+    private Mono<IdempotencyRecord> existing(String key, String fingerprint, Instant now) {
+        // Si la instancia que la reservó no terminó a tiempo, la reserva se toma de forma atómica
+        Query stale = Query.query(Criteria.where("_id").is(key)
+                .and("state").is(State.IN_PROGRESS)
+                .and("expireAt").lt(now));
+        Update takeover = new Update()
+                .set("fingerprint", fingerprint)
+                .set("createdAt", now)
+                .set("expireAt", now.plus(properties.getLockTimeout()));
+        return mongoTemplate.findAndModify(stale, takeover, IdempotencyRecord.class)
+                .hasElement()
+                .flatMap(taken -> taken ? Mono.<IdempotencyRecord>empty()
+                        : mongoTemplate.findById(key, IdempotencyRecord.class)
+                                .doOnNext(record -> {
+                                    if (record.getState() == State.COMPLETED) {
+                                        completed.put(key, record);
+                                    }
+                                })
+                                // Liberada entre el insert y la lectura: se vuelve a intentar la reserva
+                                .switchIfEmpty(Mono.defer(() -> acquire(key, fingerprint))));
+    }
+}
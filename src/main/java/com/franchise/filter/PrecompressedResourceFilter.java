@@ -0,0 +1,146 @@
+package com.franchise.filter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPOutputStream;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+
+import com.franchise.config.StaticResourceProperties;
+
+import reactor.core.publisher.Mono;
+
+// Sirve la UI de Swagger y la especificación OpenAPI desde memoria, ya comprimidas con gzip,
+// con ETag y Cache-Control. La primera respuesta de cada recurso se captura y se reutiliza.
+public class PrecompressedResourceFilter implements WebFilter, Ordered {
+
+    public static final int ORDER = Ordered.HIGHEST_PRECEDENCE + 20;
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final List<String> paths;
+    private final String cacheControl;
+    private final int maxEntries;
+    private final int maxEntrySize;
+    private final ConcurrentHashMap<String, CachedResource> cache = new ConcurrentHashMap<>();
+
+    public PrecompressedResourceFilter(StaticResourceProperties properties) {
+        this.paths = properties.getPaths();
+        this.cacheControl = CacheControl.maxAge(properties.getMaxAge()).cachePublic().getHeaderValue();
+        this.maxEntries = properties.getMaxEntries();
+        this.maxEntrySize = properties.getMaxEntrySize();
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        String path = request.getPath().pathWithinApplication().value();
+        if (!HttpMethod.GET.equals(request.getMethod()) || paths.stream().noneMatch(p -> pathMatcher.match(p, path))) {
+            return chain.filter(exchange);
+        }
+
+        String key = request.getURI().getRawQuery() != null ? path + "?" + request.getURI().getRawQuery() : path;
+        CachedResource cached = cache.get(key);
+        if (cached != null) {
+            return write(request, exchange.getResponse(), cached);
+        }
+        ServerHttpResponse capturing = new CapturingResponse(exchange.getResponse(), request, key);
+        return chain.filter(exchange.mutate().response(capturing).build());
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    private Mono<Void> write(ServerHttpRequest request, ServerHttpResponse response, CachedResource resource) {
+        HttpHeaders headers = response.getHeaders();
+        headers.setETag(resource.etag);
+        headers.setCacheControl(cacheControl);
+        headers.setVary(List.of(HttpHeaders.ACCEPT_ENCODING));
+
+        if (request.getHeaders().getIfNoneMatch().contains(resource.etag)) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            return response.setComplete();
+        }
+
+        byte[] body = resource.body;
+        String acceptEncoding = request.getHeaders().getFirst(HttpHeaders.ACCEPT_ENCODING);
+        if (resource.gzipBody != null && acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            // Con Content-Encoding presente Netty no vuelve a comprimir la respuesta
+            headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+            body = resource.gzipBody;
+        }
+        if (resource.contentType != null) {
+            headers.setContentType(resource.contentType);
+        }
+        headers.setContentLength(body.length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        } catch (IOException e) {
+            return null;
+        }
+        byte[] compressed = out.toByteArray();
+        return compressed.length < body.length ? compressed : null;
+    }
+
+    private final class CapturingResponse extends ServerHttpResponseDecorator {
+
+        private final ServerHttpRequest request;
+        private final String key;
+
+        private CapturingResponse(ServerHttpResponse delegate, ServerHttpRequest request, String key) {
+            super(delegate);
+            this.request = request;
+            this.key = key;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            HttpStatus status = getStatusCode() != null ? HttpStatus.resolve(getStatusCode().value()) : HttpStatus.OK;
+            boolean encoded = getHeaders().containsKey(HttpHeaders.CONTENT_ENCODING);
+            if (status != HttpStatus.OK || encoded || cache.size() >= maxEntries) {
+                return super.writeWith(body);
+            }
+
+            return DataBufferUtils.join(body).flatMap(joined -> {
+                byte[] bytes = new byte[joined.readableByteCount()];
+                joined.read(bytes);
+                DataBufferUtils.release(joined);
+
+                if (bytes.length > maxEntrySize) {
+                    return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+                }
+                CachedResource resource = new CachedResource(getHeaders().getContentType(), bytes, gzip(bytes),
+                        "\"" + DigestUtils.md5DigestAsHex(bytes) + "\"");
+                cache.put(key, resource);
+                return write(request, getDelegate(), resource);
+            });
+        }
+    }
+
+    private record CachedResource(MediaType contentType, byte[] body, byte[] gzipBody, String etag) {
+    }
+}
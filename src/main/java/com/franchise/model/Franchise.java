@@ -2,25 +2,44 @@ package com.franchise.model;
 
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.Valid;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Sharded;
+import org.springframework.data.mongodb.core.mapping.ShardingStrategy;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.index.Indexed;
 
 import java.util.ArrayList;
 import java.util.List;
 
+// Shard key: hash de _id. La unicidad del nombre se garantiza en franchise_names.
+// Índices multikey sobre los productos embebidos para localizarlos sin recorrer todas las franquicias
 @Document(collection = "franchises")
+@CompoundIndexes({
+        @CompoundIndex(name = "branches_products_id", def = "{'branches.products._id': 1}"),
+        @CompoundIndex(name = "branches_products_name", def = "{'branches.products.name': 1}")
+})
+@Sharded(shardingStrategy = ShardingStrategy.HASH, immutableKey = true)
 public class Franchise {
     @Id
     private String id;
 
     @NotBlank(message = "Franchise name is required")
-    @Indexed(unique = true)
+    @Indexed
     private String name;
 
     @Valid
     private List<Branch> branches = new ArrayList<>();
 
+    // Bloqueo optimista: cada escritura del documento (save o $inc parcial) incrementa la versión,
+    // y un save sobre una versión ya modificada falla con OptimisticLockingFailureException
+    @Version
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
+
     // Constructors
     public Franchise() {}
 
@@ -36,6 +55,9 @@ public class Franchise {
     public String getName() { return name; }
     public void setName(String name) { this.name = name; }
 
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+
     public List<Branch> getBranches() { return branches; }
     public void setBranches(List<Branch> branches) {
         this.branches = branches != null ? branches : new ArrayList<>();
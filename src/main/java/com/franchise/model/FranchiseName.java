@@ -0,0 +1,32 @@
+package com.franchise.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+// Índice nombre → id de franquicia. Con franchises particionada por hash de _id, las búsquedas
+// por nombre resuelven aquí el id y después consultan un único shard. El _id garantiza que el
+// nombre es único (el índice único sobre franchises.name no es compatible con la shard key).
+@Document(collection = "franchise_names")
+public class FranchiseName {
+    @Id
+    private String name;
+
+    @Indexed
+    private String franchiseId;
+
+    // Constructors
+    public FranchiseName() {}
+
+    public FranchiseName(String name, String franchiseId) {
+        this.name = name;
+        this.franchiseId = franchiseId;
+    }
+
+    // Getters y Setters
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public String getFranchiseId() { return franchiseId; }
+    public void setFranchiseId(String franchiseId) { this.franchiseId = franchiseId; }
+}
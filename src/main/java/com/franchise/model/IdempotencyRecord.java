@@ -0,0 +1,71 @@
+package com.franchise.model;
+
+import java.time.Instant;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+// Respuesta guardada para un Idempotency-Key. Mientras la petición original se ejecuta el registro está
+// IN_PROGRESS y expireAt marca hasta cuándo se respeta ese bloqueo; al terminar pasa a COMPLETED con la
+// respuesta y expireAt = fin de la retención. El índice TTL elimina los registros vencidos.
+@Document(collection = "idempotency_keys")
+public class IdempotencyRecord {
+
+    public enum State { IN_PROGRESS, COMPLETED }
+
+    @Id
+    private String id;
+
+    // Método, ruta y hash del cuerpo de la petición original
+    private String fingerprint;
+
+    private State state;
+
+    private int status;
+
+    private String contentType;
+
+    private byte[] body;
+
+    private Instant createdAt;
+
+    @Indexed(expireAfter = "0s")
+    private Instant expireAt;
+
+    // Constructors
+    public IdempotencyRecord() {}
+
+    public IdempotencyRecord(String id, String fingerprint, Instant createdAt, Instant expireAt) {
+        this.id = id;
+        this.fingerprint = fingerprint;
+        this.state = State.IN_PROGRESS;
+        this.createdAt = createdAt;
+        this.expireAt = expireAt;
+    }
+
+    // Getters y Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getFingerprint() { return fingerprint; }
+    public void setFingerprint(String fingerprint) { this.fingerprint = fingerprint; }
+
+    public State getState() { return state; }
+    public void setState(State state) { this.state = state; }
+
+    public int getStatus() { return status; }
+    public void setStatus(int status) { this.status = status; }
+
+    public String getContentType() { return contentType; }
+    public void setContentType(String contentType) { this.contentType = contentType; }
+
+    public byte[] getBody() { return body; }
+    public void setBody(byte[] body) { this.body = body; }
+
+    public Instant getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+
+    public Instant getExpireAt() { return expireAt; }
+    public void setExpireAt(Instant expireAt) { this.expireAt = expireAt; }
+}
@@ -0,0 +1,78 @@
+package com.franchise.model;
+
+import java.time.Instant;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+// Producto con stock en o por debajo de su umbral de reposición. Se crea al cruzar el umbral hacia
+// abajo y se elimina al reponerse; el _id es franquicia:sucursal:producto.
+@Document(collection = "low_stock_alerts")
+public class LowStockAlert {
+
+    @Id
+    private String id;
+
+    @Indexed
+    private String franchiseId;
+
+    private String franchiseName;
+
+    private String branchId;
+
+    private String branchName;
+
+    private String productId;
+
+    private String productName;
+
+    private Integer stock;
+
+    private Integer threshold;
+
+    private Instant since;
+
+    // Constructors
+    public LowStockAlert() {}
+
+    public static String id(String franchiseId, String branchId, String productId) {
+        return franchiseId + ":" + branchId + ":" + productId;
+    }
+
+    // Getters y Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getFranchiseId() { return franchiseId; }
+    public void setFranchiseId(String franchiseId) { this.franchiseId = franchiseId; }
+
+    public String getFranchiseName() { return franchiseName; }
+    public void setFranchiseName(String franchiseName) { this.franchiseName = franchiseName; }
+
+    public String getBranchId() { return branchId; }
+    public void setBranchId(String branchId) { this.branchId = branchId; }
+
+    public String getBranchName() { return branchName; }
+    public void setBranchName(String branchName) { this.branchName = branchName; }
+
+    public String getProductId() { return productId; }
+    public void setProductId(String productId) { this.productId = productId; }
+
+    public String getProductName() { return productName; }
+    public void setProductName(String productName) { this.productName = productName; }
+
+    public Integer getStock() { return stock; }
+    public void setStock(Integer stock) { this.stock = stock; }
+
+    public Integer getThreshold() { return threshold; }
+    public void setThreshold(Integer threshold) { this.threshold = threshold; }
+
+    public Instant getSince() { return since; }
+    public void setSince(Instant since) { this.since = since; }
+
+    @Override
+    public String toString() {
+        return "LowStockAlert{id='" + id + "', stock=" + stock + ", threshold=" + threshold + "}";
+    }
+}
@@ -4,6 +4,7 @@ import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import org.springframework.data.annotation.Id;
+import com.fasterxml.jackson.annotation.JsonProperty;
 
 public class Product {
     @Id
@@ -16,6 +17,15 @@ public class Product {
     @Min(value = 0, message = "Stock cannot be negative")
     private Integer stock;
 
+    // Umbral de reposición opcional: con stock en o por debajo de él se genera una alerta
+    @Min(value = 0, message = "Reorder threshold cannot be negative")
+    private Integer reorderThreshold;
+
+    // Cantidad retenida por reservas activas. Vive en el mismo documento que el stock para que la
+    // reserva compruebe ambos en una sola actualización condicional; solo la modifica StockReservations
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Integer reserved;
+
     // Constructors
     public Product() {}
 
@@ -34,6 +44,12 @@ public class Product {
     public Integer getStock() { return stock; }
     public void setStock(Integer stock) { this.stock = stock; }
 
+    public Integer getReorderThreshold() { return reorderThreshold; }
+    public void setReorderThreshold(Integer reorderThreshold) { this.reorderThreshold = reorderThreshold; }
+
+    public Integer getReserved() { return reserved; }
+    public void setReserved(Integer reserved) { this.reserved = reserved; }
+
     @Override
     public String toString() {
         return "Product{id='" + id + "', name='" + name + "', stock=" + stock + "}";
@@ -0,0 +1,93 @@
+package com.franchise.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+// Entrada del índice de búsqueda por nombre: una por franquicia, sucursal y producto.
+// normalized es el nombre en minúsculas y sin acentos; terms, sus palabras (índice multikey).
+// franchiseVersion es la versión de la franquicia de la que se obtuvo: solo la reemplaza una más nueva.
+@Document(collection = "search_entries")
+@CompoundIndexes({
+        @CompoundIndex(name = "kind_normalized", def = "{'kind': 1, 'normalized': 1}"),
+        @CompoundIndex(name = "kind_terms", def = "{'kind': 1, 'terms': 1}")
+})
+public class SearchEntry {
+
+    public enum Kind { FRANCHISE, BRANCH, PRODUCT }
+
+    @Id
+    private String id;
+
+    private Kind kind;
+
+    private String name;
+
+    private String normalized;
+
+    private List<String> terms = new ArrayList<>();
+
+    @Indexed
+    private String franchiseId;
+
+    private String franchiseName;
+
+    private String branchId;
+
+    private String branchName;
+
+    private String productId;
+
+    private Long franchiseVersion;
+
+    // Constructors
+    public SearchEntry() {}
+
+    // Getters y Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public Kind getKind() { return kind; }
+    public void setKind(Kind kind) { this.kind = kind; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public String getNormalized() { return normalized; }
+    public void setNormalized(String normalized) { this.normalized = normalized; }
+
+    public List<String> getTerms() { return terms; }
+    public void setTerms(List<String> terms) { this.terms = terms != null ? terms : new ArrayList<>(); }
+
+    public String getFranchiseId() { return franchiseId; }
+    public void setFranchiseId(String franchiseId) { this.franchiseId = franchiseId; }
+
+    public String getFranchiseName() { return franchiseName; }
+    public void setFranchiseName(String franchiseName) { this.franchiseName = franchiseName; }
+
+    public String getBranchId() { return branchId; }
+    public void setBranchId(String branchId) { this.branchId = branchId; }
+
+    public String getBranchName() { return branchName; }
+    public void setBranchName(String branchName) { this.branchName = branchName; }
+
+    public String getProductId() { return productId; }
+    public void setProductId(String productId) { this.productId = productId; }
+
+    public Long getFranchiseVersion() { return franchiseVersion; }
+    public void setFranchiseVersion(Long franchiseVersion) { this.franchiseVersion = franchiseVersion; }
+
+    // Misma entrada indexada (los términos se derivan del nombre)
+    public boolean sameContent(SearchEntry other) {
+        return kind == other.kind
+                && Objects.equals(name, other.name)
+                && Objects.equals(franchiseName, other.franchiseName)
+                && Objects.equals(branchName, other.branchName);
+    }
+}
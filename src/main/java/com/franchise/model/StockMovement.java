@@ -0,0 +1,73 @@
+package com.franchise.model;
+
+import java.time.Instant;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+// Movimiento de stock de un producto (registro de solo inserción). Guarda el stock anterior y el nuevo en
+// valor absoluto: aplicar un movimiento sobre una instantánea no depende de haber aplicado los anteriores.
+@Document(collection = "stock_movements")
+@CompoundIndexes({
+        @CompoundIndex(name = "franchiseId_at", def = "{'franchiseId': 1, 'at': 1}")
+})
+public class StockMovement {
+
+    @Id
+    private String id;
+
+    private String franchiseId;
+
+    private String branchId;
+
+    private String branchName;
+
+    private String productId;
+
+    private String productName;
+
+    private Integer previousStock;
+
+    private Integer stock;
+
+    private Instant at;
+
+    // Constructors
+    public StockMovement() {}
+
+    // Getters y Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getFranchiseId() { return franchiseId; }
+    public void setFranchiseId(String franchiseId) { this.franchiseId = franchiseId; }
+
+    public String getBranchId() { return branchId; }
+    public void setBranchId(String branchId) { this.branchId = branchId; }
+
+    public String getBranchName() { return branchName; }
+    public void setBranchName(String branchName) { this.branchName = branchName; }
+
+    public String getProductId() { return productId; }
+    public void setProductId(String productId) { this.productId = productId; }
+
+    public String getProductName() { return productName; }
+    public void setProductName(String productName) { this.productName = productName; }
+
+    public Integer getPreviousStock() { return previousStock; }
+    public void setPreviousStock(Integer previousStock) { this.previousStock = previousStock; }
+
+    public Integer getStock() { return stock; }
+    public void setStock(Integer stock) { this.stock = stock; }
+
+    public Instant getAt() { return at; }
+    public void setAt(Instant at) { this.at = at; }
+
+    @Override
+    public String toString() {
+        return "StockMovement{productId='" + productId + "', previousStock=" + previousStock + ", stock=" + stock
+                + ", at=" + at + "}";
+    }
+}
@@ -0,0 +1,79 @@
+package com.franchise.model;
+
+import java.time.Instant;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+// Reserva temporal de stock de un producto. Mientras está ACTIVE su cantidad cuenta en Product.reserved;
+// al confirmarse, liberarse o vencer se le asigna purgeAt y el índice TTL la elimina pasado ese instante
+// (las activas no tienen purgeAt y nunca se eliminan antes de que el barrido libere su cantidad).
+@Document(collection = "stock_reservations")
+@CompoundIndexes({
+        @CompoundIndex(name = "status_expiresAt", def = "{'status': 1, 'expiresAt': 1}")
+})
+public class StockReservation {
+
+    public enum Status { ACTIVE, CONFIRMED, RELEASED, EXPIRED }
+
+    @Id
+    private String id;
+
+    @Indexed
+    private String franchiseId;
+
+    private String branchId;
+
+    private String productId;
+
+    private int quantity;
+
+    private Status status;
+
+    private Instant createdAt;
+
+    private Instant expiresAt;
+
+    @Indexed(expireAfter = "0s")
+    private Instant purgeAt;
+
+    // Constructors
+    public StockReservation() {}
+
+    // Getters y Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getFranchiseId() { return franchiseId; }
+    public void setFranchiseId(String franchiseId) { this.franchiseId = franchiseId; }
+
+    public String getBranchId() { return branchId; }
+    public void setBranchId(String branchId) { this.branchId = branchId; }
+
+    public String getProductId() { return productId; }
+    public void setProductId(String productId) { this.productId = productId; }
+
+    public int getQuantity() { return quantity; }
+    public void setQuantity(int quantity) { this.quantity = quantity; }
+
+    public Status getStatus() { return status; }
+    public void setStatus(Status status) { this.status = status; }
+
+    public Instant getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+
+    public Instant getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(Instant expiresAt) { this.expiresAt = expiresAt; }
+
+    public Instant getPurgeAt() { return purgeAt; }
+    public void setPurgeAt(Instant purgeAt) { this.purgeAt = purgeAt; }
+
+    @Override
+    public String toString() {
+        return "StockReservation{id='" + id + "', productId='" + productId + "', quantity=" + quantity
+                + ", status=" + status + "}";
+    }
+}
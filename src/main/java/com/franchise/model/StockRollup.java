@@ -0,0 +1,116 @@
+package com.franchise.model;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+// Agregado de las muestras de una serie en un intervalo (minuto, hora o día): mínimo, máximo, suma,
+// número de muestras y último valor. Se actualiza con $min/$max/$inc a medida que llegan muestras; el
+// índice TTL sobre expireAt aplica la retención de cada resolución.
+@Document(collection = "stock_rollups")
+@CompoundIndexes({
+        @CompoundIndex(name = "series_resolution_at",
+                def = "{'franchiseId': 1, 'branchId': 1, 'productId': 1, 'resolution': 1, 'at': 1}")
+})
+public class StockRollup {
+
+    public enum Resolution {
+        MINUTE(ChronoUnit.MINUTES), HOUR(ChronoUnit.HOURS), DAY(ChronoUnit.DAYS);
+
+        private final ChronoUnit unit;
+
+        Resolution(ChronoUnit unit) {
+            this.unit = unit;
+        }
+
+        public Instant bucket(Instant at) {
+            return at.truncatedTo(unit);
+        }
+
+        public Duration duration() {
+            return unit.getDuration();
+        }
+    }
+
+    @Id
+    private String id;
+
+    private String franchiseId;
+
+    private String branchId;
+
+    private String productId;
+
+    private Resolution resolution;
+
+    private Instant at;
+
+    private int min;
+
+    private int max;
+
+    private long sum;
+
+    private long count;
+
+    private int last;
+
+    @Indexed(expireAfter = "0s")
+    private Instant expireAt;
+
+    // Constructors
+    public StockRollup() {}
+
+    public static String id(Resolution resolution, StockSample.Series series, Instant bucket) {
+        return resolution.name() + ":" + series.key() + ":" + bucket.toEpochMilli();
+    }
+
+    // Getters y Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getFranchiseId() { return franchiseId; }
+    public void setFranchiseId(String franchiseId) { this.franchiseId = franchiseId; }
+
+    public String getBranchId() { return branchId; }
+    public void setBranchId(String branchId) { this.branchId = branchId; }
+
+    public String getProductId() { return productId; }
+    public void setProductId(String productId) { this.productId = productId; }
+
+    public Resolution getResolution() { return resolution; }
+    public void setResolution(Resolution resolution) { this.resolution = resolution; }
+
+    public Instant getAt() { return at; }
+    public void setAt(Instant at) { this.at = at; }
+
+    public int getMin() { return min; }
+    public void setMin(int min) { this.min = min; }
+
+    public int getMax() { return max; }
+    public void setMax(int max) { this.max = max; }
+
+    public long getSum() { return sum; }
+    public void setSum(long sum) { this.sum = sum; }
+
+    public long getCount() { return count; }
+    public void setCount(long count) { this.count = count; }
+
+    public int getLast() { return last; }
+    public void setLast(int last) { this.last = last; }
+
+    public Instant getExpireAt() { return expireAt; }
+    public void setExpireAt(Instant expireAt) { this.expireAt = expireAt; }
+
+    @Override
+    public String toString() {
+        return "StockRollup{id='" + id + "', min=" + min + ", max=" + max + ", count=" + count + ", last=" + last
+                + "}";
+    }
+}
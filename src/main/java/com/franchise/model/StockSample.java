@@ -0,0 +1,61 @@
+package com.franchise.model;
+
+import java.time.Instant;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.TimeSeries;
+import org.springframework.data.mongodb.core.timeseries.Granularity;
+
+// Muestra de stock de un producto, o del total de una sucursal (productId null) o de una franquicia
+// (branchId y productId null), en la colección de series temporales stock_samples. MongoDB agrupa las
+// muestras de cada serie en buckets por tiempo y las elimina pasada raw-retention (expireAfterSeconds de
+// la colección, que StockSeries fija al crearla).
+@Document(collection = "stock_samples")
+@TimeSeries(timeField = "at", metaField = "series", granularity = Granularity.MINUTES)
+public class StockSample {
+
+    @Id
+    private String id;
+
+    private Instant at;
+
+    private Series series;
+
+    private int stock;
+
+    // Constructors
+    public StockSample() {}
+
+    public StockSample(Series series, int stock, Instant at) {
+        this.series = series;
+        this.stock = stock;
+        this.at = at;
+    }
+
+    // Getters y Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public Instant getAt() { return at; }
+    public void setAt(Instant at) { this.at = at; }
+
+    public Series getSeries() { return series; }
+    public void setSeries(Series series) { this.series = series; }
+
+    public int getStock() { return stock; }
+    public void setStock(int stock) { this.stock = stock; }
+
+    // Identifica la serie: franquicia, sucursal o producto
+    public record Series(String franchiseId, String branchId, String productId) {
+
+        public String key() {
+            return franchiseId + ":" + branchId + ":" + productId;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "StockSample{series=" + series + ", stock=" + stock + ", at=" + at + "}";
+    }
+}
@@ -0,0 +1,104 @@
+package com.franchise.model;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+// Stock de todos los productos de una franquicia en un instante. Junto con los movimientos posteriores
+// reconstruye el stock a cualquier fecha del historial conservado.
+@Document(collection = "stock_snapshots")
+@CompoundIndexes({
+        @CompoundIndex(name = "franchiseId_at", def = "{'franchiseId': 1, 'at': -1}")
+})
+public class StockSnapshot {
+
+    @Id
+    private String id;
+
+    private String franchiseId;
+
+    private String franchiseName;
+
+    private Instant at;
+
+    private List<Entry> products = new ArrayList<>();
+
+    // Constructors
+    public StockSnapshot() {}
+
+    public StockSnapshot(Franchise franchise, Instant at) {
+        this.franchiseId = franchise.getId();
+        this.franchiseName = franchise.getName();
+        this.at = at;
+        for (Branch branch : franchise.getBranches()) {
+            for (Product product : branch.getProducts()) {
+                products.add(new Entry(branch.getId(), branch.getName(), product.getId(), product.getName(),
+                        product.getStock()));
+            }
+        }
+    }
+
+    // Getters y Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getFranchiseId() { return franchiseId; }
+    public void setFranchiseId(String franchiseId) { this.franchiseId = franchiseId; }
+
+    public String getFranchiseName() { return franchiseName; }
+    public void setFranchiseName(String franchiseName) { this.franchiseName = franchiseName; }
+
+    public Instant getAt() { return at; }
+    public void setAt(Instant at) { this.at = at; }
+
+    public List<Entry> getProducts() { return products; }
+    public void setProducts(List<Entry> products) { this.products = products; }
+
+    public static class Entry {
+
+        private String branchId;
+
+        private String branchName;
+
+        private String productId;
+
+        private String productName;
+
+        private Integer stock;
+
+        public Entry() {}
+
+        public Entry(String branchId, String branchName, String productId, String productName, Integer stock) {
+            this.branchId = branchId;
+            this.branchName = branchName;
+            this.productId = productId;
+            this.productName = productName;
+            this.stock = stock;
+        }
+
+        public String getBranchId() { return branchId; }
+        public void setBranchId(String branchId) { this.branchId = branchId; }
+
+        public String getBranchName() { return branchName; }
+        public void setBranchName(String branchName) { this.branchName = branchName; }
+
+        public String getProductId() { return productId; }
+        public void setProductId(String productId) { this.productId = productId; }
+
+        public String getProductName() { return productName; }
+        public void setProductName(String productName) { this.productName = productName; }
+
+        public Integer getStock() { return stock; }
+        public void setStock(Integer stock) { this.stock = stock; }
+    }
+
+    @Override
+    public String toString() {
+        return "StockSnapshot{franchiseId='" + franchiseId + "', at=" + at + ", products=" + products.size() + "}";
+    }
+}
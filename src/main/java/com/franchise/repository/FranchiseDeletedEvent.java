@@ -0,0 +1,15 @@
+package com.franchise.repository;
+
+// Publicado tras borrar una franquicia; franchiseId es null cuando se borran todas
+public class FranchiseDeletedEvent {
+
+    private final String franchiseId;
+
+    public FranchiseDeletedEvent(String franchiseId) {
+        this.franchiseId = franchiseId;
+    }
+
+    public String getFranchiseId() { return franchiseId; }
+
+    public boolean isAll() { return franchiseId == null; }
+}
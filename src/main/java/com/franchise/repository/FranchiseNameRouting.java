@@ -0,0 +1,28 @@
+package com.franchise.repository;
+
+import com.franchise.model.Franchise;
+
+import reactor.core.publisher.Mono;
+
+// Operaciones por nombre enrutadas a través de franchise_names (nombre → id): cada una consulta
+// la colección de nombres y después un único shard de franchises, sin scatter-gather.
+public interface FranchiseNameRouting {
+
+    Mono<Franchise> findByName(String name);
+
+    Mono<Boolean> existsByName(String name);
+
+    Mono<Void> deleteByName(String name);
+
+    // Guardado directo (sin clase de escritura): registra también el nombre
+    <S extends Franchise> Mono<S> save(S franchise);
+
+    // Borra también la colección de nombres
+    Mono<Void> deleteAll();
+
+    // Reserva el nombre para la franquicia; false si ya lo usa una franquicia existente (incluida ella misma)
+    Mono<Boolean> registerName(String name, String franchiseId);
+
+    // Deja en franchise_names solo el nombre actual de la franquicia (ninguno si ya no existe)
+    Mono<Void> reconcileNames(String franchiseId);
+}
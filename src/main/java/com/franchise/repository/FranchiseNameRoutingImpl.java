@@ -0,0 +1,110 @@
+package com.franchise.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.franchise.model.Franchise;
+import com.franchise.model.FranchiseName;
+
+import reactor.core.publisher.Mono;
+
+class FranchiseNameRoutingImpl implements FranchiseNameRouting {
+
+    @Autowired
+    private ReactiveMongoTemplate mongoTemplate;
+
+    @Autowired
+    private WriteRouting writeRouting;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public Mono<Franchise> findByName(String name) {
+        // Una entrada huérfana (franquicia borrada o renombrada sin reconciliar) no devuelve nada
+        return mongoTemplate.findById(name, FranchiseName.class)
+                .flatMap(entry -> mongoTemplate.findById(entry.getFranchiseId(), Franchise.class))
+                .filter(franchise -> name.equals(franchise.getName()));
+    }
+
+    @Override
+    public Mono<Boolean> existsByName(String name) {
+        return findByName(name).hasElement();
+    }
+
+    @Override
+    public Mono<Void> deleteByName(String name) {
+        return mongoTemplate.findById(name, FranchiseName.class)
+                .flatMap(entry -> mongoTemplate.remove(byId(entry.getFranchiseId())
+                                .addCriteria(Criteria.where("name").is(name)), Franchise.class)
+                        .doOnNext(result -> {
+                            if (result.getDeletedCount() > 0) {
+                                eventPublisher.publishEvent(new FranchiseDeletedEvent(entry.getFranchiseId()));
+                            }
+                        })
+                        .then(reconcileNames(entry.getFranchiseId())));
+    }
+
+    @Override
+    public <S extends Franchise> Mono<S> save(S franchise) {
+        return mongoTemplate.save(franchise)
+                .flatMap(saved -> reconcileNames(saved.getId()).thenReturn(saved))
+                .doOnNext(saved -> eventPublisher.publishEvent(new FranchiseSavedEvent(saved, (WriteClass) null)));
+    }
+
+    @Override
+    public Mono<Void> deleteAll() {
+        return mongoTemplate.remove(new Query(), Franchise.class)
+                .then(mongoTemplate.remove(new Query(), FranchiseName.class))
+                .doOnNext(result -> eventPublisher.publishEvent(new FranchiseDeletedEvent(null)))
+                .then();
+    }
+
+    @Override
+    public Mono<Boolean> registerName(String name, String franchiseId) {
+        return names().insert(new FranchiseName(name, franchiseId))
+                .thenReturn(true)
+                .onErrorResume(DuplicateKeyException.class, e -> mongoTemplate.findById(name, FranchiseName.class)
+                        .flatMap(entry -> takeOverIfOrphan(entry, franchiseId))
+                        .defaultIfEmpty(false));
+    }
+
+    @Override
+    public Mono<Void> reconcileNames(String franchiseId) {
+        return mongoTemplate.findById(franchiseId, Franchise.class)
+                .map(Franchise::getName)
+                .flatMap(current -> names().remove(Query.query(Criteria.where("franchiseId").is(franchiseId)
+                                .and("_id").ne(current)), FranchiseName.class)
+                        .then(names().upsert(byId(current), Update.update("franchiseId", franchiseId),
+                                FranchiseName.class))
+                        .thenReturn(current))
+                .switchIfEmpty(Mono.defer(() -> names()
+                        .remove(Query.query(Criteria.where("franchiseId").is(franchiseId)), FranchiseName.class)
+                        .thenReturn(franchiseId)))
+                .then();
+    }
+
+    // El nombre ya está registrado: solo se reasigna si la franquicia registrada ya no lo usa
+    private Mono<Boolean> takeOverIfOrphan(FranchiseName entry, String franchiseId) {
+        Query owner = byId(entry.getFranchiseId()).addCriteria(Criteria.where("name").is(entry.getName()));
+        Query orphan = byId(entry.getName()).addCriteria(Criteria.where("franchiseId").is(entry.getFranchiseId()));
+        return mongoTemplate.exists(owner, Franchise.class)
+                .flatMap(inUse -> inUse ? Mono.just(false)
+                        : names().updateFirst(orphan, Update.update("franchiseId", franchiseId), FranchiseName.class)
+                                .map(result -> result.getMatchedCount() > 0));
+    }
+
+    // Las entradas de nombres se escriben con el write concern de los cambios estructurales
+    private ReactiveMongoTemplate names() {
+        return writeRouting.template(WriteClass.STRUCTURE);
+    }
+
+    private static Query byId(Object id) {
+        return Query.query(Criteria.where("_id").is(id));
+    }
+}
@@ -5,15 +5,12 @@ import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Mono;
 
+// findByName, existsByName, deleteByName, save y deleteAll se resuelven en FranchiseNameRouting
 @Repository
-public interface FranchiseRepository extends ReactiveMongoRepository<Franchise, String> {
+public interface FranchiseRepository extends ReactiveMongoRepository<Franchise, String>, RoutedFranchiseReads,
+        RoutedFranchiseWrites, FranchiseNameRouting {
 
-    // Search by name
-    Mono<Franchise> findByName(String name);
-
-    // Check if a franchise exists by name
-    Mono<Boolean> existsByName(String name);
-
-    // Delete by name
-    Mono<Void> deleteByName(String name);
+    // Redeclarado para resolver la ambigüedad entre ReactiveCrudRepository y FranchiseNameRouting
+    @Override
+    <S extends Franchise> Mono<S> save(S franchise);
 }
@@ -0,0 +1,42 @@
+package com.franchise.repository;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+import com.franchise.model.Franchise;
+
+// Publicado tras cada escritura confirmada de una franquicia. writeClass es null en los
+// guardados directos (save sin clase), que se tratan como un cambio completo del documento.
+// Un lote de mutaciones agrupadas se guarda con la clase más crítica, pero writeClasses
+// incluye las de todas sus mutaciones.
+public class FranchiseSavedEvent {
+
+    private final Franchise franchise;
+    private final WriteClass writeClass;
+    private final Set<WriteClass> writeClasses;
+
+    public FranchiseSavedEvent(Franchise franchise, WriteClass writeClass) {
+        this.franchise = franchise;
+        this.writeClass = writeClass;
+        this.writeClasses = writeClass == null ? EnumSet.noneOf(WriteClass.class) : EnumSet.of(writeClass);
+    }
+
+    public FranchiseSavedEvent(Franchise franchise, Collection<WriteClass> writeClasses) {
+        this.franchise = franchise;
+        this.writeClasses = EnumSet.copyOf(writeClasses);
+        this.writeClass = Collections.max(writeClasses);
+    }
+
+    public Franchise getFranchise() { return franchise; }
+
+    public WriteClass getWriteClass() { return writeClass; }
+
+    public Set<WriteClass> getWriteClasses() { return writeClasses; }
+
+    // Solo cambió el stock: nombres y estructura siguen igual
+    public boolean isStockOnly() {
+        return writeClasses.equals(EnumSet.of(WriteClass.STOCK));
+    }
+}
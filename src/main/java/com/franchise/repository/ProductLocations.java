@@ -0,0 +1,46 @@
+package com.franchise.repository;
+
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.match;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.newAggregation;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.project;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.unwind;
+
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.query.Criteria;
+
+// Ubicaciones (franquicia, sucursal, stock) de un producto en una sola agregación. El primer $match usa
+// los índices multikey de branches.products y limita el $unwind a las franquicias que lo contienen
+public final class ProductLocations {
+
+    private ProductLocations() {}
+
+    public static Aggregation aggregation(String productId, String productName, AggregationOptions options) {
+        return newAggregation(
+                match(criteria(productId, productName)),
+                unwind("branches"),
+                unwind("branches.products"),
+                match(criteria(productId, productName)),
+                project()
+                        .andExclude("_id")
+                        .and("_id").as("franchiseId")
+                        .and("name").as("franchiseName")
+                        .and("branches._id").as("branchId")
+                        .and("branches.name").as("branchName")
+                        .and("branches.products._id").as("productId")
+                        .and("branches.products.name").as("productName")
+                        .and("branches.products.stock").as("stock"))
+                .withOptions(options);
+    }
+
+    private static Criteria criteria(String productId, String productName) {
+        Criteria criteria = new Criteria();
+        if (productId != null) {
+            criteria = criteria.and("branches.products._id").is(productId);
+        }
+        if (productName != null) {
+            criteria = criteria.and("branches.products.name").is(productName);
+        }
+        return criteria;
+    }
+}
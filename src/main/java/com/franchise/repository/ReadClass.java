@@ -0,0 +1,8 @@
+package com.franchise.repository;
+
+// Clases de lectura con read preference / read concern propios (franchise.read-routing.*)
+public enum ReadClass {
+    READ_YOUR_WRITES,
+    REPORTS,
+    SEARCH
+}
@@ -0,0 +1,64 @@
+package com.franchise.repository;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import com.franchise.config.ReadRoutingProperties;
+import com.mongodb.ReadConcern;
+import com.mongodb.ReadPreference;
+
+// Resuelve una vez el read preference y read concern de cada clase de lectura y los aplica a las consultas
+@Component
+@EnableConfigurationProperties(ReadRoutingProperties.class)
+public class ReadRouting {
+
+    private final Map<ReadClass, ReadPreference> preferences = new EnumMap<>(ReadClass.class);
+    private final Map<ReadClass, ReadConcern> concerns = new EnumMap<>(ReadClass.class);
+
+    public ReadRouting(ReadRoutingProperties properties) {
+        register(ReadClass.READ_YOUR_WRITES, properties.getReadYourWrites());
+        register(ReadClass.REPORTS, properties.getReports());
+        register(ReadClass.SEARCH, properties.getSearch());
+    }
+
+    public Query apply(Query query, ReadClass readClass) {
+        query.withReadPreference(preferences.get(readClass));
+        ReadConcern concern = concerns.get(readClass);
+        if (concern != null) {
+            query.withReadConcern(concern);
+        }
+        return query;
+    }
+
+    public AggregationOptions aggregationOptions(ReadClass readClass) {
+        AggregationOptions.Builder options = AggregationOptions.builder().readPreference(preferences.get(readClass));
+        ReadConcern concern = concerns.get(readClass);
+        if (concern != null) {
+            options.readConcern(concern);
+        }
+        return options.build();
+    }
+
+    public ReadPreference readPreference(ReadClass readClass) {
+        return preferences.get(readClass);
+    }
+
+    private void register(ReadClass readClass, ReadRoutingProperties.Route route) {
+        String mode = route.getReadPreference() != null ? route.getReadPreference() : "primary";
+        ReadPreference preference = route.getMaxStaleness() == null || mode.equals("primary")
+                ? ReadPreference.valueOf(mode)
+                : ReadPreference.valueOf(mode, Collections.emptyList(),
+                        route.getMaxStaleness().toSeconds(), TimeUnit.SECONDS);
+        preferences.put(readClass, preference);
+        if (route.getReadConcern() != null) {
+            concerns.put(readClass, new ReadConcern(route.getReadConcern()));
+        }
+    }
+}
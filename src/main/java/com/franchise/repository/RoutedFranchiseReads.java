@@ -0,0 +1,21 @@
+package com.franchise.repository;
+
+import com.franchise.dto.ProductLocationDTO;
+import com.franchise.model.Franchise;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// Lecturas con read preference / read concern según la clase de operación
+public interface RoutedFranchiseReads {
+
+    Mono<Franchise> findById(String id, ReadClass readClass);
+
+    Flux<Franchise> findAll(ReadClass readClass);
+
+    // Nombre que contiene el texto indicado, sin distinguir mayúsculas
+    Flux<Franchise> searchByName(String nameFragment, ReadClass readClass);
+
+    // Sucursales que tienen el producto (por id, por nombre exacto o ambos), con su stock
+    Flux<ProductLocationDTO> findProductLocations(String productId, String productName, ReadClass readClass);
+}
@@ -0,0 +1,60 @@
+package com.franchise.repository;
+
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import com.franchise.dto.ProductLocationDTO;
+import com.franchise.model.Franchise;
+import com.franchise.model.FranchiseName;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+class RoutedFranchiseReadsImpl implements RoutedFranchiseReads {
+
+    private static final int ID_BATCH_SIZE = 500;
+
+    @Autowired
+    private ReactiveMongoTemplate mongoTemplate;
+
+    @Autowired
+    private ReadRouting readRouting;
+
+    @Override
+    public Mono<Franchise> findById(String id, ReadClass readClass) {
+        return mongoTemplate.findOne(readRouting.apply(Query.query(Criteria.where("_id").is(id)), readClass),
+                Franchise.class);
+    }
+
+    @Override
+    public Flux<Franchise> findAll(ReadClass readClass) {
+        return mongoTemplate.find(readRouting.apply(new Query(), readClass), Franchise.class);
+    }
+
+    // El filtro por nombre se resuelve en franchise_names y las franquicias se leen por _id ($in),
+    // de modo que solo se consultan los shards que contienen resultados
+    @Override
+    public Flux<Franchise> searchByName(String nameFragment, ReadClass readClass) {
+        if (nameFragment == null) {
+            return findAll(readClass);
+        }
+        Query names = Query.query(Criteria.where("_id").regex(Pattern.quote(nameFragment), "i"));
+        return mongoTemplate.find(readRouting.apply(names, readClass), FranchiseName.class)
+                .map(FranchiseName::getFranchiseId)
+                .buffer(ID_BATCH_SIZE)
+                .concatMap(ids -> mongoTemplate.find(readRouting.apply(
+                        Query.query(Criteria.where("_id").in(ids)), readClass), Franchise.class))
+                .filter(franchise -> franchise.getName().toLowerCase().contains(nameFragment.toLowerCase()));
+    }
+
+    @Override
+    public Flux<ProductLocationDTO> findProductLocations(String productId, String productName, ReadClass readClass) {
+        return mongoTemplate.aggregate(ProductLocations.aggregation(productId, productName,
+                readRouting.aggregationOptions(readClass)), mongoTemplate.getCollectionName(Franchise.class),
+                ProductLocationDTO.class);
+    }
+}
@@ -0,0 +1,22 @@
+package com.franchise.repository;
+
+import java.util.Collection;
+import java.util.Set;
+
+import com.franchise.model.Franchise;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// Escrituras con el write concern de la clase de operación
+public interface RoutedFranchiseWrites {
+
+    Mono<Franchise> save(Franchise franchise, WriteClass writeClass);
+
+    // Lote de mutaciones agrupadas: se guarda con la clase más crítica y el evento las incluye todas
+    Mono<Franchise> saveBatch(Franchise franchise, Set<WriteClass> writeClasses);
+
+    Flux<Franchise> insertAll(Collection<Franchise> franchises, WriteClass writeClass);
+
+    Mono<Void> deleteById(String id, WriteClass writeClass);
+}
@@ -0,0 +1,71 @@
+package com.franchise.repository;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.ReactiveBulkOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.franchise.model.Franchise;
+import com.franchise.model.FranchiseName;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+class RoutedFranchiseWritesImpl implements RoutedFranchiseWrites {
+
+    @Autowired
+    private WriteRouting writeRouting;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public Mono<Franchise> save(Franchise franchise, WriteClass writeClass) {
+        return writeRouting.timed(writeClass, writeRouting.template(writeClass).save(franchise))
+                .doOnNext(saved -> eventPublisher.publishEvent(new FranchiseSavedEvent(saved, writeClass)));
+    }
+
+    @Override
+    public Mono<Franchise> saveBatch(Franchise franchise, Set<WriteClass> writeClasses) {
+        WriteClass writeClass = Collections.max(writeClasses);
+        return writeRouting.timed(writeClass, writeRouting.template(writeClass).save(franchise))
+                .doOnNext(saved -> eventPublisher.publishEvent(new FranchiseSavedEvent(saved, writeClasses)));
+    }
+
+    // Un único insertMany por llamada; el timer registra la confirmación del lote completo.
+    // Los nombres se registran en franchise_names con una sola operación bulk.
+    @Override
+    public Flux<Franchise> insertAll(Collection<Franchise> franchises, WriteClass writeClass) {
+        return writeRouting.timed(writeClass, writeRouting.template(writeClass).insertAll(franchises).collectList())
+                .flatMap(saved -> registerNames(saved).thenReturn(saved))
+                .flatMapIterable(saved -> saved)
+                .doOnNext(saved -> eventPublisher.publishEvent(new FranchiseSavedEvent(saved, writeClass)));
+    }
+
+    @Override
+    public Mono<Void> deleteById(String id, WriteClass writeClass) {
+        return writeRouting.timed(writeClass, writeRouting.template(writeClass)
+                        .remove(Query.query(Criteria.where("_id").is(id)), Franchise.class))
+                .doOnNext(result -> eventPublisher.publishEvent(new FranchiseDeletedEvent(id)))
+                .then();
+    }
+
+    private Mono<Void> registerNames(List<Franchise> franchises) {
+        if (franchises.isEmpty()) {
+            return Mono.empty();
+        }
+        ReactiveBulkOperations bulk = writeRouting.template(WriteClass.STRUCTURE)
+                .bulkOps(BulkOperations.BulkMode.UNORDERED, FranchiseName.class);
+        franchises.forEach(franchise -> bulk.upsert(Query.query(Criteria.where("_id").is(franchise.getName())),
+                Update.update("franchiseId", franchise.getId())));
+        return bulk.execute().then();
+    }
+}
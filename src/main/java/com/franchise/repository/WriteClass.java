@@ -0,0 +1,18 @@
+package com.franchise.repository;
+
+// Clases de escritura, de menor a mayor criticidad. Cada una tiene su propio write concern
+// (franchise.write-concern.*); un lote con varias clases se guarda con la más crítica.
+public enum WriteClass {
+
+    // Renombrados de franquicia, sucursal o producto
+    RENAME,
+
+    // Importaciones masivas
+    BULK,
+
+    // Alta/baja de franquicias, sucursales y productos
+    STRUCTURE,
+
+    // Cambios de stock
+    STOCK
+}
@@ -0,0 +1,83 @@
+package com.franchise.repository;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.stereotype.Component;
+
+import com.franchise.config.WriteConcernProperties;
+import com.mongodb.WriteConcern;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import reactor.core.publisher.Mono;
+
+// Resuelve una vez el write concern de cada clase de escritura. Cada clase tiene su propio
+// ReactiveMongoTemplate (misma factoría y conversor) y su timer de latencia de escritura confirmada.
+@Component
+@EnableConfigurationProperties(WriteConcernProperties.class)
+public class WriteRouting {
+
+    private final Map<WriteClass, WriteConcern> concerns = new EnumMap<>(WriteClass.class);
+    private final Map<WriteClass, ReactiveMongoTemplate> templates = new EnumMap<>(WriteClass.class);
+    private final Map<WriteClass, Timer> timers = new EnumMap<>(WriteClass.class);
+
+    public WriteRouting(WriteConcernProperties properties, ReactiveMongoTemplate mongoTemplate,
+            ApplicationContext applicationContext, MeterRegistry meterRegistry) {
+        register(WriteClass.STOCK, properties.getStock());
+        register(WriteClass.STRUCTURE, properties.getStructure());
+        register(WriteClass.RENAME, properties.getRename());
+        register(WriteClass.BULK, properties.getBulk());
+
+        for (WriteClass writeClass : WriteClass.values()) {
+            ReactiveMongoTemplate template = new ReactiveMongoTemplate(mongoTemplate.getMongoDatabaseFactory(),
+                    mongoTemplate.getConverter());
+            template.setWriteConcern(concerns.get(writeClass));
+            template.setApplicationContext(applicationContext);
+            templates.put(writeClass, template);
+
+            timers.put(writeClass, Timer.builder("franchise.mongodb.writes")
+                    .description("Latencia de escrituras confirmadas por MongoDB")
+                    .tag("class", writeClass.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+    }
+
+    public ReactiveMongoTemplate template(WriteClass writeClass) {
+        return templates.get(writeClass);
+    }
+
+    public WriteConcern writeConcern(WriteClass writeClass) {
+        return concerns.get(writeClass);
+    }
+
+    // Mide desde la suscripción hasta la confirmación del servidor
+    public <T> Mono<T> timed(WriteClass writeClass, Mono<T> write) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return write.doOnSuccess(result -> record(writeClass, System.nanoTime() - start));
+        });
+    }
+
+    public void record(WriteClass writeClass, long elapsedNanos) {
+        timers.get(writeClass).record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private void register(WriteClass writeClass, WriteConcernProperties.Level level) {
+        String w = level.getW() != null ? level.getW() : "1";
+        WriteConcern concern = w.equalsIgnoreCase("majority") ? WriteConcern.MAJORITY
+                : w.chars().allMatch(Character::isDigit) ? new WriteConcern(Integer.parseInt(w))
+                : new WriteConcern(w);
+        if (level.getJournal() != null) {
+            concern = concern.withJournal(level.getJournal());
+        }
+        if (level.getWtimeout() != null) {
+            concern = concern.withWTimeout(level.getWtimeout().toMillis(), TimeUnit.MILLISECONDS);
+        }
+        concerns.put(writeClass, concern);
+    }
+}
@@ -0,0 +1,600 @@
+package com.franchise.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.ApplicationContext;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import com.franchise.dto.BatchOperationDTO;
+import com.franchise.dto.BatchResultDTO;
+import com.franchise.dto.CatalogChangeBatchDTO;
+import com.franchise.dto.CatalogChangeDTO;
+import com.franchise.dto.ExportJobDTO;
+import com.franchise.dto.MoveBranchDTO;
+import com.franchise.dto.ProductLocationDTO;
+import com.franchise.dto.ProductTopStockDTO;
+import com.franchise.dto.ReserveStockDTO;
+import com.franchise.dto.SearchHitDTO;
+import com.franchise.dto.StockAlertDTO;
+import com.franchise.dto.StockAvailabilityDTO;
+import com.franchise.dto.StockSeriesDTO;
+import com.franchise.dto.TransferResultDTO;
+import com.franchise.dto.TransferStockDTO;
+import com.franchise.dto.UpdateNameDTO;
+import com.franchise.dto.UpdateStockDTO;
+import com.franchise.dto.UpdateThresholdDTO;
+import com.franchise.model.Branch;
+import com.franchise.model.Franchise;
+import com.franchise.model.LowStockAlert;
+import com.franchise.model.FranchiseName;
+import com.franchise.model.Product;
+import com.franchise.model.SearchEntry;
+import com.franchise.model.StockMovement;
+import com.franchise.model.StockReservation;
+import com.franchise.repository.FranchiseDeletedEvent;
+import com.franchise.repository.FranchiseSavedEvent;
+import com.franchise.repository.ProductLocations;
+import com.franchise.repository.ReadClass;
+import com.franchise.repository.ReadRouting;
+import com.franchise.repository.WriteClass;
+import com.franchise.repository.WriteRouting;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+// Implementación imperativa sobre el driver síncrono de MongoDB. Cada operación se ejecuta
+// en un hilo virtual y se expone como Mono/Flux para los controladores WebFlux.
+@Service
+@Profile("blocking")
+public class BlockingFranchiseService implements FranchiseService {
+
+    private static final int ID_BATCH_SIZE = 500;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ReadRouting readRouting;
+
+    @Autowired
+    private FranchiseSearchIndex searchIndex;
+
+    @Autowired
+    private WriteRouting writeRouting;
+
+    @Autowired
+    private LowStockAlerts stockAlerts;
+
+    @Autowired
+    private StockLeaderboards leaderboards;
+
+    @Autowired
+    private StockReservations reservations;
+
+    @Autowired
+    private StockLedger ledger;
+
+    @Autowired
+    private StockSeries stockSeries;
+
+    @Autowired
+    private CatalogExporter catalogExporter;
+
+    @Autowired
+    private CatalogChangeFeed catalogChangeFeed;
+
+    @Autowired
+    private FranchiseBatch franchiseBatch;
+
+    @Autowired
+    private FranchiseTransfers franchiseTransfers;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    @Qualifier("blockingServiceScheduler")
+    private Scheduler scheduler;
+
+    // MongoTemplate síncrono por clase de escritura, con el write concern de WriteRouting
+    private final Map<WriteClass, MongoTemplate> writeTemplates = new ConcurrentHashMap<>();
+
+    // ==================== OPERACIONES DE FRANQUICIA ====================
+
+    @Override
+    public Mono<Franchise> createFranchise(Franchise franchise) {
+        return call(() -> {
+            FranchiseMutations.assignIds(franchise);
+            if (!registerName(franchise.getName(), franchise.getId())) {
+                throw new IllegalArgumentException("Franchise with this name already exists");
+            }
+            Franchise saved;
+            try {
+                saved = timed(WriteClass.STRUCTURE, () -> writeTemplate(WriteClass.STRUCTURE).insert(franchise));
+            } catch (RuntimeException e) {
+                reconcileNames(franchise.getId());
+                throw e;
+            }
+            applicationContext.publishEvent(new FranchiseSavedEvent(saved, WriteClass.STRUCTURE));
+            return saved;
+        });
+    }
+
+    @Override
+    public Flux<Franchise> getAllFranchises() {
+        return stream(readRouting.apply(new Query(), ReadClass.SEARCH));
+    }
+
+    @Override
+    public Mono<Franchise> getFranchiseById(String id) {
+        return call(() -> findOrThrow(id));
+    }
+
+    @Override
+    public Mono<Franchise> getFranchiseByName(String name) {
+        return call(() -> {
+            Franchise franchise = findByName(name);
+            if (franchise == null) {
+                throw new IllegalArgumentException("Franchise not found with name: " + name);
+            }
+            return franchise;
+        });
+    }
+
+    @Override
+    public Mono<Franchise> updateFranchiseName(String id, UpdateNameDTO updateNameDTO) {
+        String newName = updateNameDTO.getName();
+        return call(() -> {
+            boolean registered = registerName(newName, id);
+            try {
+                return mutate(id, WriteClass.RENAME, FranchiseMutations.rename(newName, !registered));
+            } finally {
+                reconcileNames(id);
+            }
+        });
+    }
+
+    @Override
+    public Mono<Void> deleteFranchise(String id) {
+        return run(() -> {
+            long deleted = timed(WriteClass.STRUCTURE,
+                    () -> writeTemplate(WriteClass.STRUCTURE).remove(byId(id), Franchise.class).getDeletedCount());
+            if (deleted == 0) {
+                throw new IllegalArgumentException("Franchise not found with id: " + id);
+            }
+            reconcileNames(id);
+            applicationContext.publishEvent(new FranchiseDeletedEvent(id));
+        });
+    }
+
+    // ==================== OPERACIONES DE SUCURSAL ====================
+
+    @Override
+    public Mono<Franchise> addBranch(String franchiseId, Branch branch) {
+        return call(() -> mutate(franchiseId, WriteClass.STRUCTURE, FranchiseMutations.addBranch(branch)));
+    }
+
+    @Override
+    public Mono<Franchise> updateBranchName(String franchiseId, String branchId, UpdateNameDTO updateNameDTO) {
+        return call(() -> mutate(franchiseId, WriteClass.RENAME,
+                FranchiseMutations.renameBranch(branchId, updateNameDTO.getName())));
+    }
+
+    @Override
+    public Mono<Franchise> deleteBranch(String franchiseId, String branchId) {
+        return call(() -> mutate(franchiseId, WriteClass.STRUCTURE, FranchiseMutations.deleteBranch(branchId)));
+    }
+
+    // ==================== OPERACIONES DE PRODUCTO ====================
+
+    @Override
+    public Mono<Franchise> addProduct(String franchiseId, String branchId, Product product) {
+        return call(() -> mutate(franchiseId, WriteClass.STRUCTURE,
+                FranchiseMutations.addProduct(branchId, product)));
+    }
+
+    @Override
+    public Mono<Franchise> removeProduct(String franchiseId, String branchId, String productId) {
+        return call(() -> mutate(franchiseId, WriteClass.STRUCTURE,
+                FranchiseMutations.removeProduct(branchId, productId)));
+    }
+
+    @Override
+    public Mono<Franchise> updateProductStock(String franchiseId, String branchId, String productId,
+            UpdateStockDTO updateStockDTO) {
+        return call(() -> {
+            AtomicReference<StockChangedEvent> change = new AtomicReference<>();
+            Franchise saved = mutate(franchiseId, WriteClass.STOCK,
+                    FranchiseMutations.updateStock(branchId, productId, updateStockDTO.getStock(), change::set));
+            applicationContext.publishEvent(change.get());
+            return saved;
+        });
+    }
+
+    @Override
+    public Mono<Franchise> updateProductName(String franchiseId, String branchId, String productId,
+            UpdateNameDTO updateNameDTO) {
+        return call(() -> mutate(franchiseId, WriteClass.RENAME,
+                FranchiseMutations.renameProduct(branchId, productId, updateNameDTO.getName())));
+    }
+
+    @Override
+    public Mono<Franchise> updateProductThreshold(String franchiseId, String branchId, String productId,
+            UpdateThresholdDTO updateThresholdDTO) {
+        return call(() -> {
+            AtomicReference<StockChangedEvent> change = new AtomicReference<>();
+            Franchise saved = mutate(franchiseId, WriteClass.STOCK, FranchiseMutations.updateThreshold(branchId,
+                    productId, updateThresholdDTO.getReorderThreshold(), change::set));
+            applicationContext.publishEvent(change.get());
+            return saved;
+        });
+    }
+
+    // ==================== LOTES ====================
+
+    // Cada grupo se ejecuta en su propio hilo virtual; franquicias distintas en paralelo
+    @Override
+    public Mono<List<BatchResultDTO>> executeBatch(List<BatchOperationDTO> operations) {
+        return Flux.defer(() -> Flux.fromIterable(franchiseBatch.plan(operations)))
+                .flatMap(group -> call(() -> {
+                    try {
+                        mutate(group.getFranchiseId(), group.writeClasses(), group.mutation());
+                        group.completed();
+                        group.getChanges().forEach(applicationContext::publishEvent);
+                    } catch (RuntimeException e) {
+                        group.failed(e);
+                    }
+                    return group.getResults();
+                }), franchiseBatch.getConcurrency())
+                .flatMapIterable(results -> results)
+                .sort(Comparator.comparingInt(BatchResultDTO::getIndex))
+                .collectList();
+    }
+
+    // ==================== TRASPASOS ====================
+
+    // Los traspasos usan el driver reactivo: las transacciones las gestiona ReactiveMongoTransactionManager
+    @Override
+    public Mono<TransferResultDTO> transferStock(TransferStockDTO transferStockDTO) {
+        return franchiseTransfers.transferStock(transferStockDTO);
+    }
+
+    @Override
+    public Mono<TransferResultDTO> moveBranch(String franchiseId, String branchId, MoveBranchDTO moveBranchDTO) {
+        return franchiseTransfers.moveBranch(franchiseId, branchId, moveBranchDTO);
+    }
+
+    // ==================== REPORTES ====================
+
+    @Override
+    public Mono<List<ProductTopStockDTO>> getTopStockProductsByFranchise(String franchiseId) {
+        return call(() -> FranchiseMutations.topStockProducts(findOrThrow(franchiseId, ReadClass.REPORTS)));
+    }
+
+    @Override
+    public Mono<FranchiseStatsDTO> getFranchiseStats(String franchiseId) {
+        return call(() -> FranchiseMutations.stats(findOrThrow(franchiseId, ReadClass.REPORTS)));
+    }
+
+    @Override
+    public Flux<ProductLocationDTO> getStockLeaderboard(String franchiseId, String branchId,
+            StockLeaderboards.Order order, int limit) {
+        return Flux.defer(() -> Flux.fromIterable(leaderboards.ranking(franchiseId, branchId, order, limit)));
+    }
+
+    @Override
+    public Flux<Franchise> searchFranchises(String name, int minBranches, int minProducts) {
+        if (name == null) {
+            return getAllFranchises()
+                    .filter(franchise -> FranchiseMutations.matches(franchise, minBranches, minProducts));
+        }
+        // Nombres en franchise_names y franquicias por _id, como en RoutedFranchiseReadsImpl
+        Query names = Query.query(Criteria.where("_id").regex(Pattern.quote(name), "i"));
+        return Flux.defer(() -> Flux.fromStream(mongoTemplate.stream(readRouting.apply(names, ReadClass.SEARCH),
+                                FranchiseName.class)))
+                .subscribeOn(scheduler)
+                .map(FranchiseName::getFranchiseId)
+                .buffer(ID_BATCH_SIZE)
+                .concatMap(ids -> stream(readRouting.apply(Query.query(Criteria.where("_id").in(ids)),
+                        ReadClass.SEARCH)))
+                .filter(franchise -> franchise.getName().toLowerCase().contains(name.toLowerCase()))
+                .filter(franchise -> FranchiseMutations.matches(franchise, minBranches, minProducts));
+    }
+
+    @Override
+    public Flux<SearchHitDTO> searchNames(String text, List<SearchEntry.Kind> kinds, int limit) {
+        return searchIndex.search(text, kinds, limit);
+    }
+
+    @Override
+    public Flux<ProductLocationDTO> findProductLocations(String productId, String productName) {
+        if (productId == null && productName == null) {
+            return Flux.error(new IllegalArgumentException("Product id or name is required"));
+        }
+        Aggregation aggregation = ProductLocations.aggregation(productId, productName,
+                readRouting.aggregationOptions(ReadClass.SEARCH));
+        return Flux.defer(() -> Flux.fromStream(mongoTemplate.aggregateStream(aggregation,
+                        mongoTemplate.getCollectionName(Franchise.class), ProductLocationDTO.class)))
+                .subscribeOn(scheduler);
+    }
+
+    // ==================== ALERTAS DE STOCK ====================
+
+    @Override
+    public Flux<LowStockAlert> getLowStockAlerts(String franchiseId) {
+        return stockAlerts.find(franchiseId);
+    }
+
+    @Override
+    public Flux<StockAlertDTO> streamStockAlerts() {
+        return stockAlerts.stream();
+    }
+
+    // ==================== RESERVAS DE STOCK ====================
+
+    @Override
+    public Mono<StockReservation> reserveStock(String franchiseId, String branchId, String productId,
+            ReserveStockDTO reserveStockDTO) {
+        return reservations.reserve(franchiseId, branchId, productId, reserveStockDTO.getQuantity(),
+                reserveStockDTO.getTtlSeconds());
+    }
+
+    @Override
+    public Mono<StockReservation> confirmReservation(String reservationId) {
+        return reservations.confirm(reservationId, reservation -> call(() -> {
+            AtomicReference<StockChangedEvent> change = new AtomicReference<>();
+            Franchise saved = mutate(reservation.getFranchiseId(), WriteClass.STOCK, FranchiseMutations.consumeReserved(
+                    reservation.getBranchId(), reservation.getProductId(), reservation.getQuantity(), change::set));
+            applicationContext.publishEvent(change.get());
+            return saved;
+        }));
+    }
+
+    @Override
+    public Mono<StockReservation> releaseReservation(String reservationId) {
+        return reservations.release(reservationId);
+    }
+
+    @Override
+    public Mono<StockAvailabilityDTO> getStockAvailability(String franchiseId, String branchId, String productId) {
+        return call(() -> {
+            Franchise franchise = findOrThrow(franchiseId);
+            return new StockAvailabilityDTO(productId, FranchiseMutations.stockOf(franchise, branchId, productId),
+                    FranchiseMutations.reservedOf(franchise, branchId, productId));
+        });
+    }
+
+    // ==================== HISTORIAL DE STOCK ====================
+
+    @Override
+    public Flux<StockMovement> getStockHistory(String franchiseId, String branchId, String productId, int limit) {
+        return ledger.history(franchiseId, branchId, productId, limit);
+    }
+
+    @Override
+    public Flux<ProductLocationDTO> getStockAsOf(String franchiseId, Instant at) {
+        return ledger.asOf(franchiseId, at);
+    }
+
+    @Override
+    public Mono<StockSeriesDTO> getStockSeries(String franchiseId, String branchId, String productId, Instant from,
+            Instant to, int points) {
+        return stockSeries.series(franchiseId, branchId, productId, from, to, points);
+    }
+
+    // ==================== EXPORTACIÓN DEL CATÁLOGO ====================
+
+    @Override
+    public Flux<DataBuffer> exportCatalog(CatalogExporter.Format format, CatalogExporter.Compression compression,
+            String after) {
+        return catalogExporter.stream(format, compression, after);
+    }
+
+    @Override
+    public Mono<ExportJobDTO> startCatalogExport(String name, CatalogExporter.Format format,
+            CatalogExporter.Compression compression) {
+        return catalogExporter.start(name, format, compression);
+    }
+
+    @Override
+    public Mono<ExportJobDTO> getCatalogExport(String name) {
+        return catalogExporter.status(name);
+    }
+
+    // ==================== FEED DE CAMBIOS ====================
+
+    @Override
+    public Mono<CatalogChangeBatchDTO> pollCatalogChanges(String after, int limit, Duration wait) {
+        return catalogChangeFeed.poll(after, limit, wait);
+    }
+
+    @Override
+    public Flux<ServerSentEvent<CatalogChangeDTO>> streamCatalogChanges(String after) {
+        return catalogChangeFeed.stream(after);
+    }
+
+    // ==================== MÉTODOS AUXILIARES ====================
+
+    @Override
+    public Mono<Long> countFranchises() {
+        return call(() -> mongoTemplate.count(new Query(), Franchise.class));
+    }
+
+    @Override
+    public Mono<Boolean> existsById(String id) {
+        return call(() -> mongoTemplate.exists(byId(id), Franchise.class));
+    }
+
+    @Override
+    public Mono<Boolean> existsByName(String name) {
+        return call(() -> nameExists(name));
+    }
+
+    @Override
+    public Mono<Void> deleteByName(String name) {
+        return run(() -> {
+            FranchiseName entry = mongoTemplate.findById(name, FranchiseName.class);
+            if (entry != null) {
+                long deleted = mongoTemplate.remove(byId(entry.getFranchiseId())
+                        .addCriteria(Criteria.where("name").is(name)), Franchise.class).getDeletedCount();
+                reconcileNames(entry.getFranchiseId());
+                if (deleted > 0) {
+                    applicationContext.publishEvent(new FranchiseDeletedEvent(entry.getFranchiseId()));
+                }
+            }
+        });
+    }
+
+    @Override
+    public Mono<Void> deleteAll() {
+        return run(() -> {
+            mongoTemplate.remove(new Query(), Franchise.class);
+            mongoTemplate.remove(new Query(), FranchiseName.class);
+            applicationContext.publishEvent(new FranchiseDeletedEvent(null));
+        });
+    }
+
+    // ==================== EJECUCIÓN BLOQUEANTE ====================
+
+    // El save está condicionado a la versión leída; si otra escritura se adelantó se vuelve a leer y
+    // a aplicar la mutación
+    private Franchise mutate(String franchiseId, WriteClass writeClass, FranchiseMutation mutation) {
+        Franchise saved = VersionConflicts.call(() -> {
+            Franchise franchise = findOrThrow(franchiseId);
+            mutation.apply(franchise);
+            return timed(writeClass, () -> writeTemplate(writeClass).save(franchise));
+        });
+        applicationContext.publishEvent(new FranchiseSavedEvent(saved, writeClass));
+        return saved;
+    }
+
+    // Mutación compuesta con escrituras de varias clases: un solo save con la más crítica
+    private Franchise mutate(String franchiseId, Set<WriteClass> writeClasses, FranchiseMutation mutation) {
+        WriteClass writeClass = Collections.max(writeClasses);
+        Franchise saved = VersionConflicts.call(() -> {
+            Franchise franchise = findOrThrow(franchiseId);
+            mutation.apply(franchise);
+            return timed(writeClass, () -> writeTemplate(writeClass).save(franchise));
+        });
+        applicationContext.publishEvent(new FranchiseSavedEvent(saved, writeClasses));
+        return saved;
+    }
+
+    private <T> T timed(WriteClass writeClass, Supplier<T> write) {
+        long start = System.nanoTime();
+        T result = write.get();
+        writeRouting.record(writeClass, System.nanoTime() - start);
+        return result;
+    }
+
+    private MongoTemplate writeTemplate(WriteClass writeClass) {
+        return writeTemplates.computeIfAbsent(writeClass, key -> {
+            MongoTemplate template = new MongoTemplate(mongoTemplate.getMongoDatabaseFactory(),
+                    mongoTemplate.getConverter());
+            template.setWriteConcern(writeRouting.writeConcern(key));
+            template.setApplicationContext(applicationContext);
+            return template;
+        });
+    }
+
+    private Franchise findOrThrow(String id) {
+        return findOrThrow(id, ReadClass.READ_YOUR_WRITES);
+    }
+
+    private Franchise findOrThrow(String id, ReadClass readClass) {
+        Franchise franchise = mongoTemplate.findOne(readRouting.apply(byId(id), readClass), Franchise.class);
+        if (franchise == null) {
+            throw new IllegalArgumentException("Franchise not found with id: " + id);
+        }
+        return franchise;
+    }
+
+    private boolean nameExists(String name) {
+        return findByName(name) != null;
+    }
+
+    // ==================== RUTEO POR NOMBRE (franchise_names) ====================
+
+    // Mismas reglas que FranchiseNameRoutingImpl sobre el driver síncrono
+    private Franchise findByName(String name) {
+        FranchiseName entry = mongoTemplate.findById(name, FranchiseName.class);
+        if (entry == null) {
+            return null;
+        }
+        Franchise franchise = mongoTemplate.findById(entry.getFranchiseId(), Franchise.class);
+        return franchise != null && name.equals(franchise.getName()) ? franchise : null;
+    }
+
+    private boolean registerName(String name, String franchiseId) {
+        try {
+            writeTemplate(WriteClass.STRUCTURE).insert(new FranchiseName(name, franchiseId));
+            return true;
+        } catch (DuplicateKeyException e) {
+            FranchiseName entry = mongoTemplate.findById(name, FranchiseName.class);
+            if (entry == null) {
+                return false;
+            }
+            // Solo se reasigna si la franquicia registrada ya no usa ese nombre
+            Query owner = byId(entry.getFranchiseId()).addCriteria(Criteria.where("name").is(name));
+            if (mongoTemplate.exists(owner, Franchise.class)) {
+                return false;
+            }
+            Query orphan = byId(name).addCriteria(Criteria.where("franchiseId").is(entry.getFranchiseId()));
+            return writeTemplate(WriteClass.STRUCTURE).updateFirst(orphan,
+                    Update.update("franchiseId", franchiseId), FranchiseName.class).getMatchedCount() > 0;
+        }
+    }
+
+    private void reconcileNames(String franchiseId) {
+        MongoTemplate names = writeTemplate(WriteClass.STRUCTURE);
+        Franchise franchise = mongoTemplate.findById(franchiseId, Franchise.class);
+        if (franchise == null) {
+            names.remove(Query.query(Criteria.where("franchiseId").is(franchiseId)), FranchiseName.class);
+            return;
+        }
+        names.remove(Query.query(Criteria.where("franchiseId").is(franchiseId).and("_id").ne(franchise.getName())),
+                FranchiseName.class);
+        names.upsert(byId(franchise.getName()), Update.update("franchiseId", franchiseId), FranchiseName.class);
+    }
+
+    private <T> Mono<T> call(Callable<T> operation) {
+        return Mono.fromCallable(operation).subscribeOn(scheduler);
+    }
+
+    private Flux<Franchise> stream(Query query) {
+        return Flux.defer(() -> Flux.fromStream(mongoTemplate.stream(query, Franchise.class)))
+                .subscribeOn(scheduler);
+    }
+
+    private Mono<Void> run(Runnable operation) {
+        return Mono.fromRunnable(operation).subscribeOn(scheduler).then();
+    }
+
+    private static Query byId(String id) {
+        return Query.query(Criteria.where("_id").is(id));
+    }
+
+}
@@ -0,0 +1,402 @@
+package com.franchise.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.BsonTimestamp;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.ChangeStreamEvent;
+import org.springframework.data.mongodb.core.ChangeStreamOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+
+import com.franchise.config.ChangeFeedProperties;
+import com.franchise.dto.CatalogChangeBatchDTO;
+import com.franchise.dto.CatalogChangeDTO;
+import com.franchise.dto.CatalogChangeDTO.Type;
+import com.franchise.model.Branch;
+import com.franchise.model.Franchise;
+import com.franchise.model.Product;
+
+import com.mongodb.MongoException;
+import com.mongodb.client.model.changestream.FullDocument;
+import com.mongodb.client.model.changestream.FullDocumentBeforeChange;
+import com.mongodb.client.model.changestream.OperationType;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// Feed de cambios del catálogo para sistemas externos, sobre un change stream de franchises (requiere
+// replica set). Cada escritura se traduce en eventos detallados comparando la pre-imagen y la
+// post-imagen del documento. El offset es la posición tras un evento codificada en base64url (el resume
+// token de la escritura, o la escritura y cuántos de sus eventos se entregaron): un consumidor que
+// guarda el último offset procesado retoma el feed sin perder cambios, también los hechos por otra
+// instancia o por un proceso externo.
+@Component
+@EnableConfigurationProperties(ChangeFeedProperties.class)
+public class CatalogChangeFeed {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogChangeFeed.class);
+
+    // ChangeStreamFatalError y ChangeStreamHistoryLost: el token ya no está en el oplog
+    private static final int CHANGE_STREAM_FATAL_ERROR = 280;
+    private static final int CHANGE_STREAM_HISTORY_LOST = 286;
+
+    @Autowired
+    private ReactiveMongoTemplate mongoTemplate;
+
+    private final ChangeFeedProperties properties;
+
+    // Se activa cuando collMod confirma las pre- y post-imágenes
+    private volatile boolean imagesEnabled;
+
+    public CatalogChangeFeed(ChangeFeedProperties properties) {
+        this.properties = properties;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void enableImages() {
+        if (!properties.isPreAndPostImages()) {
+            return;
+        }
+        String collection = mongoTemplate.getCollectionName(Franchise.class);
+        // collMod falla sobre una colección inexistente
+        mongoTemplate.collectionExists(collection)
+                .flatMap(exists -> exists ? Mono.empty() : mongoTemplate.createCollection(collection)
+                        .onErrorResume(e -> Mono.empty())
+                        .then())
+                .then(mongoTemplate.executeCommand(new Document("collMod", collection)
+                        .append("changeStreamPreAndPostImages", new Document("enabled", true))))
+                .subscribe(
+                        result -> imagesEnabled = true,
+                        error -> log.warn("Change feed without pre- and post-images on {}: {}", collection,
+                                error.getMessage()));
+    }
+
+    // ==================== ENTREGA ====================
+
+    // Long-poll: espera hasta 'wait' al primer cambio y agrupa los que lleguen en batch-window, hasta
+    // 'limit' eventos. Sin cambios devuelve la posición de partida, que la siguiente petición envía
+    // como 'after' para no perder lo escrito entre ambas
+    public Mono<CatalogChangeBatchDTO> poll(String after, int limit, Duration wait) {
+        int size = Math.min(Math.max(limit, 1), properties.getMaxBatchSize());
+        Duration timeout = wait == null || wait.isNegative() || wait.compareTo(properties.getMaxWait()) > 0
+                ? properties.getMaxWait() : wait;
+        return start(after).flatMap(position -> events(position)
+                .take(timeout)
+                .bufferTimeout(size, properties.getBatchWindow())
+                .next()
+                .map(changes -> new CatalogChangeBatchDTO(changes, changes.get(changes.size() - 1).getOffset()))
+                .defaultIfEmpty(new CatalogChangeBatchDTO(List.of(), encode(position))));
+    }
+
+    // SSE: el id de cada evento es su offset, así que al reconectar Last-Event-ID retoma el feed justo
+    // después del último evento recibido, también a mitad de una escritura
+    public Flux<ServerSentEvent<CatalogChangeDTO>> stream(String after) {
+        return start(after).flatMapMany(this::events)
+                .map(change -> ServerSentEvent.builder(change)
+                        .id(change.getOffset())
+                        .event(change.getType().name())
+                        .build());
+    }
+
+    // Sin 'after', el instante actual del clúster: operationTime de un ping, que es la última operación
+    // ya aplicada, así que se empieza en la siguiente
+    private Mono<Position> start(String after) {
+        if (after != null && !after.isBlank()) {
+            return Mono.fromCallable(() -> Position.of(decode(after)));
+        }
+        return mongoTemplate.executeCommand(new Document("ping", 1))
+                .map(reply -> reply.get("operationTime") instanceof BsonTimestamp time
+                        ? new Position(null, new BsonTimestamp(time.getTime(), time.getInc() + 1), 0)
+                        : new Position(null, null, 0));
+    }
+
+    // Eventos sueltos desde 'start'. Cada evento lleva como offset la posición justo después de él: el
+    // último de una escritura, el resume token de la escritura; los demás, la posición donde empieza la
+    // escritura y cuántos de sus eventos se han entregado. Así un lote puede cortar una escritura sin
+    // perder ni repetir eventos
+    private Flux<CatalogChangeDTO> events(Position start) {
+        return Flux.defer(() -> {
+            Position[] next = { start };
+            return writes(start).concatMapIterable(write -> {
+                Position from = next[0];
+                next[0] = new Position(write.token(), null, 0);
+                String offset = encode(write.token());
+                List<CatalogChangeDTO> changes = write.changes();
+                List<CatalogChangeDTO> events = new ArrayList<>();
+                for (int i = from.skip(); i < changes.size(); i++) {
+                    CatalogChangeDTO change = changes.get(i);
+                    change.setOffset(i == changes.size() - 1 ? offset : encode(from.skipping(i + 1)));
+                    events.add(change);
+                }
+                return events;
+            });
+        });
+    }
+
+    // Escrituras sobre franchises a partir de 'start', también las que no generan eventos: cuentan para
+    // las posiciones a mitad de escritura
+    private Flux<Write> writes(Position start) {
+        return Flux.defer(() -> {
+            ChangeStreamOptions.ChangeStreamOptionsBuilder options = ChangeStreamOptions.builder()
+                    .filter(new Document("$match", new Document("operationType",
+                            new Document("$in", List.of("insert", "update", "replace", "delete")))));
+            if (imagesEnabled) {
+                options.fullDocumentLookup(FullDocument.WHEN_AVAILABLE)
+                        .fullDocumentBeforeChangeLookup(FullDocumentBeforeChange.WHEN_AVAILABLE);
+            } else {
+                options.fullDocumentLookup(FullDocument.UPDATE_LOOKUP);
+            }
+            if (start.resumeToken() != null) {
+                options.resumeAfter(start.resumeToken());
+            } else if (start.operationTime() != null) {
+                options.resumeAt(start.operationTime());
+            }
+            return mongoTemplate.changeStream(mongoTemplate.getCollectionName(Franchise.class), options.build(),
+                    Franchise.class);
+        })
+                .map(event -> new Write(changes(event), event.getResumeToken().asDocument()))
+                .onErrorMap(CatalogChangeFeed::historyLost, e -> new IllegalStateException(
+                        "Change feed offset is no longer available; re-read the catalog and start without 'after'",
+                        e));
+    }
+
+    private List<CatalogChangeDTO> changes(ChangeStreamEvent<Franchise> event) {
+        String franchiseId = id(event.getRaw().getDocumentKey().get("_id"));
+        Franchise before = event.getBodyBeforeChange();
+        Franchise after = event.getOperationType() == OperationType.DELETE ? null : event.getBody();
+
+        List<CatalogChangeDTO> changes;
+        if (event.getOperationType() != OperationType.INSERT && event.getOperationType() != OperationType.DELETE
+                && before == null) {
+            // Sin pre-imagen no se puede calcular el detalle: se entrega el documento actual
+            CatalogChangeDTO updated = new CatalogChangeDTO(Type.FRANCHISE_UPDATED, franchiseId);
+            if (after != null) {
+                updated.setFranchiseName(after.getName());
+                updated.setFranchise(after);
+            }
+            changes = List.of(updated);
+        } else {
+            changes = diff(franchiseId, before, after);
+        }
+
+        for (CatalogChangeDTO change : changes) {
+            change.setTimestamp(event.getTimestamp());
+        }
+        return changes;
+    }
+
+    // ==================== DIFERENCIAS ====================
+
+    // before null: franquicia creada; after null: franquicia eliminada. Las sucursales y productos se
+    // comparan por id; una sucursal eliminada no genera PRODUCT_REMOVED de sus productos.
+    static List<CatalogChangeDTO> diff(String franchiseId, Franchise before, Franchise after) {
+        List<CatalogChangeDTO> changes = new ArrayList<>();
+        if (after == null) {
+            CatalogChangeDTO deleted = new CatalogChangeDTO(Type.FRANCHISE_DELETED, franchiseId);
+            if (before != null) {
+                deleted.setFranchiseName(before.getName());
+            }
+            changes.add(deleted);
+            return changes;
+        }
+
+        if (before == null) {
+            changes.add(change(Type.FRANCHISE_CREATED, franchiseId, after, null, null));
+            for (Branch branch : after.getBranches()) {
+                added(changes, franchiseId, after, branch);
+            }
+            return changes;
+        }
+
+        if (!Objects.equals(before.getName(), after.getName())) {
+            CatalogChangeDTO renamed = change(Type.FRANCHISE_RENAMED, franchiseId, after, null, null);
+            renamed.setPreviousName(before.getName());
+            changes.add(renamed);
+        }
+
+        Map<String, Branch> previousBranches = byId(before.getBranches(), Branch::getId);
+        for (Branch branch : after.getBranches()) {
+            Branch previous = previousBranches.remove(branch.getId());
+            if (previous == null) {
+                added(changes, franchiseId, after, branch);
+                continue;
+            }
+            if (!Objects.equals(previous.getName(), branch.getName())) {
+                CatalogChangeDTO renamed = change(Type.BRANCH_RENAMED, franchiseId, after, branch, null);
+                renamed.setPreviousName(previous.getName());
+                changes.add(renamed);
+            }
+
+            Map<String, Product> previousProducts = byId(previous.getProducts(), Product::getId);
+            for (Product product : branch.getProducts()) {
+                Product old = previousProducts.remove(product.getId());
+                if (old == null) {
+                    changes.add(change(Type.PRODUCT_ADDED, franchiseId, after, branch, product));
+                    continue;
+                }
+                if (!Objects.equals(old.getName(), product.getName())) {
+                    CatalogChangeDTO renamed = change(Type.PRODUCT_RENAMED, franchiseId, after, branch, product);
+                    renamed.setPreviousName(old.getName());
+                    changes.add(renamed);
+                }
+                if (!Objects.equals(old.getStock(), product.getStock())) {
+                    CatalogChangeDTO stock = change(Type.STOCK_CHANGED, franchiseId, after, branch, product);
+                    stock.setPreviousStock(old.getStock());
+                    changes.add(stock);
+                }
+                if (!Objects.equals(old.getReorderThreshold(), product.getReorderThreshold())) {
+                    CatalogChangeDTO threshold = change(Type.THRESHOLD_CHANGED, franchiseId, after, branch, product);
+                    threshold.setPreviousThreshold(old.getReorderThreshold());
+                    changes.add(threshold);
+                }
+            }
+            for (Product removed : previousProducts.values()) {
+                changes.add(change(Type.PRODUCT_REMOVED, franchiseId, after, branch, removed));
+            }
+        }
+        for (Branch removed : previousBranches.values()) {
+            changes.add(change(Type.BRANCH_REMOVED, franchiseId, after, removed, null));
+        }
+        return changes;
+    }
+
+    private static void added(List<CatalogChangeDTO> changes, String franchiseId, Franchise franchise, Branch branch) {
+        changes.add(change(Type.BRANCH_ADDED, franchiseId, franchise, branch, null));
+        for (Product product : branch.getProducts()) {
+            changes.add(change(Type.PRODUCT_ADDED, franchiseId, franchise, branch, product));
+        }
+    }
+
+    private static CatalogChangeDTO change(Type type, String franchiseId, Franchise franchise, Branch branch,
+            Product product) {
+        CatalogChangeDTO change = new CatalogChangeDTO(type, franchiseId);
+        change.setFranchiseName(franchise.getName());
+        if (branch != null) {
+            change.setBranchId(branch.getId());
+            change.setBranchName(branch.getName());
+        }
+        if (product != null) {
+            change.setProductId(product.getId());
+            change.setProductName(product.getName());
+            change.setStock(product.getStock());
+            change.setThreshold(product.getReorderThreshold());
+        }
+        return change;
+    }
+
+    private static <T> Map<String, T> byId(List<T> items, Function<T, String> id) {
+        Map<String, T> map = new LinkedHashMap<>();
+        for (T item : items) {
+            map.put(id.apply(item), item);
+        }
+        return map;
+    }
+
+    // ==================== OFFSETS ====================
+
+    static String encode(BsonValue resumeToken) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(resumeToken.asDocument().toJson().getBytes(StandardCharsets.UTF_8));
+    }
+
+    static String encode(Position position) {
+        BsonDocument document = position.toDocument();
+        return document == null ? null : encode(document);
+    }
+
+    static BsonDocument decode(String offset) {
+        try {
+            return BsonDocument.parse(new String(Base64.getUrlDecoder().decode(offset), StandardCharsets.UTF_8));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid change feed offset: " + offset);
+        }
+    }
+
+    private static String id(BsonValue id) {
+        if (id == null) {
+            return null;
+        }
+        if (id.isObjectId()) {
+            return id.asObjectId().getValue().toHexString();
+        }
+        return id.isString() ? id.asString().getValue() : id.toString();
+    }
+
+    private static boolean historyLost(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof MongoException mongo && (mongo.getCode() == CHANGE_STREAM_HISTORY_LOST
+                    || mongo.getCode() == CHANGE_STREAM_FATAL_ERROR)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Posición en el feed: tras la escritura del resume token o desde un operationTime, saltando los
+    // primeros 'skip' eventos de la escritura siguiente. Tras una escritura completa el offset es el
+    // resume token tal cual
+    record Position(BsonDocument resumeToken, BsonTimestamp operationTime, int skip) {
+
+        private static final String RESUME_AFTER = "resumeAfter";
+        private static final String START_AT = "startAtOperationTime";
+        private static final String SKIP = "skip";
+
+        static Position of(BsonDocument document) {
+            int skip = document.containsKey(SKIP) ? document.getNumber(SKIP).intValue() : 0;
+            if (skip < 0) {
+                throw new IllegalArgumentException("Invalid change feed offset: negative skip");
+            }
+            if (document.containsKey(START_AT) && document.isTimestamp(START_AT)) {
+                return new Position(null, document.getTimestamp(START_AT), skip);
+            }
+            if (document.containsKey(RESUME_AFTER) && document.isDocument(RESUME_AFTER)) {
+                return new Position(document.getDocument(RESUME_AFTER), null, skip);
+            }
+            return new Position(document, null, 0);
+        }
+
+        Position skipping(int events) {
+            return new Position(resumeToken, operationTime, events);
+        }
+
+        BsonDocument toDocument() {
+            if (resumeToken != null && skip == 0) {
+                return resumeToken;
+            }
+            BsonDocument document;
+            if (resumeToken != null) {
+                document = new BsonDocument(RESUME_AFTER, resumeToken);
+            } else if (operationTime != null) {
+                document = new BsonDocument(START_AT, operationTime);
+            } else {
+                return null;
+            }
+            if (skip > 0) {
+                document.append(SKIP, new BsonInt32(skip));
+            }
+            return document;
+        }
+    }
+
+    private record Write(List<CatalogChangeDTO> changes, BsonDocument token) {
+    }
+}
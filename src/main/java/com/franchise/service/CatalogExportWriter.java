@@ -0,0 +1,143 @@
+package com.franchise.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.franchise.model.Branch;
+import com.franchise.model.Franchise;
+import com.franchise.model.Product;
+import com.franchise.service.CatalogExporter.Compression;
+import com.franchise.service.CatalogExporter.Format;
+
+// Escribe franquicias como filas (franquicia, sucursal, producto) en CSV o NDJSON sobre un flujo
+// comprimido. Cada franquicia se codifica en un buffer propio y se pasa entera al compresor, sin
+// vaciarlo, para no cortar sus bloques. endMember() cierra el bloque comprimido actual (un miembro
+// gzip o un frame zstd) sin cerrar el destino; los siguientes se concatenan, y un fichero truncado
+// en el límite de un bloque sigue siendo válido.
+final class CatalogExportWriter {
+
+    private static final String CSV_HEADER =
+            "franchise_id,franchise_name,branch_id,branch_name,product_id,product_name,stock,reorder_threshold\n";
+
+    private final OutputStream target;
+    private final Format format;
+    private final Compression compression;
+    private final JsonFactory jsonFactory;
+    private final ByteArrayOutputStream rows = new ByteArrayOutputStream(8192);
+    private OutputStream member;
+
+    CatalogExportWriter(OutputStream target, Format format, Compression compression, JsonFactory jsonFactory) {
+        this.target = new FilterOutputStream(target) {
+            @Override
+            public void write(byte[] bytes, int offset, int length) throws IOException {
+                out.write(bytes, offset, length);
+            }
+
+            // El compresor cierra su flujo al terminar un bloque; el destino sigue abierto
+            @Override
+            public void close() throws IOException {
+                flush();
+            }
+        };
+        this.format = format;
+        this.compression = compression;
+        this.jsonFactory = jsonFactory;
+    }
+
+    void header() throws IOException {
+        if (format == Format.CSV) {
+            member().write(CSV_HEADER.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    // Devuelve el número de filas escritas
+    int write(Franchise franchise) throws IOException {
+        rows.reset();
+        int count = format == Format.CSV ? csv(franchise) : ndjson(franchise);
+        rows.writeTo(member());
+        return count;
+    }
+
+    void endMember() throws IOException {
+        if (member != null) {
+            member.close();
+            member = null;
+        }
+    }
+
+    private OutputStream member() throws IOException {
+        if (member == null) {
+            member = compression.wrap(target);
+        }
+        return member;
+    }
+
+    private int csv(Franchise franchise) {
+        StringBuilder line = new StringBuilder(256);
+        int count = 0;
+        for (Branch branch : franchise.getBranches()) {
+            for (Product product : branch.getProducts()) {
+                line.setLength(0);
+                field(line, franchise.getId()).append(',');
+                field(line, franchise.getName()).append(',');
+                field(line, branch.getId()).append(',');
+                field(line, branch.getName()).append(',');
+                field(line, product.getId()).append(',');
+                field(line, product.getName()).append(',');
+                line.append(product.getStock() == null ? "" : product.getStock()).append(',');
+                line.append(product.getReorderThreshold() == null ? "" : product.getReorderThreshold()).append('\n');
+                rows.writeBytes(line.toString().getBytes(StandardCharsets.UTF_8));
+                count++;
+            }
+        }
+        return count;
+    }
+
+    // RFC 4180: entre comillas si contiene separador, comillas o salto de línea
+    private static StringBuilder field(StringBuilder line, String value) {
+        if (value == null) {
+            return line;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return line.append(value);
+        }
+        return line.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+
+    private int ndjson(Franchise franchise) throws IOException {
+        int count = 0;
+        try (JsonGenerator json = jsonFactory.createGenerator(rows)) {
+            json.setRootValueSeparator(null);
+            for (Branch branch : franchise.getBranches()) {
+                for (Product product : branch.getProducts()) {
+                    json.writeStartObject();
+                    json.writeStringField("franchiseId", franchise.getId());
+                    json.writeStringField("franchiseName", franchise.getName());
+                    json.writeStringField("branchId", branch.getId());
+                    json.writeStringField("branchName", branch.getName());
+                    json.writeStringField("productId", product.getId());
+                    json.writeStringField("productName", product.getName());
+                    writeNumber(json, "stock", product.getStock());
+                    writeNumber(json, "reorderThreshold", product.getReorderThreshold());
+                    json.writeEndObject();
+                    json.writeRaw('\n');
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    private static void writeNumber(JsonGenerator json, String field, Integer value) throws IOException {
+        if (value == null) {
+            json.writeNullField(field);
+        } else {
+            json.writeNumberField(field, value);
+        }
+    }
+}
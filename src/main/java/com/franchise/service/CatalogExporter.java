@@ -0,0 +1,394 @@
+package com.franchise.service;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.franchise.config.ExportProperties;
+import com.franchise.dto.ExportJobDTO;
+import com.franchise.model.Franchise;
+import com.franchise.repository.ReadClass;
+import com.franchise.repository.ReadRouting;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+// Exportación del catálogo completo, una fila por (franquicia, sucursal, producto), recorriendo la
+// colección franchises con un cursor ordenado por _id. La memoria no depende del tamaño del catálogo:
+// el cursor trae lotes de cursor-batch-size y cada franquicia se escribe y se descarta.
+// - stream(): descarga directa; se reanuda con after = último franchiseId recibido.
+// - start(): exportación a fichero con checkpoint cada checkpoint-every franquicias; si se interrumpe,
+//   la siguiente ejecución con el mismo nombre trunca el fichero al último checkpoint y continúa.
+@Component
+@EnableConfigurationProperties(ExportProperties.class)
+public class CatalogExporter {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogExporter.class);
+
+    private static final Pattern JOB_NAME = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+    private static final String ZSTD_STREAM = "com.github.luben.zstd.ZstdOutputStream";
+
+    public enum Format {
+        CSV(".csv", "text/csv"), NDJSON(".ndjson", "application/x-ndjson");
+
+        private final String extension;
+        private final String mediaType;
+
+        Format(String extension, String mediaType) {
+            this.extension = extension;
+            this.mediaType = mediaType;
+        }
+
+        public String getExtension() { return extension; }
+
+        public String getMediaType() { return mediaType; }
+    }
+
+    // ZSTD requiere zstd-jni en el classpath (perfil Maven "zstd")
+    public enum Compression {
+        NONE("", null), GZIP(".gz", "application/gzip"), ZSTD(".zst", "application/zstd");
+
+        private final String extension;
+        private final String mediaType;
+
+        Compression(String extension, String mediaType) {
+            this.extension = extension;
+            this.mediaType = mediaType;
+        }
+
+        public String getExtension() { return extension; }
+
+        public String getMediaType() { return mediaType; }
+
+        public boolean isAvailable() {
+            return this != ZSTD || ClassUtils.isPresent(ZSTD_STREAM, CatalogExporter.class.getClassLoader());
+        }
+
+        OutputStream wrap(OutputStream out) throws IOException {
+            switch (this) {
+                case GZIP:
+                    return new GZIPOutputStream(out, 64 * 1024);
+                case ZSTD:
+                    try {
+                        return (OutputStream) ClassUtils.forName(ZSTD_STREAM, CatalogExporter.class.getClassLoader())
+                                .getConstructor(OutputStream.class)
+                                .newInstance(out);
+                    } catch (ReflectiveOperationException | LinkageError e) {
+                        throw new IOException("Could not create zstd stream", e);
+                    }
+                default:
+                    return out;
+            }
+        }
+    }
+
+    @Autowired
+    private ReactiveMongoTemplate mongoTemplate;
+
+    @Autowired
+    private ReadRouting readRouting;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final ExportProperties properties;
+    private final Counter streamedRows;
+    private final Counter jobRows;
+
+    // Exportaciones a fichero en curso en esta instancia
+    private final Map<String, ExportJobDTO> running = new ConcurrentHashMap<>();
+
+    public CatalogExporter(ExportProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.streamedRows = Counter.builder("franchise.export.rows")
+                .description("Filas de catálogo exportadas")
+                .tag("mode", "stream")
+                .register(meterRegistry);
+        this.jobRows = Counter.builder("franchise.export.rows")
+                .description("Filas de catálogo exportadas")
+                .tag("mode", "job")
+                .register(meterRegistry);
+    }
+
+    // ==================== DESCARGA ====================
+
+    public Flux<DataBuffer> stream(Format format, Compression compression, String after) {
+        if (!compression.isAvailable()) {
+            return Flux.error(unavailable(compression));
+        }
+        return Flux.defer(() -> {
+            ByteArrayOutputStream pending = new ByteArrayOutputStream(64 * 1024);
+            CatalogExportWriter writer = new CatalogExportWriter(pending, format, compression,
+                    objectMapper.getFactory());
+            return Mono.fromCallable(() -> {
+                        if (after == null) {
+                            writer.header();
+                        }
+                        return drain(pending);
+                    })
+                    .concatWith(franchises(after).map(franchise -> {
+                        try {
+                            streamedRows.increment(writer.write(franchise));
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                        return drain(pending);
+                    }))
+                    .concatWith(Mono.fromCallable(() -> {
+                        writer.endMember();
+                        return drain(pending);
+                    }))
+                    .filter(bytes -> bytes.length > 0)
+                    .map(DefaultDataBufferFactory.sharedInstance::wrap);
+        });
+    }
+
+    private static byte[] drain(ByteArrayOutputStream pending) {
+        byte[] bytes = pending.toByteArray();
+        pending.reset();
+        return bytes;
+    }
+
+    // ==================== EXPORTACIÓN A FICHERO ====================
+
+    // Inicia la exportación o reanuda la que quedó interrumpida con el mismo nombre y formato
+    public Mono<ExportJobDTO> start(String name, Format format, Compression compression) {
+        if (!JOB_NAME.matcher(name).matches()) {
+            return Mono.error(new IllegalArgumentException("Invalid export job name: " + name));
+        }
+        if (!compression.isAvailable()) {
+            return Mono.error(unavailable(compression));
+        }
+        return Mono.fromCallable(() -> prepare(name, format, compression))
+                .subscribeOn(Schedulers.boundedElastic())
+                .doOnNext(this::run);
+    }
+
+    public Mono<ExportJobDTO> status(String name) {
+        ExportJobDTO job = running.get(name);
+        if (job != null) {
+            return Mono.just(job);
+        }
+        if (!JOB_NAME.matcher(name).matches()) {
+            return Mono.error(new IllegalArgumentException("Invalid export job name: " + name));
+        }
+        return Mono.fromCallable(() -> {
+                    Path checkpoint = checkpointPath(name);
+                    if (!Files.exists(checkpoint)) {
+                        throw new IllegalArgumentException("Export job not found: " + name);
+                    }
+                    return objectMapper.readValue(checkpoint.toFile(), ExportJobDTO.class);
+                })
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private synchronized ExportJobDTO prepare(String name, Format format, Compression compression) throws IOException {
+        if (running.containsKey(name)) {
+            throw new IllegalStateException("Export job is already running: " + name);
+        }
+        Files.createDirectories(Paths.get(properties.getDirectory()));
+        Path checkpoint = checkpointPath(name);
+        ExportJobDTO previous = Files.exists(checkpoint)
+                ? objectMapper.readValue(checkpoint.toFile(), ExportJobDTO.class) : null;
+
+        ExportJobDTO job;
+        if (previous != null && previous.getState() != ExportJobDTO.State.COMPLETED
+                && format.name().equals(previous.getFormat()) && compression.name().equals(previous.getCompression())
+                && Files.exists(Paths.get(previous.getFile()))) {
+            job = previous;
+            job.setError(null);
+            log.info("Resuming export {} after franchise {} ({} rows)", name, job.getLastFranchiseId(), job.getRows());
+        } else {
+            job = new ExportJobDTO();
+            job.setName(name);
+            job.setFormat(format.name());
+            job.setCompression(compression.name());
+            job.setFile(Paths.get(properties.getDirectory(), name + format.getExtension() + compression.getExtension())
+                    .toString());
+            job.setStartedAt(Instant.now());
+        }
+        job.setState(ExportJobDTO.State.RUNNING);
+        job.setFinishedAt(null);
+        job.setUpdatedAt(Instant.now());
+        save(job);
+        running.put(name, job);
+        return job;
+    }
+
+    private void run(ExportJobDTO job) {
+        Run run;
+        try {
+            run = new Run(job, Format.valueOf(job.getFormat()), Compression.valueOf(job.getCompression()));
+        } catch (IOException e) {
+            fail(job, e);
+            return;
+        }
+        franchises(job.getLastFranchiseId())
+                .publishOn(Schedulers.boundedElastic(), properties.getCursorBatchSize())
+                .doOnNext(run::write)
+                .then(Mono.fromRunnable(run::complete))
+                .doOnError(e -> {
+                    run.close();
+                    fail(job, e);
+                })
+                .subscribe(result -> {}, error -> {});
+    }
+
+    private void fail(ExportJobDTO job, Throwable error) {
+        log.warn("Export {} failed after franchise {}: {}", job.getName(), job.getLastFranchiseId(),
+                error.getMessage());
+        job.setState(ExportJobDTO.State.FAILED);
+        job.setError(error.getMessage());
+        job.setUpdatedAt(Instant.now());
+        try {
+            save(job);
+        } catch (IOException e) {
+            log.warn("Could not save export checkpoint {}: {}", job.getName(), e.getMessage());
+        }
+        running.remove(job.getName());
+    }
+
+    // El checkpoint se escribe en un fichero temporal y se mueve: nunca queda a medias
+    private void save(ExportJobDTO job) throws IOException {
+        Path checkpoint = checkpointPath(job.getName());
+        Path temporary = checkpoint.resolveSibling(checkpoint.getFileName() + ".tmp");
+        objectMapper.writeValue(temporary.toFile(), job);
+        Files.move(temporary, checkpoint, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private Path checkpointPath(String name) {
+        return Paths.get(properties.getDirectory(), name + ".checkpoint.json");
+    }
+
+    // Ejecución de una exportación a fichero: escribe desde el último checkpoint
+    private final class Run {
+
+        private final ExportJobDTO job;
+        private final FileChannel channel;
+        private final OutputStream out;
+        private final CatalogExportWriter writer;
+        private final long startNanos = System.nanoTime();
+        private final long startRows;
+        private long franchises;
+        private long rows;
+        private String lastFranchiseId;
+        private int sinceCheckpoint;
+
+        Run(ExportJobDTO job, Format format, Compression compression) throws IOException {
+            this.job = job;
+            this.channel = FileChannel.open(Paths.get(job.getFile()), StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE);
+            // Lo escrito después del último checkpoint se descarta
+            channel.truncate(job.getBytes());
+            channel.position(job.getBytes());
+            this.out = new BufferedOutputStream(Channels.newOutputStream(channel), 64 * 1024);
+            this.writer = new CatalogExportWriter(out, format, compression, objectMapper.getFactory());
+            this.startRows = job.getRows();
+            this.franchises = job.getFranchises();
+            this.rows = job.getRows();
+            this.lastFranchiseId = job.getLastFranchiseId();
+            if (job.getBytes() == 0) {
+                writer.header();
+            }
+        }
+
+        void write(Franchise franchise) {
+            try {
+                int written = writer.write(franchise);
+                jobRows.increment(written);
+                rows += written;
+                franchises++;
+                lastFranchiseId = franchise.getId();
+                if (++sinceCheckpoint >= properties.getCheckpointEvery()) {
+                    checkpoint();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void complete() {
+            try {
+                checkpoint();
+                close();
+                job.setState(ExportJobDTO.State.COMPLETED);
+                job.setFinishedAt(Instant.now());
+                save(job);
+                log.info("Export {} completed: {} franchises, {} rows, {} bytes, {} rows/s", job.getName(),
+                        job.getFranchises(), job.getRows(), job.getBytes(), Math.round(job.getRowsPerSecond()));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                running.remove(job.getName());
+            }
+        }
+
+        // Cierra el bloque comprimido, lo lleva a disco y registra hasta dónde es válido el fichero
+        private void checkpoint() throws IOException {
+            writer.endMember();
+            out.flush();
+            channel.force(false);
+            sinceCheckpoint = 0;
+            double seconds = (System.nanoTime() - startNanos) / 1e9;
+            job.setFranchises(franchises);
+            job.setRows(rows);
+            job.setBytes(channel.position());
+            job.setLastFranchiseId(lastFranchiseId);
+            job.setRowsPerSecond(seconds > 0 ? (rows - startRows) / seconds : 0);
+            job.setUpdatedAt(Instant.now());
+            save(job);
+        }
+
+        void close() {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.warn("Could not close export file {}: {}", job.getFile(), e.getMessage());
+            }
+        }
+    }
+
+    // ==================== LECTURA ====================
+
+    private Flux<Franchise> franchises(String after) {
+        Query query = Query.query(after == null ? new Criteria() : Criteria.where("_id").gt(after))
+                .with(Sort.by("_id"))
+                .cursorBatchSize(properties.getCursorBatchSize());
+        return mongoTemplate.find(readRouting.apply(query, ReadClass.REPORTS), Franchise.class);
+    }
+
+    private static IllegalArgumentException unavailable(Compression compression) {
+        return new IllegalArgumentException(compression + " compression is not available in this build");
+    }
+}
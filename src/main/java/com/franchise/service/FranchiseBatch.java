@@ -0,0 +1,243 @@
+package com.franchise.service;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import com.franchise.config.BatchProperties;
+import com.franchise.dto.BatchOperationDTO;
+import com.franchise.dto.BatchResultDTO;
+import com.franchise.model.Branch;
+import com.franchise.model.Product;
+import com.franchise.repository.WriteClass;
+
+// Planificación de POST /api/batch: las operaciones se agrupan por franquicia conservando su orden.
+// Cada grupo es una única mutación (una lectura y un save) compartida por ambas implementaciones de
+// FranchiseService; una operación que falla no se aplica y no impide las demás de su grupo.
+@Component
+@EnableConfigurationProperties(BatchProperties.class)
+public class FranchiseBatch {
+
+    private static final String REFERENCE_PREFIX = "$";
+
+    private final BatchProperties properties;
+
+    public FranchiseBatch(BatchProperties properties) {
+        this.properties = properties;
+    }
+
+    public int getConcurrency() {
+        return properties.getConcurrency();
+    }
+
+    List<Group> plan(List<BatchOperationDTO> operations) {
+        if (operations == null || operations.isEmpty()) {
+            throw new IllegalArgumentException("At least one operation is required");
+        }
+        if (operations.size() > properties.getMaxOperations()) {
+            throw new IllegalArgumentException("A batch cannot have more than " + properties.getMaxOperations()
+                    + " operations");
+        }
+
+        Map<String, Group> groups = new LinkedHashMap<>();
+        for (int i = 0; i < operations.size(); i++) {
+            BatchOperationDTO operation = operations.get(i);
+            groups.computeIfAbsent(operation.getFranchiseId(), Group::new).add(i, operation);
+        }
+        return new ArrayList<>(groups.values());
+    }
+
+    static WriteClass writeClass(BatchOperationDTO.Type type) {
+        return switch (type) {
+            case RENAME_BRANCH, RENAME_PRODUCT -> WriteClass.RENAME;
+            case UPDATE_STOCK, UPDATE_THRESHOLD -> WriteClass.STOCK;
+            case ADD_BRANCH, DELETE_BRANCH, ADD_PRODUCT, REMOVE_PRODUCT -> WriteClass.STRUCTURE;
+        };
+    }
+
+    static int status(Throwable error) {
+        if (error instanceof IllegalArgumentException) {
+            return 400;
+        }
+        if (error instanceof IllegalStateException) {
+            return 409;
+        }
+        return 500;
+    }
+
+    // ==================== GRUPO POR FRANQUICIA ====================
+
+    static final class Group {
+
+        private final String franchiseId;
+        private final List<BatchOperationDTO> operations = new ArrayList<>();
+        private final List<BatchResultDTO> results = new ArrayList<>();
+        private final List<StockChangedEvent> changes = new ArrayList<>();
+        // Ids creados por las operaciones con id, para las referencias "$<id>"
+        private final Map<String, String> createdBranches = new HashMap<>();
+        private final Map<String, String> createdProducts = new HashMap<>();
+
+        private Group(String franchiseId) {
+            this.franchiseId = franchiseId;
+        }
+
+        private void add(int index, BatchOperationDTO operation) {
+            operations.add(operation);
+            results.add(new BatchResultDTO(index, operation));
+        }
+
+        String getFranchiseId() {
+            return franchiseId;
+        }
+
+        List<BatchResultDTO> getResults() {
+            return results;
+        }
+
+        // Eventos de stock de las operaciones aplicadas; se publican solo si el guardado se confirma
+        List<StockChangedEvent> getChanges() {
+            return changes;
+        }
+
+        // Clases de escritura del grupo: el save usa el write concern de la más crítica
+        Set<WriteClass> writeClasses() {
+            Set<WriteClass> writeClasses = EnumSet.noneOf(WriteClass.class);
+            operations.forEach(operation -> writeClasses.add(writeClass(operation.getType())));
+            return writeClasses;
+        }
+
+        // Aplica las operaciones en orden; las que fallan quedan con su error y no alteran el documento.
+        // Si ninguna se aplica no hay nada que guardar. Ante un conflicto de versión se vuelve a aplicar
+        // sobre una lectura nueva, así que cada aplicación parte de resultados vacíos.
+        FranchiseMutation mutation() {
+            return franchise -> {
+                reset();
+                boolean applied = false;
+                for (int i = 0; i < operations.size(); i++) {
+                    BatchOperationDTO operation = operations.get(i);
+                    BatchResultDTO result = results.get(i);
+                    try {
+                        apply(operation, result).apply(franchise);
+                        remember(operation, result);
+                        applied = true;
+                    } catch (RuntimeException e) {
+                        fail(result, e);
+                    }
+                }
+                if (!applied) {
+                    throw new IllegalArgumentException("No operation could be applied to franchise: " + franchiseId);
+                }
+            };
+        }
+
+        void completed() {
+            for (BatchResultDTO result : results) {
+                if (result.getStatus() == 0) {
+                    result.setStatus(isCreation(result.getType()) ? 201 : 200);
+                }
+            }
+        }
+
+        void failed(Throwable error) {
+            for (BatchResultDTO result : results) {
+                if (result.getStatus() == 0) {
+                    fail(result, error);
+                }
+            }
+        }
+
+        private void reset() {
+            changes.clear();
+            createdBranches.clear();
+            createdProducts.clear();
+            for (BatchResultDTO result : results) {
+                result.setStatus(0);
+                result.setError(null);
+                result.setBranchId(null);
+                result.setProductId(null);
+            }
+        }
+
+        private FranchiseMutation apply(BatchOperationDTO operation, BatchResultDTO result) {
+            String branchId = resolve(operation.getBranchId(), createdBranches, "branchId");
+            result.setBranchId(branchId);
+            String productId = null;
+            if (operation.getProductId() != null) {
+                productId = resolve(operation.getProductId(), createdProducts, "productId");
+                result.setProductId(productId);
+            }
+
+            return switch (operation.getType()) {
+                case ADD_BRANCH -> FranchiseMutations.addBranch(require(operation.getBranch(), "branch"));
+                case RENAME_BRANCH -> FranchiseMutations.renameBranch(require(branchId, "branchId"),
+                        requireName(operation.getName()));
+                case DELETE_BRANCH -> FranchiseMutations.deleteBranch(require(branchId, "branchId"));
+                case ADD_PRODUCT -> FranchiseMutations.addProduct(require(branchId, "branchId"),
+                        require(operation.getProduct(), "product"));
+                case REMOVE_PRODUCT -> FranchiseMutations.removeProduct(require(branchId, "branchId"),
+                        require(productId, "productId"));
+                case RENAME_PRODUCT -> FranchiseMutations.renameProduct(require(branchId, "branchId"),
+                        require(productId, "productId"), requireName(operation.getName()));
+                case UPDATE_STOCK -> FranchiseMutations.updateStock(require(branchId, "branchId"),
+                        require(productId, "productId"), require(operation.getStock(), "stock"), changes::add);
+                case UPDATE_THRESHOLD -> FranchiseMutations.updateThreshold(require(branchId, "branchId"),
+                        require(productId, "productId"), operation.getReorderThreshold(), changes::add);
+            };
+        }
+
+        private void remember(BatchOperationDTO operation, BatchResultDTO result) {
+            if (operation.getType() == BatchOperationDTO.Type.ADD_BRANCH) {
+                result.setBranchId(operation.getBranch().getId());
+                if (operation.getId() != null) {
+                    createdBranches.put(operation.getId(), operation.getBranch().getId());
+                }
+            } else if (operation.getType() == BatchOperationDTO.Type.ADD_PRODUCT) {
+                result.setProductId(operation.getProduct().getId());
+                if (operation.getId() != null) {
+                    createdProducts.put(operation.getId(), operation.getProduct().getId());
+                }
+            }
+        }
+
+        private static String resolve(String id, Map<String, String> created, String field) {
+            if (id == null || !id.startsWith(REFERENCE_PREFIX)) {
+                return id;
+            }
+            String resolved = created.get(id.substring(REFERENCE_PREFIX.length()));
+            if (resolved == null) {
+                throw new IllegalArgumentException("Unknown " + field + " reference: " + id);
+            }
+            return resolved;
+        }
+
+        private static <T> T require(T value, String field) {
+            if (value == null) {
+                throw new IllegalArgumentException(field + " is required");
+            }
+            return value;
+        }
+
+        private static String requireName(String name) {
+            if (name == null || name.isBlank()) {
+                throw new IllegalArgumentException("name is required");
+            }
+            return name;
+        }
+
+        private static boolean isCreation(BatchOperationDTO.Type type) {
+            return type == BatchOperationDTO.Type.ADD_BRANCH || type == BatchOperationDTO.Type.ADD_PRODUCT;
+        }
+
+        private static void fail(BatchResultDTO result, Throwable error) {
+            result.setStatus(status(error));
+            result.setError(error.getMessage());
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.franchise.service;
+
+import com.franchise.model.Franchise;
+
+// Modificación en memoria de una franquicia. Debe validar antes de modificar:
+// si lanza una excepción el documento no debe quedar alterado.
+@FunctionalInterface
+public interface FranchiseMutation {
+
+    void apply(Franchise franchise);
+}
@@ -0,0 +1,252 @@
+package com.franchise.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import org.bson.types.ObjectId;
+
+import com.franchise.dto.ProductTopStockDTO;
+import com.franchise.model.Branch;
+import com.franchise.model.Franchise;
+import com.franchise.model.Product;
+import com.franchise.service.FranchiseService.FranchiseStatsDTO;
+
+// Reglas de negocio sobre el documento de franquicia, compartidas por las implementaciones
+// reactiva y bloqueante de FranchiseService.
+final class FranchiseMutations {
+
+    private FranchiseMutations() {}
+
+    // ==================== MUTACIONES ====================
+
+    static FranchiseMutation rename(String newName, boolean nameTaken) {
+        return franchise -> {
+            // Verificar que no existe otra franquicia con el mismo nombre
+            if (nameTaken && !franchise.getName().equals(newName)) {
+                throw new IllegalArgumentException("Franchise with this name already exists");
+            }
+            franchise.setName(newName);
+        };
+    }
+
+    static FranchiseMutation addBranch(Branch branch) {
+        return franchise -> {
+            // Generar ID único para la sucursal
+            branch.setId(UUID.randomUUID().toString());
+
+            // Si la lista de productos viene como null, inicializarla
+            if (branch.getProducts() == null) {
+                branch.setProducts(new ArrayList<>());
+            } else {
+                // Asignar IDs a todos los productos que no tengan ID
+                for (Product product : branch.getProducts()) {
+                    if (product.getId() == null || product.getId().isEmpty()) {
+                        product.setId(UUID.randomUUID().toString());
+                    }
+                }
+            }
+
+            franchise.addBranch(branch);
+        };
+    }
+
+    static FranchiseMutation renameBranch(String branchId, String newName) {
+        return franchise -> requireBranch(franchise, branchId).setName(newName);
+    }
+
+    static FranchiseMutation deleteBranch(String branchId) {
+        return franchise -> {
+            boolean removed = franchise.removeBranch(branchId);
+            if (!removed) {
+                throw new IllegalArgumentException("Branch not found with id: " + branchId);
+            }
+        };
+    }
+
+    static FranchiseMutation addProduct(String branchId, Product product) {
+        return franchise -> {
+            Branch branch = requireBranch(franchise, branchId);
+
+            // Generate a unique ID for the product if it does not have one
+            if (product.getId() == null || product.getId().isEmpty()) {
+                product.setId(UUID.randomUUID().toString());
+            }
+
+            branch.addProduct(product);
+        };
+    }
+
+    static FranchiseMutation removeProduct(String branchId, String productId) {
+        return franchise -> {
+            Branch branch = requireBranch(franchise, branchId);
+
+            boolean removed = branch.removeProduct(productId);
+            if (!removed) {
+                throw new IllegalArgumentException("Product not found with id: " + productId);
+            }
+        };
+    }
+
+    // Los cambios de stock y de umbral informan a 'changes' de los valores anteriores y nuevos;
+    // el evento se publica solo si el guardado se confirma
+    static FranchiseMutation updateStock(String branchId, String productId, Integer stock,
+            Consumer<StockChangedEvent> changes) {
+        return franchise -> {
+            Branch branch = requireBranch(franchise, branchId);
+            Product product = requireProduct(branch, productId);
+            Integer previousStock = product.getStock();
+            product.setStock(stock);
+            changes.accept(new StockChangedEvent(franchise, branch, product, previousStock,
+                    product.getReorderThreshold()));
+        };
+    }
+
+    // Variación relativa del stock (traspasos). Una salida solo puede usar el stock disponible: lo
+    // retenido por reservas activas no se puede traspasar
+    static FranchiseMutation adjustStock(String branchId, String productId, int delta,
+            Consumer<StockChangedEvent> changes) {
+        return franchise -> {
+            Branch branch = requireBranch(franchise, branchId);
+            Product product = requireProduct(branch, productId);
+            Integer previousStock = product.getStock();
+            int current = previousStock == null ? 0 : previousStock;
+            if (delta < 0 && current - reserved(product) + delta < 0) {
+                throw new IllegalStateException("Insufficient available stock for product: " + productId);
+            }
+            product.setStock(current + delta);
+            changes.accept(new StockChangedEvent(franchise, branch, product, previousStock,
+                    product.getReorderThreshold()));
+        };
+    }
+
+    // Confirmación de una reserva: descuenta la cantidad del stock y de lo retenido en la misma escritura
+    static FranchiseMutation consumeReserved(String branchId, String productId, int quantity,
+            Consumer<StockChangedEvent> changes) {
+        return franchise -> {
+            Branch branch = requireBranch(franchise, branchId);
+            Product product = requireProduct(branch, productId);
+            Integer previousStock = product.getStock();
+            int current = previousStock == null ? 0 : previousStock;
+            if (current < quantity) {
+                throw new IllegalStateException("Insufficient stock for product: " + productId);
+            }
+            product.setStock(current - quantity);
+            product.setReserved(Math.max(0, reserved(product) - quantity));
+            changes.accept(new StockChangedEvent(franchise, branch, product, previousStock,
+                    product.getReorderThreshold()));
+        };
+    }
+
+    static FranchiseMutation updateThreshold(String branchId, String productId, Integer threshold,
+            Consumer<StockChangedEvent> changes) {
+        return franchise -> {
+            Branch branch = requireBranch(franchise, branchId);
+            Product product = requireProduct(branch, productId);
+            Integer previousThreshold = product.getReorderThreshold();
+            product.setReorderThreshold(threshold);
+            changes.accept(new StockChangedEvent(franchise, branch, product, product.getStock(), previousThreshold));
+        };
+    }
+
+    static FranchiseMutation renameProduct(String branchId, String productId, String newName) {
+        return franchise -> requireProduct(requireBranch(franchise, branchId), productId).setName(newName);
+    }
+
+    // Asignar IDs a la franquicia, sus sucursales y productos si no tienen
+    // (el de la franquicia antes de guardar, para poder registrar su nombre en franchise_names)
+    static void assignIds(Franchise franchise) {
+        if (franchise.getId() == null || franchise.getId().isEmpty()) {
+            franchise.setId(new ObjectId().toHexString());
+        }
+        if (franchise.getBranches() != null) {
+            for (Branch branch : franchise.getBranches()) {
+                if (branch.getId() == null || branch.getId().isEmpty()) {
+                    branch.setId(UUID.randomUUID().toString());
+                }
+                if (branch.getProducts() != null) {
+                    for (Product product : branch.getProducts()) {
+                        if (product.getId() == null || product.getId().isEmpty()) {
+                            product.setId(UUID.randomUUID().toString());
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    // Stock actual del producto (0 si no tiene), base de las reservas
+    static int stockOf(Franchise franchise, String branchId, String productId) {
+        Integer stock = requireProduct(requireBranch(franchise, branchId), productId).getStock();
+        return stock == null ? 0 : stock;
+    }
+
+    // Cantidad retenida por reservas activas
+    static int reservedOf(Franchise franchise, String branchId, String productId) {
+        return reserved(requireProduct(requireBranch(franchise, branchId), productId));
+    }
+
+    static int reserved(Product product) {
+        return product.getReserved() == null ? 0 : product.getReserved();
+    }
+
+    static Branch requireBranch(Franchise franchise, String branchId) {
+        Branch branch = franchise.findBranchById(branchId);
+        if (branch == null) {
+            throw new IllegalArgumentException("Branch not found with id: " + branchId);
+        }
+        return branch;
+    }
+
+    static Product requireProduct(Branch branch, String productId) {
+        Product product = branch.findProductById(productId);
+        if (product == null) {
+            throw new IllegalArgumentException("Product not found with id: " + productId);
+        }
+        return product;
+    }
+
+    // ==================== REPORTES ====================
+
+    static List<ProductTopStockDTO> topStockProducts(Franchise franchise) {
+        List<ProductTopStockDTO> topProducts = new ArrayList<>();
+
+        for (Branch branch : franchise.getBranches()) {
+            if (branch.getProducts() != null && !branch.getProducts().isEmpty()) {
+                Product topProduct = branch.getProducts().stream()
+                        .max(Comparator.comparing(Product::getStock))
+                        .orElse(null);
+
+                if (topProduct != null) {
+                    topProducts.add(new ProductTopStockDTO(
+                            topProduct.getName(),
+                            branch.getName(),
+                            topProduct.getStock()));
+                }
+            }
+        }
+
+        return topProducts;
+    }
+
+    static boolean matches(Franchise franchise, int minBranches, int minProducts) {
+        return franchise.getBranches().size() >= minBranches && franchise.getTotalProducts() >= minProducts;
+    }
+
+    static FranchiseStatsDTO stats(Franchise franchise) {
+        int totalBranches = franchise.getBranches().size();
+        int totalProducts = franchise.getTotalProducts();
+        int totalStock = franchise.getBranches().stream()
+                .flatMap(branch -> branch.getProducts().stream())
+                .mapToInt(Product::getStock)
+                .sum();
+
+        return new FranchiseStatsDTO(
+                franchise.getName(),
+                totalBranches,
+                totalProducts,
+                totalStock);
+    }
+}
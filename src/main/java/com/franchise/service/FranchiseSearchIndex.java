@@ -0,0 +1,357 @@
+package com.franchise.service;
+
+import java.text.Normalizer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.ReactiveBulkOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import com.franchise.config.SearchProperties;
+import com.franchise.dto.SearchHitDTO;
+import com.franchise.model.Branch;
+import com.franchise.model.Franchise;
+import com.franchise.model.Product;
+import com.franchise.model.SearchEntry;
+import com.franchise.repository.FranchiseDeletedEvent;
+import com.franchise.repository.FranchiseSavedEvent;
+import com.mongodb.ErrorCategory;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+// Índice invertido de nombres de franquicias, sucursales y productos (colección search_entries).
+// Se mantiene con los eventos de escritura del repositorio: las actualizaciones se agrupan en lotes
+// que se aplican en orden, con una sola operación bulk por lote. Los cambios de stock no lo modifican.
+// Varias instancias escriben en la misma colección, así que cada entrada guarda la versión de la
+// franquicia y solo se reemplaza o borra desde una versión posterior.
+@Component
+@EnableConfigurationProperties(SearchProperties.class)
+public class FranchiseSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(FranchiseSearchIndex.class);
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    // Puntuación base de cada nivel de coincidencia
+    private static final double EXACT = 3;
+    private static final double NAME_PREFIX = 2;
+    private static final double TERM_PREFIX = 1;
+
+    @Autowired
+    private ReactiveMongoTemplate mongoTemplate;
+
+    private final SearchProperties properties;
+    private final Timer searchTimer;
+    private final Sinks.Many<IndexUpdate> updates = Sinks.many().unicast().onBackpressureBuffer();
+
+    public FranchiseSearchIndex(SearchProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.searchTimer = Timer.builder("franchise.search")
+                .description("Latencia de las búsquedas por nombre")
+                .register(meterRegistry);
+
+        // Backpressure justa: mientras se aplica un lote las actualizaciones se acumulan en lugar de
+        // desbordar el buffer (lo que cancelaría la suscripción)
+        updates.asFlux()
+                .bufferTimeout(properties.getBatchSize(), properties.getBatchWindow(), true)
+                .concatMap(batch -> apply(batch)
+                        .onErrorResume(e -> {
+                            log.warn("Could not update search index ({} updates): {}", batch.size(), e.getMessage());
+                            return Mono.empty();
+                        }))
+                .subscribe();
+    }
+
+    // ==================== BÚSQUEDA ====================
+
+    // Coincidencias por nivel: nombre exacto, nombre que empieza por el texto y palabras que empiezan
+    // por los términos del texto. Cada nivel es una consulta acotada por índice con límite.
+    public Flux<SearchHitDTO> search(String text, Collection<SearchEntry.Kind> kinds, int limit) {
+        String normalized = normalize(text);
+        if (normalized.isEmpty()) {
+            return Flux.empty();
+        }
+        int max = Math.min(Math.max(limit, 1), properties.getMaxResults());
+        Criteria kind = Criteria.where("kind").in(kinds == null || kinds.isEmpty()
+                ? Arrays.asList(SearchEntry.Kind.values()) : kinds);
+        List<String> terms = Arrays.asList(normalized.split(" "));
+        String last = terms.get(terms.size() - 1);
+
+        Criteria termCriteria = terms.size() == 1
+                ? Criteria.where("terms").regex("^" + last)
+                : new Criteria().andOperator(Criteria.where("terms").all(terms.subList(0, terms.size() - 1)),
+                        Criteria.where("terms").regex("^" + last));
+
+        return Flux.defer(() -> {
+            long start = System.nanoTime();
+            return Flux.concat(
+                            tier(Query.query(kind).addCriteria(Criteria.where("normalized").is(normalized)),
+                                    max, normalized, EXACT),
+                            tier(Query.query(kind).addCriteria(Criteria.where("normalized").regex("^" + normalized)),
+                                    max, normalized, NAME_PREFIX),
+                            tier(Query.query(kind).addCriteria(termCriteria), max, normalized, TERM_PREFIX))
+                    .distinct(hit -> hit.entry().getId())
+                    .take(max)
+                    .map(hit -> new SearchHitDTO(hit.entry(), hit.score()))
+                    .doFinally(signal -> searchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+        });
+    }
+
+    // Dentro de un nivel, primero los nombres más cortos (más cercanos al texto buscado)
+    private Flux<Hit> tier(Query query, int max, String normalized, double base) {
+        return mongoTemplate.find(query.limit(max), SearchEntry.class)
+                .map(entry -> new Hit(entry, base + (double) normalized.length()
+                        / Math.max(entry.getNormalized().length(), normalized.length())))
+                .sort(Comparator.comparingDouble(Hit::score).reversed());
+    }
+
+    // ==================== MANTENIMIENTO ====================
+
+    @EventListener
+    public void onSaved(FranchiseSavedEvent event) {
+        if (event.isStockOnly()) {
+            return;
+        }
+        // Las entradas se calculan ahora: el documento puede modificarse después de publicar el evento
+        Franchise franchise = event.getFranchise();
+        emit(new IndexUpdate(franchise.getId(), entries(franchise)));
+    }
+
+    @EventListener
+    public void onDeleted(FranchiseDeletedEvent event) {
+        emit(new IndexUpdate(event.getFranchiseId(), List.of()));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfEmpty() {
+        if (!properties.isRebuildOnStartup()) {
+            return;
+        }
+        Mono.zip(mongoTemplate.estimatedCount(SearchEntry.class), mongoTemplate.estimatedCount(Franchise.class))
+                .filter(counts -> counts.getT1() == 0 && counts.getT2() > 0)
+                .flatMapMany(counts -> mongoTemplate.findAll(Franchise.class))
+                .doOnNext(franchise -> emit(new IndexUpdate(franchise.getId(), entries(franchise))))
+                .count()
+                .subscribe(
+                        indexed -> {
+                            if (indexed > 0) {
+                                log.info("Search index rebuilt from {} franchises", indexed);
+                            }
+                        },
+                        error -> log.warn("Could not rebuild search index: {}", error.getMessage()));
+    }
+
+    private void emit(IndexUpdate update) {
+        updates.emitNext(update, Sinks.EmitFailureHandler.busyLooping(Duration.ofSeconds(1)));
+    }
+
+    // Solo cuenta la última actualización de cada franquicia del lote; un borrado total descarta las anteriores
+    private Mono<Void> apply(List<IndexUpdate> batch) {
+        boolean clearAll = false;
+        Map<String, IndexUpdate> latest = new LinkedHashMap<>();
+        for (IndexUpdate update : batch) {
+            if (update.franchiseId() == null) {
+                clearAll = true;
+                latest.clear();
+            } else {
+                latest.put(update.franchiseId(), update);
+            }
+        }
+
+        Mono<Void> clear = clearAll ? mongoTemplate.remove(new Query(), SearchEntry.class).then() : Mono.empty();
+        if (latest.isEmpty()) {
+            return clear;
+        }
+        Query existing = Query.query(Criteria.where("franchiseId").in(latest.keySet()));
+        return clear.then(mongoTemplate.find(existing, SearchEntry.class).collectList())
+                .flatMap(current -> live(latest, current).flatMap(updates -> write(updates, current)));
+    }
+
+    // Una franquicia sin entradas es nueva o ya se borró (un evento de guardado atrasado de otra
+    // instancia llega después del borrado): solo se indexa si el documento sigue existiendo
+    private Mono<Collection<IndexUpdate>> live(Map<String, IndexUpdate> latest, List<SearchEntry> current) {
+        Set<String> indexed = new HashSet<>();
+        current.forEach(entry -> indexed.add(entry.getFranchiseId()));
+        List<String> unindexed = latest.values().stream()
+                .filter(update -> !update.entries().isEmpty() && !indexed.contains(update.franchiseId()))
+                .map(IndexUpdate::franchiseId)
+                .toList();
+        if (unindexed.isEmpty()) {
+            return Mono.just(latest.values());
+        }
+        Query query = Query.query(Criteria.where("_id").in(unindexed));
+        query.fields().include("_id");
+        return mongoTemplate.find(query, Franchise.class)
+                .map(Franchise::getId)
+                .collect(Collectors.toSet())
+                .map(existing -> latest.values().stream()
+                        .filter(update -> !unindexed.contains(update.franchiseId())
+                                || existing.contains(update.franchiseId()))
+                        .toList());
+    }
+
+    // Solo se escriben las entradas nuevas o cambiadas y se borran las que ya no existen. Todas las
+    // operaciones exigen que la entrada guardada sea de una versión anterior de la franquicia
+    private Mono<Void> write(Collection<IndexUpdate> updates, List<SearchEntry> current) {
+        Map<String, SearchEntry> stale = new HashMap<>();
+        current.forEach(entry -> stale.put(entry.getId(), entry));
+
+        ReactiveBulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, SearchEntry.class);
+        int operations = 0;
+        for (IndexUpdate update : updates) {
+            for (SearchEntry entry : update.entries()) {
+                SearchEntry previous = stale.remove(entry.getId());
+                if (previous == null || !previous.sameContent(entry)) {
+                    bulk.replaceOne(olderThan(entry.getId(), update.version()), entry,
+                            FindAndReplaceOptions.options().upsert());
+                    operations++;
+                } else if (version(previous) < update.version()) {
+                    // Mismo contenido: se sube la versión para que no la pise una copia intermedia
+                    bulk.updateOne(olderThan(entry.getId(), update.version()),
+                            Update.update("franchiseVersion", update.version()));
+                    operations++;
+                }
+            }
+        }
+        for (SearchEntry entry : stale.values()) {
+            IndexUpdate update = latest(updates, entry.getFranchiseId());
+            bulk.remove(update == null ? byId(entry.getId()) : olderThan(entry.getId(), update.version()));
+            operations++;
+        }
+        return operations == 0 ? Mono.empty() : bulk.execute()
+                .onErrorResume(FranchiseSearchIndex::onlyNewerEntries, e -> Mono.empty())
+                .then();
+    }
+
+    private static IndexUpdate latest(Collection<IndexUpdate> updates, String franchiseId) {
+        return updates.stream().filter(update -> update.franchiseId().equals(franchiseId)).findFirst().orElse(null);
+    }
+
+    // Con upsert, si la entrada existe pero es de una versión igual o posterior el filtro no coincide y
+    // la inserción choca con su _id: la entrada guardada ya es más nueva y se conserva
+    static boolean onlyNewerEntries(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof BulkOperationException bulk) {
+                return duplicateKeys(bulk.getErrors());
+            }
+            if (cause instanceof MongoBulkWriteException bulk) {
+                return duplicateKeys(bulk.getWriteErrors());
+            }
+        }
+        return false;
+    }
+
+    private static boolean duplicateKeys(List<BulkWriteError> errors) {
+        return !errors.isEmpty() && errors.stream()
+                .allMatch(error -> ErrorCategory.fromErrorCode(error.getCode()) == ErrorCategory.DUPLICATE_KEY);
+    }
+
+    // ==================== ENTRADAS ====================
+
+    static List<SearchEntry> entries(Franchise franchise) {
+        List<SearchEntry> entries = new ArrayList<>();
+        entries.add(entry(SearchEntry.Kind.FRANCHISE, franchise.getId(), franchise.getName(), franchise, null));
+        for (Branch branch : franchise.getBranches()) {
+            String branchKey = franchise.getId() + "/" + branch.getId();
+            SearchEntry branchEntry = entry(SearchEntry.Kind.BRANCH, branchKey, branch.getName(), franchise, branch);
+            entries.add(branchEntry);
+            for (Product product : branch.getProducts()) {
+                SearchEntry productEntry = entry(SearchEntry.Kind.PRODUCT, branchKey + "/" + product.getId(),
+                        product.getName(), franchise, branch);
+                productEntry.setProductId(product.getId());
+                entries.add(productEntry);
+            }
+        }
+        return entries;
+    }
+
+    private static SearchEntry entry(SearchEntry.Kind kind, String id, String name, Franchise franchise,
+            Branch branch) {
+        SearchEntry entry = new SearchEntry();
+        entry.setId(id);
+        entry.setKind(kind);
+        entry.setName(name);
+        entry.setNormalized(normalize(name));
+        entry.setTerms(entry.getNormalized().isEmpty() ? List.of()
+                : Arrays.stream(entry.getNormalized().split(" ")).distinct().toList());
+        entry.setFranchiseId(franchise.getId());
+        entry.setFranchiseName(franchise.getName());
+        entry.setFranchiseVersion(version(franchise.getVersion()));
+        if (branch != null) {
+            entry.setBranchId(branch.getId());
+            entry.setBranchName(branch.getName());
+        }
+        return entry;
+    }
+
+    // Minúsculas, sin acentos y con las palabras separadas por un espacio. El resultado solo contiene
+    // letras, dígitos y espacios, así que se puede usar en una regex de prefijo sin escapar
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return SEPARATORS.matcher(decomposed.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    private static Query byId(String id) {
+        return Query.query(Criteria.where("_id").is(id));
+    }
+
+    // Incluye las entradas anteriores al versionado, que no tienen franchiseVersion
+    private static Query olderThan(String id, long version) {
+        return byId(id).addCriteria(Criteria.where("franchiseVersion").not().gte(version));
+    }
+
+    private static long version(SearchEntry entry) {
+        return version(entry.getFranchiseVersion());
+    }
+
+    private static long version(Long version) {
+        return version != null ? version : 0L;
+    }
+
+    private record IndexUpdate(String franchiseId, List<SearchEntry> entries) {
+
+        // Versión de la franquicia de la que salen las entradas; un borrado no tiene versión y gana siempre
+        long version() {
+            return entries.isEmpty() ? Long.MAX_VALUE : FranchiseSearchIndex.version(entries.get(0));
+        }
+    }
+
+    private record Hit(SearchEntry entry, double score) {
+    }
+}
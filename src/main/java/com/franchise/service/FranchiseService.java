@@ -1,306 +1,181 @@
 package com.franchise.service;
 
-import java.util.ArrayList;
-import java.util.Comparator;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
-import java.util.UUID;
 
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.stereotype.Service;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.codec.ServerSentEvent;
 
+import com.franchise.dto.BatchOperationDTO;
+import com.franchise.dto.BatchResultDTO;
+import com.franchise.dto.CatalogChangeBatchDTO;
+import com.franchise.dto.CatalogChangeDTO;
+import com.franchise.dto.ExportJobDTO;
+import com.franchise.dto.MoveBranchDTO;
+import com.franchise.dto.ProductLocationDTO;
 import com.franchise.dto.ProductTopStockDTO;
+import com.franchise.dto.ReserveStockDTO;
+import com.franchise.dto.SearchHitDTO;
+import com.franchise.dto.StockAlertDTO;
+import com.franchise.dto.StockAvailabilityDTO;
+import com.franchise.dto.StockSeriesDTO;
+import com.franchise.dto.TransferResultDTO;
+import com.franchise.dto.TransferStockDTO;
 import com.franchise.dto.UpdateNameDTO;
 import com.franchise.dto.UpdateStockDTO;
+import com.franchise.dto.UpdateThresholdDTO;
 import com.franchise.model.Branch;
 import com.franchise.model.Franchise;
+import com.franchise.model.LowStockAlert;
 import com.franchise.model.Product;
-import com.franchise.repository.FranchiseRepository;
+import com.franchise.model.SearchEntry;
+import com.franchise.model.StockMovement;
+import com.franchise.model.StockReservation;
 
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-@Service
-public class FranchiseService {
-
-    @Autowired
-    private FranchiseRepository franchiseRepository;
+// Operaciones sobre franquicias. Implementaciones:
+// - ReactiveFranchiseService: driver reactivo de MongoDB (por defecto)
+// - BlockingFranchiseService: driver síncrono sobre hilos virtuales (perfil "blocking")
+public interface FranchiseService {
 
     // ==================== OPERACIONES DE FRANQUICIA ====================
 
-    public Mono<Franchise> createFranchise(Franchise franchise) {
-        // Asignar IDs a sucursales y productos si no tienen
-        if (franchise.getBranches() != null) {
-            for (Branch branch : franchise.getBranches()) {
-                if (branch.getId() == null || branch.getId().isEmpty()) {
-                    branch.setId(UUID.randomUUID().toString());
-                }
-                if (branch.getProducts() != null) {
-                    for (Product product : branch.getProducts()) {
-                        if (product.getId() == null || product.getId().isEmpty()) {
-                            product.setId(UUID.randomUUID().toString());
-                        }
-                    }
-                }
-            }
-        }
-        return franchiseRepository.existsByName(franchise.getName())
-                .flatMap(exists -> {
-                    if (exists) {
-                        return Mono.error(new IllegalArgumentException("Franchise with this name already exists"));
-                    }
-                    return franchiseRepository.save(franchise);
-                });
-    }
+    Mono<Franchise> createFranchise(Franchise franchise);
 
-    public Flux<Franchise> getAllFranchises() {
-        return franchiseRepository.findAll();
-    }
+    Flux<Franchise> getAllFranchises();
 
-    public Mono<Franchise> getFranchiseById(String id) {
-        return franchiseRepository.findById(id)
-                .switchIfEmpty(Mono.error(new IllegalArgumentException("Franchise not found with id: " + id)));
-    }
+    Mono<Franchise> getFranchiseById(String id);
 
-    public Mono<Franchise> getFranchiseByName(String name) {
-        return franchiseRepository.findByName(name)
-                .switchIfEmpty(Mono.error(new IllegalArgumentException("Franchise not found with name: " + name)));
-    }
+    Mono<Franchise> getFranchiseByName(String name);
 
-    public Mono<Franchise> updateFranchiseName(String id, UpdateNameDTO updateNameDTO) {
-        return franchiseRepository.findById(id)
-                .switchIfEmpty(Mono.error(new IllegalArgumentException("Franchise not found with id: " + id)))
-                .flatMap(franchise -> {
-                    // Verificar que no existe otra franquicia con el mismo nombre
-                    if (franchise.getName().equals(updateNameDTO.getName())) {
-                        // Si es el mismo nombre, no hacer verificación adicional
-                        franchise.setName(updateNameDTO.getName());
-                        return franchiseRepository.save(franchise);
-                    }
-
-                    return franchiseRepository.existsByName(updateNameDTO.getName())
-                            .flatMap(exists -> {
-                                if (exists) {
-                                    return Mono.error(
-                                            new IllegalArgumentException("Franchise with this name already exists"));
-                                }
-                                franchise.setName(updateNameDTO.getName());
-                                return franchiseRepository.save(franchise);
-                            });
-                });
-    }
+    Mono<Franchise> updateFranchiseName(String id, UpdateNameDTO updateNameDTO);
 
-    public Mono<Void> deleteFranchise(String id) {
-        return franchiseRepository.existsById(id)
-                .flatMap(exists -> {
-                    if (!exists) {
-                        return Mono.error(new IllegalArgumentException("Franchise not found with id: " + id));
-                    }
-                    return franchiseRepository.deleteById(id);
-                });
-    }
+    Mono<Void> deleteFranchise(String id);
 
     // ==================== OPERACIONES DE SUCURSAL ====================
 
-    public Mono<Franchise> addBranch(String franchiseId, Branch branch) {
-        return franchiseRepository.findById(franchiseId)
-                .switchIfEmpty(Mono.error(new IllegalArgumentException("Franchise not found with id: " + franchiseId)))
-                .flatMap(franchise -> {
-                    // Generar ID único para la sucursal
-                    branch.setId(UUID.randomUUID().toString());
-
-                    // Si la lista de productos viene como null, inicializarla
-                    if (branch.getProducts() == null) {
-                        branch.setProducts(new ArrayList<>());
-                    } else {
-                        // Asignar IDs a todos los productos que no tengan ID
-                        for (Product product : branch.getProducts()) {
-                            if (product.getId() == null || product.getId().isEmpty()) {
-                                product.setId(UUID.randomUUID().toString());
-                            }
-                        }
-                    }
-
-                    franchise.addBranch(branch);
-                    return franchiseRepository.save(franchise);
-                });
-    }
+    Mono<Franchise> addBranch(String franchiseId, Branch branch);
 
-    public Mono<Franchise> updateBranchName(String franchiseId, String branchId, UpdateNameDTO updateNameDTO) {
-        return franchiseRepository.findById(franchiseId)
-                .switchIfEmpty(Mono.error(new IllegalArgumentException("Franchise not found with id: " + franchiseId)))
-                .flatMap(franchise -> {
-                    Branch branch = franchise.findBranchById(branchId);
-                    if (branch == null) {
-                        return Mono.error(new IllegalArgumentException("Branch not found with id: " + branchId));
-                    }
-
-                    branch.setName(updateNameDTO.getName());
-                    return franchiseRepository.save(franchise);
-                });
-    }
+    Mono<Franchise> updateBranchName(String franchiseId, String branchId, UpdateNameDTO updateNameDTO);
 
-    public Mono<Franchise> deleteBranch(String franchiseId, String branchId) {
-        return franchiseRepository.findById(franchiseId)
-                .switchIfEmpty(Mono.error(new IllegalArgumentException("Franchise not found with id: " + franchiseId)))
-                .flatMap(franchise -> {
-                    boolean removed = franchise.removeBranch(branchId);
-                    if (!removed) {
-                        return Mono.error(new IllegalArgumentException("Branch not found with id: " + branchId));
-                    }
-                    return franchiseRepository.save(franchise);
-                });
-    }
+    Mono<Franchise> deleteBranch(String franchiseId, String branchId);
 
     // ==================== OPERACIONES DE PRODUCTO ====================
 
-    public Mono<Franchise> addProduct(String franchiseId, String branchId, Product product) {
-        return franchiseRepository.findById(franchiseId)
-                .switchIfEmpty(Mono.error(new IllegalArgumentException("Franchise not found with id: " + franchiseId)))
-                .flatMap(franchise -> {
-                    Branch branch = franchise.findBranchById(branchId);
-                    if (branch == null) {
-                        return Mono.error(new IllegalArgumentException("Branch not found with id: " + branchId));
-                    }
-    
-                    // Generate a unique ID for the product if it does not have one
-                    if (product.getId() == null || product.getId().isEmpty()) {
-                        product.setId(UUID.randomUUID().toString());
-                    }
-                    
-                    branch.addProduct(product);
-                    return franchiseRepository.save(franchise);
-                });
-    }
+    Mono<Franchise> addProduct(String franchiseId, String branchId, Product product);
 
-    public Mono<Franchise> removeProduct(String franchiseId, String branchId, String productId) {
-        return franchiseRepository.findById(franchiseId)
-                .switchIfEmpty(Mono.error(new IllegalArgumentException("Franchise not found with id: " + franchiseId)))
-                .flatMap(franchise -> {
-                    Branch branch = franchise.findBranchById(branchId);
-                    if (branch == null) {
-                        return Mono.error(new IllegalArgumentException("Branch not found with id: " + branchId));
-                    }
-
-                    boolean removed = branch.removeProduct(productId);
-                    if (!removed) {
-                        return Mono.error(new IllegalArgumentException("Product not found with id: " + productId));
-                    }
-
-                    return franchiseRepository.save(franchise);
-                });
-    }
+    Mono<Franchise> removeProduct(String franchiseId, String branchId, String productId);
 
-    public Mono<Franchise> updateProductStock(String franchiseId, String branchId, String productId,
-            UpdateStockDTO updateStockDTO) {
-        return franchiseRepository.findById(franchiseId)
-                .switchIfEmpty(Mono.error(new IllegalArgumentException("Franchise not found with id: " + franchiseId)))
-                .flatMap(franchise -> {
-                    Branch branch = franchise.findBranchById(branchId);
-                    if (branch == null) {
-                        return Mono.error(new IllegalArgumentException("Branch not found with id: " + branchId));
-                    }
-
-                    Product product = branch.findProductById(productId);
-                    if (product == null) {
-                        return Mono.error(new IllegalArgumentException("Product not found with id: " + productId));
-                    }
-
-                    product.setStock(updateStockDTO.getStock());
-                    return franchiseRepository.save(franchise);
-                });
-    }
+    Mono<Franchise> updateProductStock(String franchiseId, String branchId, String productId,
+            UpdateStockDTO updateStockDTO);
 
-    public Mono<Franchise> updateProductName(String franchiseId, String branchId, String productId,
-            UpdateNameDTO updateNameDTO) {
-        return franchiseRepository.findById(franchiseId)
-                .switchIfEmpty(Mono.error(new IllegalArgumentException("Franchise not found with id: " + franchiseId)))
-                .flatMap(franchise -> {
-                    Branch branch = franchise.findBranchById(branchId);
-                    if (branch == null) {
-                        return Mono.error(new IllegalArgumentException("Branch not found with id: " + branchId));
-                    }
-
-                    Product product = branch.findProductById(productId);
-                    if (product == null) {
-                        return Mono.error(new IllegalArgumentException("Product not found with id: " + productId));
-                    }
-
-                    product.setName(updateNameDTO.getName());
-                    return franchiseRepository.save(franchise);
-                });
-    }
+    Mono<Franchise> updateProductName(String franchiseId, String branchId, String productId,
+            UpdateNameDTO updateNameDTO);
+
+    // Umbral de reposición del producto (null lo elimina)
+    Mono<Franchise> updateProductThreshold(String franchiseId, String branchId, String productId,
+            UpdateThresholdDTO updateThresholdDTO);
+
+    // ==================== LOTES ====================
+
+    // Ejecuta las operaciones agrupadas por franquicia (una lectura y un save por grupo) y devuelve
+    // un resultado por operación en el orden de la petición
+    Mono<List<BatchResultDTO>> executeBatch(List<BatchOperationDTO> operations);
+
+    // ==================== TRASPASOS ====================
+
+    // Entre franquicias distintas se ejecutan en una transacción multi-documento
+    Mono<TransferResultDTO> transferStock(TransferStockDTO transferStockDTO);
+
+    Mono<TransferResultDTO> moveBranch(String franchiseId, String branchId, MoveBranchDTO moveBranchDTO);
 
     // ==================== REPORTES ====================
 
-    public Mono<List<ProductTopStockDTO>> getTopStockProductsByFranchise(String franchiseId) {
-        return franchiseRepository.findById(franchiseId)
-                .switchIfEmpty(Mono.error(new IllegalArgumentException("Franchise not found with id: " + franchiseId)))
-                .map(franchise -> {
-                    List<ProductTopStockDTO> topProducts = new ArrayList<>();
-
-                    for (Branch branch : franchise.getBranches()) {
-                        if (branch.getProducts() != null && !branch.getProducts().isEmpty()) {
-                            Product topProduct = branch.getProducts().stream()
-                                    .max(Comparator.comparing(Product::getStock))
-                                    .orElse(null);
-
-                            if (topProduct != null) {
-                                topProducts.add(new ProductTopStockDTO(
-                                        topProduct.getName(),
-                                        branch.getName(),
-                                        topProduct.getStock()));
-                            }
-                        }
-                    }
-
-                    return topProducts;
-                });
-    }
+    Mono<List<ProductTopStockDTO>> getTopStockProductsByFranchise(String franchiseId);
 
-    // ==================== MÉTODOS AUXILIARES ====================
+    Mono<FranchiseStatsDTO> getFranchiseStats(String franchiseId);
 
-    public Mono<Long> countFranchises() {
-        return franchiseRepository.count();
-    }
+    // Top-N / bottom-N por stock de una sucursal, de una franquicia o global (rankings en memoria)
+    Flux<ProductLocationDTO> getStockLeaderboard(String franchiseId, String branchId,
+            StockLeaderboards.Order order, int limit);
 
-    public Mono<Boolean> existsById(String id) {
-        return franchiseRepository.existsById(id);
-    }
+    // Nombre que contiene el texto (sin distinguir mayúsculas) y mínimos de sucursales y productos
+    Flux<Franchise> searchFranchises(String name, int minBranches, int minProducts);
 
-    public Mono<Boolean> existsByName(String name) {
-        return franchiseRepository.existsByName(name);
-    }
+    // Franquicias, sucursales y productos cuyo nombre coincide o empieza por el texto, ordenados por relevancia
+    Flux<SearchHitDTO> searchNames(String text, List<SearchEntry.Kind> kinds, int limit);
 
-    public Mono<Void> deleteByName(String name) {
-        return franchiseRepository.deleteByName(name);
-    }
+    // Franquicia, sucursal y stock de cada sucursal que tiene el producto (por id y/o nombre exacto)
+    Flux<ProductLocationDTO> findProductLocations(String productId, String productName);
 
-    public Mono<Void> deleteAll() {
-        return franchiseRepository.deleteAll();
-    }
+    // ==================== ALERTAS DE STOCK ====================
 
-    // Método para obtener estadísticas de una franquicia
-    public Mono<FranchiseStatsDTO> getFranchiseStats(String franchiseId) {
-        return franchiseRepository.findById(franchiseId)
-                .switchIfEmpty(Mono.error(new IllegalArgumentException("Franchise not found with id: " + franchiseId)))
-                .map(franchise -> {
-                    int totalBranches = franchise.getBranches().size();
-                    int totalProducts = franchise.getTotalProducts();
-                    int totalStock = franchise.getBranches().stream()
-                            .flatMap(branch -> branch.getProducts().stream())
-                            .mapToInt(Product::getStock)
-                            .sum();
-
-                    return new FranchiseStatsDTO(
-                            franchise.getName(),
-                            totalBranches,
-                            totalProducts,
-                            totalStock);
-                });
-    }
+    // Productos con stock en o por debajo de su umbral, de una franquicia o de todas (franchiseId null)
+    Flux<LowStockAlert> getLowStockAlerts(String franchiseId);
+
+    // Cruces del umbral (LOW / RESTORED) a medida que se producen
+    Flux<StockAlertDTO> streamStockAlerts();
+
+    // ==================== RESERVAS DE STOCK ====================
+
+    // Retiene stock del producto hasta que se confirma, se libera o vence (ttlSeconds null: valor por defecto)
+    Mono<StockReservation> reserveStock(String franchiseId, String branchId, String productId,
+            ReserveStockDTO reserveStockDTO);
+
+    // Descuenta del stock la cantidad retenida
+    Mono<StockReservation> confirmReservation(String reservationId);
+
+    Mono<StockReservation> releaseReservation(String reservationId);
+
+    // Stock, cantidad retenida por reservas activas y stock disponible del producto
+    Mono<StockAvailabilityDTO> getStockAvailability(String franchiseId, String branchId, String productId);
+
+    // ==================== HISTORIAL DE STOCK ====================
+
+    // Movimientos de stock más recientes primero (branchId / productId opcionales)
+    Flux<StockMovement> getStockHistory(String franchiseId, String branchId, String productId, int limit);
+
+    // Stock de cada producto de la franquicia en un instante pasado
+    Flux<ProductLocationDTO> getStockAsOf(String franchiseId, Instant at);
+
+    // Serie de stock de un producto, del total de una sucursal o del total de la franquicia, reducida
+    // a como mucho 'points' intervalos (from / to null: último día)
+    Mono<StockSeriesDTO> getStockSeries(String franchiseId, String branchId, String productId, Instant from,
+            Instant to, int points);
+
+    // ==================== EXPORTACIÓN DEL CATÁLOGO ====================
+
+    Flux<DataBuffer> exportCatalog(CatalogExporter.Format format, CatalogExporter.Compression compression,
+            String after);
+
+    Mono<ExportJobDTO> startCatalogExport(String name, CatalogExporter.Format format,
+            CatalogExporter.Compression compression);
+
+    Mono<ExportJobDTO> getCatalogExport(String name);
+
+    // ==================== FEED DE CAMBIOS ====================
+
+    Mono<CatalogChangeBatchDTO> pollCatalogChanges(String after, int limit, Duration wait);
+
+    Flux<ServerSentEvent<CatalogChangeDTO>> streamCatalogChanges(String after);
+
+    // ==================== MÉTODOS AUXILIARES ====================
+
+    Mono<Long> countFranchises();
+
+    Mono<Boolean> existsById(String id);
+
+    Mono<Boolean> existsByName(String name);
+
+    Mono<Void> deleteByName(String name);
+
+    Mono<Void> deleteAll();
 
     // Clase interna para estadísticas
-    public static class FranchiseStatsDTO {
+    class FranchiseStatsDTO {
         private String franchiseName;
         private int totalBranches;
         private int totalProducts;
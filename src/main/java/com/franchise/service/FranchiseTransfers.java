@@ -0,0 +1,263 @@
+package com.franchise.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mongodb.ReactiveMongoTransactionManager;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+import com.franchise.config.TransferProperties;
+import com.franchise.dto.MoveBranchDTO;
+import com.franchise.dto.TransferResultDTO;
+import com.franchise.dto.TransferStockDTO;
+import com.franchise.model.Branch;
+import com.franchise.model.Franchise;
+import com.franchise.model.Product;
+import com.franchise.repository.FranchiseRepository;
+import com.franchise.repository.FranchiseSavedEvent;
+import com.franchise.repository.WriteClass;
+import com.mongodb.MongoException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+// Traspasos de stock y de sucursales. Dentro de una misma franquicia es un único documento y se guarda
+// como cualquier otra mutación: por la serialización de escrituras si está activa, y condicionado a la
+// versión leída. Entre franquicias se leen y guardan ambos documentos en una transacción multi-documento:
+// - Un TransientTransactionError (p. ej. conflicto de escritura con otro traspaso sobre las mismas
+//   franquicias) revierte la transacción y la repite entera, releyendo ambos documentos.
+// - Las escrituras fuera de la transacción no la bloquean: los saves de la transacción están
+//   condicionados a la versión leída y, si otra escritura se adelantó, la transacción se repite. A la
+//   inversa, una escritura que leyó antes del commit falla por versión y se vuelve a aplicar después.
+// - Los eventos (índices, alertas, ledger) se publican solo tras el commit.
+// Las transacciones requieren replica set o cluster shardeado; en un servidor standalone los traspasos
+// entre franquicias se rechazan con 409.
+@Component
+public class FranchiseTransfers {
+
+    private static final Logger log = LoggerFactory.getLogger(FranchiseTransfers.class);
+
+    @Autowired
+    private ReactiveMongoTemplate mongoTemplate;
+
+    @Autowired
+    private FranchiseRepository franchiseRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private FranchiseWriteSerializer writeSerializer;
+
+    private final TransferProperties properties;
+    private final TransactionalOperator transactionalOperator;
+    private final MeterRegistry meterRegistry;
+
+    // Si el despliegue admite transacciones (isMaster, que responden todas las versiones del servidor,
+    // a diferencia de hello). Los errores no se cachean
+    private final Mono<Boolean> transactionsSupported;
+
+    public FranchiseTransfers(TransferProperties properties, ReactiveMongoTransactionManager transactionManager,
+            MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.transactionalOperator = TransactionalOperator.create(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.transactionsSupported = Mono.defer(() -> mongoTemplate.executeCommand(new Document("isMaster", 1)))
+                .map(reply -> reply.containsKey("setName") || "isdbgrid".equals(reply.getString("msg")))
+                .cache(supported -> Duration.ofMillis(Long.MAX_VALUE), error -> Duration.ZERO, () -> Duration.ZERO);
+    }
+
+    public Mono<Boolean> supportsTransactions() {
+        return transactionsSupported;
+    }
+
+    // ==================== TRASPASOS ====================
+
+    public Mono<TransferResultDTO> transferStock(TransferStockDTO request) {
+        int quantity = request.getQuantity();
+        // Sin producto destino puede crearse uno: la escritura es también estructural
+        Set<WriteClass> writeClasses = request.getTargetProductId() == null
+                ? EnumSet.of(WriteClass.STOCK, WriteClass.STRUCTURE) : EnumSet.of(WriteClass.STOCK);
+        return execute("stock", request.getSourceFranchiseId(), request.getTargetFranchiseId(), writeClasses,
+                (source, target, attempt) -> {
+                    // Todo se valida antes de modificar: dentro de una franquicia la mutación se aplica
+                    // sobre el documento compartido con otras del mismo lote
+                    Branch sourceBranch = FranchiseMutations.requireBranch(source, request.getSourceBranchId());
+                    Product product = FranchiseMutations.requireProduct(sourceBranch, request.getProductId());
+                    Branch targetBranch = FranchiseMutations.requireBranch(target, request.getTargetBranchId());
+                    Product targetProduct;
+                    if (request.getTargetProductId() != null) {
+                        targetProduct = FranchiseMutations.requireProduct(targetBranch, request.getTargetProductId());
+                    } else {
+                        // Producto con el mismo nombre en la sucursal destino, o uno nuevo sin stock
+                        targetProduct = targetBranch.getProducts() == null ? null : targetBranch.getProducts()
+                                .stream().filter(candidate -> candidate.getName().equals(product.getName()))
+                                .findFirst().orElse(null);
+                    }
+                    if (targetProduct == product) {
+                        throw new IllegalArgumentException("Source and target product are the same");
+                    }
+
+                    FranchiseMutations.adjustStock(sourceBranch.getId(), product.getId(), -quantity,
+                            attempt.changes::add).apply(source);
+                    if (targetProduct == null) {
+                        targetProduct = new Product(product.getName(), 0);
+                        FranchiseMutations.addProduct(targetBranch.getId(), targetProduct).apply(target);
+                        attempt.targetClass = WriteClass.STRUCTURE;
+                    }
+                    FranchiseMutations.adjustStock(targetBranch.getId(), targetProduct.getId(), quantity,
+                            attempt.changes::add).apply(target);
+                });
+    }
+
+    public Mono<TransferResultDTO> moveBranch(String franchiseId, String branchId, MoveBranchDTO request) {
+        if (franchiseId.equals(request.getTargetFranchiseId())) {
+            return Mono.error(new IllegalArgumentException("Branch already belongs to franchise: " + franchiseId));
+        }
+        return execute("branch", franchiseId, request.getTargetFranchiseId(), EnumSet.of(WriteClass.STRUCTURE),
+                (source, target, attempt) -> {
+                    // Se conservan los ids de la sucursal y sus productos. Las reservas activas apuntan a la
+                    // franquicia de origen, así que una sucursal con stock retenido no se puede mover
+                    Branch branch = FranchiseMutations.requireBranch(source, branchId);
+                    if (branch.getProducts() != null && branch.getProducts().stream()
+                            .anyMatch(product -> FranchiseMutations.reserved(product) > 0)) {
+                        throw new IllegalStateException("Branch has active stock reservations: " + branchId);
+                    }
+                    FranchiseMutations.deleteBranch(branchId).apply(source);
+                    target.addBranch(branch);
+                    attempt.sourceClass = WriteClass.STRUCTURE;
+                    attempt.targetClass = WriteClass.STRUCTURE;
+                });
+    }
+
+    // Reintentable: error etiquetado como transitorio en la excepción o en alguna de sus causas
+    // (Spring traduce las de MongoDB a DataAccessException)
+    static boolean isTransient(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof MongoException mongoException
+                    && mongoException.hasErrorLabel(MongoException.TRANSIENT_TRANSACTION_ERROR_LABEL)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // ==================== EJECUCIÓN ====================
+
+    private Mono<TransferResultDTO> execute(String operation, String sourceId, String targetId,
+            Set<WriteClass> writeClasses, Transfer transfer) {
+        if (sourceId.equals(targetId)) {
+            return withinFranchise(sourceId, writeClasses, transfer);
+        }
+        return transactionsSupported
+                .flatMap(supported -> {
+                    if (!supported) {
+                        return Mono.error(new IllegalStateException(
+                                "Transfers between franchises require MongoDB transactions (replica set or sharded cluster)"));
+                    }
+                    return betweenFranchises(operation, sourceId, targetId, transfer);
+                });
+    }
+
+    // La mutación puede aplicarse más de una vez (lotes de la serialización, reintentos por versión):
+    // cada aplicación registra sus eventos en un Attempt nuevo y se publican los de la que se guardó
+    private Mono<TransferResultDTO> withinFranchise(String franchiseId, Set<WriteClass> writeClasses,
+            Transfer transfer) {
+        AtomicReference<Attempt> applied = new AtomicReference<>();
+        FranchiseMutation mutation = franchise -> {
+            Attempt attempt = new Attempt();
+            transfer.apply(franchise, franchise, attempt);
+            applied.set(attempt);
+        };
+        Mono<Franchise> saved = writeSerializer.isEnabled()
+                ? writeSerializer.submit(franchiseId, writeClasses, mutation)
+                : Mono.defer(() -> load(franchiseRepository.findById(franchiseId), franchiseId)
+                                .flatMap(franchise -> {
+                                    mutation.apply(franchise);
+                                    return franchiseRepository.saveBatch(franchise, writeClasses);
+                                }))
+                        .retryWhen(VersionConflicts.retry());
+        return saved
+                .doOnNext(franchise -> applied.get().changes.forEach(eventPublisher::publishEvent))
+                .map(franchise -> new TransferResultDTO(franchise, franchise, 1));
+    }
+
+    private Mono<TransferResultDTO> betweenFranchises(String operation, String sourceId, String targetId,
+            Transfer transfer) {
+        AtomicInteger attempts = new AtomicInteger();
+        Counter retries = meterRegistry.counter("franchise.transactions.retries", "operation", operation);
+
+        // Cada intento parte de cero: nueva transacción, nueva lectura y nuevos eventos. Las operaciones
+        // de una transacción comparten sesión y se encadenan de forma secuencial.
+        Mono<Attempt> transaction = Mono.defer(() -> {
+            attempts.incrementAndGet();
+            Attempt attempt = new Attempt();
+            return load(mongoTemplate.findById(sourceId, Franchise.class), sourceId)
+                    .zipWhen(source -> load(mongoTemplate.findById(targetId, Franchise.class), targetId))
+                    .flatMap(loaded -> {
+                        attempt.source = loaded.getT1();
+                        attempt.target = loaded.getT2();
+                        transfer.apply(attempt.source, attempt.target, attempt);
+                        // Saves condicionados a la versión leída (OptimisticLockingFailureException)
+                        return mongoTemplate.save(attempt.source)
+                                .doOnNext(saved -> attempt.source = saved)
+                                .then(mongoTemplate.save(attempt.target))
+                                .doOnNext(saved -> attempt.target = saved)
+                                .thenReturn(attempt);
+                    })
+                    .as(transactionalOperator::transactional);
+        });
+
+        return transaction
+                .retryWhen(Retry.backoff(properties.getMaxAttempts() - 1, properties.getBackoff())
+                        .maxBackoff(properties.getMaxBackoff())
+                        .filter(error -> isTransient(error) || error instanceof OptimisticLockingFailureException)
+                        .doBeforeRetry(signal -> {
+                            retries.increment();
+                            log.debug("Retrying {} transfer between {} and {}: {}", operation, sourceId, targetId,
+                                    signal.failure().getMessage());
+                        })
+                        .onRetryExhaustedThrow((spec, signal) -> new IllegalStateException(
+                                "Transfer could not be committed after " + attempts.get() + " attempts",
+                                signal.failure())))
+                .map(attempt -> {
+                    eventPublisher.publishEvent(new FranchiseSavedEvent(attempt.source, attempt.sourceClass));
+                    eventPublisher.publishEvent(new FranchiseSavedEvent(attempt.target, attempt.targetClass));
+                    attempt.changes.forEach(eventPublisher::publishEvent);
+                    return new TransferResultDTO(attempt.source, attempt.target, attempts.get());
+                });
+    }
+
+    private static Mono<Franchise> load(Mono<Franchise> find, String franchiseId) {
+        return find.switchIfEmpty(Mono.error(new IllegalArgumentException("Franchise not found with id: " + franchiseId)));
+    }
+
+    // Modifica en memoria origen y destino (el mismo documento si el traspaso es interno)
+    @FunctionalInterface
+    private interface Transfer {
+        void apply(Franchise source, Franchise target, Attempt attempt);
+    }
+
+    private static final class Attempt {
+        private Franchise source;
+        private Franchise target;
+        private WriteClass sourceClass = WriteClass.STOCK;
+        private WriteClass targetClass = WriteClass.STOCK;
+        private final List<StockChangedEvent> changes = new ArrayList<>();
+    }
+}
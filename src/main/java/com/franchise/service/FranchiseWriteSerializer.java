@@ -0,0 +1,158 @@
+package com.franchise.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import com.franchise.config.WriteSerializationProperties;
+import com.franchise.model.Franchise;
+import com.franchise.repository.FranchiseRepository;
+import com.franchise.repository.WriteClass;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+// Serializa las mutaciones por franchiseId. Las mutaciones que llegan dentro de la
+// ventana de agrupación se aplican sobre una única lectura y se persisten con un único save.
+// Franquicias distintas se procesan en paralelo.
+@Component
+@EnableConfigurationProperties(WriteSerializationProperties.class)
+public class FranchiseWriteSerializer {
+
+    private static final Logger log = LoggerFactory.getLogger(FranchiseWriteSerializer.class);
+
+    @Autowired
+    private FranchiseRepository franchiseRepository;
+
+    private final WriteSerializationProperties properties;
+    private final ConcurrentHashMap<String, KeyQueue> queues = new ConcurrentHashMap<>();
+
+    public FranchiseWriteSerializer(WriteSerializationProperties properties) {
+        this.properties = properties;
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public Mono<Franchise> submit(String franchiseId, WriteClass writeClass, FranchiseMutation mutation) {
+        return submit(franchiseId, EnumSet.of(writeClass), mutation);
+    }
+
+    // Mutación compuesta (lotes de /api/batch) que incluye escrituras de varias clases
+    public Mono<Franchise> submit(String franchiseId, Set<WriteClass> writeClasses, FranchiseMutation mutation) {
+        return Mono.create(sink -> {
+            PendingMutation pending = new PendingMutation(writeClasses, mutation, sink);
+            boolean[] startDrain = new boolean[1];
+
+            queues.compute(franchiseId, (id, queue) -> {
+                KeyQueue current = queue != null ? queue : new KeyQueue();
+                current.pending.add(pending);
+                if (!current.draining) {
+                    current.draining = true;
+                    startDrain[0] = true;
+                }
+                return current;
+            });
+
+            if (startDrain[0]) {
+                Mono.delay(properties.getCoalesceWindow())
+                        .subscribe(tick -> runBatch(franchiseId));
+            }
+        });
+    }
+
+    private void runBatch(String franchiseId) {
+        List<PendingMutation> batch = new ArrayList<>();
+        queues.computeIfPresent(franchiseId, (id, queue) -> {
+            while (!queue.pending.isEmpty() && batch.size() < properties.getMaxBatchSize()) {
+                batch.add(queue.pending.poll());
+            }
+            return queue;
+        });
+
+        // Si otra escritura cambió la versión entre la lectura y el save, el lote entero se vuelve a
+        // leer y a aplicar; cada mutación recibe su resultado solo cuando el lote termina
+        Mono.defer(() -> applyAndSave(franchiseId, batch))
+                .retryWhen(VersionConflicts.retry())
+                .doOnNext(outcome -> batch.forEach(pending -> {
+                    RuntimeException rejected = outcome.rejected().get(pending);
+                    if (rejected != null) {
+                        pending.sink.error(rejected);
+                    } else {
+                        pending.sink.success(outcome.saved());
+                    }
+                }))
+                .onErrorResume(e -> {
+                    if (!(e instanceof IllegalArgumentException) && !(e instanceof IllegalStateException)) {
+                        log.warn("Could not apply write batch for franchise {}: {}", franchiseId, e.getMessage());
+                    }
+                    batch.forEach(pending -> pending.sink.error(e));
+                    return Mono.empty();
+                })
+                .doFinally(signal -> afterBatch(franchiseId))
+                .subscribe();
+    }
+
+    private Mono<Outcome> applyAndSave(String franchiseId, List<PendingMutation> batch) {
+        return franchiseRepository.findById(franchiseId)
+                .switchIfEmpty(Mono.error(new IllegalArgumentException("Franchise not found with id: " + franchiseId)))
+                .flatMap(franchise -> {
+                    Map<PendingMutation, RuntimeException> rejected = new IdentityHashMap<>();
+                    Set<WriteClass> writeClasses = EnumSet.noneOf(WriteClass.class);
+                    for (PendingMutation pending : batch) {
+                        try {
+                            pending.mutation.apply(franchise);
+                            writeClasses.addAll(pending.writeClasses);
+                        } catch (RuntimeException e) {
+                            rejected.put(pending, e);
+                        }
+                    }
+                    if (rejected.size() == batch.size()) {
+                        return Mono.just(new Outcome(null, rejected));
+                    }
+                    // El lote se guarda con el write concern de la mutación más crítica
+                    return franchiseRepository.saveBatch(franchise, writeClasses)
+                            .map(saved -> new Outcome(saved, rejected));
+                });
+    }
+
+    private void afterBatch(String franchiseId) {
+        boolean[] more = new boolean[1];
+        queues.computeIfPresent(franchiseId, (id, queue) -> {
+            if (queue.pending.isEmpty()) {
+                return null;
+            }
+            more[0] = true;
+            return queue;
+        });
+        // Lo que llegó mientras se guardaba el lote anterior forma el siguiente lote
+        if (more[0]) {
+            runBatch(franchiseId);
+        }
+    }
+
+    private static final class KeyQueue {
+        private final ArrayDeque<PendingMutation> pending = new ArrayDeque<>();
+        private boolean draining;
+    }
+
+    // Resultado de un intento: el documento guardado (null si no se aplicó ninguna mutación) y el
+    // error de cada mutación rechazada
+    private record Outcome(Franchise saved, Map<PendingMutation, RuntimeException> rejected) {
+    }
+
+    private record PendingMutation(Set<WriteClass> writeClasses, FranchiseMutation mutation, MonoSink<Franchise> sink) {
+    }
+}
@@ -0,0 +1,285 @@
+package com.franchise.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.reactivestreams.Publisher;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.repository.query.FluentQuery;
+
+import com.franchise.dto.ProductLocationDTO;
+import com.franchise.model.Branch;
+import com.franchise.model.Franchise;
+import com.franchise.model.Product;
+import com.franchise.repository.FranchiseRepository;
+import com.franchise.repository.ReadClass;
+import com.franchise.repository.WriteClass;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// FranchiseRepository respaldado por un mapa en memoria, para el calentamiento sin tocar MongoDB.
+// Implementa las operaciones que usa ReactiveFranchiseService; las consultas por ejemplo no se usan
+// y se rechazan.
+final class InMemoryFranchiseRepository implements FranchiseRepository {
+
+    private final Map<String, Franchise> store = new ConcurrentHashMap<>();
+
+    // ==================== LECTURAS ====================
+
+    @Override
+    public Mono<Franchise> findById(String id) {
+        return Mono.justOrEmpty(store.get(id));
+    }
+
+    @Override
+    public Mono<Franchise> findById(Publisher<String> id) {
+        return Mono.from(id).flatMap(this::findById);
+    }
+
+    @Override
+    public Mono<Franchise> findById(String id, ReadClass readClass) {
+        return findById(id);
+    }
+
+    @Override
+    public Mono<Boolean> existsById(String id) {
+        return Mono.just(store.containsKey(id));
+    }
+
+    @Override
+    public Mono<Boolean> existsById(Publisher<String> id) {
+        return Mono.from(id).flatMap(this::existsById);
+    }
+
+    @Override
+    public Flux<Franchise> findAll() {
+        return Flux.fromIterable(store.values());
+    }
+
+    @Override
+    public Flux<Franchise> findAll(ReadClass readClass) {
+        return findAll();
+    }
+
+    @Override
+    public Flux<Franchise> findAll(Sort sort) {
+        return findAll();
+    }
+
+    @Override
+    public Flux<Franchise> findAllById(Iterable<String> ids) {
+        return Flux.fromIterable(ids).flatMap(this::findById);
+    }
+
+    @Override
+    public Flux<Franchise> findAllById(Publisher<String> ids) {
+        return Flux.from(ids).flatMap(this::findById);
+    }
+
+    @Override
+    public Mono<Long> count() {
+        return Mono.just((long) store.size());
+    }
+
+    @Override
+    public Mono<Franchise> findByName(String name) {
+        return findAll().filter(franchise -> franchise.getName().equals(name)).next();
+    }
+
+    @Override
+    public Mono<Boolean> existsByName(String name) {
+        return findByName(name).hasElement();
+    }
+
+    @Override
+    public Flux<Franchise> searchByName(String nameFragment, ReadClass readClass) {
+        return findAll().filter(franchise -> nameFragment == null
+                || franchise.getName().toLowerCase().contains(nameFragment.toLowerCase()));
+    }
+
+    @Override
+    public Flux<ProductLocationDTO> findProductLocations(String productId, String productName, ReadClass readClass) {
+        return findAll().flatMapIterable(franchise -> productLocations(franchise, productId, productName));
+    }
+
+    // ==================== ESCRITURAS ====================
+
+    @Override
+    public <S extends Franchise> Mono<S> save(S franchise) {
+        return Mono.fromSupplier(() -> {
+            if (franchise.getId() == null) {
+                franchise.setId(UUID.randomUUID().toString());
+            }
+            store.put(franchise.getId(), franchise);
+            return franchise;
+        });
+    }
+
+    @Override
+    public Mono<Franchise> save(Franchise franchise, WriteClass writeClass) {
+        return save(franchise);
+    }
+
+    @Override
+    public Mono<Franchise> saveBatch(Franchise franchise, Set<WriteClass> writeClasses) {
+        return save(franchise);
+    }
+
+    @Override
+    public <S extends Franchise> Flux<S> saveAll(Iterable<S> franchises) {
+        return Flux.fromIterable(franchises).concatMap(this::save);
+    }
+
+    @Override
+    public <S extends Franchise> Flux<S> saveAll(Publisher<S> franchises) {
+        return Flux.from(franchises).concatMap(this::save);
+    }
+
+    @Override
+    public <S extends Franchise> Mono<S> insert(S franchise) {
+        return save(franchise);
+    }
+
+    @Override
+    public <S extends Franchise> Flux<S> insert(Iterable<S> franchises) {
+        return saveAll(franchises);
+    }
+
+    @Override
+    public <S extends Franchise> Flux<S> insert(Publisher<S> franchises) {
+        return saveAll(franchises);
+    }
+
+    @Override
+    public Flux<Franchise> insertAll(Collection<Franchise> franchises, WriteClass writeClass) {
+        return saveAll(franchises);
+    }
+
+    @Override
+    public Mono<Boolean> registerName(String name, String franchiseId) {
+        return existsByName(name).map(taken -> !taken);
+    }
+
+    @Override
+    public Mono<Void> reconcileNames(String franchiseId) {
+        return Mono.empty();
+    }
+
+    // ==================== BORRADO ====================
+
+    @Override
+    public Mono<Void> deleteById(String id) {
+        return Mono.fromRunnable(() -> store.remove(id));
+    }
+
+    @Override
+    public Mono<Void> deleteById(Publisher<String> id) {
+        return Mono.from(id).flatMap(this::deleteById);
+    }
+
+    @Override
+    public Mono<Void> deleteById(String id, WriteClass writeClass) {
+        return deleteById(id);
+    }
+
+    @Override
+    public Mono<Void> delete(Franchise franchise) {
+        return deleteById(franchise.getId());
+    }
+
+    @Override
+    public Mono<Void> deleteAllById(Iterable<? extends String> ids) {
+        return Flux.fromIterable(ids).concatMap(this::deleteById).then();
+    }
+
+    @Override
+    public Mono<Void> deleteAll(Iterable<? extends Franchise> franchises) {
+        return Flux.fromIterable(franchises).concatMap(this::delete).then();
+    }
+
+    @Override
+    public Mono<Void> deleteAll(Publisher<? extends Franchise> franchises) {
+        return Flux.from(franchises).concatMap(this::delete).then();
+    }
+
+    @Override
+    public Mono<Void> deleteAll() {
+        return Mono.fromRunnable(store::clear);
+    }
+
+    @Override
+    public Mono<Void> deleteByName(String name) {
+        return findByName(name).flatMap(this::delete);
+    }
+
+    // ==================== CONSULTAS POR EJEMPLO (no soportadas) ====================
+
+    @Override
+    public <S extends Franchise> Mono<S> findOne(Example<S> example) {
+        return Mono.error(unsupported());
+    }
+
+    @Override
+    public <S extends Franchise> Flux<S> findAll(Example<S> example) {
+        return Flux.error(unsupported());
+    }
+
+    @Override
+    public <S extends Franchise> Flux<S> findAll(Example<S> example, Sort sort) {
+        return Flux.error(unsupported());
+    }
+
+    @Override
+    public <S extends Franchise> Mono<Long> count(Example<S> example) {
+        return Mono.error(unsupported());
+    }
+
+    @Override
+    public <S extends Franchise> Mono<Boolean> exists(Example<S> example) {
+        return Mono.error(unsupported());
+    }
+
+    @Override
+    public <S extends Franchise, R, P extends Publisher<R>> P findBy(Example<S> example,
+            Function<FluentQuery.ReactiveFluentQuery<S>, P> queryFunction) {
+        throw unsupported();
+    }
+
+    private static UnsupportedOperationException unsupported() {
+        return new UnsupportedOperationException("Query by example is not supported by the warm-up repository");
+    }
+
+    @Override
+    public String toString() {
+        return "InMemoryFranchiseRepository";
+    }
+
+    private static List<ProductLocationDTO> productLocations(Franchise franchise, String productId, String productName) {
+        List<ProductLocationDTO> locations = new ArrayList<>();
+        for (Branch branch : franchise.getBranches()) {
+            for (Product product : branch.getProducts()) {
+                if ((productId == null || productId.equals(product.getId()))
+                        && (productName == null || productName.equals(product.getName()))) {
+                    ProductLocationDTO location = new ProductLocationDTO();
+                    location.setFranchiseId(franchise.getId());
+                    location.setFranchiseName(franchise.getName());
+                    location.setBranchId(branch.getId());
+                    location.setBranchName(branch.getName());
+                    location.setProductId(product.getId());
+                    location.setProductName(product.getName());
+                    location.setStock(product.getStock());
+                    locations.add(location);
+                }
+            }
+        }
+        return locations;
+    }
+}
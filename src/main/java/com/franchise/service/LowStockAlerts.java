@@ -0,0 +1,171 @@
+package com.franchise.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import com.franchise.dto.StockAlertDTO;
+import com.franchise.model.Branch;
+import com.franchise.model.Franchise;
+import com.franchise.model.LowStockAlert;
+import com.franchise.model.Product;
+import com.franchise.repository.FranchiseDeletedEvent;
+import com.franchise.repository.FranchiseSavedEvent;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+// Alertas de stock bajo. Los cruces del umbral se detectan con los valores anterior y nuevo de cada
+// cambio de stock (StockChangedEvent), así que solo se escribe en low_stock_alerts y se notifica a los
+// suscriptores cuando un producto entra o sale del estado de stock bajo. Los productos que se crean ya en
+// stock bajo no tienen cambio de stock: se alertan al guardar la estructura de la franquicia.
+@Component
+public class LowStockAlerts {
+
+    private static final Logger log = LoggerFactory.getLogger(LowStockAlerts.class);
+
+    @Autowired
+    private ReactiveMongoTemplate mongoTemplate;
+
+    private final Sinks.Many<StockAlertDTO> alerts = Sinks.many().multicast().directBestEffort();
+    private final Sinks.Many<Mono<?>> writes = Sinks.many().unicast().onBackpressureBuffer();
+
+    // Las escrituras se aplican en orden de publicación: una alerta y su reposición inmediata no se cruzan
+    public LowStockAlerts() {
+        writes.asFlux()
+                .concatMap(write -> write.onErrorResume(e -> {
+                    log.warn("Could not update low stock alerts: {}", e.getMessage());
+                    return Mono.empty();
+                }))
+                .subscribe();
+    }
+
+    // ==================== CONSULTA ====================
+
+    public Flux<LowStockAlert> find(String franchiseId) {
+        Query query = franchiseId == null ? new Query() : Query.query(Criteria.where("franchiseId").is(franchiseId));
+        return mongoTemplate.find(query.with(Sort.by("franchiseId", "branchId", "productId")), LowStockAlert.class);
+    }
+
+    // Cruces del umbral a partir del momento de la suscripción (sin histórico)
+    public Flux<StockAlertDTO> stream() {
+        return alerts.asFlux();
+    }
+
+    // ==================== DETECCIÓN ====================
+
+    @EventListener
+    public void onStockChanged(StockChangedEvent event) {
+        if (event.wasLow() == event.isLow()) {
+            return;
+        }
+        String id = LowStockAlert.id(event.getFranchiseId(), event.getBranchId(), event.getProductId());
+        Instant now = Instant.now();
+        write(event.isLow()
+                ? mongoTemplate.save(alert(id, event, now))
+                : remove(Criteria.where("_id").is(id)));
+        alerts.emitNext(notification(event, now), Sinks.EmitFailureHandler.busyLooping(Duration.ofSeconds(1)));
+    }
+
+    // Las alertas de productos o sucursales eliminados se descartan y los productos en stock bajo que aún
+    // no tienen alerta (creados con stock en o por debajo del umbral) la reciben; solo se leen las de la
+    // franquicia
+    @EventListener
+    public void onSaved(FranchiseSavedEvent event) {
+        if (event.isStockOnly()) {
+            return;
+        }
+        Franchise franchise = event.getFranchise();
+        Set<String> current = new HashSet<>();
+        Map<String, StockChangedEvent> low = new HashMap<>();
+        for (Branch branch : franchise.getBranches()) {
+            for (Product product : branch.getProducts()) {
+                String id = LowStockAlert.id(franchise.getId(), branch.getId(), product.getId());
+                current.add(id);
+                if (StockChangedEvent.isLow(product.getStock(), product.getReorderThreshold())) {
+                    low.put(id, new StockChangedEvent(franchise, branch, product, null, null));
+                }
+            }
+        }
+        write(mongoTemplate.find(Query.query(Criteria.where("franchiseId").is(franchise.getId())), LowStockAlert.class)
+                .map(LowStockAlert::getId)
+                .collect(Collectors.toSet())
+                .flatMap(existing -> {
+                    List<String> stale = existing.stream().filter(id -> !current.contains(id)).toList();
+                    Mono<Void> removeStale = stale.isEmpty() ? Mono.empty() : remove(Criteria.where("_id").in(stale));
+                    return removeStale.then(Flux.fromIterable(low.entrySet())
+                            .filter(entry -> !existing.contains(entry.getKey()))
+                            .concatMap(entry -> raise(entry.getKey(), entry.getValue()))
+                            .then());
+                }));
+    }
+
+    @EventListener
+    public void onDeleted(FranchiseDeletedEvent event) {
+        Criteria criteria = event.getFranchiseId() == null
+                ? new Criteria() : Criteria.where("franchiseId").is(event.getFranchiseId());
+        write(remove(criteria));
+    }
+
+    private Mono<Void> raise(String id, StockChangedEvent event) {
+        Instant now = Instant.now();
+        return mongoTemplate.save(alert(id, event, now))
+                .doOnNext(saved -> alerts.emitNext(notification(event, now),
+                        Sinks.EmitFailureHandler.busyLooping(Duration.ofSeconds(1))))
+                .then();
+    }
+
+    private Mono<Void> remove(Criteria criteria) {
+        return mongoTemplate.remove(Query.query(criteria), LowStockAlert.class).then();
+    }
+
+    private void write(Mono<?> write) {
+        writes.emitNext(write, Sinks.EmitFailureHandler.busyLooping(Duration.ofSeconds(1)));
+    }
+
+    private static LowStockAlert alert(String id, StockChangedEvent event, Instant since) {
+        LowStockAlert alert = new LowStockAlert();
+        alert.setId(id);
+        alert.setFranchiseId(event.getFranchiseId());
+        alert.setFranchiseName(event.getFranchiseName());
+        alert.setBranchId(event.getBranchId());
+        alert.setBranchName(event.getBranchName());
+        alert.setProductId(event.getProductId());
+        alert.setProductName(event.getProductName());
+        alert.setStock(event.getStock());
+        alert.setThreshold(event.getThreshold());
+        alert.setSince(since);
+        return alert;
+    }
+
+    private static StockAlertDTO notification(StockChangedEvent event, Instant timestamp) {
+        StockAlertDTO notification = new StockAlertDTO();
+        notification.setState(event.isLow() ? StockAlertDTO.State.LOW : StockAlertDTO.State.RESTORED);
+        notification.setFranchiseId(event.getFranchiseId());
+        notification.setFranchiseName(event.getFranchiseName());
+        notification.setBranchId(event.getBranchId());
+        notification.setBranchName(event.getBranchName());
+        notification.setProductId(event.getProductId());
+        notification.setProductName(event.getProductName());
+        notification.setStock(event.getStock());
+        notification.setThreshold(event.getThreshold());
+        notification.setTimestamp(timestamp);
+        return notification;
+    }
+}
@@ -0,0 +1,444 @@
+package com.franchise.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Service;
+
+import com.franchise.dto.BatchOperationDTO;
+import com.franchise.dto.BatchResultDTO;
+import com.franchise.dto.CatalogChangeBatchDTO;
+import com.franchise.dto.CatalogChangeDTO;
+import com.franchise.dto.ExportJobDTO;
+import com.franchise.dto.MoveBranchDTO;
+import com.franchise.dto.ProductLocationDTO;
+import com.franchise.dto.ProductTopStockDTO;
+import com.franchise.dto.ReserveStockDTO;
+import com.franchise.dto.SearchHitDTO;
+import com.franchise.dto.StockAlertDTO;
+import com.franchise.dto.StockAvailabilityDTO;
+import com.franchise.dto.StockSeriesDTO;
+import com.franchise.dto.TransferResultDTO;
+import com.franchise.dto.TransferStockDTO;
+import com.franchise.dto.UpdateNameDTO;
+import com.franchise.dto.UpdateStockDTO;
+import com.franchise.dto.UpdateThresholdDTO;
+import com.franchise.model.Branch;
+import com.franchise.model.Franchise;
+import com.franchise.model.LowStockAlert;
+import com.franchise.model.Product;
+import com.franchise.model.SearchEntry;
+import com.franchise.model.StockMovement;
+import com.franchise.model.StockReservation;
+import com.franchise.repository.FranchiseRepository;
+import com.franchise.repository.ReadClass;
+import com.franchise.repository.WriteClass;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Service
+@Profile("!blocking")
+public class ReactiveFranchiseService implements FranchiseService {
+
+    @Autowired
+    private FranchiseRepository franchiseRepository;
+
+    @Autowired
+    private FranchiseWriteSerializer writeSerializer;
+
+    @Autowired
+    private FranchiseSearchIndex searchIndex;
+
+    @Autowired
+    private LowStockAlerts stockAlerts;
+
+    @Autowired
+    private StockLeaderboards leaderboards;
+
+    @Autowired
+    private StockReservations reservations;
+
+    @Autowired
+    private StockLedger ledger;
+
+    @Autowired
+    private StockSeries stockSeries;
+
+    @Autowired
+    private CatalogExporter catalogExporter;
+
+    @Autowired
+    private CatalogChangeFeed catalogChangeFeed;
+
+    @Autowired
+    private FranchiseBatch franchiseBatch;
+
+    @Autowired
+    private FranchiseTransfers franchiseTransfers;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    public ReactiveFranchiseService() {}
+
+    // Instancia aislada sobre otro repositorio (calentamiento con datos sintéticos): no publica eventos
+    ReactiveFranchiseService(FranchiseRepository franchiseRepository, FranchiseWriteSerializer writeSerializer) {
+        this.franchiseRepository = franchiseRepository;
+        this.writeSerializer = writeSerializer;
+        this.eventPublisher = event -> {};
+    }
+
+    // ==================== OPERACIONES DE FRANQUICIA ====================
+
+    @Override
+    public Mono<Franchise> createFranchise(Franchise franchise) {
+        FranchiseMutations.assignIds(franchise);
+        // El nombre se reserva en franchise_names antes de guardar; si el guardado falla se libera
+        return franchiseRepository.registerName(franchise.getName(), franchise.getId())
+                .flatMap(registered -> {
+                    if (!registered) {
+                        return Mono.error(new IllegalArgumentException("Franchise with this name already exists"));
+                    }
+                    return franchiseRepository.save(franchise, WriteClass.STRUCTURE)
+                            .onErrorResume(e -> franchiseRepository.reconcileNames(franchise.getId())
+                                    .then(Mono.error(e)));
+                });
+    }
+
+    @Override
+    public Flux<Franchise> getAllFranchises() {
+        return franchiseRepository.findAll(ReadClass.SEARCH);
+    }
+
+    @Override
+    public Mono<Franchise> getFranchiseById(String id) {
+        return franchiseRepository.findById(id)
+                .switchIfEmpty(Mono.error(new IllegalArgumentException("Franchise not found with id: " + id)));
+    }
+
+    @Override
+    public Mono<Franchise> getFranchiseByName(String name) {
+        return franchiseRepository.findByName(name)
+                .switchIfEmpty(Mono.error(new IllegalArgumentException("Franchise not found with name: " + name)));
+    }
+
+    @Override
+    public Mono<Franchise> updateFranchiseName(String id, UpdateNameDTO updateNameDTO) {
+        String newName = updateNameDTO.getName();
+        // Se reserva el nombre nuevo y, tras guardar (o fallar), se libera el que no corresponda
+        return franchiseRepository.registerName(newName, id)
+                .flatMap(registered -> mutate(id, WriteClass.RENAME, FranchiseMutations.rename(newName, !registered))
+                        .onErrorResume(e -> franchiseRepository.reconcileNames(id).then(Mono.error(e))))
+                .flatMap(saved -> franchiseRepository.reconcileNames(id).thenReturn(saved));
+    }
+
+    @Override
+    public Mono<Void> deleteFranchise(String id) {
+        return franchiseRepository.existsById(id)
+                .flatMap(exists -> {
+                    if (!exists) {
+                        return Mono.error(new IllegalArgumentException("Franchise not found with id: " + id));
+                    }
+                    return franchiseRepository.deleteById(id, WriteClass.STRUCTURE)
+                            .then(franchiseRepository.reconcileNames(id));
+                });
+    }
+
+    // ==================== OPERACIONES DE SUCURSAL ====================
+
+    @Override
+    public Mono<Franchise> addBranch(String franchiseId, Branch branch) {
+        return mutate(franchiseId, WriteClass.STRUCTURE, FranchiseMutations.addBranch(branch));
+    }
+
+    @Override
+    public Mono<Franchise> updateBranchName(String franchiseId, String branchId, UpdateNameDTO updateNameDTO) {
+        return mutate(franchiseId, WriteClass.RENAME,
+                FranchiseMutations.renameBranch(branchId, updateNameDTO.getName()));
+    }
+
+    @Override
+    public Mono<Franchise> deleteBranch(String franchiseId, String branchId) {
+        return mutate(franchiseId, WriteClass.STRUCTURE, FranchiseMutations.deleteBranch(branchId));
+    }
+
+    // ==================== OPERACIONES DE PRODUCTO ====================
+
+    @Override
+    public Mono<Franchise> addProduct(String franchiseId, String branchId, Product product) {
+        return mutate(franchiseId, WriteClass.STRUCTURE, FranchiseMutations.addProduct(branchId, product));
+    }
+
+    @Override
+    public Mono<Franchise> removeProduct(String franchiseId, String branchId, String productId) {
+        return mutate(franchiseId, WriteClass.STRUCTURE, FranchiseMutations.removeProduct(branchId, productId));
+    }
+
+    @Override
+    public Mono<Franchise> updateProductStock(String franchiseId, String branchId, String productId,
+            UpdateStockDTO updateStockDTO) {
+        AtomicReference<StockChangedEvent> change = new AtomicReference<>();
+        return mutate(franchiseId, WriteClass.STOCK,
+                FranchiseMutations.updateStock(branchId, productId, updateStockDTO.getStock(), change::set))
+                .doOnNext(saved -> eventPublisher.publishEvent(change.get()));
+    }
+
+    @Override
+    public Mono<Franchise> updateProductName(String franchiseId, String branchId, String productId,
+            UpdateNameDTO updateNameDTO) {
+        return mutate(franchiseId, WriteClass.RENAME,
+                FranchiseMutations.renameProduct(branchId, productId, updateNameDTO.getName()));
+    }
+
+    @Override
+    public Mono<Franchise> updateProductThreshold(String franchiseId, String branchId, String productId,
+            UpdateThresholdDTO updateThresholdDTO) {
+        AtomicReference<StockChangedEvent> change = new AtomicReference<>();
+        return mutate(franchiseId, WriteClass.STOCK, FranchiseMutations.updateThreshold(branchId, productId,
+                        updateThresholdDTO.getReorderThreshold(), change::set))
+                .doOnNext(saved -> eventPublisher.publishEvent(change.get()));
+    }
+
+    // ==================== LOTES ====================
+
+    // Los grupos de franquicias distintas se ejecutan en paralelo; un grupo que no se puede
+    // guardar marca con el error sus operaciones aplicadas sin afectar al resto
+    @Override
+    public Mono<List<BatchResultDTO>> executeBatch(List<BatchOperationDTO> operations) {
+        return Flux.defer(() -> Flux.fromIterable(franchiseBatch.plan(operations)))
+                .flatMap(group -> mutate(group.getFranchiseId(), group.writeClasses(), group.mutation())
+                        .doOnNext(saved -> {
+                            group.completed();
+                            group.getChanges().forEach(eventPublisher::publishEvent);
+                        })
+                        .onErrorResume(e -> {
+                            group.failed(e);
+                            return Mono.empty();
+                        })
+                        .thenMany(Flux.fromIterable(group.getResults())), franchiseBatch.getConcurrency())
+                .sort(Comparator.comparingInt(BatchResultDTO::getIndex))
+                .collectList();
+    }
+
+    // ==================== TRASPASOS ====================
+
+    @Override
+    public Mono<TransferResultDTO> transferStock(TransferStockDTO transferStockDTO) {
+        return franchiseTransfers.transferStock(transferStockDTO);
+    }
+
+    @Override
+    public Mono<TransferResultDTO> moveBranch(String franchiseId, String branchId, MoveBranchDTO moveBranchDTO) {
+        return franchiseTransfers.moveBranch(franchiseId, branchId, moveBranchDTO);
+    }
+
+    // ==================== ESCRITURA (LECTURA-MODIFICACIÓN-GUARDADO) ====================
+
+    // Aplica la mutación sobre el documento y lo guarda con el write concern de su clase. Con la
+    // serialización por franquicia activa, las mutaciones concurrentes sobre la misma franquicia se
+    // agrupan en un solo save. El save está condicionado a la versión leída: si otra escritura (de
+    // esta u otra instancia) se adelantó, se vuelve a leer y a aplicar la mutación.
+    private Mono<Franchise> mutate(String franchiseId, WriteClass writeClass, FranchiseMutation mutation) {
+        if (writeSerializer.isEnabled()) {
+            return writeSerializer.submit(franchiseId, writeClass, mutation);
+        }
+        return Mono.defer(() -> franchiseRepository.findById(franchiseId)
+                        .switchIfEmpty(Mono.error(new IllegalArgumentException("Franchise not found with id: " + franchiseId)))
+                        .flatMap(franchise -> {
+                            mutation.apply(franchise);
+                            return franchiseRepository.save(franchise, writeClass);
+                        }))
+                .retryWhen(VersionConflicts.retry());
+    }
+
+    // Mutación compuesta con escrituras de varias clases: un solo save con la más crítica
+    private Mono<Franchise> mutate(String franchiseId, Set<WriteClass> writeClasses, FranchiseMutation mutation) {
+        if (writeSerializer.isEnabled()) {
+            return writeSerializer.submit(franchiseId, writeClasses, mutation);
+        }
+        return Mono.defer(() -> franchiseRepository.findById(franchiseId)
+                        .switchIfEmpty(Mono.error(new IllegalArgumentException("Franchise not found with id: " + franchiseId)))
+                        .flatMap(franchise -> {
+                            mutation.apply(franchise);
+                            return franchiseRepository.saveBatch(franchise, writeClasses);
+                        }))
+                .retryWhen(VersionConflicts.retry());
+    }
+
+    // ==================== REPORTES ====================
+
+    @Override
+    public Mono<List<ProductTopStockDTO>> getTopStockProductsByFranchise(String franchiseId) {
+        return franchiseRepository.findById(franchiseId, ReadClass.REPORTS)
+                .switchIfEmpty(Mono.error(new IllegalArgumentException("Franchise not found with id: " + franchiseId)))
+                .map(FranchiseMutations::topStockProducts);
+    }
+
+    // Método para obtener estadísticas de una franquicia
+    @Override
+    public Mono<FranchiseStatsDTO> getFranchiseStats(String franchiseId) {
+        return franchiseRepository.findById(franchiseId, ReadClass.REPORTS)
+                .switchIfEmpty(Mono.error(new IllegalArgumentException("Franchise not found with id: " + franchiseId)))
+                .map(FranchiseMutations::stats);
+    }
+
+    @Override
+    public Flux<ProductLocationDTO> getStockLeaderboard(String franchiseId, String branchId,
+            StockLeaderboards.Order order, int limit) {
+        return Flux.defer(() -> Flux.fromIterable(leaderboards.ranking(franchiseId, branchId, order, limit)));
+    }
+
+    @Override
+    public Flux<Franchise> searchFranchises(String name, int minBranches, int minProducts) {
+        return franchiseRepository.searchByName(name, ReadClass.SEARCH)
+                .filter(franchise -> FranchiseMutations.matches(franchise, minBranches, minProducts));
+    }
+
+    @Override
+    public Flux<SearchHitDTO> searchNames(String text, List<SearchEntry.Kind> kinds, int limit) {
+        return searchIndex.search(text, kinds, limit);
+    }
+
+    @Override
+    public Flux<ProductLocationDTO> findProductLocations(String productId, String productName) {
+        if (productId == null && productName == null) {
+            return Flux.error(new IllegalArgumentException("Product id or name is required"));
+        }
+        return franchiseRepository.findProductLocations(productId, productName, ReadClass.SEARCH);
+    }
+
+    // ==================== ALERTAS DE STOCK ====================
+
+    @Override
+    public Flux<LowStockAlert> getLowStockAlerts(String franchiseId) {
+        return stockAlerts.find(franchiseId);
+    }
+
+    @Override
+    public Flux<StockAlertDTO> streamStockAlerts() {
+        return stockAlerts.stream();
+    }
+
+    // ==================== RESERVAS DE STOCK ====================
+
+    @Override
+    public Mono<StockReservation> reserveStock(String franchiseId, String branchId, String productId,
+            ReserveStockDTO reserveStockDTO) {
+        return reservations.reserve(franchiseId, branchId, productId, reserveStockDTO.getQuantity(),
+                reserveStockDTO.getTtlSeconds());
+    }
+
+    // La confirmación descuenta stock y retención en una sola escritura versionada, por la misma ruta
+    // que cualquier otra escritura de stock
+    @Override
+    public Mono<StockReservation> confirmReservation(String reservationId) {
+        return reservations.confirm(reservationId, reservation -> {
+            AtomicReference<StockChangedEvent> change = new AtomicReference<>();
+            return mutate(reservation.getFranchiseId(), WriteClass.STOCK, FranchiseMutations.consumeReserved(
+                            reservation.getBranchId(), reservation.getProductId(), reservation.getQuantity(),
+                            change::set))
+                    .doOnNext(saved -> eventPublisher.publishEvent(change.get()));
+        });
+    }
+
+    @Override
+    public Mono<StockReservation> releaseReservation(String reservationId) {
+        return reservations.release(reservationId);
+    }
+
+    // Stock y retenciones salen de la misma lectura del primario
+    @Override
+    public Mono<StockAvailabilityDTO> getStockAvailability(String franchiseId, String branchId, String productId) {
+        return franchiseRepository.findById(franchiseId, ReadClass.READ_YOUR_WRITES)
+                .switchIfEmpty(Mono.error(new IllegalArgumentException("Franchise not found with id: " + franchiseId)))
+                .map(franchise -> new StockAvailabilityDTO(productId,
+                        FranchiseMutations.stockOf(franchise, branchId, productId),
+                        FranchiseMutations.reservedOf(franchise, branchId, productId)));
+    }
+
+    // ==================== HISTORIAL DE STOCK ====================
+
+    @Override
+    public Flux<StockMovement> getStockHistory(String franchiseId, String branchId, String productId, int limit) {
+        return ledger.history(franchiseId, branchId, productId, limit);
+    }
+
+    @Override
+    public Flux<ProductLocationDTO> getStockAsOf(String franchiseId, Instant at) {
+        return ledger.asOf(franchiseId, at);
+    }
+
+    @Override
+    public Mono<StockSeriesDTO> getStockSeries(String franchiseId, String branchId, String productId, Instant from,
+            Instant to, int points) {
+        return stockSeries.series(franchiseId, branchId, productId, from, to, points);
+    }
+
+    // ==================== EXPORTACIÓN DEL CATÁLOGO ====================
+
+    @Override
+    public Flux<DataBuffer> exportCatalog(CatalogExporter.Format format, CatalogExporter.Compression compression,
+            String after) {
+        return catalogExporter.stream(format, compression, after);
+    }
+
+    @Override
+    public Mono<ExportJobDTO> startCatalogExport(String name, CatalogExporter.Format format,
+            CatalogExporter.Compression compression) {
+        return catalogExporter.start(name, format, compression);
+    }
+
+    @Override
+    public Mono<ExportJobDTO> getCatalogExport(String name) {
+        return catalogExporter.status(name);
+    }
+
+    // ==================== FEED DE CAMBIOS ====================
+
+    @Override
+    public Mono<CatalogChangeBatchDTO> pollCatalogChanges(String after, int limit, Duration wait) {
+        return catalogChangeFeed.poll(after, limit, wait);
+    }
+
+    @Override
+    public Flux<ServerSentEvent<CatalogChangeDTO>> streamCatalogChanges(String after) {
+        return catalogChangeFeed.stream(after);
+    }
+
+    // ==================== MÉTODOS AUXILIARES ====================
+
+    @Override
+    public Mono<Long> countFranchises() {
+        return franchiseRepository.count();
+    }
+
+    @Override
+    public Mono<Boolean> existsById(String id) {
+        return franchiseRepository.existsById(id);
+    }
+
+    @Override
+    public Mono<Boolean> existsByName(String name) {
+        return franchiseRepository.existsByName(name);
+    }
+
+    @Override
+    public Mono<Void> deleteByName(String name) {
+        return franchiseRepository.deleteByName(name);
+    }
+
+    @Override
+    public Mono<Void> deleteAll() {
+        return franchiseRepository.deleteAll();
+    }
+}
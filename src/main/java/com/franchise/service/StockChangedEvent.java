@@ -0,0 +1,77 @@
+package com.franchise.service;
+
+import com.franchise.model.Branch;
+import com.franchise.model.Franchise;
+import com.franchise.model.Product;
+
+// Publicado tras guardar un cambio de stock o de umbral de reposición de un producto, con los valores
+// anteriores y los nuevos, para detectar cruces del umbral sin recorrer el catálogo
+public class StockChangedEvent {
+
+    private final String franchiseId;
+    private final String franchiseName;
+    private final String branchId;
+    private final String branchName;
+    private final String productId;
+    private final String productName;
+    private final Integer previousStock;
+    private final Integer stock;
+    private final Integer previousThreshold;
+    private final Integer threshold;
+    // Stock total de la sucursal y de la franquicia tras el cambio
+    private final int branchStock;
+    private final int franchiseStock;
+
+    public StockChangedEvent(Franchise franchise, Branch branch, Product product, Integer previousStock,
+            Integer previousThreshold) {
+        this.franchiseId = franchise.getId();
+        this.franchiseName = franchise.getName();
+        this.branchId = branch.getId();
+        this.branchName = branch.getName();
+        this.productId = product.getId();
+        this.productName = product.getName();
+        this.previousStock = previousStock;
+        this.stock = product.getStock();
+        this.previousThreshold = previousThreshold;
+        this.threshold = product.getReorderThreshold();
+        this.branchStock = totalStock(branch);
+        this.franchiseStock = franchise.getBranches().stream().mapToInt(StockChangedEvent::totalStock).sum();
+    }
+
+    private static int totalStock(Branch branch) {
+        return branch.getProducts().stream()
+                .mapToInt(item -> item.getStock() == null ? 0 : item.getStock())
+                .sum();
+    }
+
+    // Stock bajo: en o por debajo del umbral (sin umbral nunca lo es)
+    public static boolean isLow(Integer stock, Integer threshold) {
+        return stock != null && threshold != null && stock <= threshold;
+    }
+
+    public boolean wasLow() { return isLow(previousStock, previousThreshold); }
+
+    public boolean isLow() { return isLow(stock, threshold); }
+
+    public String getFranchiseId() { return franchiseId; }
+
+    public String getFranchiseName() { return franchiseName; }
+
+    public String getBranchId() { return branchId; }
+
+    public String getBranchName() { return branchName; }
+
+    public String getProductId() { return productId; }
+
+    public String getProductName() { return productName; }
+
+    public Integer getPreviousStock() { return previousStock; }
+
+    public Integer getStock() { return stock; }
+
+    public Integer getThreshold() { return threshold; }
+
+    public int getBranchStock() { return branchStock; }
+
+    public int getFranchiseStock() { return franchiseStock; }
+}
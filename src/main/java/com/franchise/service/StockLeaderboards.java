@@ -0,0 +1,238 @@
+package com.franchise.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.stereotype.Component;
+
+import com.franchise.config.LeaderboardProperties;
+import com.franchise.dto.ProductLocationDTO;
+import com.franchise.model.Branch;
+import com.franchise.model.Franchise;
+import com.franchise.model.Product;
+import com.franchise.repository.FranchiseDeletedEvent;
+import com.franchise.repository.FranchiseSavedEvent;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// Rankings de productos por stock (global, por franquicia y por sucursal) en skip lists ordenadas por
+// stock. Cada cambio de stock mueve una entrada en O(log n); los cambios de estructura o nombres
+// recargan solo la franquicia afectada. Se cargan desde MongoDB al arrancar y, periódicamente, para
+// incorporar las escrituras de otras instancias.
+@Component
+@EnableConfigurationProperties(LeaderboardProperties.class)
+public class StockLeaderboards {
+
+    private static final Logger log = LoggerFactory.getLogger(StockLeaderboards.class);
+
+    public enum Order { TOP, BOTTOM }
+
+    private static final Comparator<Ranked> BY_STOCK = Comparator.comparingInt(Ranked::stock)
+            .thenComparing(Ranked::key);
+
+    @Autowired
+    private ReactiveMongoTemplate mongoTemplate;
+
+    private final LeaderboardProperties properties;
+
+    private final NavigableSet<Ranked> global = new ConcurrentSkipListSet<>(BY_STOCK);
+    private final Map<String, NavigableSet<Ranked>> byFranchise = new ConcurrentHashMap<>();
+    private final Map<String, NavigableSet<Ranked>> byBranch = new ConcurrentHashMap<>();
+    private final Map<String, Ranked> byKey = new ConcurrentHashMap<>();
+
+    // Se incrementa al vaciar los rankings: una recarga iniciada antes no debe reintroducir datos borrados
+    private long generation;
+
+    public StockLeaderboards(LeaderboardProperties properties) {
+        this.properties = properties;
+    }
+
+    // ==================== CONSULTA ====================
+
+    // Ranking de una sucursal (franchiseId y branchId), de una franquicia (solo franchiseId) o global
+    public List<ProductLocationDTO> ranking(String franchiseId, String branchId, Order order, int limit) {
+        NavigableSet<Ranked> ranked = franchiseId == null ? global
+                : branchId == null ? byFranchise.get(franchiseId)
+                : byBranch.get(branchKey(franchiseId, branchId));
+        List<ProductLocationDTO> result = new ArrayList<>();
+        if (ranked == null) {
+            return result;
+        }
+        int max = Math.min(Math.max(limit, 1), properties.getMaxSize());
+        Iterator<Ranked> iterator = order == Order.BOTTOM ? ranked.iterator() : ranked.descendingIterator();
+        while (iterator.hasNext() && result.size() < max) {
+            result.add(iterator.next().toLocation());
+        }
+        return result;
+    }
+
+    // ==================== MANTENIMIENTO ====================
+
+    @EventListener
+    public synchronized void onStockChanged(StockChangedEvent event) {
+        if (event.getStock() == null) {
+            return;
+        }
+        put(new Ranked(key(event.getFranchiseId(), event.getBranchId(), event.getProductId()),
+                event.getFranchiseId(), event.getFranchiseName(), event.getBranchId(), event.getBranchName(),
+                event.getProductId(), event.getProductName(), event.getStock()));
+    }
+
+    // Los cambios de stock ya llegan como StockChangedEvent; el resto recarga la franquicia
+    @EventListener
+    public void onSaved(FranchiseSavedEvent event) {
+        if (!event.isStockOnly()) {
+            load(event.getFranchise(), currentGeneration());
+        }
+    }
+
+    @EventListener
+    public synchronized void onDeleted(FranchiseDeletedEvent event) {
+        if (event.getFranchiseId() == null) {
+            generation++;
+            global.clear();
+            byFranchise.clear();
+            byBranch.clear();
+            byKey.clear();
+        } else {
+            removeFranchise(event.getFranchiseId());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        rebuild().subscribe();
+        if (!properties.getRebuildInterval().isZero()) {
+            Flux.interval(properties.getRebuildInterval())
+                    .onBackpressureDrop()
+                    .concatMap(tick -> rebuild())
+                    .subscribe();
+        }
+    }
+
+    // Recarga todas las franquicias y descarta las que ya no existen
+    Mono<Long> rebuild() {
+        Set<String> seen = ConcurrentHashMap.newKeySet();
+        long started = currentGeneration();
+        return mongoTemplate.findAll(Franchise.class)
+                .doOnNext(franchise -> {
+                    seen.add(franchise.getId());
+                    load(franchise, started);
+                })
+                .count()
+                .doOnNext(count -> {
+                    removeUnseen(seen, started);
+                    log.debug("Stock leaderboards loaded from {} franchises", count);
+                })
+                .onErrorResume(e -> {
+                    log.warn("Could not load stock leaderboards: {}", e.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    private synchronized long currentGeneration() {
+        return generation;
+    }
+
+    private synchronized void removeUnseen(Set<String> seen, long started) {
+        if (generation != started) {
+            return;
+        }
+        for (String franchiseId : new HashSet<>(byFranchise.keySet())) {
+            if (!seen.contains(franchiseId)) {
+                removeFranchise(franchiseId);
+            }
+        }
+    }
+
+    private synchronized void load(Franchise franchise, long expectedGeneration) {
+        if (generation != expectedGeneration) {
+            return;
+        }
+        removeFranchise(franchise.getId());
+        for (Branch branch : franchise.getBranches()) {
+            for (Product product : branch.getProducts()) {
+                if (product.getStock() != null) {
+                    put(new Ranked(key(franchise.getId(), branch.getId(), product.getId()), franchise.getId(),
+                            franchise.getName(), branch.getId(), branch.getName(), product.getId(), product.getName(),
+                            product.getStock()));
+                }
+            }
+        }
+    }
+
+    private void put(Ranked ranked) {
+        Ranked previous = byKey.put(ranked.key(), ranked);
+        if (previous != null) {
+            remove(previous);
+        }
+        global.add(ranked);
+        byFranchise.computeIfAbsent(ranked.franchiseId(), id -> new ConcurrentSkipListSet<>(BY_STOCK)).add(ranked);
+        byBranch.computeIfAbsent(branchKey(ranked.franchiseId(), ranked.branchId()),
+                id -> new ConcurrentSkipListSet<>(BY_STOCK)).add(ranked);
+    }
+
+    private void remove(Ranked ranked) {
+        global.remove(ranked);
+        NavigableSet<Ranked> franchise = byFranchise.get(ranked.franchiseId());
+        if (franchise != null) {
+            franchise.remove(ranked);
+        }
+        NavigableSet<Ranked> branch = byBranch.get(branchKey(ranked.franchiseId(), ranked.branchId()));
+        if (branch != null) {
+            branch.remove(ranked);
+        }
+    }
+
+    private void removeFranchise(String franchiseId) {
+        NavigableSet<Ranked> franchise = byFranchise.remove(franchiseId);
+        if (franchise == null) {
+            return;
+        }
+        for (Ranked ranked : franchise) {
+            global.remove(ranked);
+            byKey.remove(ranked.key());
+            byBranch.remove(branchKey(franchiseId, ranked.branchId()));
+        }
+    }
+
+    private static String key(String franchiseId, String branchId, String productId) {
+        return franchiseId + ":" + branchId + ":" + productId;
+    }
+
+    private static String branchKey(String franchiseId, String branchId) {
+        return franchiseId + ":" + branchId;
+    }
+
+    private record Ranked(String key, String franchiseId, String franchiseName, String branchId, String branchName,
+            String productId, String productName, int stock) {
+
+        ProductLocationDTO toLocation() {
+            ProductLocationDTO location = new ProductLocationDTO();
+            location.setFranchiseId(franchiseId);
+            location.setFranchiseName(franchiseName);
+            location.setBranchId(branchId);
+            location.setBranchName(branchName);
+            location.setProductId(productId);
+            location.setProductName(productName);
+            location.setStock(stock);
+            return location;
+        }
+    }
+}
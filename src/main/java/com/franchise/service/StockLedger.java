@@ -0,0 +1,234 @@
+package com.franchise.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import com.franchise.config.LedgerProperties;
+import com.franchise.dto.ProductLocationDTO;
+import com.franchise.model.Franchise;
+import com.franchise.model.StockMovement;
+import com.franchise.model.StockSnapshot;
+import com.franchise.repository.FranchiseDeletedEvent;
+import com.franchise.repository.FranchiseSavedEvent;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+// Registro de movimientos de stock (stock_movements, solo inserción) con instantáneas periódicas
+// (stock_snapshots). Los movimientos llegan como StockChangedEvent tras confirmarse la escritura y se
+// insertan en lotes fuera del camino de la petición. Cada cambio de estructura guarda una instantánea
+// de la franquicia del evento; las franquicias con movimientos reciben otra cada snapshot-interval, así
+// que el stock a una fecha se obtiene de una instantánea más, como mucho, un intervalo de movimientos.
+@Component
+@EnableConfigurationProperties(LedgerProperties.class)
+public class StockLedger {
+
+    private static final Logger log = LoggerFactory.getLogger(StockLedger.class);
+
+    @Autowired
+    private ReactiveMongoTemplate mongoTemplate;
+
+    private final LedgerProperties properties;
+    private final Sinks.Many<StockMovement> movements = Sinks.many().unicast().onBackpressureBuffer();
+    private final Sinks.Many<Mono<?>> writes = Sinks.many().unicast().onBackpressureBuffer();
+
+    // Franquicias con movimientos desde su última instantánea
+    private final Set<String> dirty = ConcurrentHashMap.newKeySet();
+
+    public StockLedger(LedgerProperties properties) {
+        this.properties = properties;
+
+        movements.asFlux()
+                .bufferTimeout(properties.getBatchSize(), properties.getBatchWindow(), true)
+                .concatMap(batch -> mongoTemplate.insertAll(batch)
+                        .then()
+                        .onErrorResume(e -> {
+                            log.warn("Could not write stock ledger ({} movements): {}", batch.size(), e.getMessage());
+                            return Mono.empty();
+                        }))
+                .subscribe();
+
+        writes.asFlux()
+                .concatMap(write -> write.onErrorResume(e -> {
+                    log.warn("Could not write stock snapshot: {}", e.getMessage());
+                    return Mono.empty();
+                }))
+                .subscribe();
+    }
+
+    // ==================== CONSULTA ====================
+
+    // Movimientos más recientes primero, de la franquicia o de una sucursal / producto
+    public Flux<StockMovement> history(String franchiseId, String branchId, String productId, int limit) {
+        Query query = Query.query(Criteria.where("franchiseId").is(franchiseId));
+        if (branchId != null) {
+            query.addCriteria(Criteria.where("branchId").is(branchId));
+        }
+        if (productId != null) {
+            query.addCriteria(Criteria.where("productId").is(productId));
+        }
+        int max = Math.min(Math.max(limit, 1), properties.getMaxHistory());
+        return mongoTemplate.find(query.with(Sort.by(Sort.Direction.DESC, "at")).limit(max), StockMovement.class);
+    }
+
+    // Última instantánea anterior a la fecha más los movimientos entre ambas
+    public Flux<ProductLocationDTO> asOf(String franchiseId, Instant at) {
+        Query latest = Query.query(Criteria.where("franchiseId").is(franchiseId).and("at").lte(at))
+                .with(Sort.by(Sort.Direction.DESC, "at"));
+        return mongoTemplate.findOne(latest, StockSnapshot.class)
+                .switchIfEmpty(Mono.error(new IllegalArgumentException(
+                        "No stock history for franchise " + franchiseId + " at " + at)))
+                .flatMapMany(snapshot -> {
+                    Query tail = Query.query(Criteria.where("franchiseId").is(franchiseId)
+                                    .and("at").gt(snapshot.getAt()).lte(at))
+                            .with(Sort.by(Sort.Direction.ASC, "at"));
+                    return mongoTemplate.find(tail, StockMovement.class)
+                            .collectList()
+                            .flatMapIterable(applied -> replay(snapshot, applied));
+                });
+    }
+
+    // ==================== REGISTRO ====================
+
+    @EventListener
+    public void onStockChanged(StockChangedEvent event) {
+        // Un cambio de umbral también publica StockChangedEvent, pero no mueve stock
+        if (Objects.equals(event.getPreviousStock(), event.getStock())) {
+            return;
+        }
+        StockMovement movement = new StockMovement();
+        movement.setFranchiseId(event.getFranchiseId());
+        movement.setBranchId(event.getBranchId());
+        movement.setBranchName(event.getBranchName());
+        movement.setProductId(event.getProductId());
+        movement.setProductName(event.getProductName());
+        movement.setPreviousStock(event.getPreviousStock());
+        movement.setStock(event.getStock());
+        movement.setAt(Instant.now());
+        dirty.add(event.getFranchiseId());
+        movements.emitNext(movement, Sinks.EmitFailureHandler.busyLooping(Duration.ofSeconds(1)));
+    }
+
+    // Altas, bajas y renombrados: instantánea del documento guardado, sin volver a leerlo
+    @EventListener
+    public void onSaved(FranchiseSavedEvent event) {
+        if (!event.isStockOnly()) {
+            write(mongoTemplate.insert(new StockSnapshot(event.getFranchise(), Instant.now())));
+        }
+    }
+
+    @EventListener
+    public void onDeleted(FranchiseDeletedEvent event) {
+        Criteria criteria;
+        if (event.getFranchiseId() == null) {
+            dirty.clear();
+            criteria = new Criteria();
+        } else {
+            dirty.remove(event.getFranchiseId());
+            criteria = Criteria.where("franchiseId").is(event.getFranchiseId());
+        }
+        write(mongoTemplate.remove(Query.query(criteria), StockSnapshot.class)
+                .then(mongoTemplate.remove(Query.query(criteria), StockMovement.class)));
+    }
+
+    // ==================== INSTANTÁNEAS Y COMPACTACIÓN ====================
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        Flux.interval(properties.getSnapshotInterval())
+                .onBackpressureDrop()
+                .concatMap(tick -> compact(Instant.now().minus(properties.getRetention()))
+                        .onErrorResume(e -> {
+                            log.warn("Could not compact stock ledger: {}", e.getMessage());
+                            return Mono.empty();
+                        }))
+                .subscribe();
+    }
+
+    // Instantánea de las franquicias con movimientos y descarte de lo anterior a la retención
+    Mono<Long> compact(Instant cutoff) {
+        return snapshotDirty().then(prune(cutoff));
+    }
+
+    // La franquicia se lee después de fijar el instante: todo movimiento registrado hasta entonces ya
+    // está en el documento, y uno posterior que también lo esté se vuelve a aplicar con su valor absoluto
+    private Mono<Void> snapshotDirty() {
+        return Flux.fromIterable(new ArrayList<>(dirty))
+                .concatMap(franchiseId -> {
+                    dirty.remove(franchiseId);
+                    Instant at = Instant.now();
+                    return mongoTemplate.findById(franchiseId, Franchise.class)
+                            .flatMap(franchise -> mongoTemplate.insert(new StockSnapshot(franchise, at)));
+                })
+                .then();
+    }
+
+    // Por franquicia, la última instantánea anterior al corte pasa a ser la base del historial: se
+    // eliminan las instantáneas previas y los movimientos que ya contiene
+    private Mono<Long> prune(Instant cutoff) {
+        return mongoTemplate.findDistinct(Query.query(Criteria.where("at").lt(cutoff)), "franchiseId",
+                        StockSnapshot.class, String.class)
+                .concatMap(franchiseId -> mongoTemplate.findOne(Query.query(Criteria.where("franchiseId")
+                                        .is(franchiseId).and("at").lt(cutoff))
+                                .with(Sort.by(Sort.Direction.DESC, "at")), StockSnapshot.class)
+                        .flatMap(base -> mongoTemplate.remove(Query.query(Criteria.where("franchiseId").is(franchiseId)
+                                        .and("at").lt(base.getAt())), StockSnapshot.class)
+                                .then(mongoTemplate.remove(Query.query(Criteria.where("franchiseId").is(franchiseId)
+                                        .and("at").lte(base.getAt())), StockMovement.class))
+                                .map(result -> result.getDeletedCount())))
+                .reduce(0L, Long::sum);
+    }
+
+    private void write(Mono<?> write) {
+        writes.emitNext(write, Sinks.EmitFailureHandler.busyLooping(Duration.ofSeconds(1)));
+    }
+
+    private static List<ProductLocationDTO> replay(StockSnapshot snapshot, List<StockMovement> tail) {
+        Map<String, ProductLocationDTO> products = new LinkedHashMap<>();
+        for (StockSnapshot.Entry entry : snapshot.getProducts()) {
+            products.put(entry.getBranchId() + ":" + entry.getProductId(), location(snapshot,
+                    entry.getBranchId(), entry.getBranchName(), entry.getProductId(), entry.getProductName(),
+                    entry.getStock()));
+        }
+        for (StockMovement movement : tail) {
+            ProductLocationDTO product = products.get(movement.getBranchId() + ":" + movement.getProductId());
+            if (product != null) {
+                product.setStock(movement.getStock());
+            }
+        }
+        return new ArrayList<>(products.values());
+    }
+
+    private static ProductLocationDTO location(StockSnapshot snapshot, String branchId, String branchName,
+            String productId, String productName, Integer stock) {
+        ProductLocationDTO location = new ProductLocationDTO();
+        location.setFranchiseId(snapshot.getFranchiseId());
+        location.setFranchiseName(snapshot.getFranchiseName());
+        location.setBranchId(branchId);
+        location.setBranchName(branchName);
+        location.setProductId(productId);
+        location.setProductName(productName);
+        location.setStock(stock);
+        return location;
+    }
+}
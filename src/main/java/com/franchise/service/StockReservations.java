@@ -0,0 +1,293 @@
+package com.franchise.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import com.franchise.config.ReservationProperties;
+import com.franchise.model.Franchise;
+import com.franchise.model.Product;
+import com.franchise.model.StockReservation;
+import com.franchise.model.StockReservation.Status;
+import com.franchise.repository.FranchiseDeletedEvent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+// Reservas de stock con vencimiento. La cantidad retenida de cada producto (Product.reserved) vive en
+// el documento de la franquicia, junto al stock:
+// - Reservar es un $inc condicionado a que el stock siga siendo el leído y a que retenido + cantidad
+//   <= stock, así que comprobación e incremento son atómicos sobre un mismo documento y las reservas
+//   concurrentes no sobrevenden aunque el stock cambie a la vez.
+// - Liberar y vencer son $inc parciales; confirmar descuenta stock y retención en un único save
+//   versionado (FranchiseMutations.consumeReserved) desde FranchiseService.
+// - Todos incrementan la versión de la franquicia, de modo que un save que leyó antes no las pisa.
+// Las transiciones de estado de cada reserva también son atómicas (findAndModify condicionado al
+// estado ACTIVE), de modo que confirmar, liberar y vencer una misma reserva desde varias instancias
+// solo descuenta su cantidad una vez.
+@Component
+@EnableConfigurationProperties(ReservationProperties.class)
+public class StockReservations {
+
+    private static final Logger log = LoggerFactory.getLogger(StockReservations.class);
+
+    // Concurrencia de las transiciones dentro de un lote del barrido
+    private static final int SWEEP_CONCURRENCY = 16;
+
+    // Intentos de retención si el stock cambia entre la lectura y el $inc condicionado
+    private static final int HOLD_ATTEMPTS = 10;
+
+    private static final String RESERVED = "branches.$[b].products.$[p].reserved";
+
+    // Colección de la versión anterior (contadores por producto), migrada a Product.reserved
+    private static final String LEGACY_COLLECTION = "reserved_stock";
+
+    @Autowired
+    private ReactiveMongoTemplate mongoTemplate;
+
+    private final ReservationProperties properties;
+    private final Counter rejected;
+    private final Map<Status, Counter> outcomes = new EnumMap<>(Status.class);
+
+    public StockReservations(ReservationProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        for (Status status : Status.values()) {
+            outcomes.put(status, Counter.builder("franchise.reservations")
+                    .description("Reservas de stock por resultado")
+                    .tag("outcome", status.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+        this.rejected = Counter.builder("franchise.reservations")
+                .description("Reservas de stock por resultado")
+                .tag("outcome", "rejected")
+                .register(meterRegistry);
+    }
+
+    // ==================== OPERACIONES ====================
+
+    public Mono<StockReservation> reserve(String franchiseId, String branchId, String productId, int quantity,
+            Long ttlSeconds) {
+        Instant now = Instant.now();
+        StockReservation reservation = new StockReservation();
+        reservation.setFranchiseId(franchiseId);
+        reservation.setBranchId(branchId);
+        reservation.setProductId(productId);
+        reservation.setQuantity(quantity);
+        reservation.setStatus(Status.ACTIVE);
+        reservation.setCreatedAt(now);
+        reservation.setExpiresAt(now.plus(ttl(ttlSeconds)));
+
+        return Mono.defer(() -> hold(reservation))
+                .retryWhen(Retry.max(HOLD_ATTEMPTS - 1).filter(StockChanged.class::isInstance)
+                        .onRetryExhaustedThrow((spec, signal) -> new IllegalStateException(
+                                "Stock changed concurrently for product: " + productId + ", please retry")))
+                .then(Mono.defer(() -> mongoTemplate.insert(reservation))
+                        .onErrorResume(e -> releaseQuantity(reservation).then(Mono.error(e))))
+                .doOnNext(saved -> outcomes.get(Status.ACTIVE).increment());
+    }
+
+    // Pasa la reserva a CONFIRMED y aplica el descuento, que resta la cantidad del stock y de lo
+    // retenido en la misma escritura; si el descuento falla la reserva vuelve a estar activa
+    public Mono<StockReservation> confirm(String reservationId,
+            Function<StockReservation, Mono<?>> consumeReserved) {
+        Criteria active = Criteria.where("status").is(Status.ACTIVE).and("expiresAt").gt(Instant.now());
+        return transition(reservationId, active, Status.CONFIRMED)
+                .switchIfEmpty(Mono.defer(() -> notActive(reservationId)))
+                .flatMap(reservation -> consumeReserved.apply(reservation)
+                        .onErrorResume(e -> reactivate(reservation).then(Mono.error(e)))
+                        .thenReturn(reservation));
+    }
+
+    public Mono<StockReservation> release(String reservationId) {
+        return transition(reservationId, Criteria.where("status").is(Status.ACTIVE), Status.RELEASED)
+                .switchIfEmpty(Mono.defer(() -> notActive(reservationId)))
+                .flatMap(reservation -> releaseQuantity(reservation).thenReturn(reservation));
+    }
+
+    public Mono<StockReservation> find(String reservationId) {
+        return mongoTemplate.findById(reservationId, StockReservation.class)
+                .switchIfEmpty(Mono.error(
+                        new IllegalArgumentException("Reservation not found with id: " + reservationId)));
+    }
+
+    // ==================== BARRIDO DE VENCIDAS ====================
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startSweeper() {
+        Flux.interval(properties.getSweepInterval())
+                .onBackpressureDrop()
+                .concatMap(tick -> sweep()
+                        .onErrorResume(e -> {
+                            log.warn("Could not sweep expired reservations: {}", e.getMessage());
+                            return Mono.empty();
+                        }))
+                .subscribe();
+    }
+
+    // Lotes de sweep-batch-size hasta que no queden reservas vencidas
+    Mono<Long> sweep() {
+        return sweepBatch()
+                .expand(swept -> swept < properties.getSweepBatchSize() ? Mono.empty() : sweepBatch())
+                .reduce(0L, Long::sum);
+    }
+
+    private Mono<Long> sweepBatch() {
+        Query due = Query.query(Criteria.where("status").is(Status.ACTIVE).and("expiresAt").lte(Instant.now()))
+                .limit(properties.getSweepBatchSize());
+        due.fields().include("_id");
+        return mongoTemplate.find(due, StockReservation.class)
+                .flatMap(candidate -> transition(candidate.getId(), Criteria.where("status").is(Status.ACTIVE),
+                                Status.EXPIRED)
+                        .flatMap(reservation -> releaseQuantity(reservation).thenReturn(reservation)),
+                        SWEEP_CONCURRENCY)
+                .count();
+    }
+
+    // ==================== MIGRACIÓN ====================
+
+    // La versión anterior guardaba la cantidad retenida en reserved_stock (_id franquicia:sucursal:producto).
+    // Se copia a Product.reserved y se elimina la colección
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateLegacyCounters() {
+        mongoTemplate.collectionExists(LEGACY_COLLECTION)
+                .filter(exists -> exists)
+                .flatMapMany(exists -> mongoTemplate.find(Query.query(Criteria.where("reserved").gt(0)),
+                        Document.class, LEGACY_COLLECTION))
+                .concatMap(counter -> {
+                    String[] key = counter.getString("_id").split(":", 3);
+                    return mongoTemplate.updateFirst(
+                            productQuery(key[0], key[1], Criteria.where("_id").is(key[2])),
+                            reservedUpdate(new Update().set(RESERVED, counter.getInteger("reserved")), key[1], key[2]),
+                            Franchise.class);
+                })
+                .count()
+                .flatMap(migrated -> mongoTemplate.dropCollection(LEGACY_COLLECTION).thenReturn(migrated))
+                .subscribe(
+                        migrated -> log.info("reserved_stock: {} retenciones migradas a los productos", migrated),
+                        error -> log.warn("Could not migrate reserved_stock: {}", error.getMessage()));
+    }
+
+    @EventListener
+    public void onDeleted(FranchiseDeletedEvent event) {
+        Criteria criteria = event.getFranchiseId() == null
+                ? new Criteria() : Criteria.where("franchiseId").is(event.getFranchiseId());
+        mongoTemplate.remove(Query.query(criteria), StockReservation.class)
+                .subscribe(
+                        result -> {},
+                        error -> log.warn("Could not remove reservations: {}", error.getMessage()));
+    }
+
+    // ==================== AUXILIARES ====================
+
+    private Mono<StockReservation> transition(String reservationId, Criteria from, Status to) {
+        Query query = Query.query(Criteria.where("_id").is(reservationId)).addCriteria(from);
+        Update update = new Update().set("status", to).set("purgeAt", Instant.now().plus(properties.getRetention()));
+        return mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(true),
+                        StockReservation.class)
+                .doOnNext(reservation -> outcomes.get(to).increment());
+    }
+
+    private Mono<StockReservation> reactivate(StockReservation reservation) {
+        Query query = Query.query(Criteria.where("_id").is(reservation.getId()).and("status").is(Status.CONFIRMED));
+        return mongoTemplate.findAndModify(query, new Update().set("status", Status.ACTIVE).unset("purgeAt"),
+                StockReservation.class);
+    }
+
+    // Retiene la cantidad si stock - retenido alcanza. La condición se evalúa con el stock leído: si
+    // otra escritura lo cambió el $inc no coincide y se vuelve a leer
+    private Mono<Void> hold(StockReservation reservation) {
+        String productId = reservation.getProductId();
+        int quantity = reservation.getQuantity();
+        return mongoTemplate.findById(reservation.getFranchiseId(), Franchise.class)
+                .switchIfEmpty(Mono.error(new IllegalArgumentException(
+                        "Franchise not found with id: " + reservation.getFranchiseId())))
+                .flatMap(franchise -> {
+                    Product product = FranchiseMutations.requireProduct(
+                            FranchiseMutations.requireBranch(franchise, reservation.getBranchId()), productId);
+                    int stock = product.getStock() == null ? 0 : product.getStock();
+                    if (stock - FranchiseMutations.reserved(product) < quantity) {
+                        rejected.increment();
+                        return Mono.error(insufficientStock(productId));
+                    }
+                    Criteria unchanged = Criteria.where("_id").is(productId)
+                            .and("stock").is(product.getStock())
+                            .and("reserved").not().gt(stock - quantity);
+                    return mongoTemplate.updateFirst(productQuery(reservation, unchanged),
+                                    reservedUpdate(new Update().inc(RESERVED, quantity), reservation.getBranchId(),
+                                            productId), Franchise.class)
+                            .flatMap(result -> result.getMatchedCount() > 0
+                                    ? Mono.<Void>empty() : Mono.error(new StockChanged()));
+                });
+    }
+
+    // Devuelve la cantidad retenida (sin bajar de 0); si el producto ya no existe no hay nada que liberar
+    private Mono<Void> releaseQuantity(StockReservation reservation) {
+        Criteria held = Criteria.where("_id").is(reservation.getProductId())
+                .and("reserved").gte(reservation.getQuantity());
+        return mongoTemplate.updateFirst(productQuery(reservation, held),
+                reservedUpdate(new Update().inc(RESERVED, -reservation.getQuantity()), reservation.getBranchId(),
+                        reservation.getProductId()), Franchise.class).then();
+    }
+
+    private static Query productQuery(StockReservation reservation, Criteria product) {
+        return productQuery(reservation.getFranchiseId(), reservation.getBranchId(), product);
+    }
+
+    private static Query productQuery(String franchiseId, String branchId, Criteria product) {
+        return Query.query(Criteria.where("_id").is(franchiseId)
+                .and("branches").elemMatch(Criteria.where("_id").is(branchId).and("products").elemMatch(product)));
+    }
+
+    // Cambio de la retención que incrementa también la versión: un save que leyó la franquicia antes
+    // falla y se reintenta en lugar de pisarla
+    private static Update reservedUpdate(Update update, String branchId, String productId) {
+        return update.inc("version", 1)
+                .filterArray(Criteria.where("b._id").is(branchId))
+                .filterArray(Criteria.where("p._id").is(productId));
+    }
+
+    private Mono<StockReservation> notActive(String reservationId) {
+        return find(reservationId).flatMap(reservation -> Mono.error(reservation.getStatus() == Status.ACTIVE
+                ? new IllegalStateException("Reservation has expired: " + reservationId)
+                : new IllegalStateException("Reservation is " + reservation.getStatus().name().toLowerCase()
+                        + ": " + reservationId)));
+    }
+
+    private Duration ttl(Long ttlSeconds) {
+        if (ttlSeconds == null) {
+            return properties.getDefaultTtl();
+        }
+        Duration requested = Duration.ofSeconds(ttlSeconds);
+        return requested.compareTo(properties.getMaxTtl()) > 0 ? properties.getMaxTtl() : requested;
+    }
+
+    private static IllegalStateException insufficientStock(String productId) {
+        return new IllegalStateException("Insufficient available stock for product: " + productId);
+    }
+
+    // El stock del producto cambió entre la lectura y la retención
+    private static final class StockChanged extends RuntimeException {
+        private StockChanged() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package com.franchise.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.ReactiveBulkOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import com.franchise.config.StockSeriesProperties;
+import com.franchise.dto.StockSeriesDTO;
+import com.franchise.model.StockRollup;
+import com.franchise.model.StockRollup.Resolution;
+import com.franchise.model.StockSample;
+import com.franchise.repository.FranchiseDeletedEvent;
+
+import com.mongodb.MongoCommandException;
+import com.mongodb.client.model.CreateCollectionOptions;
+import com.mongodb.client.model.TimeSeriesGranularity;
+import com.mongodb.client.model.TimeSeriesOptions;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+// Series temporales de stock por producto, sucursal y franquicia. Cada cambio de stock genera una muestra
+// por serie en stock_samples (colección de series temporales de MongoDB) y actualiza sus agregados por
+// minuto, hora y día en stock_rollups. Las muestras se escriben en lotes y, dentro de cada lote, los
+// agregados de un mismo intervalo se combinan en memoria antes de un único upsert por intervalo.
+@Component
+@EnableConfigurationProperties(StockSeriesProperties.class)
+public class StockSeries {
+
+    private static final Logger log = LoggerFactory.getLogger(StockSeries.class);
+
+    private static final int NAMESPACE_EXISTS = 48;
+
+    @Autowired
+    private ReactiveMongoTemplate mongoTemplate;
+
+    private final StockSeriesProperties properties;
+    private final Sinks.Many<StockSample> samples = Sinks.many().unicast().onBackpressureBuffer();
+
+    // La colección de series temporales debe existir antes de la primera inserción: una inserción sobre
+    // una colección inexistente la crearía como colección normal. Solo se cachea el éxito: si la creación
+    // falla, el lote falla sin insertar y el siguiente lo vuelve a intentar
+    private final Mono<Void> collectionReady;
+
+    public StockSeries(StockSeriesProperties properties) {
+        this.properties = properties;
+        this.collectionReady = Mono.defer(() -> mongoTemplate.collectionExists(StockSample.class))
+                .flatMap(exists -> exists ? Mono.empty() : createCollection())
+                .cache(done -> Duration.ofMillis(Long.MAX_VALUE), error -> Duration.ZERO,
+                        () -> Duration.ofMillis(Long.MAX_VALUE));
+
+        samples.asFlux()
+                .bufferTimeout(properties.getBatchSize(), properties.getBatchWindow(), true)
+                .concatMap(batch -> write(batch)
+                        .onErrorResume(e -> {
+                            log.warn("Could not write stock series ({} samples): {}", batch.size(), e.getMessage());
+                            return Mono.empty();
+                        }))
+                .subscribe();
+    }
+
+    // ==================== CONSULTA ====================
+
+    // Serie de un producto (branchId y productId), del total de una sucursal (solo branchId) o del total
+    // de la franquicia, con la resolución más fina que no supera el número de puntos pedido. Sin 'to'
+    // hasta ahora; sin 'from' el día anterior a 'to'.
+    public Mono<StockSeriesDTO> series(String franchiseId, String branchId, String productId, Instant from,
+            Instant to, int points) {
+        Instant end = to == null ? Instant.now() : to;
+        Instant start = from == null ? end.minus(Duration.ofDays(1)) : from;
+        return find(franchiseId, branchId, productId, start, end, points);
+    }
+
+    private Mono<StockSeriesDTO> find(String franchiseId, String branchId, String productId, Instant from,
+            Instant to, int points) {
+        if (productId != null && branchId == null) {
+            return Mono.error(new IllegalArgumentException("Branch id is required for a product series"));
+        }
+        if (!from.isBefore(to)) {
+            return Mono.error(new IllegalArgumentException("'from' must be before 'to'"));
+        }
+        int max = Math.min(Math.max(points, 1), properties.getMaxPoints());
+        Resolution resolution = resolution(Duration.between(from, to), max);
+
+        // Si ni la resolución diaria cabe en los puntos pedidos, se devuelven los más recientes
+        Query query = Query.query(Criteria.where("franchiseId").is(franchiseId)
+                        .and("branchId").is(branchId)
+                        .and("productId").is(productId)
+                        .and("resolution").is(resolution)
+                        .and("at").gte(resolution.bucket(from)).lte(to))
+                .with(Sort.by(Sort.Direction.DESC, "at"))
+                .limit(max);
+        return mongoTemplate.find(query, StockRollup.class)
+                .map(StockSeriesDTO.Point::new)
+                .collectList()
+                .map(found -> {
+                    List<StockSeriesDTO.Point> ordered = new ArrayList<>(found);
+                    Collections.reverse(ordered);
+                    StockSeriesDTO series = new StockSeriesDTO();
+                    series.setFranchiseId(franchiseId);
+                    series.setBranchId(branchId);
+                    series.setProductId(productId);
+                    series.setResolution(resolution);
+                    series.setFrom(from);
+                    series.setTo(to);
+                    series.setPoints(ordered);
+                    return series;
+                });
+    }
+
+    static Resolution resolution(Duration range, int points) {
+        for (Resolution resolution : Resolution.values()) {
+            if (range.dividedBy(resolution.duration()) < points) {
+                return resolution;
+            }
+        }
+        return Resolution.DAY;
+    }
+
+    // ==================== REGISTRO ====================
+
+    @EventListener
+    public void onStockChanged(StockChangedEvent event) {
+        if (Objects.equals(event.getPreviousStock(), event.getStock()) || event.getStock() == null) {
+            return;
+        }
+        Instant at = Instant.now();
+        String franchiseId = event.getFranchiseId();
+        emit(new StockSample(new StockSample.Series(franchiseId, event.getBranchId(), event.getProductId()),
+                event.getStock(), at));
+        emit(new StockSample(new StockSample.Series(franchiseId, event.getBranchId(), null),
+                event.getBranchStock(), at));
+        emit(new StockSample(new StockSample.Series(franchiseId, null, null), event.getFranchiseStock(), at));
+    }
+
+    @EventListener
+    public void onDeleted(FranchiseDeletedEvent event) {
+        Criteria rollups = event.getFranchiseId() == null
+                ? new Criteria() : Criteria.where("franchiseId").is(event.getFranchiseId());
+        Criteria samples = event.getFranchiseId() == null
+                ? new Criteria() : Criteria.where("series.franchiseId").is(event.getFranchiseId());
+        mongoTemplate.remove(Query.query(rollups), StockRollup.class)
+                .then(mongoTemplate.remove(Query.query(samples), StockSample.class))
+                .subscribe(
+                        result -> {},
+                        error -> log.warn("Could not remove stock series: {}", error.getMessage()));
+    }
+
+    private Mono<Void> createCollection() {
+        CreateCollectionOptions options = new CreateCollectionOptions()
+                .timeSeriesOptions(new TimeSeriesOptions("at")
+                        .metaField("series")
+                        .granularity(TimeSeriesGranularity.MINUTES))
+                .expireAfter(properties.getRawRetention().toSeconds(), TimeUnit.SECONDS);
+        return mongoTemplate.getMongoDatabase()
+                .flatMap(database -> Mono.from(database.createCollection(
+                        mongoTemplate.getCollectionName(StockSample.class), options)))
+                .then()
+                // Otra instancia la creó entre la comprobación y la creación
+                .onErrorResume(e -> e instanceof MongoCommandException command
+                        && command.getErrorCode() == NAMESPACE_EXISTS, e -> Mono.empty())
+                .doOnError(e -> log.warn("Could not create stock samples time series collection: {}",
+                        e.getMessage()));
+    }
+
+    private void emit(StockSample sample) {
+        samples.emitNext(sample, Sinks.EmitFailureHandler.busyLooping(Duration.ofSeconds(1)));
+    }
+
+    private Mono<Void> write(List<StockSample> batch) {
+        return collectionReady
+                .then(mongoTemplate.insertAll(batch).then())
+                .then(Mono.defer(() -> rollup(batch)));
+    }
+
+    // ==================== AGREGADOS ====================
+
+    private Mono<Void> rollup(List<StockSample> batch) {
+        Map<String, Bucket> buckets = new LinkedHashMap<>();
+        for (StockSample sample : batch) {
+            for (Resolution resolution : Resolution.values()) {
+                Instant bucket = resolution.bucket(sample.getAt());
+                buckets.computeIfAbsent(StockRollup.id(resolution, sample.getSeries(), bucket),
+                                id -> new Bucket(resolution, sample.getSeries(), bucket))
+                        .add(sample.getStock());
+            }
+        }
+        ReactiveBulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, StockRollup.class);
+        buckets.forEach((id, bucket) -> bulk.upsert(Query.query(Criteria.where("_id").is(id)), bucket.update(
+                bucket.at.plus(bucket.resolution.duration()).plus(retention(bucket.resolution)))));
+        return bulk.execute().then();
+    }
+
+    private Duration retention(Resolution resolution) {
+        return switch (resolution) {
+            case MINUTE -> properties.getMinuteRetention();
+            case HOUR -> properties.getHourRetention();
+            case DAY -> properties.getDayRetention();
+        };
+    }
+
+    // Muestras de un intervalo dentro de un lote
+    private static final class Bucket {
+
+        private final Resolution resolution;
+        private final StockSample.Series series;
+        private final Instant at;
+        private int min = Integer.MAX_VALUE;
+        private int max = Integer.MIN_VALUE;
+        private long sum;
+        private long count;
+        private int last;
+
+        Bucket(Resolution resolution, StockSample.Series series, Instant at) {
+            this.resolution = resolution;
+            this.series = series;
+            this.at = at;
+        }
+
+        void add(int stock) {
+            min = Math.min(min, stock);
+            max = Math.max(max, stock);
+            sum += stock;
+            count++;
+            last = stock;
+        }
+
+        // Los lotes se aplican en orden, así que el último valor del lote es el último del intervalo
+        Update update(Instant expireAt) {
+            return new Update()
+                    .min("min", min)
+                    .max("max", max)
+                    .inc("sum", sum)
+                    .inc("count", count)
+                    .set("last", last)
+                    .setOnInsert("franchiseId", series.franchiseId())
+                    .setOnInsert("branchId", series.branchId())
+                    .setOnInsert("productId", series.productId())
+                    .setOnInsert("resolution", resolution)
+                    .setOnInsert("at", at)
+                    .setOnInsert("expireAt", expireAt);
+        }
+    }
+}
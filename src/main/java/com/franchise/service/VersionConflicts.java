@@ -0,0 +1,58 @@
+package com.franchise.service;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import reactor.util.retry.Retry;
+import reactor.util.retry.RetryBackoffSpec;
+
+// Reintentos de lectura-modificación-guardado ante OptimisticLockingFailureException: otra escritura
+// cambió la versión de la franquicia entre la lectura y el save. Cada intento debe volver a leer el
+// documento y a aplicar la mutación; agotados los intentos la operación falla con 409.
+final class VersionConflicts {
+
+    static final int MAX_ATTEMPTS = 10;
+    private static final Duration BACKOFF = Duration.ofMillis(5);
+    private static final Duration MAX_BACKOFF = Duration.ofMillis(200);
+
+    private VersionConflicts() {}
+
+    static RetryBackoffSpec retry() {
+        return Retry.backoff(MAX_ATTEMPTS - 1, BACKOFF)
+                .maxBackoff(MAX_BACKOFF)
+                .filter(OptimisticLockingFailureException.class::isInstance)
+                .onRetryExhaustedThrow((spec, signal) -> exhausted(signal.failure()));
+    }
+
+    // Variante bloqueante (BlockingFranchiseService): mismo número de intentos y backoff con jitter
+    static <T> T call(Supplier<T> attempt) {
+        long backoff = BACKOFF.toMillis();
+        for (int i = 1; ; i++) {
+            try {
+                return attempt.get();
+            } catch (OptimisticLockingFailureException e) {
+                if (i == MAX_ATTEMPTS) {
+                    throw exhausted(e);
+                }
+                sleep(ThreadLocalRandom.current().nextLong(backoff / 2, backoff + 1));
+                backoff = Math.min(backoff * 2, MAX_BACKOFF.toMillis());
+            }
+        }
+    }
+
+    private static IllegalStateException exhausted(Throwable cause) {
+        return new IllegalStateException("Franchise was modified concurrently, please retry", cause);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while retrying a concurrent write", e);
+        }
+    }
+}
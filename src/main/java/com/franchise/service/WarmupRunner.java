@@ -0,0 +1,277 @@
+package com.franchise.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.Decoder;
+import org.springframework.core.codec.Encoder;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.DecoderHttpMessageReader;
+import org.springframework.http.codec.EncoderHttpMessageWriter;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.http.codec.json.AbstractJackson2Decoder;
+import org.springframework.http.codec.json.AbstractJackson2Encoder;
+import org.springframework.stereotype.Component;
+
+import com.franchise.config.WarmupProperties;
+import com.franchise.config.WriteSerializationProperties;
+import com.franchise.dto.ApiResponseDTO;
+import com.franchise.dto.ProductTopStockDTO;
+import com.franchise.dto.UpdateNameDTO;
+import com.franchise.dto.UpdateStockDTO;
+import com.franchise.model.Branch;
+import com.franchise.model.Franchise;
+import com.franchise.model.Product;
+import com.franchise.service.FranchiseService.FranchiseStatsDTO;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.netty.buffer.PooledByteBufAllocator;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+// Calentamiento del JIT antes de aceptar tráfico: ejecuta los caminos calientes de la implementación
+// de FranchiseService activa sin tocar MongoDB y codifica/decodifica las respuestas con los codecs
+// del servidor:
+// - Reactiva: ReactiveFranchiseService sobre un repositorio en memoria.
+// - Perfil blocking: las mutaciones de BlockingFranchiseService (FranchiseMutations) en su scheduler
+//   de hilos virtuales; el driver síncrono no se puede calentar sin MongoDB.
+// Forma parte del grupo de readiness y reporta DOWN hasta que termina o vence el timeout.
+@Component("warmupHealthIndicator")
+@EnableConfigurationProperties(WarmupProperties.class)
+public class WarmupRunner implements HealthIndicator {
+
+    private static final Logger log = LoggerFactory.getLogger(WarmupRunner.class);
+
+    private enum Phase { PENDING, RUNNING, COMPLETED, TIMED_OUT, FAILED, DISABLED }
+
+    @Autowired
+    private ServerCodecConfigurer codecConfigurer;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    @Qualifier("blockingServiceScheduler")
+    private ObjectProvider<Scheduler> blockingScheduler;
+
+    private final WarmupProperties properties;
+    private final NettyDataBufferFactory bufferFactory = new NettyDataBufferFactory(PooledByteBufAllocator.DEFAULT);
+
+    private volatile Phase phase;
+    private volatile long startedAt;
+    private volatile int completedIterations;
+
+    public WarmupRunner(WarmupProperties properties) {
+        this.properties = properties;
+        this.phase = properties.isEnabled() ? Phase.PENDING : Phase.DISABLED;
+    }
+
+    @EventListener(ApplicationStartedEvent.class)
+    public void start() {
+        if (phase != Phase.PENDING) {
+            return;
+        }
+        startedAt = System.nanoTime();
+        phase = Phase.RUNNING;
+
+        Thread thread = new Thread(this::run, "franchise-warmup");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public Health health() {
+        Phase current = phase;
+        if (current == Phase.RUNNING && isExpired()) {
+            current = Phase.TIMED_OUT;
+        }
+
+        Health.Builder builder = (current == Phase.PENDING || current == Phase.RUNNING) ? Health.down() : Health.up();
+        builder.withDetail("phase", current.name().toLowerCase());
+        if (current != Phase.DISABLED) {
+            builder.withDetail("iterations", completedIterations);
+        }
+        return builder.build();
+    }
+
+    private void run() {
+        Phase outcome = Phase.COMPLETED;
+        try {
+            Scheduler scheduler = environment.acceptsProfiles(Profiles.of("blocking"))
+                    ? blockingScheduler.getObject() : null;
+            FranchiseService service = scheduler != null ? null : new ReactiveFranchiseService(
+                    new InMemoryFranchiseRepository(), new FranchiseWriteSerializer(new WriteSerializationProperties()));
+            List<Encoder<Object>> encoders = jacksonEncoders();
+            List<Decoder<Object>> decoders = jacksonDecoders();
+
+            for (int i = 0; i < properties.getIterations(); i++) {
+                if (isExpired()) {
+                    outcome = Phase.TIMED_OUT;
+                    break;
+                }
+                Iteration iteration = scheduler != null ? blockingIteration(scheduler, i) : reactiveIteration(service, i);
+                encode(iteration, encoders, decoders);
+                completedIterations = i + 1;
+            }
+        } catch (RuntimeException e) {
+            outcome = Phase.FAILED;
+            log.warn("JIT warm-up failed after {} iterations: {}", completedIterations, e.getMessage());
+        }
+
+        long elapsed = System.nanoTime() - startedAt;
+        Timer.builder("franchise.warmup.duration")
+                .description("Duración del calentamiento previo a readiness")
+                .tag("outcome", outcome.name().toLowerCase())
+                .register(meterRegistry)
+                .record(elapsed, TimeUnit.NANOSECONDS);
+        phase = outcome;
+        log.info("JIT warm-up {} in {} ms ({} iterations)", outcome.name().toLowerCase(),
+                TimeUnit.NANOSECONDS.toMillis(elapsed), completedIterations);
+    }
+
+    private Iteration reactiveIteration(FranchiseService service, int iteration) {
+        Franchise created = service.createFranchise(syntheticFranchise("Warmup " + iteration)).block();
+        String franchiseId = created.getId();
+        String branchId = created.getBranches().get(0).getId();
+        String productId = created.getBranches().get(0).getProducts().get(0).getId();
+
+        service.addBranch(franchiseId, new Branch("Sucursal extra")).block();
+        service.addProduct(franchiseId, branchId, new Product("Producto extra", iteration % 100)).block();
+        service.updateProductStock(franchiseId, branchId, productId, new UpdateStockDTO(iteration % 500)).block();
+        service.updateProductName(franchiseId, branchId, productId, new UpdateNameDTO("Producto " + iteration)).block();
+        service.updateBranchName(franchiseId, branchId, new UpdateNameDTO("Sucursal " + iteration)).block();
+        Franchise franchise = service.getFranchiseById(franchiseId).block();
+
+        Iteration result = new Iteration(franchise, service.getTopStockProductsByFranchise(franchiseId).block(),
+                service.getFranchiseStats(franchiseId).block());
+        service.deleteFranchise(franchiseId).block();
+        return result;
+    }
+
+    // Cada operación de BlockingFranchiseService es una llamada en el scheduler que lee, aplica la
+    // mutación y guarda; aquí el documento vive en memoria
+    private Iteration blockingIteration(Scheduler scheduler, int iteration) {
+        Franchise franchise = call(scheduler, () -> {
+            Franchise created = syntheticFranchise("Warmup " + iteration);
+            FranchiseMutations.assignIds(created);
+            return created;
+        });
+        String branchId = franchise.getBranches().get(0).getId();
+        String productId = franchise.getBranches().get(0).getProducts().get(0).getId();
+
+        apply(scheduler, franchise, FranchiseMutations.addBranch(new Branch("Sucursal extra")));
+        apply(scheduler, franchise, FranchiseMutations.addProduct(branchId, new Product("Producto extra", iteration % 100)));
+        apply(scheduler, franchise, FranchiseMutations.updateStock(branchId, productId, iteration % 500, change -> {}));
+        apply(scheduler, franchise, FranchiseMutations.renameProduct(branchId, productId, "Producto " + iteration));
+        apply(scheduler, franchise, FranchiseMutations.renameBranch(branchId, "Sucursal " + iteration));
+
+        return new Iteration(franchise, call(scheduler, () -> FranchiseMutations.topStockProducts(franchise)),
+                call(scheduler, () -> FranchiseMutations.stats(franchise)));
+    }
+
+    private static void apply(Scheduler scheduler, Franchise franchise, FranchiseMutation mutation) {
+        call(scheduler, () -> {
+            mutation.apply(franchise);
+            return franchise;
+        });
+    }
+
+    private static <T> T call(Scheduler scheduler, Callable<T> operation) {
+        return Mono.fromCallable(operation).subscribeOn(scheduler).block();
+    }
+
+    private void encode(Iteration iteration, List<Encoder<Object>> encoders, List<Decoder<Object>> decoders) {
+        Object[] responses = {
+                ApiResponseDTO.success("Franchise found", iteration.franchise()),
+                ApiResponseDTO.success("Top stock products", iteration.topStock()),
+                ApiResponseDTO.success("Franchise stats", iteration.stats())
+        };
+        for (Encoder<Object> encoder : encoders) {
+            MediaType mediaType = encoder.getEncodableMimeTypes().isEmpty()
+                    ? null : new MediaType(encoder.getEncodableMimeTypes().get(0));
+            for (Object response : responses) {
+                DataBufferUtils.release(encoder.encodeValue(response, bufferFactory,
+                        ResolvableType.forInstance(response), mediaType, null));
+            }
+            roundTrip(encoder, decoders, iteration.franchise(), mediaType);
+        }
+    }
+
+    // Codifica el cuerpo de una petición y lo decodifica con el decoder del mismo formato
+    private void roundTrip(Encoder<Object> encoder, List<Decoder<Object>> decoders, Franchise franchise,
+            MediaType mediaType) {
+        ResolvableType type = ResolvableType.forClass(Franchise.class);
+        for (Decoder<Object> decoder : decoders) {
+            if (decoder.canDecode(type, mediaType)) {
+                DataBuffer body = encoder.encodeValue(franchise, bufferFactory, type, mediaType, null);
+                decoder.decode(body, type, mediaType, null);
+                return;
+            }
+        }
+    }
+
+    private Franchise syntheticFranchise(String name) {
+        Franchise franchise = new Franchise(name);
+        for (int b = 0; b < properties.getBranches(); b++) {
+            Branch branch = new Branch("Sucursal " + b);
+            for (int p = 0; p < properties.getProductsPerBranch(); p++) {
+                branch.addProduct(new Product("Producto " + b + "-" + p, (b * 31 + p * 17) % 500));
+            }
+            franchise.addBranch(branch);
+        }
+        return franchise;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Encoder<Object>> jacksonEncoders() {
+        List<Encoder<Object>> encoders = new ArrayList<>();
+        codecConfigurer.getWriters().forEach(writer -> {
+            if (writer instanceof EncoderHttpMessageWriter<?> encoderWriter
+                    && encoderWriter.getEncoder() instanceof AbstractJackson2Encoder) {
+                encoders.add((Encoder<Object>) encoderWriter.getEncoder());
+            }
+        });
+        return encoders;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Decoder<Object>> jacksonDecoders() {
+        List<Decoder<Object>> decoders = new ArrayList<>();
+        codecConfigurer.getReaders().forEach(reader -> {
+            if (reader instanceof DecoderHttpMessageReader<?> decoderReader
+                    && decoderReader.getDecoder() instanceof AbstractJackson2Decoder) {
+                decoders.add((Decoder<Object>) decoderReader.getDecoder());
+            }
+        });
+        return decoders;
+    }
+
+    // Respuestas de una iteración que se codifican con los codecs del servidor
+    private record Iteration(Franchise franchise, List<ProductTopStockDTO> topStock, FranchiseStatsDTO stats) {}
+
+    private boolean isExpired() {
+        return System.nanoTime() - startedAt > properties.getTimeout().toNanos();
+    }
+}
@@ -0,0 +1,81 @@
+package com.franchise.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.franchise.config.JacksonConfig;
+import com.franchise.dto.ApiResponseDTO;
+import com.franchise.model.Franchise;
+
+// Tamaño y coste de codificación/decodificación de GET /api/franchises/{id} en JSON, CBOR y Smile.
+// Los tamaños de cada formato se imprimen al inicio de cada fork.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BinaryFormatBenchmark {
+
+    @Param({ "json", "cbor", "smile" })
+    private String format;
+
+    @Param({ "50" })
+    private int branches;
+
+    @Param({ "200" })
+    private int productsPerBranch;
+
+    private ObjectMapper mapper;
+    private JavaType responseType;
+    private ApiResponseDTO<Franchise> response;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws Exception {
+        JsonFactory factory = switch (format) {
+            case "cbor" -> new CBORFactory();
+            case "smile" -> new SmileFactory();
+            default -> new JsonFactory();
+        };
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+                .factory(factory)
+                .modulesToInstall(modules -> modules.add(new BlackbirdModule()));
+        JacksonConfig.customize(builder);
+        mapper = builder.build();
+
+        responseType = mapper.getTypeFactory().constructParametricType(ApiResponseDTO.class, Franchise.class);
+        response = ApiResponseDTO.success("Franchise found", SampleData.franchise(branches, productsPerBranch));
+        encoded = mapper.writeValueAsBytes(response);
+
+        System.out.printf("%n[%s] payload size: %d bytes%n", format, encoded.length);
+    }
+
+    @Benchmark
+    public byte[] encode() throws Exception {
+        return mapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public Object decode() throws Exception {
+        return mapper.readValue(encoded, responseType);
+    }
+}
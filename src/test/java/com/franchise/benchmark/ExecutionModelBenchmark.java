@@ -0,0 +1,119 @@
+package com.franchise.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.franchise.FranchiseApiApplication;
+import com.franchise.model.Franchise;
+import com.franchise.service.FranchiseService;
+
+// Misma mezcla de endpoints contra la implementación reactiva (WebFlux + driver reactivo) y la
+// bloqueante (driver síncrono sobre hilos virtuales, perfil "blocking"). Requiere MongoDB
+// (MONGODB_URI o mongodb://localhost:27017/franchise_benchmark).
+// Mezcla: 70% GET /{id}, 15% GET /{id}/top-stock-products, 15% PUT .../stock
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(64)
+@Fork(1)
+public class ExecutionModelBenchmark {
+
+    private static final int FRANCHISES = 100;
+    private static final String NAME_PREFIX = "Execution Benchmark ";
+
+    @Param({ "reactive", "blocking" })
+    private String mode;
+
+    private ConfigurableApplicationContext context;
+    private FranchiseService franchiseService;
+    private HttpClient client;
+    private String baseUrl;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SpringApplication application = new SpringApplication(FranchiseApiApplication.class);
+        application.setAdditionalProfiles(mode.equals("blocking") ? new String[] { "blocking" } : new String[0]);
+        context = application.run(
+                "--server.port=0",
+                "--spring.main.banner-mode=off",
+                "--logging.level.com.franchise=WARN",
+                "--franchise.admission.enabled=false",
+                "--spring.data.mongodb.uri=" + System.getenv().getOrDefault("MONGODB_URI",
+                        "mongodb://localhost:27017/franchise_benchmark"));
+        franchiseService = context.getBean(FranchiseService.class);
+        baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort()
+                + "/api/franchises/";
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+        deleteSeededFranchises();
+        for (int i = 0; i < FRANCHISES; i++) {
+            Franchise franchise = SampleData.franchise(5, 20);
+            franchise.setId(franchiseId(i));
+            franchise.setName(NAME_PREFIX + i);
+            franchiseService.createFranchise(franchise).block();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        deleteSeededFranchises();
+        context.close();
+    }
+
+    @Benchmark
+    public int endpointMix() throws Exception {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String id = franchiseId(random.nextInt(FRANCHISES));
+        int roll = random.nextInt(100);
+
+        HttpRequest request;
+        if (roll < 70) {
+            request = HttpRequest.newBuilder(URI.create(baseUrl + id)).GET().build();
+        } else if (roll < 85) {
+            request = HttpRequest.newBuilder(URI.create(baseUrl + id + "/top-stock-products")).GET().build();
+        } else {
+            int branch = random.nextInt(5);
+            String path = id + "/branches/branch-" + branch + "/products/product-" + branch + "-"
+                    + random.nextInt(20) + "/stock";
+            request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .header("Content-Type", "application/json")
+                    .PUT(HttpRequest.BodyPublishers.ofString("{\"stock\":" + random.nextInt(500) + "}"))
+                    .build();
+        }
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private void deleteSeededFranchises() {
+        for (int i = 0; i < FRANCHISES; i++) {
+            franchiseService.deleteByName(NAME_PREFIX + i).block();
+        }
+    }
+
+    private static String franchiseId(int index) {
+        return "exec-bench-" + index;
+    }
+}
@@ -0,0 +1,85 @@
+package com.franchise.benchmark;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.franchise.codec.PooledJackson2JsonEncoder;
+import com.franchise.config.JacksonConfig;
+import com.franchise.dto.ApiResponseDTO;
+import com.franchise.model.Franchise;
+
+import io.netty.buffer.PooledByteBufAllocator;
+
+// Compara el codec JSON por defecto con el camino ajustado (Blackbird + formatter de
+// timestamp + escritura directa en buffers del pool de Netty).
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonEncodingBenchmark {
+
+    @Param({ "10", "50" })
+    private int branches;
+
+    @Param({ "20", "200" })
+    private int productsPerBranch;
+
+    private final NettyDataBufferFactory bufferFactory = new NettyDataBufferFactory(PooledByteBufAllocator.DEFAULT);
+    private final ResolvableType valueType = ResolvableType.forClassWithGenerics(ApiResponseDTO.class, Franchise.class);
+
+    private ApiResponseDTO<Franchise> response;
+    private Jackson2JsonEncoder defaultEncoder;
+    private Jackson2JsonEncoder tunedEncoder;
+
+    @Setup
+    public void setUp() {
+        response = ApiResponseDTO.success("Franchise found", SampleData.franchise(branches, productsPerBranch));
+
+        defaultEncoder = new Jackson2JsonEncoder(Jackson2ObjectMapperBuilder.json().build());
+
+        Jackson2ObjectMapperBuilder tuned = Jackson2ObjectMapperBuilder.json()
+                .modulesToInstall(modules -> modules.add(new BlackbirdModule()));
+        JacksonConfig.customize(tuned);
+        tunedEncoder = new PooledJackson2JsonEncoder(tuned.build());
+    }
+
+    @Benchmark
+    public int defaultCodec() {
+        return encode(defaultEncoder);
+    }
+
+    @Benchmark
+    public int tunedCodec() {
+        return encode(tunedEncoder);
+    }
+
+    private int encode(Jackson2JsonEncoder encoder) {
+        DataBuffer buffer = encoder.encodeValue(response, bufferFactory, valueType, MediaType.APPLICATION_JSON,
+                Map.of());
+        int size = buffer.readableByteCount();
+        DataBufferUtils.release(buffer);
+        return size;
+    }
+}
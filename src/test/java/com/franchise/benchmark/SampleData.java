@@ -0,0 +1,27 @@
+package com.franchise.benchmark;
+
+import com.franchise.model.Branch;
+import com.franchise.model.Franchise;
+import com.franchise.model.Product;
+
+// Franquicias sintéticas en memoria para los benchmarks
+final class SampleData {
+
+    private SampleData() {}
+
+    static Franchise franchise(int branches, int productsPerBranch) {
+        Franchise franchise = new Franchise("Benchmark Franchise");
+        franchise.setId("franchise-bench");
+        for (int b = 0; b < branches; b++) {
+            Branch branch = new Branch("Sucursal " + b);
+            branch.setId("branch-" + b);
+            for (int p = 0; p < productsPerBranch; p++) {
+                Product product = new Product("Producto " + b + "-" + p, (b * 31 + p * 17) % 500);
+                product.setId("product-" + b + "-" + p);
+                branch.addProduct(product);
+            }
+            franchise.addBranch(branch);
+        }
+        return franchise;
+    }
+}
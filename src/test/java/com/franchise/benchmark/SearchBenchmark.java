@@ -0,0 +1,125 @@
+package com.franchise.benchmark;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+
+import com.franchise.FranchiseApiApplication;
+import com.franchise.dto.SearchHitDTO;
+import com.franchise.model.Branch;
+import com.franchise.model.Franchise;
+import com.franchise.model.Product;
+import com.franchise.model.SearchEntry;
+import com.franchise.repository.FranchiseRepository;
+import com.franchise.repository.WriteClass;
+import com.franchise.service.FranchiseService;
+
+// Latencia de la búsqueda por prefijo sobre search_entries con franchises * 10 sucursales * 100 productos
+// entradas de producto. Requiere MongoDB (MONGODB_URI o mongodb://localhost:27017/franchise_benchmark).
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class SearchBenchmark {
+
+    private static final String[] WORDS = {
+            "cafe", "leche", "tostada", "zumo", "naranja", "manzana", "chocolate", "galleta", "pan", "queso",
+            "jamon", "tomate", "aceite", "harina", "azucar", "yogur", "helado", "fresa", "limon", "vainilla"
+    };
+
+    @Param({ "1000" })
+    private int franchises;
+
+    private ConfigurableApplicationContext context;
+    private FranchiseService franchiseService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplication(FranchiseApiApplication.class).run(
+                "--server.port=0",
+                "--spring.main.banner-mode=off",
+                "--logging.level.com.franchise=WARN",
+                "--logging.level.org.springframework.data.mongodb=WARN",
+                "--spring.data.mongodb.uri=" + System.getenv().getOrDefault("MONGODB_URI",
+                        "mongodb://localhost:27017/franchise_benchmark"));
+        franchiseService = context.getBean(FranchiseService.class);
+        FranchiseRepository repository = context.getBean(FranchiseRepository.class);
+        ReactiveMongoTemplate mongoTemplate = context.getBean(ReactiveMongoTemplate.class);
+
+        repository.deleteAll().block();
+        for (int start = 0; start < franchises; start += 50) {
+            List<Franchise> batch = new ArrayList<>();
+            for (int f = start; f < Math.min(start + 50, franchises); f++) {
+                batch.add(franchise(f));
+            }
+            repository.insertAll(batch, WriteClass.BULK).blockLast();
+        }
+
+        // El índice se actualiza de forma asíncrona: esperar a que contenga todas las entradas
+        long expected = franchises * (1L + 10 + 10 * 100);
+        while (mongoTemplate.estimatedCount(SearchEntry.class).block() < expected) {
+            sleep(Duration.ofMillis(200));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.getBean(FranchiseRepository.class).deleteAll().block();
+        context.close();
+    }
+
+    @Benchmark
+    public List<SearchHitDTO> typeahead() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String word = WORDS[random.nextInt(WORDS.length)];
+        String text = random.nextBoolean() ? word.substring(0, 1 + random.nextInt(word.length()))
+                : word + " " + WORDS[random.nextInt(WORDS.length)].substring(0, 2);
+        return franchiseService.searchNames(text, null, 10).collectList().block();
+    }
+
+    private static Franchise franchise(int index) {
+        Franchise franchise = new Franchise("Franquicia " + WORDS[index % WORDS.length] + " " + index);
+        franchise.setId(String.format("%024x", index));
+        for (int b = 0; b < 10; b++) {
+            Branch branch = new Branch("Sucursal " + WORDS[(index + b) % WORDS.length] + " " + b);
+            branch.setId("branch-" + b);
+            for (int p = 0; p < 100; p++) {
+                String name = WORDS[p % WORDS.length] + " " + WORDS[(p / WORDS.length + b) % WORDS.length] + " " + p;
+                Product product = new Product(name, p);
+                product.setId("product-" + b + "-" + p);
+                branch.addProduct(product);
+            }
+            franchise.addBranch(branch);
+        }
+        return franchise;
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
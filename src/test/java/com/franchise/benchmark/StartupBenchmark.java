@@ -0,0 +1,52 @@
+package com.franchise.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.franchise.FranchiseApiApplication;
+
+// Tiempo hasta ApplicationReadyEvent en una JVM nueva por medición (arranque en frío).
+// Con -p aot=true requiere compilar antes con el perfil fast-startup:
+// mvn -Pfast-startup,benchmark -DskipTests package exec:exec -Dbenchmark="StartupBenchmark -p aot=true"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(5)
+public class StartupBenchmark {
+
+    @Param({ "false" })
+    private boolean aot;
+
+    @Setup
+    public void setUp() {
+        System.setProperty("spring.aot.enabled", String.valueOf(aot));
+    }
+
+    @Benchmark
+    public void startToReady() {
+        SpringApplication application = new SpringApplication(FranchiseApiApplication.class);
+        application.setMainApplicationClass(FranchiseApiApplication.class);
+        try (ConfigurableApplicationContext context = application.run(
+                "--server.port=0",
+                "--spring.main.banner-mode=off",
+                "--spring.data.mongodb.uri=" + System.getenv().getOrDefault("MONGODB_URI",
+                        "mongodb://localhost:27017/franchise_benchmark"))) {
+            // el contexto se cierra al salir; solo interesa el tiempo de arranque
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.franchise.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.franchise.FranchiseApiApplication;
+import com.franchise.model.Franchise;
+import com.franchise.repository.FranchiseRepository;
+import com.franchise.repository.WriteClass;
+
+// Importación masiva (insertMany de 'batchSize' franquicias) con el write concern de la clase BULK.
+// Con un replica set, w=majority espera la replicación en la mayoría de nodos; contra un servidor
+// standalone ambas variantes se comportan igual. Requiere MongoDB
+// (MONGODB_URI o mongodb://localhost:27017/franchise_benchmark).
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class WriteConcernBenchmark {
+
+    @Param({ "1", "majority" })
+    private String w;
+
+    @Param({ "false", "true" })
+    private boolean journal;
+
+    @Param({ "100" })
+    private int batchSize;
+
+    private ConfigurableApplicationContext context;
+    private FranchiseRepository franchiseRepository;
+    private long sequence;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SpringApplication application = new SpringApplication(FranchiseApiApplication.class);
+        context = application.run(
+                "--server.port=0",
+                "--spring.main.banner-mode=off",
+                "--logging.level.com.franchise=WARN",
+                "--logging.level.org.springframework.data.mongodb=WARN",
+                "--franchise.write-concern.bulk.w=" + w,
+                "--franchise.write-concern.bulk.journal=" + journal,
+                "--spring.data.mongodb.uri=" + System.getenv().getOrDefault("MONGODB_URI",
+                        "mongodb://localhost:27017/franchise_benchmark"));
+        franchiseRepository = context.getBean(FranchiseRepository.class);
+        franchiseRepository.deleteAll().block();
+    }
+
+    @TearDown(Level.Iteration)
+    public void clear() {
+        franchiseRepository.deleteAll().block();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    // Una operación = un lote importado y confirmado
+    @Benchmark
+    public List<Franchise> bulkImport() {
+        List<Franchise> batch = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            Franchise franchise = SampleData.franchise(2, 5);
+            long id = sequence++;
+            franchise.setId("bulk-bench-" + id);
+            franchise.setName("Bulk Benchmark " + id);
+            batch.add(franchise);
+        }
+        return franchiseRepository.insertAll(batch, WriteClass.BULK).collectList().block();
+    }
+}
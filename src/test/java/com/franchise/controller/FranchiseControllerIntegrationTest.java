@@ -1,5 +1,10 @@
 package com.franchise.controller;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Set;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -8,6 +13,11 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.reactive.server.WebTestClient;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.franchise.config.BinaryCodecConfig;
 import com.franchise.model.Branch;
 import com.franchise.model.Franchise;
 import com.franchise.model.Product;
@@ -82,6 +92,53 @@ class FranchiseControllerIntegrationTest {
         System.out.println("✅ Búsqueda por ID funcionando");
     }
 
+    @Test
+    void testGetFranchiseByIdAsCbor() throws Exception {
+        Franchise franchise = new Franchise("CBOR Test");
+        Franchise saved = franchiseRepository.save(franchise).block();
+
+        byte[] body = webTestClient.get()
+                .uri("/api/franchises/{id}", saved.getId())
+                .accept(MediaType.APPLICATION_CBOR)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_CBOR)
+                .expectBody(byte[].class)
+                .returnResult()
+                .getResponseBody();
+
+        JsonNode response = new ObjectMapper(new CBORFactory()).readTree(body);
+        assertEquals("CBOR Test", response.path("data").path("name").asText());
+        assertEquals(saved.getId(), response.path("data").path("id").asText());
+
+        System.out.println("✅ Negociación de contenido CBOR funcionando");
+    }
+
+    @Test
+    void testGetAllFranchisesAsSmile() throws Exception {
+        franchiseRepository.save(new Franchise("Smile Test 1")).block();
+        franchiseRepository.save(new Franchise("Smile Test 2")).block();
+
+        byte[] body = webTestClient.get()
+                .uri("/api/franchises")
+                .accept(BinaryCodecConfig.APPLICATION_SMILE)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(BinaryCodecConfig.APPLICATION_SMILE)
+                .expectBody(byte[].class)
+                .returnResult()
+                .getResponseBody();
+
+        // Un único documento Smile (cabecera ":)") con el array de franquicias
+        JsonNode response = new ObjectMapper(new SmileFactory()).readTree(body);
+        assertTrue(response.isArray());
+        assertEquals(2, response.size());
+        assertEquals(Set.of("Smile Test 1", "Smile Test 2"),
+                Set.of(response.get(0).path("name").asText(), response.get(1).path("name").asText()));
+
+        System.out.println("✅ Listado en Smile funcionando");
+    }
+
     @Test
     void testWorkflowStepByStep() {
         // 1. Crear franquicia usando repositorio (más directo para testing)
@@ -322,6 +379,56 @@ class FranchiseControllerIntegrationTest {
         System.out.println("✅ Endpoints de búsqueda y filtrado funcionando");
     }
 
+    @Test
+    void testProductLocations() {
+        // El mismo producto (mismo nombre) en sucursales de dos franquicias distintas
+        Franchise franchise1 = new Franchise("Locations North");
+        Branch branch1 = new Branch("North Branch");
+        branch1.setId("north-branch");
+        Product product1 = new Product("Shared Product", 5);
+        product1.setId("shared-north");
+        branch1.addProduct(product1);
+        branch1.addProduct(new Product("Other Product", 1));
+        franchise1.addBranch(branch1);
+
+        Franchise franchise2 = new Franchise("Locations South");
+        Branch branch2 = new Branch("South Branch");
+        branch2.setId("south-branch");
+        Product product2 = new Product("Shared Product", 12);
+        product2.setId("shared-south");
+        branch2.addProduct(product2);
+        franchise2.addBranch(branch2);
+
+        franchiseRepository.save(franchise1).block();
+        franchiseRepository.save(franchise2).block();
+
+        // Por nombre: una ubicación por sucursal, con su stock
+        webTestClient.get()
+                .uri("/api/franchises/products/locations?name=Shared Product")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[?(@.branchId == 'south-branch')].stock").isEqualTo(12)
+                .jsonPath("$[?(@.branchId == 'north-branch')].franchiseName").isEqualTo("Locations North");
+
+        // Por id
+        webTestClient.get()
+                .uri("/api/franchises/products/locations?productId=shared-north")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].productName").isEqualTo("Shared Product")
+                .jsonPath("$[0].stock").isEqualTo(5);
+
+        // Sin id ni nombre
+        webTestClient.get()
+                .uri("/api/franchises/products/locations")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
     @Test
     void testDeleteOperations() {
         // Create structure for testing deletions
@@ -0,0 +1,101 @@
+package com.franchise.filter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+import com.franchise.filter.AdaptiveConcurrencyLimiter.AdmissionRejectedException;
+import com.franchise.filter.AdaptiveConcurrencyLimiter.Permit;
+
+import reactor.test.StepVerifier;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    @Test
+    void testRejectsWhenLimitAndQueueAreFull() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 1, 1, 1, 0,
+                Duration.ofMillis(100), 50, () -> 10);
+
+        Permit permit = limiter.acquire().block();
+
+        StepVerifier.create(limiter.acquire())
+                .expectError(AdmissionRejectedException.class)
+                .verify();
+
+        permit.release();
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void testQueuedRequestIsAdmittedOnRelease() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 1, 1, 1, 1,
+                Duration.ofSeconds(5), 50, () -> 10);
+
+        Permit first = limiter.acquire().block();
+        AtomicReference<Permit> second = new AtomicReference<>();
+        limiter.acquire().subscribe(second::set);
+
+        assertEquals(1, limiter.getQueued());
+        first.release();
+
+        assertTrue(second.get() != null);
+        assertEquals(1, limiter.getInFlight());
+        assertEquals(0, limiter.getQueued());
+        second.get().release();
+    }
+
+    @Test
+    void testQueueTimeoutRejectsAndFreesSlot() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 1, 1, 1, 1,
+                Duration.ofMillis(50), 50, () -> 10);
+
+        Permit permit = limiter.acquire().block();
+
+        StepVerifier.create(limiter.acquire())
+                .expectError(AdmissionRejectedException.class)
+                .verify(Duration.ofSeconds(2));
+
+        assertEquals(0, limiter.getQueued());
+        permit.release();
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void testLimitShrinksWhenMongoLatencyExceedsTarget() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 100, 10, 200, 0,
+                Duration.ofMillis(100), 50, () -> 500);
+
+        for (int i = 0; i < 20; i++) {
+            limiter.acquire().block().release();
+        }
+
+        assertTrue(limiter.getLimit() < 100);
+        assertTrue(limiter.getLimit() >= 10);
+    }
+
+    @Test
+    void testLimitOnlyGrowsUnderLoad() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 20, 10, 200, 0,
+                Duration.ofMillis(100), 50, () -> 10);
+
+        // Peticiones de una en una: latencia sana pero sin saturación, el límite no se mueve
+        for (int i = 0; i < 50; i++) {
+            limiter.acquire().block().release();
+        }
+        assertEquals(20, limiter.getLimit());
+
+        // Con todos los permisos en uso sí crece
+        List<Permit> permits = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            permits.add(limiter.acquire().block());
+        }
+        permits.forEach(Permit::release);
+        assertTrue(limiter.getLimit() > 20);
+    }
+}
@@ -0,0 +1,124 @@
+package com.franchise.filter;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import com.franchise.dto.ReserveStockDTO;
+import com.franchise.dto.UpdateStockDTO;
+import com.franchise.model.Branch;
+import com.franchise.model.Franchise;
+import com.franchise.model.Product;
+import com.franchise.service.FranchiseService;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureWebTestClient
+class IdempotencyFilterTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private FranchiseService franchiseService;
+
+    private String franchiseId;
+    private String branchId;
+
+    @BeforeEach
+    void setUp() {
+        franchiseService.deleteAll().block();
+        Franchise franchise = new Franchise("Idempotency Test");
+        franchise.addBranch(new Branch("Centro"));
+        Franchise created = franchiseService.createFranchise(franchise).block();
+        franchiseId = created.getId();
+        branchId = created.getBranches().get(0).getId();
+    }
+
+    @Test
+    void testRetryWithSameKeyReplaysResponseWithoutSecondWrite() {
+        String key = UUID.randomUUID().toString();
+
+        byte[] first = addProduct(key, new Product("Arroz", 10))
+                .expectStatus().isOk()
+                .expectHeader().doesNotExist(IdempotencyFilter.IDEMPOTENT_REPLAYED)
+                .expectBody().returnResult().getResponseBody();
+        byte[] retry = addProduct(key, new Product("Arroz", 10))
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(IdempotencyFilter.IDEMPOTENT_REPLAYED, "true")
+                .expectBody().returnResult().getResponseBody();
+
+        assertArrayEquals(first, retry);
+        assertEquals(1, products());
+
+        // Sin clave cada petición se ejecuta
+        addProduct(null, new Product("Arroz", 10)).expectStatus().isOk();
+        assertEquals(2, products());
+    }
+
+    @Test
+    void testSameKeyForDifferentRequestIsRejected() {
+        String key = UUID.randomUUID().toString();
+
+        addProduct(key, new Product("Arroz", 10)).expectStatus().isOk();
+        addProduct(key, new Product("Sal", 5)).expectStatus().isEqualTo(422);
+
+        assertEquals(1, products());
+    }
+
+    @Test
+    void testRetryAfterFailedAttemptRunsAgain() {
+        addProduct(null, new Product("Arroz", 0)).expectStatus().isOk();
+        String productId = franchiseService.getFranchiseById(franchiseId).block()
+                .getBranches().get(0).getProducts().get(0).getId();
+        String key = UUID.randomUUID().toString();
+
+        // Sin stock la reserva responde 409 y la clave no se guarda
+        reserve(key, productId).expectStatus().isEqualTo(409);
+
+        franchiseService.updateProductStock(franchiseId, branchId, productId, new UpdateStockDTO(10)).block();
+
+        // El reintento se ejecuta de nuevo y ahora sí se guarda
+        reserve(key, productId)
+                .expectStatus().isCreated()
+                .expectHeader().doesNotExist(IdempotencyFilter.IDEMPOTENT_REPLAYED);
+        reserve(key, productId)
+                .expectStatus().isCreated()
+                .expectHeader().valueEquals(IdempotencyFilter.IDEMPOTENT_REPLAYED, "true");
+    }
+
+    private WebTestClient.ResponseSpec reserve(String key, String productId) {
+        return webTestClient.post()
+                .uri("/api/franchises/{franchiseId}/branches/{branchId}/products/{productId}/reservations",
+                        franchiseId, branchId, productId)
+                .header(IdempotencyFilter.IDEMPOTENCY_KEY, key)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new ReserveStockDTO(5, null))
+                .exchange();
+    }
+
+    private WebTestClient.ResponseSpec addProduct(String key, Product product) {
+        return webTestClient.post()
+                .uri("/api/franchises/{franchiseId}/branches/{branchId}/products", franchiseId, branchId)
+                .headers(headers -> {
+                    if (key != null) {
+                        headers.set(IdempotencyFilter.IDEMPOTENCY_KEY, key);
+                    }
+                })
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(product)
+                .exchange();
+    }
+
+    private int products() {
+        return franchiseService.getFranchiseById(franchiseId).block().getBranches().get(0).getProducts().size();
+    }
+}
@@ -0,0 +1,46 @@
+package com.franchise.filter;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureWebTestClient
+class PrecompressedResourceFilterTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Test
+    void testApiDocsAreServedPrecompressedWithCacheHeaders() {
+        String etag = webTestClient.get()
+                .uri("/v3/api-docs")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().exists(HttpHeaders.ETAG)
+                .expectHeader().valueMatches(HttpHeaders.CACHE_CONTROL, ".*max-age=\\d+.*")
+                .returnResult(String.class)
+                .getResponseHeaders()
+                .getETag();
+        assertNotNull(etag);
+
+        webTestClient.get()
+                .uri("/v3/api-docs")
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.CONTENT_ENCODING, "gzip")
+                .expectHeader().valueEquals(HttpHeaders.ETAG, etag);
+
+        webTestClient.get()
+                .uri("/v3/api-docs")
+                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                .exchange()
+                .expectStatus().isNotModified();
+    }
+}
@@ -0,0 +1,73 @@
+package com.franchise.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import com.franchise.dto.UpdateNameDTO;
+import com.franchise.model.Franchise;
+import com.franchise.model.FranchiseName;
+import com.franchise.service.FranchiseService;
+
+import reactor.test.StepVerifier;
+
+@SpringBootTest
+class FranchiseNameRoutingTest {
+
+    @Autowired
+    private FranchiseService franchiseService;
+
+    @Autowired
+    private FranchiseRepository franchiseRepository;
+
+    @Autowired
+    private ReactiveMongoTemplate mongoTemplate;
+
+    @BeforeEach
+    void setUp() {
+        franchiseService.deleteAll().block();
+    }
+
+    @Test
+    void testNameLookupFollowsCreateRenameAndDelete() {
+        Franchise created = franchiseService.createFranchise(new Franchise("Antes")).block();
+
+        assertEquals(created.getId(), mongoTemplate.findById("Antes", FranchiseName.class).block().getFranchiseId());
+
+        StepVerifier.create(franchiseService.updateFranchiseName(created.getId(), new UpdateNameDTO("Después"))
+                        .then(franchiseService.getFranchiseByName("Después")))
+                .expectNextMatches(found -> found.getId().equals(created.getId()))
+                .verifyComplete();
+        assertNull(mongoTemplate.findById("Antes", FranchiseName.class).block());
+        StepVerifier.create(franchiseService.existsByName("Antes")).expectNext(false).verifyComplete();
+
+        StepVerifier.create(franchiseService.deleteFranchise(created.getId())
+                        .then(mongoTemplate.count(new Query(), FranchiseName.class)))
+                .expectNext(0L)
+                .verifyComplete();
+    }
+
+    @Test
+    void testDuplicateNamesAreRejectedAndOrphanEntriesReused() {
+        Franchise first = franchiseService.createFranchise(new Franchise("Única")).block();
+
+        StepVerifier.create(franchiseService.createFranchise(new Franchise("Única")))
+                .expectErrorMessage("Franchise with this name already exists")
+                .verify();
+
+        // Entrada que apunta a una franquicia que ya no existe (p. ej. borrado interrumpido)
+        mongoTemplate.insert(new FranchiseName("Huérfana", "000000000000000000000000")).block();
+        StepVerifier.create(franchiseService.createFranchise(new Franchise("Huérfana")))
+                .expectNextMatches(created -> !created.getId().equals(first.getId()))
+                .verifyComplete();
+        StepVerifier.create(franchiseRepository.findByName("Huérfana"))
+                .expectNextMatches(found -> found.getName().equals("Huérfana"))
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,68 @@
+package com.franchise.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.franchise.model.Branch;
+import com.franchise.model.Franchise;
+import com.franchise.model.Product;
+import com.franchise.service.FranchiseService;
+import com.mongodb.ReadPreference;
+import com.mongodb.TaggableReadPreference;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.test.StepVerifier;
+
+@SpringBootTest(properties = "franchise.read-routing.search.max-staleness=120s")
+class ReadRoutingTest {
+
+    @Autowired
+    private ReadRouting readRouting;
+
+    @Autowired
+    private FranchiseService franchiseService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        franchiseService.deleteAll().block();
+    }
+
+    @Test
+    void testReadClassesResolveConfiguredPreferences() {
+        assertEquals(ReadPreference.primary(), readRouting.readPreference(ReadClass.READ_YOUR_WRITES));
+
+        ReadPreference search = readRouting.readPreference(ReadClass.SEARCH);
+        assertEquals("secondaryPreferred", search.getName());
+        assertEquals(120L, ((TaggableReadPreference) search).getMaxStaleness(TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testSearchRunsInMongoAndReadsAreCountedPerServer() {
+        Franchise big = new Franchise("Pizza Norte");
+        Branch branch = new Branch("Centro");
+        branch.addProduct(new Product("Margarita", 5));
+        big.addBranch(branch);
+
+        StepVerifier.create(franchiseService.createFranchise(big)
+                        .then(franchiseService.createFranchise(new Franchise("PIZZA Sur")))
+                        .then(franchiseService.createFranchise(new Franchise("Tacos")))
+                        .thenMany(franchiseService.searchFranchises("pizza", 1, 1)))
+                .expectNextMatches(found -> found.getName().equals("Pizza Norte"))
+                .verifyComplete();
+
+        double reads = meterRegistry.find("mongodb.driver.reads").tag("command", "find").counters().stream()
+                .mapToDouble(counter -> counter.count())
+                .sum();
+        assertTrue(reads > 0);
+    }
+}
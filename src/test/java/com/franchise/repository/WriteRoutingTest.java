@@ -0,0 +1,94 @@
+package com.franchise.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.franchise.dto.UpdateStockDTO;
+import com.franchise.model.Branch;
+import com.franchise.model.Franchise;
+import com.franchise.model.Product;
+import com.franchise.service.FranchiseService;
+import com.mongodb.WriteConcern;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.test.StepVerifier;
+
+@SpringBootTest(properties = { "franchise.write-concern.bulk.w=2", "franchise.write-concern.bulk.wtimeout=1s" })
+class WriteRoutingTest {
+
+    @Autowired
+    private WriteRouting writeRouting;
+
+    @Autowired
+    private FranchiseRepository franchiseRepository;
+
+    @Autowired
+    private FranchiseService franchiseService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        franchiseService.deleteAll().block();
+    }
+
+    @Test
+    void testWriteClassesResolveConfiguredConcerns() {
+        WriteConcern stock = writeRouting.writeConcern(WriteClass.STOCK);
+        assertEquals("majority", stock.getWString());
+        assertTrue(stock.getJournal());
+        assertEquals(5000, stock.getWTimeout(TimeUnit.MILLISECONDS));
+
+        WriteConcern rename = writeRouting.writeConcern(WriteClass.RENAME);
+        assertEquals(1, rename.getW());
+        assertFalse(rename.getJournal());
+
+        WriteConcern bulk = writeRouting.writeConcern(WriteClass.BULK);
+        assertEquals(2, bulk.getW());
+        assertEquals(1000, bulk.getWTimeout(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void testAcknowledgedWritesAreTimedPerClass() {
+        Franchise franchise = new Franchise("Write Routing");
+        Branch branch = new Branch("Centro");
+        branch.addProduct(new Product("Café", 10));
+        franchise.addBranch(branch);
+
+        StepVerifier.create(franchiseService.createFranchise(franchise)
+                        .flatMap(created -> franchiseService.updateProductStock(created.getId(),
+                                created.getBranches().get(0).getId(),
+                                created.getBranches().get(0).getProducts().get(0).getId(),
+                                new UpdateStockDTO(25))))
+                .expectNextMatches(updated -> updated.getBranches().get(0).getProducts().get(0).getStock() == 25)
+                .verifyComplete();
+
+        assertTrue(meterRegistry.get("franchise.mongodb.writes").tag("class", "structure").timer().count() > 0);
+        assertTrue(meterRegistry.get("franchise.mongodb.writes").tag("class", "stock").timer().count() > 0);
+    }
+
+    @Test
+    void testBulkInsertIsOneAcknowledgedWrite() {
+        long before = meterRegistry.get("franchise.mongodb.writes").tag("class", "rename").timer().count();
+        List<Franchise> franchises = List.of(
+                new Franchise("Bulk A"), new Franchise("Bulk B"), new Franchise("Bulk C"));
+
+        StepVerifier.create(franchiseRepository.insertAll(franchises, WriteClass.RENAME))
+                .expectNextCount(3)
+                .verifyComplete();
+
+        assertEquals(before + 1,
+                meterRegistry.get("franchise.mongodb.writes").tag("class", "rename").timer().count());
+        StepVerifier.create(franchiseService.countFranchises()).expectNext(3L).verifyComplete();
+    }
+}
@@ -0,0 +1,72 @@
+package com.franchise.service;
+
+import com.franchise.dto.UpdateStockDTO;
+import com.franchise.model.Branch;
+import com.franchise.model.Franchise;
+import com.franchise.model.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+@SpringBootTest
+@ActiveProfiles("blocking")
+class BlockingFranchiseServiceTest {
+
+    @Autowired
+    private FranchiseService franchiseService;
+
+    @BeforeEach
+    void setUp() {
+        franchiseService.deleteAll().block();
+    }
+
+    @Test
+    void testBlockingProfileSelectsBlockingImplementation() {
+        assertInstanceOf(BlockingFranchiseService.class, franchiseService);
+    }
+
+    @Test
+    void testWorkflowOnBlockingDriver() {
+        Mono<FranchiseService.FranchiseStatsDTO> workflow = franchiseService.createFranchise(new Franchise("Blocking Franchise"))
+                .flatMap(franchise -> franchiseService.addBranch(franchise.getId(), new Branch("Centro")))
+                .flatMap(franchise -> franchiseService.addProduct(franchise.getId(),
+                        franchise.getBranches().get(0).getId(), new Product("Hamburguesa", 10)))
+                .flatMap(franchise -> {
+                    Branch branch = franchise.getBranches().get(0);
+                    return franchiseService.updateProductStock(franchise.getId(), branch.getId(),
+                            branch.getProducts().get(0).getId(), new UpdateStockDTO(42));
+                })
+                .flatMap(franchise -> franchiseService.getFranchiseStats(franchise.getId()));
+
+        StepVerifier.create(workflow)
+                .expectNextMatches(stats -> stats.getTotalBranches() == 1
+                        && stats.getTotalProducts() == 1
+                        && stats.getTotalStock() == 42)
+                .verifyComplete();
+
+        StepVerifier.create(franchiseService.findProductLocations(null, "Hamburguesa"))
+                .expectNextMatches(location -> location.getBranchName().equals("Centro")
+                        && location.getStock() == 42)
+                .verifyComplete();
+    }
+
+    @Test
+    void testDuplicateNameAndMissingFranchiseFail() {
+        StepVerifier.create(franchiseService.createFranchise(new Franchise("Duplicada"))
+                        .then(franchiseService.createFranchise(new Franchise("Duplicada"))))
+                .expectErrorMatches(error -> error instanceof IllegalArgumentException
+                        && error.getMessage().contains("already exists"))
+                .verify();
+
+        StepVerifier.create(franchiseService.getFranchiseById("missing-id"))
+                .expectErrorMatches(error -> error instanceof IllegalArgumentException
+                        && error.getMessage().contains("not found"))
+                .verify();
+    }
+}
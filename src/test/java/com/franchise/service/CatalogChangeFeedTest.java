@@ -0,0 +1,106 @@
+package com.franchise.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.BsonTimestamp;
+import org.junit.jupiter.api.Test;
+
+import com.franchise.dto.CatalogChangeDTO;
+import com.franchise.dto.CatalogChangeDTO.Type;
+import com.franchise.model.Branch;
+import com.franchise.model.Franchise;
+import com.franchise.model.Product;
+
+class CatalogChangeFeedTest {
+
+    @Test
+    void testCreatedFranchiseEmitsItsBranchesAndProducts() {
+        Franchise franchise = franchise("Norte", branch("b1", "Centro", product("p1", "Arroz", 10, 2),
+                product("p2", "Sal", 5, null)));
+
+        List<CatalogChangeDTO> changes = CatalogChangeFeed.diff("f1", null, franchise);
+
+        assertEquals(List.of(Type.FRANCHISE_CREATED, Type.BRANCH_ADDED, Type.PRODUCT_ADDED, Type.PRODUCT_ADDED),
+                types(changes));
+        assertEquals("p2", changes.get(3).getProductId());
+        assertEquals(5, changes.get(3).getStock());
+        assertEquals("Centro", changes.get(3).getBranchName());
+    }
+
+    @Test
+    void testUpdateEmitsOneEventPerDifference() {
+        Franchise before = franchise("Norte",
+                branch("b1", "Centro", product("p1", "Arroz", 10, 2), product("p2", "Sal", 5, null)),
+                branch("b2", "Puerto", product("p3", "Aceite", 1, null)));
+        Franchise after = franchise("Norte S.A.",
+                branch("b1", "Centro", product("p1", "Arroz integral", 4, 3), product("p4", "Azúcar", 8, null)),
+                branch("b3", "Sur"));
+
+        List<CatalogChangeDTO> changes = CatalogChangeFeed.diff("f1", before, after);
+
+        assertEquals(List.of(Type.FRANCHISE_RENAMED, Type.PRODUCT_RENAMED, Type.STOCK_CHANGED,
+                Type.THRESHOLD_CHANGED, Type.PRODUCT_ADDED, Type.PRODUCT_REMOVED, Type.BRANCH_ADDED,
+                Type.BRANCH_REMOVED), types(changes));
+        assertEquals("Norte", changes.get(0).getPreviousName());
+        assertEquals(10, changes.get(2).getPreviousStock());
+        assertEquals(4, changes.get(2).getStock());
+        assertEquals(2, changes.get(3).getPreviousThreshold());
+        assertEquals("p2", changes.get(5).getProductId());
+        assertEquals("b2", changes.get(7).getBranchId());
+
+        assertEquals(List.of(), CatalogChangeFeed.diff("f1", after, after));
+        assertEquals(List.of(Type.FRANCHISE_DELETED), types(CatalogChangeFeed.diff("f1", after, null)));
+    }
+
+    @Test
+    void testOffsetsRoundTripAndRejectGarbage() {
+        BsonDocument token = new BsonDocument("_data", new BsonString("8263F1A2B3000000012B0229296E04"));
+
+        assertEquals(token, CatalogChangeFeed.decode(CatalogChangeFeed.encode(token)));
+        assertThrows(IllegalArgumentException.class, () -> CatalogChangeFeed.decode("not a token"));
+
+        // Tras una escritura completa el offset es el resume token; a mitad, la posición y los eventos entregados
+        CatalogChangeFeed.Position afterWrite = CatalogChangeFeed.Position.of(token);
+        assertEquals(CatalogChangeFeed.encode(token), CatalogChangeFeed.encode(afterWrite));
+        CatalogChangeFeed.Position midWrite = afterWrite.skipping(3);
+        assertEquals(midWrite, CatalogChangeFeed.Position.of(CatalogChangeFeed.decode(CatalogChangeFeed.encode(midWrite))));
+
+        CatalogChangeFeed.Position start = new CatalogChangeFeed.Position(null, new BsonTimestamp(1760000000, 2), 0);
+        assertEquals(start, CatalogChangeFeed.Position.of(CatalogChangeFeed.decode(CatalogChangeFeed.encode(start))));
+        assertEquals(start.skipping(1),
+                CatalogChangeFeed.Position.of(CatalogChangeFeed.decode(CatalogChangeFeed.encode(start.skipping(1)))));
+    }
+
+    private static List<Type> types(List<CatalogChangeDTO> changes) {
+        return changes.stream().map(CatalogChangeDTO::getType).toList();
+    }
+
+    private static Franchise franchise(String name, Branch... branches) {
+        Franchise franchise = new Franchise(name);
+        for (Branch branch : branches) {
+            franchise.addBranch(branch);
+        }
+        return franchise;
+    }
+
+    private static Branch branch(String id, String name, Product... products) {
+        Branch branch = new Branch(name);
+        branch.setId(id);
+        for (Product product : products) {
+            branch.addProduct(product);
+        }
+        return branch;
+    }
+
+    private static Product product(String id, String name, int stock, Integer threshold) {
+        Product product = new Product(name, stock);
+        product.setId(id);
+        product.setReorderThreshold(threshold);
+        return product;
+    }
+}
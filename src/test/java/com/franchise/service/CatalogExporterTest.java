@@ -0,0 +1,163 @@
+package com.franchise.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import com.franchise.dto.ExportJobDTO;
+import com.franchise.model.Branch;
+import com.franchise.model.Franchise;
+import com.franchise.model.Product;
+import com.franchise.service.CatalogExporter.Compression;
+import com.franchise.service.CatalogExporter.Format;
+
+import reactor.core.publisher.Mono;
+
+@SpringBootTest(properties = { "franchise.export.directory=target/test-exports",
+        "franchise.export.checkpoint-every=1" })
+class CatalogExporterTest {
+
+    private static final String CSV_HEADER =
+            "franchise_id,franchise_name,branch_id,branch_name,product_id,product_name,stock,reorder_threshold";
+
+    @Autowired
+    private FranchiseService franchiseService;
+
+    @Autowired
+    private ReactiveMongoTemplate mongoTemplate;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        franchiseService.deleteAll().block();
+        Path directory = Paths.get("target/test-exports");
+        if (Files.exists(directory)) {
+            try (Stream<Path> files = Files.walk(directory)) {
+                files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+        }
+    }
+
+    @Test
+    void testStreamWritesOneRowPerProduct() throws IOException {
+        insert(franchise("e1", "Norte, S.A.", 2));
+        insert(franchise("e2", "Sur", 1));
+
+        List<String> lines = lines(new GZIPInputStream(new ByteArrayInputStream(
+                download(Format.CSV, Compression.GZIP, null))));
+
+        assertEquals(4, lines.size());
+        assertEquals(CSV_HEADER, lines.get(0));
+        assertTrue(lines.get(1).startsWith("e1,\"Norte, S.A.\","));
+        assertTrue(lines.get(3).startsWith("e2,Sur,"));
+    }
+
+    @Test
+    void testStreamResumesAfterLastFranchise() throws IOException {
+        insert(franchise("e1", "Norte", 2));
+        insert(franchise("e2", "Sur", 1));
+
+        List<String> lines = lines(new ByteArrayInputStream(download(Format.NDJSON, Compression.NONE, "e1")));
+
+        assertEquals(1, lines.size());
+        assertTrue(lines.get(0).startsWith("{\"franchiseId\":\"e2\",\"franchiseName\":\"Sur\""));
+    }
+
+    @Test
+    void testJobResumesFromCheckpointAfterFailure() throws IOException {
+        insert(franchise("a1", "Uno", 2));
+        insert(franchise("a2", "Dos", 1));
+        // Documento que no se puede leer como Franchise: la exportación falla al llegar a él
+        mongoTemplate.getCollection("franchises")
+                .flatMap(collection -> Mono.from(collection.insertOne(
+                        new Document("_id", "b1").append("name", "Rota").append("branches", 42))))
+                .block();
+        insert(franchise("c1", "Tres", 3));
+
+        ExportJobDTO failed = await("catalog");
+        assertEquals(ExportJobDTO.State.FAILED, failed.getState());
+        assertEquals("a2", failed.getLastFranchiseId());
+        assertEquals(3, failed.getRows());
+
+        // Se corrige el documento (sin versión, no admite un save versionado) y se relanza: continúa
+        // tras a2 sin repetir filas
+        mongoTemplate.remove(Query.query(Criteria.where("_id").is("b1")), Franchise.class).block();
+        insert(franchise("b1", "Reparada", 1));
+
+        ExportJobDTO completed = await("catalog");
+        assertEquals(ExportJobDTO.State.COMPLETED, completed.getState());
+        assertEquals(4, completed.getFranchises());
+        assertEquals(7, completed.getRows());
+
+        // Un miembro gzip por checkpoint; GZIPInputStream lee los miembros concatenados
+        List<String> lines = lines(new GZIPInputStream(Files.newInputStream(Paths.get(completed.getFile()))));
+        assertEquals(8, lines.size());
+        assertEquals(CSV_HEADER, lines.get(0));
+        assertEquals(7, lines.stream().skip(1).distinct().count());
+        assertTrue(lines.get(4).startsWith("b1,Reparada,"));
+    }
+
+    private ExportJobDTO await(String name) {
+        franchiseService.startCatalogExport(name, Format.CSV, Compression.GZIP).block();
+        return Mono.defer(() -> franchiseService.getCatalogExport(name))
+                .filter(job -> job.getState() != ExportJobDTO.State.RUNNING)
+                .repeatWhenEmpty(repeat -> repeat.delayElements(Duration.ofMillis(50)))
+                .block(Duration.ofSeconds(10));
+    }
+
+    private byte[] download(Format format, Compression compression, String after) {
+        return DataBufferUtils.join(franchiseService.exportCatalog(format, compression, after))
+                .map(buffer -> {
+                    byte[] bytes = new byte[buffer.readableByteCount()];
+                    buffer.read(bytes);
+                    DataBufferUtils.release(buffer);
+                    return bytes;
+                })
+                .block();
+    }
+
+    private static List<String> lines(InputStream in) throws IOException {
+        try (in) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8).lines().toList();
+        }
+    }
+
+    private void insert(Franchise franchise) {
+        mongoTemplate.insert(franchise).block();
+    }
+
+    private static Franchise franchise(String id, String name, int products) {
+        Franchise franchise = new Franchise(name);
+        franchise.setId(id);
+        Branch branch = new Branch("Centro");
+        branch.setId(id + "-b");
+        for (int i = 0; i < products; i++) {
+            Product product = new Product("Producto " + i, 10 + i);
+            product.setId(id + "-p" + i);
+            branch.addProduct(product);
+        }
+        franchise.addBranch(branch);
+        return franchise;
+    }
+}
@@ -0,0 +1,135 @@
+package com.franchise.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.franchise.dto.BatchOperationDTO;
+import com.franchise.dto.BatchOperationDTO.Type;
+import com.franchise.dto.BatchResultDTO;
+import com.franchise.model.Branch;
+import com.franchise.model.Franchise;
+import com.franchise.model.Product;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+@SpringBootTest(properties = "franchise.batch.max-operations=10")
+class FranchiseBatchTest {
+
+    @Autowired
+    private FranchiseService franchiseService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private String norteId;
+    private String surId;
+    private String surBranchId;
+
+    @BeforeEach
+    void setUp() {
+        franchiseService.deleteAll().block();
+        norteId = franchiseService.createFranchise(new Franchise("Norte")).block().getId();
+        Franchise sur = new Franchise("Sur");
+        Branch branch = new Branch("Puerto");
+        branch.addProduct(new Product("Aceite", 3));
+        sur.addBranch(branch);
+        Franchise created = franchiseService.createFranchise(sur).block();
+        surId = created.getId();
+        surBranchId = created.getBranches().get(0).getId();
+    }
+
+    @Test
+    void testOperationsAreGroupedPerFranchiseWithReferences() {
+        String productId = franchiseService.getFranchiseById(surId).block()
+                .getBranches().get(0).getProducts().get(0).getId();
+        long writesBefore = writes();
+
+        List<BatchOperationDTO> operations = new ArrayList<>();
+        operations.add(addBranch("centro", norteId, "Centro"));
+        operations.add(addProduct("arroz", norteId, "$centro", "Arroz", 10));
+        operations.add(stock(surId, surBranchId, productId, 7));
+        operations.add(stock(norteId, "$centro", "$arroz", 25));
+        operations.add(addProduct(null, norteId, "$desconocida", "Sal", 1));
+        operations.add(stock(norteId, "$centro", "no-existe", 1));
+
+        List<BatchResultDTO> results = franchiseService.executeBatch(operations).block();
+
+        assertEquals(List.of(201, 201, 200, 200, 400, 400), results.stream().map(BatchResultDTO::getStatus).toList());
+        assertEquals(List.of(0, 1, 2, 3, 4, 5), results.stream().map(BatchResultDTO::getIndex).toList());
+        assertEquals("arroz", results.get(1).getId());
+        assertNull(results.get(0).getError());
+
+        Franchise norte = franchiseService.getFranchiseById(norteId).block();
+        Branch centro = norte.getBranches().get(0);
+        assertEquals(results.get(0).getBranchId(), centro.getId());
+        assertEquals(1, centro.getProducts().size());
+        assertEquals(results.get(1).getProductId(), centro.getProducts().get(0).getId());
+        assertEquals(25, centro.getProducts().get(0).getStock());
+        assertEquals(7, franchiseService.getFranchiseById(surId).block()
+                .getBranches().get(0).getProducts().get(0).getStock());
+
+        // Una escritura por franquicia
+        assertEquals(2, writes() - writesBefore);
+    }
+
+    @Test
+    void testGroupThatCannotBeAppliedDoesNotAffectOthers() {
+        List<BatchResultDTO> results = franchiseService.executeBatch(List.of(
+                addBranch(null, "no-existe", "Centro"),
+                addBranch(null, surId, "Muelle"))).block();
+
+        assertEquals(400, results.get(0).getStatus());
+        assertEquals("Franchise not found with id: no-existe", results.get(0).getError());
+        assertEquals(201, results.get(1).getStatus());
+        assertEquals(2, franchiseService.getFranchiseById(surId).block().getBranches().size());
+    }
+
+    @Test
+    void testBatchLargerThanLimitIsRejected() {
+        List<BatchOperationDTO> operations = new ArrayList<>();
+        for (int i = 0; i < 11; i++) {
+            operations.add(addBranch(null, norteId, "Sucursal " + i));
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> franchiseService.executeBatch(operations).block());
+        assertEquals(0, franchiseService.getFranchiseById(norteId).block().getBranches().size());
+    }
+
+    private long writes() {
+        return meterRegistry.find("franchise.mongodb.writes").timers().stream().mapToLong(Timer::count).sum();
+    }
+
+    private static BatchOperationDTO addBranch(String id, String franchiseId, String name) {
+        BatchOperationDTO operation = new BatchOperationDTO(Type.ADD_BRANCH, franchiseId);
+        operation.setId(id);
+        operation.setBranch(new Branch(name));
+        return operation;
+    }
+
+    private static BatchOperationDTO addProduct(String id, String franchiseId, String branchId, String name,
+            int stock) {
+        BatchOperationDTO operation = new BatchOperationDTO(Type.ADD_PRODUCT, franchiseId);
+        operation.setId(id);
+        operation.setBranchId(branchId);
+        operation.setProduct(new Product(name, stock));
+        return operation;
+    }
+
+    private static BatchOperationDTO stock(String franchiseId, String branchId, String productId, int stock) {
+        BatchOperationDTO operation = new BatchOperationDTO(Type.UPDATE_STOCK, franchiseId);
+        operation.setBranchId(branchId);
+        operation.setProductId(productId);
+        operation.setStock(stock);
+        return operation;
+    }
+}
@@ -0,0 +1,125 @@
+package com.franchise.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+
+import com.franchise.dto.SearchHitDTO;
+import com.franchise.dto.UpdateNameDTO;
+import com.franchise.model.Branch;
+import com.franchise.model.Franchise;
+import com.franchise.model.Product;
+import com.franchise.model.SearchEntry;
+import com.franchise.repository.FranchiseSavedEvent;
+import com.franchise.repository.WriteClass;
+
+import reactor.core.publisher.Mono;
+
+@SpringBootTest
+class FranchiseSearchIndexTest {
+
+    @Autowired
+    private FranchiseService franchiseService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @BeforeEach
+    void setUp() {
+        franchiseService.deleteAll().block();
+    }
+
+    @Test
+    void testPrefixSearchIsRankedAndIgnoresCaseAndAccents() {
+        Franchise franchise = new Franchise("Cafetería Índigo");
+        Branch branch = new Branch("Índigo Centro");
+        branch.addProduct(new Product("Café", 10));
+        branch.addProduct(new Product("Café con leche", 5));
+        branch.addProduct(new Product("Tostada de café", 3));
+        franchise.addBranch(branch);
+        franchiseService.createFranchise(franchise).block();
+
+        // Nombre exacto, nombres que empiezan por el texto y, por último, palabras que empiezan por él
+        List<SearchHitDTO> hits = awaitHits("CAFE", null, 4);
+        assertEquals(List.of("Café", "Café con leche", "Cafetería Índigo", "Tostada de café"),
+                hits.stream().map(SearchHitDTO::getName).toList());
+        assertEquals(SearchEntry.Kind.PRODUCT, hits.get(0).getKind());
+        assertEquals("Índigo Centro", hits.get(0).getBranchName());
+        assertTrue(hits.get(0).getScore() > hits.get(1).getScore());
+
+        // Términos: todas las palabras y la última como prefijo
+        assertEquals(List.of("Tostada de café"),
+                awaitHits("tostada ca", List.of(SearchEntry.Kind.PRODUCT), 1).stream()
+                        .map(SearchHitDTO::getName).toList());
+    }
+
+    @Test
+    void testIndexFollowsRenamesAndDeletes() {
+        Franchise franchise = new Franchise("Heladería Polar");
+        Branch branch = new Branch("Polar Norte");
+        branch.addProduct(new Product("Sorbete", 8));
+        franchise.addBranch(branch);
+        Franchise created = franchiseService.createFranchise(franchise).block();
+        String branchId = created.getBranches().get(0).getId();
+        String productId = created.getBranches().get(0).getProducts().get(0).getId();
+
+        franchiseService.updateProductName(created.getId(), branchId, productId, new UpdateNameDTO("Granizado"))
+                .block();
+        assertEquals(productId, awaitHits("graniz", null, 1).get(0).getProductId());
+        assertTrue(franchiseService.searchNames("sorbete", null, 10).collectList().block().isEmpty());
+
+        franchiseService.deleteFranchise(created.getId()).block();
+        awaitHits("polar", null, 0);
+    }
+
+    @Test
+    void testStaleSnapshotsDoNotOverwriteNewerEntries() {
+        Franchise franchise = new Franchise("Panadería Trigo");
+        Branch branch = new Branch("Trigo Sur");
+        branch.addProduct(new Product("Hogaza", 6));
+        franchise.addBranch(branch);
+        Franchise created = franchiseService.createFranchise(franchise).block();
+        String branchId = created.getBranches().get(0).getId();
+        String productId = created.getBranches().get(0).getProducts().get(0).getId();
+        Franchise snapshot = franchiseService.getFranchiseById(created.getId()).block();
+
+        franchiseService.updateProductName(created.getId(), branchId, productId, new UpdateNameDTO("Chapata"))
+                .block();
+        awaitHits("chapata", null, 1);
+
+        // Evento atrasado (p. ej. de otra instancia) con la franquicia anterior al renombrado
+        eventPublisher.publishEvent(new FranchiseSavedEvent(snapshot, WriteClass.STRUCTURE));
+        awaitIndexed("Marcador 1");
+        assertEquals(1, awaitHits("chapata", null, 1).size());
+        assertTrue(franchiseService.searchNames("hogaza", null, 10).collectList().block().isEmpty());
+
+        // Tras el borrado, un guardado atrasado no vuelve a indexar la franquicia
+        franchiseService.deleteFranchise(created.getId()).block();
+        awaitHits("trigo", null, 0);
+        eventPublisher.publishEvent(new FranchiseSavedEvent(snapshot, WriteClass.STRUCTURE));
+        awaitIndexed("Marcador 2");
+        assertTrue(franchiseService.searchNames("trigo", null, 10).collectList().block().isEmpty());
+    }
+
+    // Las actualizaciones se aplican en orden: cuando aparece el marcador ya se aplicaron las anteriores
+    private void awaitIndexed(String name) {
+        franchiseService.createFranchise(new Franchise(name)).block();
+        awaitHits(name, List.of(SearchEntry.Kind.FRANCHISE), 1);
+    }
+
+    // El índice se actualiza de forma asíncrona tras la escritura
+    private List<SearchHitDTO> awaitHits(String text, List<SearchEntry.Kind> kinds, int expected) {
+        return Mono.defer(() -> franchiseService.searchNames(text, kinds, 10).collectList())
+                .filter(hits -> hits.size() == expected)
+                .repeatWhenEmpty(repeat -> repeat.delayElements(Duration.ofMillis(20)))
+                .block(Duration.ofSeconds(5));
+    }
+}
@@ -0,0 +1,23 @@
+package com.franchise.service;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+// Las pruebas de traspasos sobre un replica set de un nodo en Docker, donde las transacciones están
+// disponibles y se ejecuta la prueba de carga concurrente. Sin Docker se omite.
+@SpringBootTest
+@Testcontainers(disabledWithoutDocker = true)
+class FranchiseTransfersReplicaSetTest extends FranchiseTransfersTest {
+
+    @Container
+    private static final MongoDBContainer MONGO = new MongoDBContainer("mongo:6.0");
+
+    @DynamicPropertySource
+    static void mongoProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri", () -> MONGO.getReplicaSetUrl("franchise_test_db"));
+    }
+}
@@ -0,0 +1,193 @@
+package com.franchise.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.UncategorizedMongoDbException;
+
+import com.franchise.dto.MoveBranchDTO;
+import com.franchise.dto.TransferResultDTO;
+import com.franchise.dto.TransferStockDTO;
+import com.franchise.model.Branch;
+import com.franchise.model.Franchise;
+import com.franchise.model.Product;
+import com.mongodb.MongoException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@SpringBootTest
+class FranchiseTransfersTest {
+
+    @Autowired
+    private FranchiseService franchiseService;
+
+    @Autowired
+    private FranchiseTransfers franchiseTransfers;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Franchise norte;
+    private Franchise sur;
+
+    @BeforeEach
+    void setUp() {
+        franchiseService.deleteAll().block();
+        norte = franchiseService.createFranchise(franchise("Norte", "Centro", "Puerto")).block();
+        sur = franchiseService.createFranchise(franchise("Sur", "Muelle")).block();
+    }
+
+    @Test
+    void testTransferWithinFranchiseMovesStockBetweenBranches() {
+        String centroId = norte.getBranches().get(0).getId();
+        String puertoId = norte.getBranches().get(1).getId();
+        String arrozId = norte.getBranches().get(0).getProducts().get(0).getId();
+
+        transfer(norte, centroId, arrozId, norte, puertoId, 4).block();
+        TransferResultDTO result = transfer(norte, centroId, arrozId, norte, puertoId, 1).block();
+
+        // El destino no tenía Arroz: se crea en el primer traspaso y se reutiliza en el segundo
+        assertEquals(1, result.getAttempts());
+        assertEquals(95, stock(result.getSource(), centroId, "Arroz"));
+        assertEquals(5, stock(result.getTarget(), puertoId, "Arroz"));
+        assertEquals(1, franchiseService.getFranchiseById(norte.getId()).block()
+                .findBranchById(puertoId).getProducts().size());
+
+        assertThrows(IllegalStateException.class,
+                () -> transfer(norte, centroId, arrozId, norte, puertoId, 1000).block());
+        assertEquals(95, stock(franchiseService.getFranchiseById(norte.getId()).block(), centroId, "Arroz"));
+    }
+
+    @Test
+    void testTransfersWithinFranchiseDoNotLoseConcurrentWrites() {
+        String centroId = norte.getBranches().get(0).getId();
+        String puertoId = norte.getBranches().get(1).getId();
+        String arrozId = norte.getBranches().get(0).getProducts().get(0).getId();
+
+        // Traspasos y altas de productos en paralelo sobre el mismo documento
+        List<Mono<?>> writes = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            writes.add(transfer(norte, centroId, arrozId, norte, puertoId, 1));
+            writes.add(franchiseService.addProduct(norte.getId(), puertoId, new Product("Producto " + i, i)));
+        }
+        Flux.merge(writes).blockLast();
+
+        Franchise after = franchiseService.getFranchiseById(norte.getId()).block();
+        assertEquals(90, stock(after, centroId, "Arroz"));
+        assertEquals(10, stock(after, puertoId, "Arroz"));
+        assertEquals(11, after.findBranchById(puertoId).getProducts().size());
+    }
+
+    @Test
+    void testTransfersBetweenFranchisesRequireTransactions() {
+        assumeFalse(franchiseTransfers.supportsTransactions().block(),
+                "MongoDB admite transacciones: se ejecuta la prueba de carga concurrente");
+        String centroId = norte.getBranches().get(0).getId();
+
+        assertThrows(IllegalStateException.class, () -> transfer(norte, centroId,
+                norte.getBranches().get(0).getProducts().get(0).getId(), sur, sur.getBranches().get(0).getId(), 1)
+                .block());
+        assertThrows(IllegalStateException.class, () -> franchiseService
+                .moveBranch(norte.getId(), centroId, new MoveBranchDTO(sur.getId())).block());
+
+        assertEquals(2, franchiseService.getFranchiseById(norte.getId()).block().getBranches().size());
+        assertEquals(1, franchiseService.getFranchiseById(sur.getId()).block().getBranches().size());
+    }
+
+    // Requiere un replica set: FranchiseTransfersReplicaSetTest la ejecuta sobre uno en Docker, o contra
+    // el de docker-compose.yml con
+    // MONGODB_URI=mongodb://localhost:27017/franchise_test_db?directConnection=true mvn test
+    @Test
+    void testConcurrentTransfersBetweenFranchisesPreserveStock() {
+        assumeTrue(franchiseTransfers.supportsTransactions().block(), "MongoDB no admite transacciones");
+        String centroId = norte.getBranches().get(0).getId();
+        String arrozNorteId = norte.getBranches().get(0).getProducts().get(0).getId();
+        String muelleId = sur.getBranches().get(0).getId();
+        String arrozSurId = sur.getBranches().get(0).getProducts().get(0).getId();
+        double commitsBefore = commits();
+
+        // Traspasos cruzados sobre los mismos dos documentos, mezclados con escrituras fuera de la
+        // transacción: los conflictos se resuelven reintentando y ninguna escritura se pierde
+        List<Mono<TransferResultDTO>> transfers = new ArrayList<>();
+        List<Mono<Franchise>> writes = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            transfers.add(transfer(norte, centroId, arrozNorteId, sur, muelleId, 3));
+            transfers.add(transfer(sur, muelleId, arrozSurId, norte, centroId, 2));
+            if (i % 2 == 0) {
+                writes.add(franchiseService.addProduct(norte.getId(), centroId, new Product("Norte " + i, i)));
+                writes.add(franchiseService.addProduct(sur.getId(), muelleId, new Product("Sur " + i, i)));
+            }
+        }
+        List<TransferResultDTO> results = Flux.fromIterable(transfers).flatMap(transfer -> transfer, 8)
+                .mergeWith(Flux.fromIterable(writes).flatMap(write -> write, 4).then(Mono.empty()))
+                .collectList().block();
+
+        assertEquals(40, results.size());
+        Franchise norteAfter = franchiseService.getFranchiseById(norte.getId()).block();
+        Franchise surAfter = franchiseService.getFranchiseById(sur.getId()).block();
+        assertEquals(100 - 60 + 40, stock(norteAfter, centroId, "Arroz"));
+        assertEquals(100 + 60 - 40, stock(surAfter, muelleId, "Arroz"));
+        assertEquals(11, norteAfter.findBranchById(centroId).getProducts().size());
+        assertEquals(11, surAfter.findBranchById(muelleId).getProducts().size());
+        assertEquals(40, commits() - commitsBefore);
+
+        TransferResultDTO moved = franchiseService
+                .moveBranch(norte.getId(), norte.getBranches().get(1).getId(), new MoveBranchDTO(sur.getId())).block();
+        assertEquals(1, moved.getSource().getBranches().size());
+        assertEquals(2, moved.getTarget().getBranches().size());
+        assertEquals(norte.getBranches().get(1).getId(), moved.getTarget().getBranches().get(1).getId());
+    }
+
+    @Test
+    void testOnlyTransientTransactionErrorsAreRetried() {
+        MongoException conflict = new MongoException(112, "WriteConflict");
+        conflict.addLabel(MongoException.TRANSIENT_TRANSACTION_ERROR_LABEL);
+
+        assertTrue(FranchiseTransfers.isTransient(conflict));
+        assertTrue(FranchiseTransfers.isTransient(new UncategorizedMongoDbException("Write conflict", conflict)));
+        assertFalse(FranchiseTransfers.isTransient(new MongoException(11000, "Duplicate key")));
+        assertFalse(FranchiseTransfers.isTransient(new IllegalStateException("Insufficient stock")));
+    }
+
+    private Mono<TransferResultDTO> transfer(Franchise source, String sourceBranchId, String productId,
+            Franchise target, String targetBranchId, int quantity) {
+        return franchiseService.transferStock(new TransferStockDTO(source.getId(), sourceBranchId, productId,
+                target.getId(), targetBranchId, quantity));
+    }
+
+    private double commits() {
+        return meterRegistry.find("franchise.transactions.commit").tag("outcome", "committed").timers().stream()
+                .mapToDouble(timer -> timer.count()).sum();
+    }
+
+    private static int stock(Franchise franchise, String branchId, String productName) {
+        return franchise.findBranchById(branchId).getProducts().stream()
+                .filter(product -> product.getName().equals(productName))
+                .findFirst().orElseThrow().getStock();
+    }
+
+    private static Franchise franchise(String name, String... branchNames) {
+        Franchise franchise = new Franchise(name);
+        for (int i = 0; i < branchNames.length; i++) {
+            Branch branch = new Branch(branchNames[i]);
+            if (i == 0) {
+                branch.addProduct(new Product("Arroz", 100));
+            }
+            franchise.addBranch(branch);
+        }
+        return franchise;
+    }
+}
@@ -0,0 +1,122 @@
+package com.franchise.service;
+
+import com.franchise.dto.TransferStockDTO;
+import com.franchise.dto.UpdateStockDTO;
+import com.franchise.model.Branch;
+import com.franchise.model.Franchise;
+import com.franchise.model.Product;
+import com.franchise.repository.FranchiseRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@SpringBootTest(properties = "franchise.write-serialization.enabled=true")
+class FranchiseWriteSerializationTest {
+
+    @Autowired
+    private FranchiseService franchiseService;
+
+    @Autowired
+    private FranchiseRepository franchiseRepository;
+
+    @BeforeEach
+    void setUp() {
+        franchiseRepository.deleteAll().block();
+    }
+
+    @Test
+    void testConcurrentStockUpdatesOnSameFranchiseAreNotLost() {
+        Franchise franchise = new Franchise("Serialized Franchise");
+        Branch branch = new Branch("Centro");
+        for (int i = 0; i < 20; i++) {
+            branch.addProduct(new Product("Producto " + i, 0));
+        }
+        franchise.addBranch(branch);
+
+        Franchise saved = franchiseService.createFranchise(franchise).block();
+        String branchId = saved.getBranches().get(0).getId();
+        List<Product> products = saved.getBranches().get(0).getProducts();
+
+        // Todas las actualizaciones se lanzan en paralelo sobre el mismo documento
+        List<Mono<Franchise>> updates = new ArrayList<>();
+        for (int i = 0; i < products.size(); i++) {
+            updates.add(franchiseService.updateProductStock(saved.getId(), branchId, products.get(i).getId(),
+                    new UpdateStockDTO(i + 1)));
+        }
+
+        StepVerifier.create(Flux.merge(updates).then(franchiseRepository.findById(saved.getId())))
+                .expectNextMatches(found -> {
+                    List<Product> stored = found.getBranches().get(0).getProducts();
+                    for (int i = 0; i < stored.size(); i++) {
+                        if (stored.get(i).getStock() != i + 1) {
+                            return false;
+                        }
+                    }
+                    return true;
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void testTransfersWithinFranchiseAreSerializedWithOtherWrites() {
+        Franchise franchise = new Franchise("Serialized Transfers");
+        Branch centro = new Branch("Centro");
+        centro.addProduct(new Product("Arroz", 50));
+        centro.addProduct(new Product("Sal", 0));
+        franchise.addBranch(centro);
+        franchise.addBranch(new Branch("Puerto"));
+
+        Franchise saved = franchiseService.createFranchise(franchise).block();
+        String centroId = saved.getBranches().get(0).getId();
+        String puertoId = saved.getBranches().get(1).getId();
+        String arrozId = saved.getBranches().get(0).getProducts().get(0).getId();
+        String salId = saved.getBranches().get(0).getProducts().get(1).getId();
+
+        // Traspasos a Puerto (el primero crea el producto) junto a actualizaciones de otro producto
+        List<Mono<?>> writes = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            writes.add(franchiseService.transferStock(new TransferStockDTO(saved.getId(), centroId, arrozId,
+                    saved.getId(), puertoId, 2)));
+            writes.add(franchiseService.updateProductStock(saved.getId(), centroId, salId, new UpdateStockDTO(i)));
+        }
+
+        StepVerifier.create(Flux.merge(writes).then(franchiseRepository.findById(saved.getId())))
+                .expectNextMatches(found -> found.findBranchById(centroId).getProducts().get(0).getStock() == 30
+                        && found.findBranchById(puertoId).getProducts().size() == 1
+                        && found.findBranchById(puertoId).getProducts().get(0).getStock() == 20)
+                .verifyComplete();
+    }
+
+    @Test
+    void testFailedMutationDoesNotAffectOthersInBatch() {
+        Franchise franchise = new Franchise("Batch Errors Franchise");
+        Branch branch = new Branch("Norte");
+        branch.addProduct(new Product("Café", 5));
+        franchise.addBranch(branch);
+
+        Franchise saved = franchiseService.createFranchise(franchise).block();
+        String branchId = saved.getBranches().get(0).getId();
+        String productId = saved.getBranches().get(0).getProducts().get(0).getId();
+
+        Mono<Franchise> valid = franchiseService.updateProductStock(saved.getId(), branchId, productId,
+                new UpdateStockDTO(42));
+        Mono<Franchise> invalid = franchiseService.updateProductStock(saved.getId(), branchId, "missing",
+                new UpdateStockDTO(1));
+
+        StepVerifier.create(Flux.merge(valid, invalid.onErrorResume(IllegalArgumentException.class, e -> Mono.empty())))
+                .expectNextMatches(updated -> updated.getBranches().get(0).getProducts().get(0).getStock() == 42)
+                .verifyComplete();
+
+        StepVerifier.create(franchiseService.updateProductStock("unknown", branchId, productId, new UpdateStockDTO(1)))
+                .expectErrorMatches(error -> error instanceof IllegalArgumentException &&
+                        error.getMessage().contains("Franchise not found"))
+                .verify();
+    }
+}
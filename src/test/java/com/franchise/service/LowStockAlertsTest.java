@@ -0,0 +1,117 @@
+package com.franchise.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.franchise.dto.StockAlertDTO;
+import com.franchise.dto.UpdateNameDTO;
+import com.franchise.dto.UpdateStockDTO;
+import com.franchise.dto.UpdateThresholdDTO;
+import com.franchise.model.Branch;
+import com.franchise.model.Franchise;
+import com.franchise.model.LowStockAlert;
+import com.franchise.model.Product;
+
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+@SpringBootTest
+class LowStockAlertsTest {
+
+    @Autowired
+    private FranchiseService franchiseService;
+
+    private String franchiseId;
+    private String branchId;
+    private String productId;
+
+    @BeforeEach
+    void setUp() {
+        franchiseService.deleteAll().block();
+
+        Franchise franchise = new Franchise("Alertas Test");
+        Branch branch = new Branch("Centro");
+        Product product = new Product("Harina", 20);
+        product.setReorderThreshold(5);
+        branch.addProduct(product);
+        branch.addProduct(new Product("Azúcar", 1));
+        franchise.addBranch(branch);
+
+        Franchise created = franchiseService.createFranchise(franchise).block();
+        franchiseId = created.getId();
+        branchId = created.getBranches().get(0).getId();
+        productId = created.getBranches().get(0).getProducts().get(0).getId();
+    }
+
+    @Test
+    void testOnlyThresholdCrossingsAreNotified() {
+        // Solo los cruces generan notificación: 20 -> 8 no, 8 -> 5 (LOW), 5 -> 2 no, 2 -> 9 (RESTORED)
+        StepVerifier.create(franchiseService.streamStockAlerts().take(2))
+                .then(() -> List.of(8, 5, 2, 9).forEach(stock -> franchiseService
+                        .updateProductStock(franchiseId, branchId, productId, new UpdateStockDTO(stock)).block()))
+                .expectNextMatches(alert -> alert.getState() == StockAlertDTO.State.LOW
+                        && alert.getStock() == 5 && alert.getProductName().equals("Harina"))
+                .expectNextMatches(alert -> alert.getState() == StockAlertDTO.State.RESTORED
+                        && alert.getStock() == 9)
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void testAlertsAreQueryableUntilRestockedOrRemoved() {
+        franchiseService.updateProductStock(franchiseId, branchId, productId, new UpdateStockDTO(3)).block();
+        List<LowStockAlert> alerts = awaitAlerts(1);
+        assertEquals(productId, alerts.get(0).getProductId());
+        assertEquals(3, alerts.get(0).getStock());
+        assertEquals(5, alerts.get(0).getThreshold());
+
+        // Un producto sin umbral no genera alertas hasta que se le asigna uno
+        String otherId = franchiseService.getFranchiseById(franchiseId).block()
+                .getBranches().get(0).getProducts().get(1).getId();
+        franchiseService.updateProductThreshold(franchiseId, branchId, otherId, new UpdateThresholdDTO(2)).block();
+        awaitAlerts(2);
+
+        franchiseService.updateProductStock(franchiseId, branchId, productId, new UpdateStockDTO(50)).block();
+        franchiseService.removeProduct(franchiseId, branchId, otherId).block();
+        awaitAlerts(0);
+    }
+
+    @Test
+    void testProductsCreatedLowAreAlerted() {
+        Product product = new Product("Sal", 2);
+        product.setReorderThreshold(4);
+
+        StepVerifier.create(franchiseService.streamStockAlerts().take(1))
+                .then(() -> franchiseService.addProduct(franchiseId, branchId, product).block())
+                .expectNextMatches(alert -> alert.getState() == StockAlertDTO.State.LOW
+                        && alert.getStock() == 2 && alert.getProductName().equals("Sal"))
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+
+        List<LowStockAlert> alerts = awaitAlerts(1);
+        assertEquals("Sal", alerts.get(0).getProductName());
+        assertEquals(4, alerts.get(0).getThreshold());
+
+        // Otros cambios de estructura no repiten la alerta
+        StepVerifier.create(franchiseService.streamStockAlerts())
+                .then(() -> franchiseService.updateBranchName(franchiseId, branchId, new UpdateNameDTO("Norte")).block())
+                .expectNoEvent(Duration.ofMillis(500))
+                .thenCancel()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    // Las alertas se escriben de forma asíncrona tras la confirmación del cambio de stock
+    private List<LowStockAlert> awaitAlerts(int expected) {
+        return Mono.defer(() -> franchiseService.getLowStockAlerts(franchiseId).collectList())
+                .filter(alerts -> alerts.size() == expected)
+                .repeatWhenEmpty(repeat -> repeat.delayElements(Duration.ofMillis(20)))
+                .block(Duration.ofSeconds(5));
+    }
+}
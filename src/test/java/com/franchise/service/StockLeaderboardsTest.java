@@ -0,0 +1,92 @@
+package com.franchise.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+
+import com.franchise.dto.ProductLocationDTO;
+import com.franchise.dto.UpdateStockDTO;
+import com.franchise.model.Branch;
+import com.franchise.model.Franchise;
+import com.franchise.model.Product;
+
+@SpringBootTest
+class StockLeaderboardsTest {
+
+    @Autowired
+    private FranchiseService franchiseService;
+
+    @Autowired
+    private StockLeaderboards leaderboards;
+
+    @Autowired
+    private ReactiveMongoTemplate mongoTemplate;
+
+    @BeforeEach
+    void setUp() {
+        franchiseService.deleteAll().block();
+    }
+
+    @Test
+    void testRankingsFollowStockChanges() {
+        Franchise north = franchiseService.createFranchise(franchise("Ranking Norte", 40, 10, 25)).block();
+        franchiseService.createFranchise(franchise("Ranking Sur", 30, 5)).block();
+
+        assertEquals(List.of(40, 30, 25), stocks(null, null, StockLeaderboards.Order.TOP, 3));
+        assertEquals(List.of(5, 10), stocks(null, null, StockLeaderboards.Order.BOTTOM, 2));
+        assertEquals(List.of(40, 25, 10), stocks(north.getId(), null, StockLeaderboards.Order.TOP, 10));
+
+        // Un cambio de stock mueve el producto en todos los rankings
+        Branch branch = north.getBranches().get(0);
+        franchiseService.updateProductStock(north.getId(), branch.getId(), branch.getProducts().get(1).getId(),
+                new UpdateStockDTO(99)).block();
+        List<ProductLocationDTO> top = franchiseService
+                .getStockLeaderboard(north.getId(), branch.getId(), StockLeaderboards.Order.TOP, 1)
+                .collectList().block();
+        assertEquals(99, top.get(0).getStock());
+        assertEquals("Ranking Norte", top.get(0).getFranchiseName());
+        assertEquals(List.of(99, 40, 30), stocks(null, null, StockLeaderboards.Order.TOP, 3));
+
+        // Los productos eliminados y las franquicias borradas salen del ranking
+        franchiseService.removeProduct(north.getId(), branch.getId(), branch.getProducts().get(0).getId()).block();
+        assertEquals(List.of(99, 25), stocks(north.getId(), null, StockLeaderboards.Order.TOP, 10));
+        franchiseService.deleteFranchise(north.getId()).block();
+        assertEquals(List.of(30, 5), stocks(null, null, StockLeaderboards.Order.TOP, 10));
+    }
+
+    @Test
+    void testRebuildLoadsFranchisesWrittenElsewhere() {
+        // Escritura directa sin eventos, como la de otra instancia
+        Franchise franchise = franchise("Ranking Externo", 7, 70);
+        mongoTemplate.insert(franchise).block();
+        assertTrue(stocks(franchise.getId(), null, StockLeaderboards.Order.TOP, 10).isEmpty());
+
+        leaderboards.rebuild().block();
+        assertEquals(List.of(70, 7), stocks(franchise.getId(), null, StockLeaderboards.Order.TOP, 10));
+    }
+
+    private List<Integer> stocks(String franchiseId, String branchId, StockLeaderboards.Order order, int limit) {
+        return franchiseService.getStockLeaderboard(franchiseId, branchId, order, limit)
+                .map(ProductLocationDTO::getStock)
+                .collectList()
+                .block();
+    }
+
+    private static Franchise franchise(String name, int... stocks) {
+        Franchise franchise = new Franchise(name);
+        Branch branch = new Branch(name + " Centro");
+        for (int i = 0; i < stocks.length; i++) {
+            branch.addProduct(new Product("Producto " + i, stocks[i]));
+        }
+        franchise.addBranch(branch);
+        FranchiseMutations.assignIds(franchise);
+        return franchise;
+    }
+}
@@ -0,0 +1,122 @@
+package com.franchise.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.franchise.dto.ProductLocationDTO;
+import com.franchise.dto.UpdateStockDTO;
+import com.franchise.dto.UpdateThresholdDTO;
+import com.franchise.model.Branch;
+import com.franchise.model.Franchise;
+import com.franchise.model.Product;
+import com.franchise.model.StockMovement;
+
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+@SpringBootTest
+class StockLedgerTest {
+
+    @Autowired
+    private FranchiseService franchiseService;
+
+    @Autowired
+    private StockLedger ledger;
+
+    private String franchiseId;
+    private String branchId;
+    private String productId;
+    private Instant created;
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        franchiseService.deleteAll().block();
+
+        Franchise franchise = new Franchise("Historial Test");
+        Branch branch = new Branch("Centro");
+        branch.addProduct(new Product("Leche", 10));
+        branch.addProduct(new Product("Pan", 4));
+        franchise.addBranch(branch);
+
+        Franchise saved = franchiseService.createFranchise(franchise).block();
+        franchiseId = saved.getId();
+        branchId = saved.getBranches().get(0).getId();
+        productId = saved.getBranches().get(0).getProducts().get(0).getId();
+        created = Instant.now();
+
+        // La instantánea del alta se escribe de forma asíncrona
+        Mono.defer(() -> franchiseService.getStockAsOf(franchiseId, Instant.now()).collectList())
+                .retryWhen(Retry.fixedDelay(100, Duration.ofMillis(20)))
+                .block(Duration.ofSeconds(5));
+        Thread.sleep(5);
+    }
+
+    @Test
+    void testStockAsOfReplaysMovementsOverSnapshot() throws InterruptedException {
+        updateStock(7);
+        Instant afterFirst = Instant.now();
+        Thread.sleep(5);
+        updateStock(3);
+        // Los cambios de umbral no son movimientos de stock
+        franchiseService.updateProductThreshold(franchiseId, branchId, productId, new UpdateThresholdDTO(2)).block();
+
+        List<StockMovement> movements = awaitHistory(2);
+        assertEquals(3, movements.get(0).getStock());
+        assertEquals(7, movements.get(0).getPreviousStock());
+        assertEquals(10, movements.get(1).getPreviousStock());
+
+        assertEquals(10, stockAsOf(created));
+        assertEquals(7, stockAsOf(afterFirst));
+        assertEquals(3, stockAsOf(Instant.now()));
+        assertThrows(IllegalArgumentException.class,
+                () -> franchiseService.getStockAsOf(franchiseId, created.minusSeconds(60)).collectList().block());
+    }
+
+    @Test
+    void testCompactionKeepsStockAsOfFromLatestSnapshot() throws InterruptedException {
+        updateStock(8);
+        updateStock(6);
+        awaitHistory(2);
+        Thread.sleep(5);
+
+        // La instantánea de la franquicia con movimientos pasa a ser la base: se descartan los anteriores
+        assertEquals(2L, ledger.compact(Instant.now().plusSeconds(1)).block());
+        assertEquals(0, franchiseService.getStockHistory(franchiseId, null, null, 10).count().block());
+        assertEquals(6, stockAsOf(Instant.now()));
+        assertThrows(IllegalArgumentException.class,
+                () -> franchiseService.getStockAsOf(franchiseId, created).collectList().block());
+
+        updateStock(1);
+        awaitHistory(1);
+        assertEquals(1, stockAsOf(Instant.now()));
+    }
+
+    private void updateStock(int stock) {
+        franchiseService.updateProductStock(franchiseId, branchId, productId, new UpdateStockDTO(stock)).block();
+    }
+
+    // Los movimientos se insertan en lotes de forma asíncrona
+    private List<StockMovement> awaitHistory(int expected) {
+        return Mono.defer(() -> franchiseService.getStockHistory(franchiseId, branchId, productId, 10).collectList())
+                .filter(movements -> movements.size() == expected)
+                .repeatWhenEmpty(repeat -> repeat.delayElements(Duration.ofMillis(20)))
+                .block(Duration.ofSeconds(5));
+    }
+
+    private int stockAsOf(Instant at) {
+        return franchiseService.getStockAsOf(franchiseId, at).collectList().block().stream()
+                .filter(product -> product.getProductId().equals(productId))
+                .map(ProductLocationDTO::getStock)
+                .findFirst()
+                .orElseThrow();
+    }
+}
@@ -0,0 +1,132 @@
+package com.franchise.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.franchise.dto.ReserveStockDTO;
+import com.franchise.dto.StockAvailabilityDTO;
+import com.franchise.model.Branch;
+import com.franchise.model.Franchise;
+import com.franchise.model.Product;
+import com.franchise.model.StockReservation;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@SpringBootTest
+class StockReservationsTest {
+
+    @Autowired
+    private FranchiseService franchiseService;
+
+    private String franchiseId;
+    private String branchId;
+    private String productId;
+
+    @BeforeEach
+    void setUp() {
+        franchiseService.deleteAll().block();
+
+        Franchise franchise = new Franchise("Reservas Test");
+        Branch branch = new Branch("Centro");
+        branch.addProduct(new Product("Café", 10));
+        franchise.addBranch(branch);
+
+        Franchise created = franchiseService.createFranchise(franchise).block();
+        franchiseId = created.getId();
+        branchId = created.getBranches().get(0).getId();
+        productId = created.getBranches().get(0).getProducts().get(0).getId();
+    }
+
+    @Test
+    void testConcurrentReservationsNeverOversell() {
+        // 40 reservas de 1 unidad en paralelo sobre 10 de stock: exactamente 10 se aceptan
+        List<Boolean> results = Flux.range(0, 40)
+                .flatMap(i -> reserve(1, null).map(reservation -> true).onErrorReturn(IllegalStateException.class, false),
+                        40)
+                .collectList()
+                .block();
+        assertEquals(10, results.stream().filter(accepted -> accepted).count());
+
+        StockAvailabilityDTO availability = availability();
+        assertEquals(10, availability.getStock());
+        assertEquals(10, availability.getReserved());
+        assertEquals(0, availability.getAvailable());
+        assertThrows(IllegalStateException.class, () -> reserve(1, null).block());
+    }
+
+    @Test
+    void testConfirmDecrementsStockAndReleaseRestoresAvailability() {
+        StockReservation confirmed = reserve(4, null).block();
+        StockReservation released = reserve(3, null).block();
+        assertEquals(3, availability().getAvailable());
+
+        franchiseService.confirmReservation(confirmed.getId()).block();
+        StockAvailabilityDTO afterConfirm = availability();
+        assertEquals(6, afterConfirm.getStock());
+        assertEquals(3, afterConfirm.getReserved());
+        assertEquals(3, afterConfirm.getAvailable());
+
+        StockReservation result = franchiseService.releaseReservation(released.getId()).block();
+        assertEquals(StockReservation.Status.RELEASED, result.getStatus());
+        assertEquals(6, availability().getAvailable());
+
+        // Cada reserva sale del estado activo una sola vez
+        assertThrows(IllegalStateException.class,
+                () -> franchiseService.confirmReservation(confirmed.getId()).block());
+        assertThrows(IllegalStateException.class,
+                () -> franchiseService.confirmReservation(released.getId()).block());
+        assertThrows(IllegalArgumentException.class,
+                () -> franchiseService.releaseReservation("missing").block());
+        assertEquals(6, availability().getStock());
+    }
+
+    @Test
+    void testConcurrentConfirmationsDoNotLoseDecrements() {
+        List<StockReservation> held = Flux.range(0, 10).concatMap(i -> reserve(1, null)).collectList().block();
+
+        // Cada confirmación es una lectura-modificación-guardado del mismo documento: los conflictos de
+        // versión se reintentan en lugar de pisar el descuento de otra
+        List<StockReservation> confirmed = Flux.fromIterable(held)
+                .flatMap(reservation -> franchiseService.confirmReservation(reservation.getId()), 10)
+                .collectList()
+                .block();
+        assertEquals(10, confirmed.size());
+
+        StockAvailabilityDTO availability = availability();
+        assertEquals(0, availability.getStock());
+        assertEquals(0, availability.getReserved());
+        assertThrows(IllegalStateException.class, () -> reserve(1, null).block());
+    }
+
+    @Test
+    void testExpiredReservationsAreSwept() {
+        StockReservation reservation = reserve(8, 1L).block();
+        assertEquals(2, availability().getAvailable());
+
+        // El barrido (cada segundo) devuelve la cantidad al stock disponible
+        Mono.defer(() -> franchiseService.getStockAvailability(franchiseId, branchId, productId))
+                .filter(current -> current.getReserved() == 0)
+                .repeatWhenEmpty(repeat -> repeat.delayElements(Duration.ofMillis(100)))
+                .block(Duration.ofSeconds(10));
+        assertEquals(10, availability().getAvailable());
+        assertThrows(IllegalStateException.class,
+                () -> franchiseService.confirmReservation(reservation.getId()).block());
+    }
+
+    private Mono<StockReservation> reserve(int quantity, Long ttlSeconds) {
+        return franchiseService.reserveStock(franchiseId, branchId, productId, new ReserveStockDTO(quantity, ttlSeconds));
+    }
+
+    private StockAvailabilityDTO availability() {
+        return franchiseService.getStockAvailability(franchiseId, branchId, productId).block();
+    }
+}
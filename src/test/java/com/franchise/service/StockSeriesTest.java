@@ -0,0 +1,96 @@
+package com.franchise.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.franchise.dto.StockSeriesDTO;
+import com.franchise.dto.UpdateStockDTO;
+import com.franchise.model.Branch;
+import com.franchise.model.Franchise;
+import com.franchise.model.Product;
+import com.franchise.model.StockRollup.Resolution;
+
+import reactor.core.publisher.Mono;
+
+@SpringBootTest
+class StockSeriesTest {
+
+    @Autowired
+    private FranchiseService franchiseService;
+
+    private String franchiseId;
+    private String branchId;
+    private String productId;
+
+    @BeforeEach
+    void setUp() {
+        franchiseService.deleteAll().block();
+
+        Franchise franchise = new Franchise("Series Test");
+        Branch branch = new Branch("Centro");
+        branch.addProduct(new Product("Arroz", 10));
+        branch.addProduct(new Product("Sal", 5));
+        franchise.addBranch(branch);
+        Branch other = new Branch("Norte");
+        other.addProduct(new Product("Arroz", 20));
+        franchise.addBranch(other);
+
+        Franchise created = franchiseService.createFranchise(franchise).block();
+        franchiseId = created.getId();
+        branchId = created.getBranches().get(0).getId();
+        productId = created.getBranches().get(0).getProducts().get(0).getId();
+    }
+
+    @Test
+    void testStockChangesAreRolledUpPerProductBranchAndFranchise() {
+        for (int stock : new int[] { 4, 12, 7 }) {
+            franchiseService.updateProductStock(franchiseId, branchId, productId, new UpdateStockDTO(stock)).block();
+        }
+
+        StockSeriesDTO product = awaitSeries(branchId, productId, 3);
+        assertEquals(Resolution.MINUTE, product.getResolution());
+        assertEquals(7, last(product));
+        assertEquals(4, product.getPoints().stream().mapToInt(StockSeriesDTO.Point::getMin).min().getAsInt());
+        assertEquals(12, product.getPoints().stream().mapToInt(StockSeriesDTO.Point::getMax).max().getAsInt());
+
+        // Totales tras cada cambio: sucursal 9 / 17 / 12, franquicia 29 / 37 / 32
+        StockSeriesDTO branch = awaitSeries(branchId, null, 3);
+        assertEquals(12, last(branch));
+        assertEquals(17, branch.getPoints().stream().mapToInt(StockSeriesDTO.Point::getMax).max().getAsInt());
+        assertEquals(32, last(awaitSeries(null, null, 3)));
+    }
+
+    @Test
+    void testResolutionKeepsResponsesBounded() {
+        assertEquals(Resolution.MINUTE, StockSeries.resolution(Duration.ofHours(2), 200));
+        assertEquals(Resolution.HOUR, StockSeries.resolution(Duration.ofDays(7), 200));
+        assertEquals(Resolution.DAY, StockSeries.resolution(Duration.ofDays(180), 200));
+        assertEquals(Resolution.DAY, StockSeries.resolution(Duration.ofDays(3650), 200));
+
+        assertThrows(IllegalArgumentException.class, () -> franchiseService
+                .getStockSeries(franchiseId, null, productId, null, null, 100).block());
+    }
+
+    private int last(StockSeriesDTO series) {
+        return series.getPoints().get(series.getPoints().size() - 1).getLast();
+    }
+
+    // Última hora (resolución por minuto). Las muestras y sus agregados se escriben en lotes de forma
+    // asíncrona; los cambios pueden caer en dos minutos distintos, así que se cuentan las de todos los puntos
+    private StockSeriesDTO awaitSeries(String branchId, String productId, long samples) {
+        return Mono.defer(() -> franchiseService.getStockSeries(franchiseId, branchId, productId,
+                        Instant.now().minus(Duration.ofHours(1)), null, 200))
+                .filter(series -> series.getPoints().stream().mapToLong(StockSeriesDTO.Point::getSamples).sum()
+                        == samples)
+                .repeatWhenEmpty(repeat -> repeat.delayElements(Duration.ofMillis(50)))
+                .block(Duration.ofSeconds(10));
+    }
+}
@@ -0,0 +1,56 @@
+package com.franchise.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import com.franchise.repository.FranchiseRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "franchise.warmup.enabled=true",
+        "franchise.warmup.iterations=200"
+})
+@AutoConfigureWebTestClient
+class WarmupRunnerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private FranchiseRepository franchiseRepository;
+
+    @Test
+    void testReadinessTurnsUpAfterWarmupWithoutTouchingMongo() throws InterruptedException {
+        int status = 0;
+        for (int attempt = 0; attempt < 300 && status != 200; attempt++) {
+            status = webTestClient.get()
+                    .uri("/actuator/health/readiness")
+                    .exchange()
+                    .returnResult(String.class)
+                    .getStatus()
+                    .value();
+            if (status != 200) {
+                Thread.sleep(100);
+            }
+        }
+        assertEquals(200, status);
+
+        Timer timer = meterRegistry.find("franchise.warmup.duration").tag("outcome", "completed").timer();
+        assertNotNull(timer);
+        assertEquals(1, timer.count());
+
+        assertTrue(franchiseRepository.findByName("Warmup 0").blockOptional().isEmpty());
+    }
+}